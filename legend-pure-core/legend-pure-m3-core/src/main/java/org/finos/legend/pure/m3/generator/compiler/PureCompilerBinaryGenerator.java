@@ -53,6 +53,7 @@ import java.net.URLClassLoader;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 public class PureCompilerBinaryGenerator
 {
@@ -86,6 +87,15 @@ public class PureCompilerBinaryGenerator
     }
 
     public static void serializeModules(Path outputDirectory, ClassLoader classLoader, Iterable<String> modules, Iterable<String> excludedModules, boolean serializeIndividually)
+    {
+        serializeModules(outputDirectory, classLoader, modules, excludedModules, serializeIndividually, 1);
+    }
+
+    /**
+     * Compile and serialize modules. If serialization parallelism is greater than 1, elements are serialized in
+     * parallel on a pool with that many threads; the output is the same as for sequential serialization.
+     */
+    public static void serializeModules(Path outputDirectory, ClassLoader classLoader, Iterable<String> modules, Iterable<String> excludedModules, boolean serializeIndividually, int serializationParallelism)
     {
         long start = System.nanoTime();
         SetIterable<String> moduleSet = (modules == null) ? Sets.immutable.empty() :
@@ -101,10 +111,11 @@ public class PureCompilerBinaryGenerator
         {
             currentThread.setContextClassLoader(classLoader);
         }
+        ForkJoinPool forkJoinPool = (serializationParallelism > 1) ? new ForkJoinPool(serializationParallelism) : null;
         try
         {
             FilePathProvider filePathProvider = FilePathProvider.builder().withLoadedExtensions(currentClassLoader).build();
-            serializeModules(outputDirectory, currentClassLoader, moduleSet, excludedModules, filePathProvider, serializeIndividually);
+            serializeModules(outputDirectory, currentClassLoader, moduleSet, excludedModules, filePathProvider, serializeIndividually, forkJoinPool);
         }
         catch (Throwable t)
         {
@@ -113,6 +124,10 @@ public class PureCompilerBinaryGenerator
         }
         finally
         {
+            if (forkJoinPool != null)
+            {
+                forkJoinPool.shutdown();
+            }
             long end = System.nanoTime();
             LOGGER.info("Finished compilation of {} in {}s", modulesLogString, (end - start) / 1_000_000_000.0);
             if (classLoader != null)
@@ -122,7 +137,7 @@ public class PureCompilerBinaryGenerator
         }
     }
 
-    private static void serializeModules(Path outputDirectory, ClassLoader classLoader, SetIterable<String> modules, Iterable<String> excludedModules, FilePathProvider filePathProvider, boolean serializeIndividually)
+    private static void serializeModules(Path outputDirectory, ClassLoader classLoader, SetIterable<String> modules, Iterable<String> excludedModules, FilePathProvider filePathProvider, boolean serializeIndividually, ForkJoinPool forkJoinPool)
     {
         // Build the full repository set (with exclusions applied)
         MutableList<CodeRepository> foundRepos = CodeRepositoryProviderHelper.findCodeRepositories(classLoader, true).toList();
@@ -175,7 +190,7 @@ public class PureCompilerBinaryGenerator
             try (URLClassLoader outputClassLoader = newClassLoaderWithOutputDirectory(classLoader, outputDirectory))
             {
                 PureCompilerLoader loader = PureCompilerLoader.newLoader(outputClassLoader);
-                orderedModules.forEach(m -> serializeModules(outputDirectory, classLoader, Sets.immutable.with(m), allRepositories.subset(m), loader, filePathProvider));
+                orderedModules.forEach(m -> serializeModules(outputDirectory, classLoader, Sets.immutable.with(m), allRepositories.subset(m), loader, filePathProvider, forkJoinPool));
             }
             catch (IOException e)
             {
@@ -184,11 +199,11 @@ public class PureCompilerBinaryGenerator
         }
         else
         {
-            serializeModules(outputDirectory, classLoader, toSerialize, allRepositories, PureCompilerLoader.newLoader(classLoader), filePathProvider);
+            serializeModules(outputDirectory, classLoader, toSerialize, allRepositories, PureCompilerLoader.newLoader(classLoader), filePathProvider, forkJoinPool);
         }
     }
 
-    private static void serializeModules(Path outputDirectory, ClassLoader classLoader, SetIterable<String> modulesToSerialize, CodeRepositorySet modulesToCompile, PureCompilerLoader loader, FilePathProvider filePathProvider)
+    private static void serializeModules(Path outputDirectory, ClassLoader classLoader, SetIterable<String> modulesToSerialize, CodeRepositorySet modulesToCompile, PureCompilerLoader loader, FilePathProvider filePathProvider, ForkJoinPool forkJoinPool)
     {
         long moduleStart = System.nanoTime();
         LOGGER.info("Starting compilation and serialization of {}", (modulesToSerialize.size() == 1) ? modulesToSerialize.getAny() : modulesToSerialize);
@@ -196,7 +211,7 @@ public class PureCompilerBinaryGenerator
         {
             LOGGER.debug("Compiling modules {}", modulesToCompile.getRepositoryNames());
             PureRuntime runtime = compile(classLoader, loader, modulesToCompile);
-            serialize(outputDirectory, modulesToSerialize, runtime, filePathProvider);
+            serialize(outputDirectory, modulesToSerialize, runtime, filePathProvider, forkJoinPool);
         }
         finally
         {
@@ -301,7 +316,7 @@ public class PureCompilerBinaryGenerator
         }
     }
 
-    private static void serialize(Path outputDirectory, SetIterable<String> modules, PureRuntime runtime, FilePathProvider filePathProvider)
+    private static void serialize(Path outputDirectory, SetIterable<String> modules, PureRuntime runtime, FilePathProvider filePathProvider, ForkJoinPool forkJoinPool)
     {
         long start = System.nanoTime();
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
@@ -319,6 +334,7 @@ public class PureCompilerBinaryGenerator
                     .withFileSerializer(fileSerializer)
                     .withModuleMetadataGenerator(moduleMetadataGenerator)
                     .withProcessorSupport(runtime.getProcessorSupport())
+                    .withForkJoinPool(forkJoinPool)
                     .build();
 
             if (modules.isEmpty())
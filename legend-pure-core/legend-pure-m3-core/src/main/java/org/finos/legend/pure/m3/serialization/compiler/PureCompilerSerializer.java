@@ -14,7 +14,9 @@
 
 package org.finos.legend.pure.m3.serialization.compiler;
 
+import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.set.MutableSet;
 import org.eclipse.collections.api.set.SetIterable;
@@ -31,6 +33,7 @@ import org.slf4j.LoggerFactory;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 import java.util.zip.ZipOutputStream;
 
@@ -41,12 +44,14 @@ public class PureCompilerSerializer
     private final FileSerializer fileSerializer;
     private final ModuleMetadataGenerator moduleMetadataGenerator;
     private final ProcessorSupport processorSupport;
+    private final ForkJoinPool forkJoinPool;
 
-    private PureCompilerSerializer(FileSerializer fileSerializer, ModuleMetadataGenerator moduleMetadataGenerator, ProcessorSupport processorSupport)
+    private PureCompilerSerializer(FileSerializer fileSerializer, ModuleMetadataGenerator moduleMetadataGenerator, ProcessorSupport processorSupport, ForkJoinPool forkJoinPool)
     {
         this.fileSerializer = Objects.requireNonNull(fileSerializer);
         this.moduleMetadataGenerator = Objects.requireNonNull(moduleMetadataGenerator);
         this.processorSupport = Objects.requireNonNull(processorSupport);
+        this.forkJoinPool = forkJoinPool;
     }
 
     // Serialize all
@@ -117,7 +122,7 @@ public class PureCompilerSerializer
 
     private Serializer newSerializer(Path directory)
     {
-        return new DirectorySerializer(this.fileSerializer, directory);
+        return new DirectorySerializer(this.fileSerializer, directory, this.forkJoinPool);
     }
 
     private Serializer newSerializer(ZipOutputStream stream)
@@ -132,19 +137,19 @@ public class PureCompilerSerializer
         MutableSet<String> moduleNames = Sets.mutable.empty();
         long eltStart = System.nanoTime();
         LOGGER.info("Starting element serialization");
-        int[] eltCount = {0};
+        MutableList<CoreInstance> elements = Lists.mutable.empty();
         GraphTools.getTopLevelAndPackagedElements(this.processorSupport).forEach(e ->
         {
             String moduleName = ModuleHelper.getElementModule(e);
             if ((moduleName != null) && (includeRootModule || ModuleHelper.isNonRootModule(moduleName)))
             {
                 moduleNames.add(moduleName);
-                serializer.serializeElement(e);
-                eltCount[0]++;
+                elements.add(e);
             }
         });
+        serializer.serializeElements(elements);
         long eltEnd = System.nanoTime();
-        LOGGER.info("Finished serializing {} elements in {}s", eltCount[0], (eltEnd - eltStart) / 1_000_000_000.0);
+        LOGGER.info("Finished serializing {} elements in {}s", elements.size(), (eltEnd - eltStart) / 1_000_000_000.0);
 
         generateAndSerializeAllModuleMetadata(serializer, includeRootModule);
         long end = System.nanoTime();
@@ -158,17 +163,10 @@ public class PureCompilerSerializer
 
         long eltStart = System.nanoTime();
         LOGGER.info("Starting element serialization");
-        int[] eltCount = {0};
-        GraphTools.getTopLevelAndPackagedElements(this.processorSupport).forEach(e ->
-        {
-            if (ModuleHelper.isElementInModule(e, moduleName))
-            {
-                serializer.serializeElement(e);
-                eltCount[0]++;
-            }
-        });
+        ListIterable<? extends CoreInstance> elements = GraphTools.getTopLevelAndPackagedElements(this.processorSupport).select(e -> ModuleHelper.isElementInModule(e, moduleName)).toList();
+        serializer.serializeElements(elements);
         long eltEnd = System.nanoTime();
-        LOGGER.info("Finished serializing {} elements in {}s", eltCount[0], (eltEnd - eltStart) / 1_000_000_000.0);
+        LOGGER.info("Finished serializing {} elements in {}s", elements.size(), (eltEnd - eltStart) / 1_000_000_000.0);
 
         long modMetaGenStart = System.nanoTime();
         LOGGER.info("Starting module metadata generation of {}", moduleName);
@@ -237,17 +235,10 @@ public class PureCompilerSerializer
 
                 long eltStart = System.nanoTime();
                 LOGGER.info("Starting element serialization");
-                int[] eltCount = {0};
-                GraphTools.getTopLevelAndPackagedElements(this.processorSupport).forEach(e ->
-                {
-                    if (moduleNames.contains(ModuleHelper.getElementModule(e)))
-                    {
-                        serializer.serializeElement(e);
-                        eltCount[0]++;
-                    }
-                });
+                ListIterable<? extends CoreInstance> elements = GraphTools.getTopLevelAndPackagedElements(this.processorSupport).select(e -> moduleNames.contains(ModuleHelper.getElementModule(e))).toList();
+                serializer.serializeElements(elements);
                 long eltEnd = System.nanoTime();
-                LOGGER.info("Finished serializing {} elements in {}s", eltCount[0], (eltEnd - eltStart) / 1_000_000_000.0);
+                LOGGER.info("Finished serializing {} elements in {}s", elements.size(), (eltEnd - eltStart) / 1_000_000_000.0);
 
                 generateAndSerializeModuleMetadata(serializer, moduleNames);
                 long end = System.nanoTime();
@@ -266,19 +257,19 @@ public class PureCompilerSerializer
 
         long eltStart = System.nanoTime();
         LOGGER.info("Starting element serialization");
-        int[] eltCount = {0};
+        MutableList<CoreInstance> elements = Lists.mutable.empty();
         GraphTools.getTopLevelAndPackagedElements(this.processorSupport).forEach(e ->
         {
             String moduleName = ModuleHelper.getElementModule(e);
             if ((moduleName != null) && moduleFilter.test(moduleName))
             {
                 moduleNames.add(moduleName);
-                serializer.serializeElement(e);
-                eltCount[0]++;
+                elements.add(e);
             }
         });
+        serializer.serializeElements(elements);
         long eltEnd = System.nanoTime();
-        LOGGER.info("Finished serializing {} elements in {}s", eltCount[0], (eltEnd - eltStart) / 1_000_000_000.0);
+        LOGGER.info("Finished serializing {} elements in {}s", elements.size(), (eltEnd - eltStart) / 1_000_000_000.0);
 
         generateAndSerializeModuleMetadata(serializer, moduleNames);
         long end = System.nanoTime();
@@ -353,6 +344,7 @@ public class PureCompilerSerializer
         private FileSerializer fileSerializer;
         private ModuleMetadataGenerator moduleMetadataGenerator;
         private ProcessorSupport processorSupport;
+        private ForkJoinPool forkJoinPool;
 
         private Builder()
         {
@@ -376,15 +368,28 @@ public class PureCompilerSerializer
             return this;
         }
 
+        /**
+         * Serialize elements to a directory in parallel on the given pool. Each element is written to its own file, so
+         * the output is the same as for sequential serialization. Zip output is always written sequentially.
+         *
+         * @param forkJoinPool fork join pool (null for sequential serialization)
+         * @return this builder
+         */
+        public Builder withForkJoinPool(ForkJoinPool forkJoinPool)
+        {
+            this.forkJoinPool = forkJoinPool;
+            return this;
+        }
+
         public PureCompilerSerializer build()
         {
-            return new PureCompilerSerializer(this.fileSerializer, this.moduleMetadataGenerator, this.processorSupport);
+            return new PureCompilerSerializer(this.fileSerializer, this.moduleMetadataGenerator, this.processorSupport, this.forkJoinPool);
         }
     }
 
     private interface Serializer
     {
-        void serializeElement(CoreInstance element);
+        void serializeElements(ListIterable<? extends CoreInstance> elements);
 
         void serializeModuleMetadata(ModuleMetadata moduleMetadata);
     }
@@ -393,17 +398,19 @@ public class PureCompilerSerializer
     {
         private final FileSerializer fileSerializer;
         private final Path directory;
+        private final ForkJoinPool forkJoinPool;
 
-        private DirectorySerializer(FileSerializer fileSerializer, Path directory)
+        private DirectorySerializer(FileSerializer fileSerializer, Path directory, ForkJoinPool forkJoinPool)
         {
             this.fileSerializer = fileSerializer;
             this.directory = directory;
+            this.forkJoinPool = forkJoinPool;
         }
 
         @Override
-        public void serializeElement(CoreInstance element)
+        public void serializeElements(ListIterable<? extends CoreInstance> elements)
         {
-            this.fileSerializer.serializeElement(this.directory, element);
+            this.fileSerializer.serializeElements(this.directory, elements, this.forkJoinPool);
         }
 
         @Override
@@ -429,9 +436,9 @@ public class PureCompilerSerializer
         }
 
         @Override
-        public void serializeElement(CoreInstance element)
+        public void serializeElements(ListIterable<? extends CoreInstance> elements)
         {
-            this.fileSerializer.serializeElement(this.stream, element);
+            elements.forEach(element -> this.fileSerializer.serializeElement(this.stream, element));
         }
 
         @Override
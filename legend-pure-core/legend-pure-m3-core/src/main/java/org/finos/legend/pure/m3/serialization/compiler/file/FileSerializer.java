@@ -14,6 +14,7 @@
 
 package org.finos.legend.pure.m3.serialization.compiler.file;
 
+import org.eclipse.collections.api.list.ListIterable;
 import org.finos.legend.pure.m3.navigation.PackageableElement.PackageableElement;
 import org.finos.legend.pure.m3.serialization.compiler.element.ConcreteElementSerializer;
 import org.finos.legend.pure.m3.serialization.compiler.metadata.ElementBackReferenceMetadata;
@@ -24,6 +25,7 @@ import org.finos.legend.pure.m3.serialization.compiler.metadata.ModuleFunctionNa
 import org.finos.legend.pure.m3.serialization.compiler.metadata.ModuleManifest;
 import org.finos.legend.pure.m3.serialization.compiler.metadata.ModuleMetadataSerializer;
 import org.finos.legend.pure.m3.serialization.compiler.metadata.ModuleSourceMetadata;
+import org.finos.legend.pure.m3.tools.forkjoin.ForkJoinTools;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.coreinstance.SourceInformation;
 import org.slf4j.Logger;
@@ -39,7 +41,10 @@ import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -47,6 +52,11 @@ public class FileSerializer
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(FileSerializer.class);
 
+    private static final int PARALLEL_THRESHOLD = 8;
+
+    // zip entries get a fixed timestamp, so that the same elements always produce the same bytes
+    private static final LocalDateTime ZIP_ENTRY_TIME = LocalDateTime.of(2000, 1, 1, 0, 0);
+
     private final FilePathProvider filePathProvider;
     private final ConcreteElementSerializer elementSerializer;
     private final ModuleMetadataSerializer moduleSerializer;
@@ -122,7 +132,7 @@ public class FileSerializer
         LOGGER.debug("Serializing {} to zip entry '{}'", elementPath, entryName);
         try
         {
-            zipStream.putNextEntry(new ZipEntry(entryName));
+            zipStream.putNextEntry(newZipEntry(entryName));
             this.elementSerializer.serialize(zipStream, element, serializerVersion, referenceIdVersion);
             zipStream.closeEntry();
             if (debug)
@@ -150,6 +160,37 @@ public class FileSerializer
         }
     }
 
+    // Serialize elements
+
+    /**
+     * Serialize elements to a directory. If a fork join pool is supplied, elements are serialized in parallel on that
+     * pool. As each element is written to its own file, the result is the same either way.
+     *
+     * @param directory    target directory
+     * @param elements     elements to serialize
+     * @param forkJoinPool optional fork join pool for parallel serialization (may be null)
+     */
+    public void serializeElements(Path directory, ListIterable<? extends CoreInstance> elements, ForkJoinPool forkJoinPool)
+    {
+        Objects.requireNonNull(directory, "directory is required");
+        Objects.requireNonNull(elements, "elements are required");
+        if ((forkJoinPool == null) || (elements.size() <= 1))
+        {
+            elements.forEach(element -> serializeElement(directory, element));
+        }
+        else
+        {
+            ForkJoinTools.forEach(forkJoinPool, elements, element -> serializeElement(directory, element), PARALLEL_THRESHOLD);
+        }
+    }
+
+    private static ZipEntry newZipEntry(String entryName)
+    {
+        ZipEntry entry = new ZipEntry(entryName);
+        entry.setTime(ZIP_ENTRY_TIME.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        return entry;
+    }
+
     // Serialize module manifest to directory
 
     public Path serializeModuleManifest(Path directory, ModuleManifest moduleManifest)
@@ -206,7 +247,7 @@ public class FileSerializer
         LOGGER.debug("Serializing module {} manifest to zip entry '{}'", moduleManifest.getModuleName(), entryName);
         try
         {
-            zipStream.putNextEntry(new ZipEntry(entryName));
+            zipStream.putNextEntry(newZipEntry(entryName));
             this.moduleSerializer.serializeManifest(zipStream, moduleManifest, serializerVersion);
             zipStream.closeEntry();
             if (debug)
@@ -285,7 +326,7 @@ public class FileSerializer
         LOGGER.debug("Serializing module {} source metadata to zip entry '{}'", moduleSourceMetadata.getModuleName(), entryName);
         try
         {
-            zipStream.putNextEntry(new ZipEntry(entryName));
+            zipStream.putNextEntry(newZipEntry(entryName));
             this.moduleSerializer.serializeSourceMetadata(zipStream, moduleSourceMetadata, serializerVersion);
             zipStream.closeEntry();
             if (debug)
@@ -364,7 +405,7 @@ public class FileSerializer
         LOGGER.debug("Serializing module {} external reference metadata to zip entry '{}'", moduleExtRefMetadata.getModuleName(), entryName);
         try
         {
-            zipStream.putNextEntry(new ZipEntry(entryName));
+            zipStream.putNextEntry(newZipEntry(entryName));
             this.moduleSerializer.serializeExternalReferenceMetadata(zipStream, moduleExtRefMetadata, serializerVersion);
             zipStream.closeEntry();
             if (debug)
@@ -492,7 +533,7 @@ public class FileSerializer
         LOGGER.debug("Serializing module {} element {} back reference metadata to zip entry '{}'", moduleName, elementBackRefMetadata.getElementPath(), entryName);
         try
         {
-            zipStream.putNextEntry(new ZipEntry(entryName));
+            zipStream.putNextEntry(newZipEntry(entryName));
             this.moduleSerializer.serializeBackReferenceMetadata(zipStream, elementBackRefMetadata, serializerVersion);
             zipStream.closeEntry();
             if (debug)
@@ -577,7 +618,7 @@ public class FileSerializer
         LOGGER.debug("Serializing module {} back reference index to zip entry '{}'", backReferenceIndex.getModuleName(), entryName);
         try
         {
-            zipStream.putNextEntry(new ZipEntry(entryName));
+            zipStream.putNextEntry(newZipEntry(entryName));
             this.moduleSerializer.serializeBackReferenceIndex(zipStream, backReferenceIndex, serializerVersion);
             zipStream.closeEntry();
             if (debug)
@@ -655,7 +696,7 @@ public class FileSerializer
         LOGGER.debug("Serializing module {} function name metadata to zip entry '{}'", moduleFunctionNameMetadata.getModuleName(), entryName);
         try
         {
-            zipStream.putNextEntry(new ZipEntry(entryName));
+            zipStream.putNextEntry(newZipEntry(entryName));
             this.moduleSerializer.serializeFunctionNameMetadata(zipStream, moduleFunctionNameMetadata, serializerVersion);
             zipStream.closeEntry();
             if (debug)
@@ -20,14 +20,18 @@ import org.eclipse.collections.api.block.procedure.Procedure;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.factory.Stacks;
 import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.map.MapIterable;
 import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
 import org.eclipse.collections.api.multimap.list.MutableListMultimap;
 import org.eclipse.collections.api.set.MutableSet;
 import org.eclipse.collections.api.set.SetIterable;
+import org.eclipse.collections.api.stack.MutableStack;
 import org.eclipse.collections.impl.factory.Multimaps;
+import org.eclipse.collections.impl.factory.primitive.ObjectIntMaps;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.eclipse.collections.impl.utility.LazyIterate;
 import org.finos.legend.pure.m3.compiler.Context;
@@ -71,16 +75,29 @@ import org.finos.legend.pure.m4.coreinstance.SourceInformation;
 import org.finos.legend.pure.m4.serialization.binary.BinaryReaders;
 
 import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.RecursiveTask;
 
 public class GraphLoader
 {
+    /**
+     * Pipeline batch size for loading from a jar library which supports on demand file reads.
+     */
+    public static final int DEFAULT_PIPELINE_BATCH_SIZE = 500;
+
     private static final int DESERIALIZE_FILES_THRESHOLD = 1000;
     private static final int INITIALIZE_NODES_THRESHOLD = 10_000;
     private static final int RESOLVE_REFERENCES_THRESHOLD = 1000;
     private static final int POPULATE_BACK_REFERENCES_THRESHOLD = 1000;
     private static final int UPDATE_CONTEXT_THRESHOLD = 10_000;
+    private static final int PIPELINE_READ_AHEAD = 2;
 
     private final ModelRepository repository;
     private final Context context;
@@ -92,8 +109,27 @@ public class GraphLoader
     private final PureRepositoryJarLibrary jarLibrary;
     private final MutableSet<String> loadedFiles = Sets.mutable.empty();
     private final ForkJoinPool forkJoinPool;
-
-    public GraphLoader(ModelRepository repository, Context context, ParserLibrary parserLibrary, InlineDSLLibrary inlineDSLLibrary, SourceRegistry sourceRegistry, URLPatternLibrary patternLibrary, PureRepositoryJarLibrary jarLibrary, ForkJoinPool forkJoinPool)
+    private final int pipelineBatchSize;
+
+    /**
+     * Create a graph loader. If pipelineBatchSize is positive, files are loaded in pipelined mode: they are split into
+     * batches of approximately that many files in dependency order, and each batch is fully loaded (including reference
+     * resolution) while the following batches are read and deserialized on the fork join pool. This bounds the number
+     * of file bytes in memory at any one time, and overlaps I/O and deserialization with the rest of the load. Since
+     * each batch is read separately, pipelined mode is best used with a jar library which supports on demand file reads
+     * (see {@link PureRepositoryJarLibrary#supportsOnDemandFileReads()}).
+     *
+     * @param repository        model repository
+     * @param context           context
+     * @param parserLibrary     parser library
+     * @param inlineDSLLibrary  inline DSL library
+     * @param sourceRegistry    source registry
+     * @param patternLibrary    URL pattern library (may be null)
+     * @param jarLibrary        jar library
+     * @param forkJoinPool      fork join pool (may be null, in which case loading is single-threaded)
+     * @param pipelineBatchSize batch size for pipelined mode (0 or less for phased loading)
+     */
+    public GraphLoader(ModelRepository repository, Context context, ParserLibrary parserLibrary, InlineDSLLibrary inlineDSLLibrary, SourceRegistry sourceRegistry, URLPatternLibrary patternLibrary, PureRepositoryJarLibrary jarLibrary, ForkJoinPool forkJoinPool, int pipelineBatchSize)
     {
         this.repository = repository;
         this.context = context;
@@ -103,9 +139,15 @@ public class GraphLoader
         this.patternLibrary = patternLibrary;
         this.jarLibrary = jarLibrary;
         this.forkJoinPool = forkJoinPool;
+        this.pipelineBatchSize = pipelineBatchSize;
         this.processorSupport = new M3ProcessorSupport(context, repository);
     }
 
+    public GraphLoader(ModelRepository repository, Context context, ParserLibrary parserLibrary, InlineDSLLibrary inlineDSLLibrary, SourceRegistry sourceRegistry, URLPatternLibrary patternLibrary, PureRepositoryJarLibrary jarLibrary, ForkJoinPool forkJoinPool)
+    {
+        this(repository, context, parserLibrary, inlineDSLLibrary, sourceRegistry, patternLibrary, jarLibrary, forkJoinPool, 0);
+    }
+
     public GraphLoader(ModelRepository repository, Context context, ParserLibrary parserLibrary, InlineDSLLibrary inlineDSLLibrary, SourceRegistry sourceRegistry, URLPatternLibrary patternLibrary, PureRepositoryJarLibrary jarLibrary)
     {
         this(repository, context, parserLibrary, inlineDSLLibrary, sourceRegistry, patternLibrary, jarLibrary, null);
@@ -118,11 +160,16 @@ public class GraphLoader
 
     public void loadAll(Message message)
     {
+        if (isPipelined())
+        {
+            loadFilesPipelined(this.jarLibrary.getAllFiles().reject(this::fileIsLoaded, Sets.mutable.empty()), message);
+            return;
+        }
         if (message != null)
         {
             message.setMessage("    Reading all files ...");
         }
-        MapIterable<String, byte[]> fileBytes = this.loadedFiles.isEmpty() ? this.jarLibrary.readAllFiles() : this.jarLibrary.readFiles(this.jarLibrary.getAllFiles().reject(this::fileIsLoaded));
+        ListIterable<FileBytes> fileBytes = this.loadedFiles.isEmpty() ? readAllFileBytes() : readFileBytes(this.jarLibrary.getAllFiles().reject(this::fileIsLoaded));
         if (message != null)
         {
             message.setMessage(String.format("    Reading all (%,d) files ...", fileBytes.size()));
@@ -233,25 +280,216 @@ public class GraphLoader
 
     private void loadFiles_internal(SetIterable<String> files, Message message)
     {
+        if (isPipelined())
+        {
+            loadFilesPipelined(files.reject(this::fileIsLoaded), message);
+            return;
+        }
         if (message != null)
         {
             message.setMessage(String.format("    Reading %,d files ...", +files.size()));
         }
-        MapIterable<String, byte[]> fileBytes = this.jarLibrary.readFiles(LazyIterate.reject(files, this::fileIsLoaded));
-        loadFileBytes(fileBytes, message);
+        loadFileBytes(readFileBytes(LazyIterate.reject(files, this::fileIsLoaded)), message);
     }
 
-    private void loadFileBytes(MapIterable<String, byte[]> fileBytes, Message message)
+    private void loadFileBytes(ListIterable<FileBytes> fileBytes, Message message)
     {
         if (fileBytes.notEmpty())
         {
             ListIterable<SourceDeserializationResult> results = deserializeFiles(fileBytes, message);
             loadDeserializationResults(results, message);
-            this.loadedFiles.addAllIterable(fileBytes.keysView());
+            fileBytes.forEach(f -> this.loadedFiles.add(f.filePath));
+        }
+    }
+
+    private void loadFilesPipelined(SetIterable<String> files, Message message)
+    {
+        if (files.isEmpty())
+        {
+            return;
+        }
+
+        ListIterable<ListIterable<String>> batches = computeLoadBatches(files);
+        int batchCount = batches.size();
+        if (message != null)
+        {
+            message.setMessage(String.format("    Loading %,d files in %,d batches ...", files.size(), batchCount));
+        }
+
+        Deque<Future<ListIterable<SourceDeserializationResult>>> pending = new ArrayDeque<>(PIPELINE_READ_AHEAD + 1);
+        int nextToRead = 0;
+        try
+        {
+            for (int i = 0; i < batchCount; i++)
+            {
+                // keep reading and deserializing ahead of the batch being loaded
+                while ((nextToRead < batchCount) && (pending.size() <= PIPELINE_READ_AHEAD))
+                {
+                    pending.addLast(readAndDeserializeBatch(batches.get(nextToRead++)));
+                }
+                ListIterable<SourceDeserializationResult> results = getBatchResults(pending.removeFirst());
+                ListIterable<String> batch = batches.get(i);
+                if (message != null)
+                {
+                    message.setMessage(String.format("    Loading batch %,d of %,d (%,d files, %,d batches being read ahead) ...", i + 1, batchCount, batch.size(), pending.size()));
+                }
+                loadDeserializationResults(results, message);
+                this.loadedFiles.addAllIterable(batch);
+            }
+        }
+        finally
+        {
+            pending.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private Future<ListIterable<SourceDeserializationResult>> readAndDeserializeBatch(ListIterable<String> batch)
+    {
+        Callable<ListIterable<SourceDeserializationResult>> task = () -> deserializeFiles(readFileBytes(batch), null);
+        if (this.forkJoinPool == null)
+        {
+            FutureTask<ListIterable<SourceDeserializationResult>> future = new FutureTask<>(task);
+            future.run();
+            return future;
+        }
+        return this.forkJoinPool.submit(task);
+    }
+
+    private ListIterable<SourceDeserializationResult> getBatchResults(Future<ListIterable<SourceDeserializationResult>> future)
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading files", e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new RuntimeException("Error reading files", cause);
+        }
+    }
+
+    /**
+     * Split files into batches of approximately the pipeline batch size, such that each file only depends on files in
+     * the same batch, in an earlier batch, or which are already loaded. Files in a dependency cycle are always kept in
+     * the same batch.
+     *
+     * @param files files to load
+     * @return batches in load order
+     */
+    private ListIterable<ListIterable<String>> computeLoadBatches(SetIterable<String> files)
+    {
+        MutableList<ListIterable<String>> batches = Lists.mutable.empty();
+        MutableList<String> batch = Lists.mutable.withInitialCapacity(this.pipelineBatchSize);
+        for (ListIterable<String> component : getDependencyOrderedComponents(files))
+        {
+            batch.addAllIterable(component);
+            if (batch.size() >= this.pipelineBatchSize)
+            {
+                batches.add(batch);
+                batch = Lists.mutable.withInitialCapacity(this.pipelineBatchSize);
+            }
+        }
+        if (batch.notEmpty())
+        {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Get the strongly connected components of the file dependency graph, in an order where each component comes after
+     * all the components it depends on. This is Tarjan's algorithm, iterative to avoid deep recursion.
+     *
+     * @param files files to order
+     * @return dependency ordered components
+     */
+    private ListIterable<ListIterable<String>> getDependencyOrderedComponents(SetIterable<String> files)
+    {
+        MutableList<ListIterable<String>> components = Lists.mutable.empty();
+        MutableObjectIntMap<String> indexes = ObjectIntMaps.mutable.empty();
+        MutableObjectIntMap<String> lowLinks = ObjectIntMaps.mutable.empty();
+        MutableStack<String> componentStack = Stacks.mutable.empty();
+        MutableSet<String> onComponentStack = Sets.mutable.empty();
+        Deque<DependencyVisit> visitStack = new ArrayDeque<>();
+        for (String root : files.toSortedList())
+        {
+            if (indexes.containsKey(root))
+            {
+                continue;
+            }
+            visitStack.push(startVisit(root, indexes, lowLinks, componentStack, onComponentStack));
+            while (!visitStack.isEmpty())
+            {
+                DependencyVisit visit = visitStack.peek();
+                if (visit.dependencies.hasNext())
+                {
+                    String dependency = visit.dependencies.next();
+                    if (!files.contains(dependency))
+                    {
+                        // already loaded
+                        continue;
+                    }
+                    if (!indexes.containsKey(dependency))
+                    {
+                        visitStack.push(startVisit(dependency, indexes, lowLinks, componentStack, onComponentStack));
+                    }
+                    else if (onComponentStack.contains(dependency))
+                    {
+                        lowLinks.put(visit.file, Math.min(lowLinks.get(visit.file), indexes.get(dependency)));
+                    }
+                }
+                else
+                {
+                    visitStack.pop();
+                    int lowLink = lowLinks.get(visit.file);
+                    if (!visitStack.isEmpty())
+                    {
+                        String parent = visitStack.peek().file;
+                        lowLinks.put(parent, Math.min(lowLinks.get(parent), lowLink));
+                    }
+                    if (lowLink == indexes.get(visit.file))
+                    {
+                        MutableList<String> component = Lists.mutable.empty();
+                        String file;
+                        do
+                        {
+                            file = componentStack.pop();
+                            onComponentStack.remove(file);
+                            component.add(file);
+                        }
+                        while (!file.equals(visit.file));
+                        components.add(component);
+                    }
+                }
+            }
         }
+        return components;
     }
 
-    private ListIterable<SourceDeserializationResult> deserializeFiles(MapIterable<String, byte[]> fileBytes, Message message)
+    private DependencyVisit startVisit(String file, MutableObjectIntMap<String> indexes, MutableObjectIntMap<String> lowLinks, MutableStack<String> componentStack, MutableSet<String> onComponentStack)
+    {
+        int index = indexes.size();
+        indexes.put(file, index);
+        lowLinks.put(file, index);
+        componentStack.push(file);
+        onComponentStack.add(file);
+        return new DependencyVisit(file, this.jarLibrary.getDirectFileDependencies(file).iterator());
+    }
+
+    private ListIterable<SourceDeserializationResult> deserializeFiles(ListIterable<FileBytes> fileBytes, Message message)
     {
         int fileCount = fileBytes.size();
         if (message != null)
@@ -260,15 +498,16 @@ public class GraphLoader
         }
         ExternalReferenceSerializerLibrary serializerLibrary = ExternalReferenceSerializerLibrary.newLibrary(this.parserLibrary);
         ReferenceFactory referenceFactory = CachedReferenceFactory.wrap(new SimpleReferenceFactory());
-        Function<byte[], SourceDeserializationResult> deserialize = sourceBytes -> BinaryModelSourceDeserializer.deserialize(BinaryReaders.newBinaryReader(sourceBytes), serializerLibrary, referenceFactory, true, false, false);
+        // the bytes of each file are read (if deferred) just before it is deserialized, and released right after
+        Function<FileBytes, SourceDeserializationResult> deserialize = f -> BinaryModelSourceDeserializer.deserialize(BinaryReaders.newBinaryReader(f.take()), serializerLibrary, referenceFactory, true, false, false);
         ListIterable<SourceDeserializationResult> results;
         if (shouldParallelize(fileCount, DESERIALIZE_FILES_THRESHOLD))
         {
-            results = ForkJoinTools.collect(this.forkJoinPool, Lists.mutable.<byte[]>withInitialCapacity(fileCount).withAll(fileBytes.valuesView()), deserialize, DESERIALIZE_FILES_THRESHOLD);
+            results = ForkJoinTools.collect(this.forkJoinPool, fileBytes, deserialize, DESERIALIZE_FILES_THRESHOLD);
         }
         else
         {
-            results = fileBytes.valuesView().collect(deserialize, Lists.mutable.withInitialCapacity(fileCount));
+            results = fileBytes.collect(deserialize, Lists.mutable.withInitialCapacity(fileCount));
         }
         return results;
     }
@@ -555,16 +794,94 @@ public class GraphLoader
         return this.processorSupport.package_getByUserPath(path);
     }
 
+    private boolean isPipelined()
+    {
+        return this.pipelineBatchSize > 0;
+    }
+
     private boolean shouldParallelize(int size, int threshold)
     {
         return (this.forkJoinPool != null) && (size > threshold);
     }
 
+    private ListIterable<FileBytes> readAllFileBytes()
+    {
+        return deferFileReads() ? toDeferredFileBytes(this.jarLibrary.getAllFiles()) : toFileBytes(this.jarLibrary.readAllFiles());
+    }
+
+    private ListIterable<FileBytes> readFileBytes(Iterable<String> files)
+    {
+        return deferFileReads() ? toDeferredFileBytes(files) : toFileBytes(this.jarLibrary.readFiles(files));
+    }
+
+    /**
+     * Whether file reads can be deferred to deserialization. This is only done for libraries which support on demand
+     * file reads, so that each file is inflated in the deserialization task which consumes it rather than all files
+     * being inflated up front.
+     */
+    private boolean deferFileReads()
+    {
+        return this.jarLibrary.supportsOnDemandFileReads();
+    }
+
+    private ListIterable<FileBytes> toDeferredFileBytes(Iterable<String> files)
+    {
+        MutableList<FileBytes> result = Lists.mutable.empty();
+        files.forEach(filePath -> result.add(new FileBytes(filePath, this.jarLibrary)));
+        return result;
+    }
+
+    private static ListIterable<FileBytes> toFileBytes(MapIterable<String, byte[]> fileBytes)
+    {
+        MutableList<FileBytes> result = Lists.mutable.withInitialCapacity(fileBytes.size());
+        fileBytes.forEachKeyValue((filePath, bytes) -> result.add(new FileBytes(filePath, bytes)));
+        return result;
+    }
+
     private static String convertToBinaryPath(String path)
     {
         return CodeStorageTools.isPureFilePath(path) ? PureRepositoryJarTools.purePathToBinaryPath(path) : path;
     }
 
+    private static class FileBytes
+    {
+        private final String filePath;
+        private byte[] bytes;
+        private PureRepositoryJarLibrary library;
+
+        private FileBytes(String filePath, byte[] bytes)
+        {
+            this.filePath = filePath;
+            this.bytes = bytes;
+        }
+
+        private FileBytes(String filePath, PureRepositoryJarLibrary library)
+        {
+            this.filePath = filePath;
+            this.library = library;
+        }
+
+        private byte[] take()
+        {
+            byte[] result = (this.library == null) ? this.bytes : this.library.readFile(this.filePath);
+            this.bytes = null;
+            this.library = null;
+            return result;
+        }
+    }
+
+    private static class DependencyVisit
+    {
+        private final String file;
+        private final Iterator<String> dependencies;
+
+        private DependencyVisit(String file, Iterator<String> dependencies)
+        {
+            this.file = file;
+            this.dependencies = dependencies;
+        }
+    }
+
     private static class RecursiveResolveReferencesTask extends RecursiveTask<ReferenceResolutionResult>
     {
         private final int start;
@@ -27,7 +27,6 @@ import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.multimap.Multimap;
 import org.eclipse.collections.api.multimap.list.ImmutableListMultimap;
 import org.eclipse.collections.api.multimap.list.ListMultimap;
-import org.eclipse.collections.api.set.ImmutableSet;
 import org.eclipse.collections.api.set.MutableSet;
 import org.eclipse.collections.api.stack.MutableStack;
 import org.eclipse.collections.impl.factory.Multimaps;
@@ -80,7 +79,7 @@ public class Source
     private boolean compiled;
 
     private ImmutableList<CoreInstance> newInstances;
-    private ImmutableSet<CoreInstance> allInstances;
+    private SourcePositionIndex<CoreInstance> positionIndex;
     private ImmutableListMultimap<Parser, CoreInstance> elementsByParser;
 
     public Source(String id, boolean immutable, boolean inMemory, String content)
@@ -188,7 +187,7 @@ public class Source
             this.compiled = this.immutable;
             this.elementsByParser = null;
             this.newInstances = null;
-            this.allInstances = null;
+            this.positionIndex = null;
         }
     }
 
@@ -236,7 +235,7 @@ public class Source
         synchronized (this.lock)
         {
             this.newInstances = Lists.immutable.withAll(elementsByParser.valuesView());
-            this.allInstances = null;
+            this.positionIndex = null;
             this.elementsByParser = elementsByParser.toImmutable();
         }
     }
@@ -610,11 +609,8 @@ public class Source
 
     private ListIterable<CoreInstance> findRawElementsAt(int line, int column)
     {
-        registerAllInstances();
-        synchronized (this.lock)
-        {
-            return this.allInstances.select(e -> isElementAtPoint(e, line, column), Lists.mutable.empty());
-        }
+        SourcePositionIndex<CoreInstance> index = getPositionIndex();
+        return (index == null) ? Lists.immutable.empty() : index.findElementsAt(line, column);
     }
 
     @Deprecated
@@ -706,11 +702,15 @@ public class Source
         return (endLine >= line) && ((endLine != line) || (sourceInfo.getEndColumn() >= column));
     }
 
-    private void registerAllInstances()
+    /**
+     * Get the index of the instances in this source by position, building it if necessary. The index is built once
+     * the source is compiled, and dropped when it is uncompiled or relinked.
+     */
+    private SourcePositionIndex<CoreInstance> getPositionIndex()
     {
         synchronized (this.lock)
         {
-            if (this.allInstances == null)
+            if ((this.positionIndex == null) && (this.newInstances != null))
             {
                 MutableSet<CoreInstance> result = Sets.mutable.ofInitialCapacity(this.newInstances.size());
                 MutableSet<CoreInstance> visited = Sets.mutable.ofInitialCapacity(this.newInstances.size());
@@ -737,8 +737,9 @@ public class Source
                         }
                     }
                 }
-                this.allInstances = result.toImmutable();
+                this.positionIndex = SourcePositionIndex.build(result, CoreInstance::getSourceInformation);
             }
+            return this.positionIndex;
         }
     }
 
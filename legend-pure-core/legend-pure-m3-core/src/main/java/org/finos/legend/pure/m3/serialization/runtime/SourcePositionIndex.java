@@ -0,0 +1,155 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.serialization.runtime;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.pure.m4.coreinstance.SourceInformation;
+
+import java.util.Arrays;
+
+/**
+ * An immutable index of elements by their source information range, for finding the elements at a position in a
+ * source. The ranges are sorted by start position in an implicit binary search tree, where each node also records
+ * the maximum end position in its subtree; a point lookup then only descends into subtrees that may contain the
+ * point, and runs in O(log n + k) time for k matches when, as in Pure sources, ranges are mostly nested.
+ * <p>
+ * Positions are compared as (line, column) pairs, and ranges include both their start and end, as in
+ * {@link Source#findElementAt}.
+ *
+ * @param <T> element type
+ */
+final class SourcePositionIndex<T>
+{
+    private final Object[] elements;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private SourcePositionIndex(Object[] elements, long[] starts, long[] ends)
+    {
+        this.elements = elements;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[elements.length];
+        computeMaxEnds(0, elements.length - 1);
+    }
+
+    int size()
+    {
+        return this.elements.length;
+    }
+
+    /**
+     * Find all the elements whose source information range contains the given position, in order of their start
+     * position.
+     *
+     * @param line   line
+     * @param column column
+     * @return elements at the position
+     */
+    MutableList<T> findElementsAt(int line, int column)
+    {
+        MutableList<T> results = Lists.mutable.empty();
+        search(0, this.elements.length - 1, position(line, column), results);
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void search(int lo, int hi, long position, MutableList<T> results)
+    {
+        if (lo > hi)
+        {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (this.maxEnds[mid] < position)
+        {
+            // nothing in this subtree ends at or after the position
+            return;
+        }
+        search(lo, mid - 1, position, results);
+        if (this.starts[mid] <= position)
+        {
+            if (this.ends[mid] >= position)
+            {
+                results.add((T) this.elements[mid]);
+            }
+            search(mid + 1, hi, position, results);
+        }
+    }
+
+    private long computeMaxEnds(int lo, int hi)
+    {
+        if (lo > hi)
+        {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(this.ends[mid], Math.max(computeMaxEnds(lo, mid - 1), computeMaxEnds(mid + 1, hi)));
+        this.maxEnds[mid] = max;
+        return max;
+    }
+
+    /**
+     * Build an index of the given elements. Elements without source information are ignored.
+     *
+     * @param elements          elements to index
+     * @param sourceInformation function to get the source information of an element
+     * @param <T>               element type
+     * @return position index
+     */
+    static <T> SourcePositionIndex<T> build(Iterable<? extends T> elements, Function<? super T, ? extends SourceInformation> sourceInformation)
+    {
+        MutableList<T> withSourceInfo = Lists.mutable.empty();
+        elements.forEach(e ->
+        {
+            if (sourceInformation.valueOf(e) != null)
+            {
+                withSourceInfo.add(e);
+            }
+        });
+
+        int size = withSourceInfo.size();
+        long[] unsortedStarts = new long[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++)
+        {
+            SourceInformation sourceInfo = sourceInformation.valueOf(withSourceInfo.get(i));
+            unsortedStarts[i] = position(sourceInfo.getStartLine(), sourceInfo.getStartColumn());
+            order[i] = i;
+        }
+        Arrays.sort(order, (i, j) -> Long.compare(unsortedStarts[i], unsortedStarts[j]));
+
+        Object[] sortedElements = new Object[size];
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        for (int i = 0; i < size; i++)
+        {
+            T element = withSourceInfo.get(order[i]);
+            SourceInformation sourceInfo = sourceInformation.valueOf(element);
+            sortedElements[i] = element;
+            starts[i] = unsortedStarts[order[i]];
+            ends[i] = position(sourceInfo.getEndLine(), sourceInfo.getEndColumn());
+        }
+        return new SourcePositionIndex<>(sortedElements, starts, ends);
+    }
+
+    private static long position(int line, int column)
+    {
+        return ((long) line << 32) + column;
+    }
+}
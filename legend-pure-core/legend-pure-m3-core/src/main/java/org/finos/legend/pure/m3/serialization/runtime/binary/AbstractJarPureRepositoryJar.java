@@ -24,6 +24,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
 
@@ -127,6 +128,15 @@ abstract class AbstractJarPureRepositoryJar extends AbstractPureRepositoryJar
 
     protected abstract JarInputStream getJarInputStream() throws IOException;
 
+    /**
+     * Get the raw bytes of the jar as a read-only buffer, for random access to individual entries. Where possible,
+     * implementations should map the jar file rather than reading it onto the heap.
+     *
+     * @return jar bytes
+     * @throws IOException if the jar cannot be read
+     */
+    abstract ByteBuffer getJarBuffer() throws IOException;
+
     private static int getAndCheckExpectedSize(JarEntry entry)
     {
         long expectedSize = entry.getSize();  //NOSONAR JARs are trusted
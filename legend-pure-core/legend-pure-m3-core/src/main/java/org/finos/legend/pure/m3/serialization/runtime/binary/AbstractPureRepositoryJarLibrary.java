@@ -165,6 +165,30 @@ public abstract class AbstractPureRepositoryJarLibrary implements PureRepository
         return getFileDependencies(Stacks.mutable.withAll(filePaths));
     }
 
+    @Override
+    public SetIterable<String> getDirectFileDependencies(String filePath)
+    {
+        ImmutableSet<String> externalReferences = this.index.getExternalReferencesInFile(filePath);
+        if (externalReferences == null)
+        {
+            throw new IllegalArgumentException("Unknown file: " + filePath);
+        }
+        MutableSet<String> results = Sets.mutable.empty();
+        for (String externalReference : externalReferences)
+        {
+            String definitionFilePath = this.index.getInstanceDefinitionFile(externalReference);
+            if (definitionFilePath == null)
+            {
+                throw new RuntimeException("Cannot find definition for: " + externalReference + " (referenced from " + filePath + ")");
+            }
+            if (!filePath.equals(definitionFilePath))
+            {
+                results.add(definitionFilePath);
+            }
+        }
+        return results.asUnmodifiable();
+    }
+
     /**
      * Get the files that the given files depend on.
      *
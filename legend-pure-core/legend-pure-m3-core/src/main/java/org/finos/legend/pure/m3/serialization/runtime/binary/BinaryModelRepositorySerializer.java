@@ -16,6 +16,7 @@ package org.finos.legend.pure.m3.serialization.runtime.binary;
 
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.api.tuple.Pair;
@@ -26,6 +27,8 @@ import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.classpa
 import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.composite.CompositeCodeStorage;
 import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.vcs.VersionControlledCodeStorage;
 import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.m3.serialization.runtime.Source;
+import org.finos.legend.pure.m3.tools.forkjoin.ForkJoinTools;
 import org.finos.legend.pure.m4.serialization.Writer;
 import org.finos.legend.pure.m4.serialization.binary.BinaryWriters;
 
@@ -33,6 +36,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 public class BinaryModelRepositorySerializer
 {
@@ -40,10 +44,11 @@ public class BinaryModelRepositorySerializer
     private final String modelVersion;
     private final String repositoryName;
     private final PureRuntime runtime;
+    private final ForkJoinPool forkJoinPool;
     private final MutableList<SourceSerializationResult> serializationResults = Lists.mutable.empty();
     private final MutableMap<String, byte[]> sourceSerializations = Maps.mutable.empty();
 
-    private BinaryModelRepositorySerializer(String platformVersion, String modelVersion, String repositoryName, PureRuntime runtime)
+    private BinaryModelRepositorySerializer(String platformVersion, String modelVersion, String repositoryName, PureRuntime runtime, ForkJoinPool forkJoinPool)
     {
         if ((repositoryName != null) && runtime.getCodeStorage().getRepository(repositoryName) == null)
         {
@@ -53,6 +58,7 @@ public class BinaryModelRepositorySerializer
         this.modelVersion = modelVersion;
         this.repositoryName = repositoryName;
         this.runtime = runtime;
+        this.forkJoinPool = forkJoinPool;
     }
 
     private void serialize(OutputStream stream) throws IOException
@@ -63,6 +69,12 @@ public class BinaryModelRepositorySerializer
 
     private void serializeSources()
     {
+        if (this.forkJoinPool != null)
+        {
+            serializeSourcesInParallel();
+            return;
+        }
+
         ByteArrayOutputStream stream = new ByteArrayOutputStream(1024);
         try (Writer writer = BinaryWriters.newBinaryWriter(stream))
         {
@@ -79,6 +91,31 @@ public class BinaryModelRepositorySerializer
         }
     }
 
+    private void serializeSourcesInParallel()
+    {
+        // Serialize each source to its own byte array in parallel; the jar is written in path order regardless
+        ListIterable<Source> sources = this.runtime.getSourceRegistry().getSources().select(source -> CompositeCodeStorage.isSourceInRepository(source.getId(), this.repositoryName)).toList();
+        if (sources.isEmpty())
+        {
+            return;
+        }
+        ListIterable<Pair<SourceSerializationResult, byte[]>> results = ForkJoinTools.collect(this.forkJoinPool, sources, source ->
+        {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream(1024);
+            SourceSerializationResult result;
+            try (Writer writer = BinaryWriters.newBinaryWriter(stream))
+            {
+                result = BinaryModelSourceSerializer.serialize(writer, source, this.runtime);
+            }
+            return Tuples.pair(result, stream.toByteArray());
+        }, 1);
+        results.forEach(pair ->
+        {
+            this.serializationResults.add(pair.getOne());
+            this.sourceSerializations.put(pair.getOne().getSourceId(), pair.getTwo());
+        });
+    }
+
     private void writeToJar(OutputStream stream) throws IOException
     {
         try (PureRepositoryJarBuilder jarBuilder = PureRepositoryJarBuilder.newBuilder(stream, getPlatformVersion(), getModelVersion(), this.repositoryName, this.serializationResults))
@@ -122,7 +159,16 @@ public class BinaryModelRepositorySerializer
 
     public static void serialize(OutputStream stream, String platformVersion, String modelVersion, String repositoryName, PureRuntime runtime) throws IOException
     {
-        new BinaryModelRepositorySerializer(platformVersion, modelVersion, repositoryName, runtime).serialize(stream);
+        serialize(stream, platformVersion, modelVersion, repositoryName, runtime, null);
+    }
+
+    /**
+     * Serialize a repository to a Pure repository jar, serializing sources in parallel if a fork join pool is given.
+     * The jar contents are the same either way.
+     */
+    public static void serialize(OutputStream stream, String platformVersion, String modelVersion, String repositoryName, PureRuntime runtime, ForkJoinPool forkJoinPool) throws IOException
+    {
+        new BinaryModelRepositorySerializer(platformVersion, modelVersion, repositoryName, runtime, forkJoinPool).serialize(stream);
     }
 
     public static void serialize(OutputStream stream, String repository, PureRuntime runtime) throws IOException
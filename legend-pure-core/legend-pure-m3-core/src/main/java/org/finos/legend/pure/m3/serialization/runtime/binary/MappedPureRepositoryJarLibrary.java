@@ -0,0 +1,272 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.serialization.runtime.binary;
+
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.SetIterable;
+import org.eclipse.collections.impl.list.fixed.ArrayAdapter;
+import org.eclipse.collections.impl.utility.Iterate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A jar library which indexes the entries of each jar without reading them. File jars are memory-mapped, and file
+ * bytes are only inflated when requested. No file bytes are retained on the heap by the library itself, and
+ * {@link org.finos.legend.pure.m3.serialization.runtime.GraphLoader GraphLoader} defers reading each file to the task
+ * which deserializes it, so only the files being deserialized are inflated at any one time.
+ */
+public class MappedPureRepositoryJarLibrary extends AbstractPureRepositoryJarLibrary
+{
+    private final ImmutableMap<String, RepositoryFiles> filesByRepo;
+
+    private MappedPureRepositoryJarLibrary(Iterable<? extends PureRepositoryJar> jars)
+    {
+        super(jars);
+        this.filesByRepo = indexRepositoryJars(jars);
+    }
+
+    @Override
+    public boolean isKnownRepository(String repositoryName)
+    {
+        return this.filesByRepo.containsKey(repositoryName);
+    }
+
+    @Override
+    public boolean supportsOnDemandFileReads()
+    {
+        return true;
+    }
+
+    @Override
+    public byte[] readFile(String filePath)
+    {
+        RepositoryFiles repoFiles = this.filesByRepo.get(getFileRepository(filePath));
+        if ((repoFiles == null) || !repoFiles.hasFile(filePath))
+        {
+            throw new IllegalArgumentException("Could not find file: " + filePath);
+        }
+        return repoFiles.readFile(filePath);
+    }
+
+    @Override
+    public MapIterable<String, byte[]> readFiles(Iterable<String> filePaths)
+    {
+        MutableMap<String, byte[]> result = Maps.mutable.empty();
+        filePaths.forEach(filePath -> result.put(filePath, readFile(filePath)));
+        return result;
+    }
+
+    @Override
+    public MapIterable<String, byte[]> readRepositoryFiles(String repositoryName)
+    {
+        return readRepositoryFiles(getRepository(repositoryName), Maps.mutable.empty());
+    }
+
+    @Override
+    public MapIterable<String, byte[]> readRepositoryFiles(Iterable<String> repositoryNames)
+    {
+        MutableMap<String, byte[]> result = Maps.mutable.empty();
+        repositoryNames.forEach(repositoryName -> readRepositoryFiles(getRepository(repositoryName), result));
+        return result;
+    }
+
+    @Override
+    public MapIterable<String, byte[]> readAllFiles()
+    {
+        MutableMap<String, byte[]> result = Maps.mutable.empty();
+        this.filesByRepo.forEachValue(repoFiles -> readRepositoryFiles(repoFiles, result));
+        return result;
+    }
+
+    @Override
+    public RichIterable<String> getRepositoryFiles(String repositoryName)
+    {
+        return getRepository(repositoryName).getFiles();
+    }
+
+    private RepositoryFiles getRepository(String repositoryName)
+    {
+        RepositoryFiles repoFiles = this.filesByRepo.get(repositoryName);
+        if (repoFiles == null)
+        {
+            throw new IllegalArgumentException("Unknown repository: " + repositoryName);
+        }
+        return repoFiles;
+    }
+
+    private static MutableMap<String, byte[]> readRepositoryFiles(RepositoryFiles repoFiles, MutableMap<String, byte[]> target)
+    {
+        repoFiles.getFiles().forEach(filePath -> target.put(filePath, repoFiles.readFile(filePath)));
+        return target;
+    }
+
+    private static ImmutableMap<String, RepositoryFiles> indexRepositoryJars(Iterable<? extends PureRepositoryJar> jars)
+    {
+        MutableMap<String, RepositoryFiles> index = Maps.mutable.empty();
+        for (PureRepositoryJar jar : jars)
+        {
+            PureRepositoryJarMetadata metadata = jar.getMetadata();
+            String repositoryName = metadata.getRepositoryName();
+            RepositoryFiles repoFiles;
+            try
+            {
+                repoFiles = (jar instanceof AbstractJarPureRepositoryJar) ?
+                            MappedJarFiles.index(metadata, ((AbstractJarPureRepositoryJar) jar).getJarBuffer()) :
+                            new DelegatingJarFiles(jar);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException("Error indexing Pure repository jar for " + repositoryName, e);
+            }
+            if (index.put(repositoryName, repoFiles) != null)
+            {
+                throw new IllegalArgumentException("Multiple Pure repository jars for " + repositoryName);
+            }
+        }
+        return index.toImmutable();
+    }
+
+    public static MappedPureRepositoryJarLibrary newLibrary(Iterable<? extends PureRepositoryJar> jars)
+    {
+        return new MappedPureRepositoryJarLibrary((jars instanceof LazyIterable) ? Lists.mutable.withAll(jars) : jars);
+    }
+
+    public static MappedPureRepositoryJarLibrary newLibrary(PureRepositoryJar... jars)
+    {
+        return newLibrary(ArrayAdapter.adapt(jars));
+    }
+
+    public static MappedPureRepositoryJarLibrary newLibraryFromPaths(Iterable<? extends Path> paths)
+    {
+        return newLibrary(Iterate.collect(paths, PureRepositoryJars::get));
+    }
+
+    public static MappedPureRepositoryJarLibrary newLibraryFromDirectory(Path directory)
+    {
+        try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(directory, PureRepositoryJarTools::hasPureJarExtension))
+        {
+            return newLibraryFromPaths(dirStream);
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException("Error getting Pure repository jar library from directory " + directory, e);
+        }
+    }
+
+    public static MappedPureRepositoryJarLibrary newLibraryFromURLs(Iterable<? extends URL> urls)
+    {
+        return newLibrary(Iterate.collect(urls, PureRepositoryJars::get));
+    }
+
+    private interface RepositoryFiles
+    {
+        ImmutableList<String> getFiles();
+
+        boolean hasFile(String filePath);
+
+        byte[] readFile(String filePath);
+    }
+
+    /**
+     * Files of a jar which cannot be accessed randomly (e.g., an unpacked jar). Reads are delegated to the jar itself.
+     */
+    private static class DelegatingJarFiles implements RepositoryFiles
+    {
+        private final PureRepositoryJar jar;
+        private final ImmutableList<String> files;
+
+        private DelegatingJarFiles(PureRepositoryJar jar)
+        {
+            this.jar = jar;
+            this.files = jar.getMetadata().getExternalReferenceIndex().keysView().toSortedList().toImmutable();
+        }
+
+        @Override
+        public ImmutableList<String> getFiles()
+        {
+            return this.files;
+        }
+
+        @Override
+        public boolean hasFile(String filePath)
+        {
+            return this.jar.getMetadata().getExternalReferenceIndex().containsKey(filePath);
+        }
+
+        @Override
+        public byte[] readFile(String filePath)
+        {
+            return this.jar.readFile(filePath);
+        }
+    }
+
+    /**
+     * Files of a jar held in a (possibly memory-mapped) buffer. Entries are located through the zip central directory
+     * when the jar is indexed, and each entry is only inflated when it is read.
+     */
+    private static class MappedJarFiles implements RepositoryFiles
+    {
+        private final ZipCentralDirectory centralDirectory;
+        private final ImmutableList<String> files;
+
+        private MappedJarFiles(ZipCentralDirectory centralDirectory)
+        {
+            this.centralDirectory = centralDirectory;
+            this.files = centralDirectory.getEntryNames();
+        }
+
+        @Override
+        public ImmutableList<String> getFiles()
+        {
+            return this.files;
+        }
+
+        @Override
+        public boolean hasFile(String filePath)
+        {
+            return this.centralDirectory.hasEntry(filePath);
+        }
+
+        @Override
+        public byte[] readFile(String filePath)
+        {
+            return this.centralDirectory.read(filePath);
+        }
+
+        private static MappedJarFiles index(PureRepositoryJarMetadata metadata, ByteBuffer jarBuffer)
+        {
+            SetIterable<String> knownFiles = metadata.getExternalReferenceIndex().keysView().toSet();
+            ZipCentralDirectory centralDirectory = ZipCentralDirectory.read(jarBuffer, knownFiles::contains);
+            if (centralDirectory.getEntryNames().size() < knownFiles.size())
+            {
+                throw new RuntimeException(knownFiles.reject(centralDirectory::hasEntry).toSortedList().makeString("Could not find entries for files: ", ", ", ""));
+            }
+            return new MappedJarFiles(centralDirectory);
+        }
+    }
+}
@@ -32,6 +32,17 @@ public interface PureRepositoryJarLibrary
 
     byte[] readFile(String filePath);
 
+    /**
+     * Whether individual files can be read cheaply on demand, without the library holding other files in memory. If
+     * so, readers may defer reading each file until it is needed instead of reading files in bulk.
+     *
+     * @return whether files can be read cheaply on demand
+     */
+    default boolean supportsOnDemandFileReads()
+    {
+        return false;
+    }
+
     MapIterable<String, byte[]> readFiles(String... filePaths);
 
     MapIterable<String, byte[]> readFiles(Iterable<String> filePaths);
@@ -72,6 +83,17 @@ public interface PureRepositoryJarLibrary
      */
     SetIterable<String> getFileDependencies(Iterable<String> filePaths);
 
+    /**
+     * Get the files that the given file directly depends on: that is,
+     * the files which define its external references. Unlike
+     * {@link #getFileDependencies(String...)}, this is not transitive
+     * and does not include the file itself.
+     *
+     * @param filePath file path
+     * @return files that the given file directly depends on
+     */
+    SetIterable<String> getDirectFileDependencies(String filePath);
+
     /**
      * Get the files that depend on any of the given files.
      *
@@ -16,6 +16,8 @@ package org.finos.legend.pure.m3.serialization.runtime.binary;
 
 import org.eclipse.collections.api.ByteIterable;
 import org.eclipse.collections.api.block.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
@@ -23,15 +25,22 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.jar.JarInputStream;
 
 public class PureRepositoryJars
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PureRepositoryJars.class);
+
     public static final Function<Path, PureRepositoryJar> PATH_TO_JAR = PureRepositoryJars::get;
     public static final Function<URL, PureRepositoryJar> URL_TO_JAR = PureRepositoryJars::get;
     public static final Function<byte[], PureRepositoryJar> BYTE_ARRAY_TO_JAR = PureRepositoryJars::get;
@@ -155,6 +164,15 @@ public class PureRepositoryJars
         return byteStream.toByteArray();
     }
 
+    private static ByteBuffer mapFile(Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            // the mapping remains valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
     private static class PathPureRepositoryJar extends AbstractJarPureRepositoryJar
     {
         private final Path path;
@@ -170,6 +188,12 @@ public class PureRepositoryJars
         {
             return new JarInputStream(new BufferedInputStream(Files.newInputStream(this.path)));
         }
+
+        @Override
+        ByteBuffer getJarBuffer() throws IOException
+        {
+            return mapFile(this.path);
+        }
     }
 
     private static class URLPureRepositoryJar extends AbstractJarPureRepositoryJar
@@ -187,6 +211,62 @@ public class PureRepositoryJars
         {
             return new JarInputStream(new BufferedInputStream(this.url.openStream()));
         }
+
+        @Override
+        ByteBuffer getJarBuffer() throws IOException
+        {
+            String protocol = this.url.getProtocol();
+            try
+            {
+                if ("file".equalsIgnoreCase(protocol))
+                {
+                    return mapFile(Paths.get(this.url.toURI()));
+                }
+                if ("jar".equalsIgnoreCase(protocol))
+                {
+                    ByteBuffer buffer = mapJarEntry(this.url);
+                    if (buffer != null)
+                    {
+                        return buffer;
+                    }
+                }
+            }
+            catch (Exception e)
+            {
+                LOGGER.warn("Could not map Pure repository jar {}, reading it onto the heap instead", this.url, e);
+            }
+            return ByteBuffer.wrap(readBytes(this.url)).asReadOnlyBuffer();
+        }
+
+        /**
+         * Map a jar which is an entry of an enclosing jar file (as found on the classpath). An entry stored without
+         * compression is mapped in place from the enclosing jar; a compressed entry is inflated once to a temporary
+         * file, which is mapped. Returns null if the enclosing jar is not a file.
+         */
+        private static ByteBuffer mapJarEntry(URL url) throws Exception
+        {
+            JarURLConnection connection = (JarURLConnection) url.openConnection();
+            URL jarFileURL = connection.getJarFileURL();
+            String entryName = connection.getEntryName();
+            if ((entryName == null) || !"file".equalsIgnoreCase(jarFileURL.getProtocol()))
+            {
+                return null;
+            }
+
+            ZipCentralDirectory centralDirectory = ZipCentralDirectory.read(mapFile(Paths.get(jarFileURL.toURI())), entryName::equals);
+            if (centralDirectory.getMethod(entryName) == ZipCentralDirectory.STORED)
+            {
+                return centralDirectory.slice(entryName).asReadOnlyBuffer();
+            }
+
+            Path tmpFile = Files.createTempFile("pure-", PureRepositoryJarTools.PURE_JAR_EXTENSION);
+            tmpFile.toFile().deleteOnExit();
+            try (InputStream stream = connection.getInputStream())
+            {
+                Files.copy(stream, tmpFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return mapFile(tmpFile);
+        }
     }
 
     private static class ByteArrayPureRepositoryJar extends AbstractJarPureRepositoryJar
@@ -204,5 +284,11 @@ public class PureRepositoryJars
         {
             return new JarInputStream(new ByteArrayInputStream(this.bytes));
         }
+
+        @Override
+        ByteBuffer getJarBuffer()
+        {
+            return ByteBuffer.wrap(this.bytes).asReadOnlyBuffer();
+        }
     }
 }
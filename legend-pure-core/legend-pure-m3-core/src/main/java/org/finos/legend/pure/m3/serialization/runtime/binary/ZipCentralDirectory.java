@@ -0,0 +1,348 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.serialization.runtime.binary;
+
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MutableMap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * The entries of a zip file held in a (possibly memory-mapped) buffer. Entries are located through the central
+ * directory, including the ZIP64 end record and extra fields, without reading them. Each entry is only inflated when
+ * it is read, and its CRC is checked against the central directory.
+ */
+class ZipCentralDirectory
+{
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_RECORD_SIGNATURE = 0x06054b50;
+    private static final int END_RECORD_SIZE = 22;
+    private static final int ZIP64_END_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_END_LOCATOR_SIZE = 20;
+    private static final int ZIP64_END_RECORD_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int INFLATE_CHUNK_SIZE = 8192;
+
+    private static final long ZIP64_MAGIC_VALUE = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    static final int STORED = 0;
+    static final int DEFLATED = 8;
+
+    private final ByteBuffer buffer;
+    private final ImmutableMap<String, Entry> entries;
+
+    private ZipCentralDirectory(ByteBuffer buffer, ImmutableMap<String, Entry> entries)
+    {
+        this.buffer = buffer;
+        this.entries = entries;
+    }
+
+    ImmutableList<String> getEntryNames()
+    {
+        return this.entries.keysView().toSortedList().toImmutable();
+    }
+
+    boolean hasEntry(String name)
+    {
+        return this.entries.containsKey(name);
+    }
+
+    int getMethod(String name)
+    {
+        return getEntry(name).method;
+    }
+
+    /**
+     * Read the bytes of an entry, inflating them if they are compressed.
+     *
+     * @param name entry name
+     * @return entry bytes
+     */
+    byte[] read(String name)
+    {
+        Entry entry = getEntry(name);
+        ByteBuffer view = getDataView(name, entry);
+        byte[] bytes;
+        switch (entry.method)
+        {
+            case STORED:
+            {
+                bytes = new byte[entry.size];
+                view.get(bytes);
+                break;
+            }
+            case DEFLATED:
+            {
+                bytes = inflate(name, view, entry);
+                break;
+            }
+            default:
+            {
+                throw new RuntimeException("Unsupported compression method (" + entry.method + ") for " + name);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        if (crc.getValue() != entry.crc)
+        {
+            throw new RuntimeException("CRC mismatch for " + name + ": expected " + Long.toHexString(entry.crc) + ", found " + Long.toHexString(crc.getValue()));
+        }
+        return bytes;
+    }
+
+    /**
+     * Get a view of the data of an entry which is stored without compression. The view shares the underlying buffer,
+     * so no bytes are copied.
+     *
+     * @param name entry name
+     * @return view of the entry data
+     */
+    ByteBuffer slice(String name)
+    {
+        Entry entry = getEntry(name);
+        if (entry.method != STORED)
+        {
+            throw new IllegalArgumentException("Entry is compressed: " + name);
+        }
+        ByteBuffer view = getDataView(name, entry);
+        view.limit(view.position() + entry.size);
+        return view.slice();
+    }
+
+    private Entry getEntry(String name)
+    {
+        Entry entry = this.entries.get(name);
+        if (entry == null)
+        {
+            throw new IllegalArgumentException("Unknown entry: " + name);
+        }
+        return entry;
+    }
+
+    private ByteBuffer getDataView(String name, Entry entry)
+    {
+        // duplicate so that concurrent reads do not share a position
+        ByteBuffer view = this.buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (view.getInt(entry.localHeaderOffset) != LOCAL_HEADER_SIGNATURE)
+        {
+            throw new RuntimeException("Invalid local header for " + name);
+        }
+        long dataStart = (long) entry.localHeaderOffset + LOCAL_HEADER_SIZE + Short.toUnsignedInt(view.getShort(entry.localHeaderOffset + 26)) + Short.toUnsignedInt(view.getShort(entry.localHeaderOffset + 28));
+        if (dataStart + entry.compressedSize > view.limit())
+        {
+            throw new RuntimeException("Entry data extends past the end of the zip file: " + name);
+        }
+        view.position((int) dataStart);
+        return view;
+    }
+
+    private static byte[] inflate(String name, ByteBuffer view, Entry entry)
+    {
+        byte[] result = new byte[entry.size];
+        byte[] chunk = new byte[Math.min(INFLATE_CHUNK_SIZE, Math.max(1, entry.compressedSize))];
+        Inflater inflater = new Inflater(true);
+        try
+        {
+            int remaining = entry.compressedSize;
+            int written = 0;
+            while (written < result.length)
+            {
+                if (inflater.needsInput())
+                {
+                    if (remaining == 0)
+                    {
+                        throw new RuntimeException("Unexpected end of compressed data for " + name);
+                    }
+                    int len = Math.min(chunk.length, remaining);
+                    view.get(chunk, 0, len);
+                    remaining -= len;
+                    inflater.setInput(chunk, 0, len);
+                }
+                written += inflater.inflate(result, written, result.length - written);
+            }
+            return result;
+        }
+        catch (DataFormatException e)
+        {
+            throw new RuntimeException("Error inflating " + name, e);
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Index the entries of a zip file held in a buffer.
+     *
+     * @param zipBuffer  buffer holding the whole zip file
+     * @param entryNames entries to index
+     * @return central directory of the indexed entries
+     */
+    static ZipCentralDirectory read(ByteBuffer zipBuffer, Predicate<? super String> entryNames)
+    {
+        ByteBuffer buffer = zipBuffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int endRecord = findEndRecord(buffer);
+        long entryCount = Short.toUnsignedInt(buffer.getShort(endRecord + 10));
+        long centralDirectoryOffset = Integer.toUnsignedLong(buffer.getInt(endRecord + 16));
+        int zip64Locator = endRecord - ZIP64_END_LOCATOR_SIZE;
+        if ((zip64Locator >= 0) && (buffer.getInt(zip64Locator) == ZIP64_END_LOCATOR_SIGNATURE))
+        {
+            int zip64EndRecord = checkOffset(buffer.getLong(zip64Locator + 8), buffer, "ZIP64 end record");
+            if (buffer.getInt(zip64EndRecord) != ZIP64_END_RECORD_SIGNATURE)
+            {
+                throw new RuntimeException("Invalid ZIP64 end record at " + zip64EndRecord);
+            }
+            entryCount = buffer.getLong(zip64EndRecord + 32);
+            centralDirectoryOffset = buffer.getLong(zip64EndRecord + 48);
+        }
+        else if ((entryCount == ZIP64_MAGIC_COUNT) || (centralDirectoryOffset == ZIP64_MAGIC_VALUE))
+        {
+            throw new RuntimeException("Could not find ZIP64 end record");
+        }
+
+        MutableMap<String, Entry> entries = Maps.mutable.empty();
+        int position = checkOffset(centralDirectoryOffset, buffer, "central directory");
+        byte[] nameBytes = new byte[256];
+        for (long i = 0; i < entryCount; i++)
+        {
+            if (buffer.getInt(position) != CENTRAL_HEADER_SIGNATURE)
+            {
+                throw new RuntimeException("Invalid central directory entry at " + position);
+            }
+            int method = Short.toUnsignedInt(buffer.getShort(position + 10));
+            long crc = Integer.toUnsignedLong(buffer.getInt(position + 16));
+            long compressedSize = Integer.toUnsignedLong(buffer.getInt(position + 20));
+            long size = Integer.toUnsignedLong(buffer.getInt(position + 24));
+            int nameLength = Short.toUnsignedInt(buffer.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(buffer.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(buffer.getShort(position + 32));
+            long localHeaderOffset = Integer.toUnsignedLong(buffer.getInt(position + 42));
+
+            if (nameBytes.length < nameLength)
+            {
+                nameBytes = new byte[nameLength];
+            }
+            buffer.position(position + CENTRAL_HEADER_SIZE);
+            buffer.get(nameBytes, 0, nameLength);
+            String name = new String(nameBytes, 0, nameLength, StandardCharsets.UTF_8);
+            if (entryNames.test(name))
+            {
+                if ((size == ZIP64_MAGIC_VALUE) || (compressedSize == ZIP64_MAGIC_VALUE) || (localHeaderOffset == ZIP64_MAGIC_VALUE))
+                {
+                    // the real values are in the ZIP64 extra field, in this order, but only where the header has the magic value
+                    int zip64Extra = findExtraField(buffer, position + CENTRAL_HEADER_SIZE + nameLength, extraLength, ZIP64_EXTRA_FIELD_ID);
+                    if (zip64Extra == -1)
+                    {
+                        throw new RuntimeException("Could not find ZIP64 extra field for " + name);
+                    }
+                    int next = zip64Extra + 4;
+                    if (size == ZIP64_MAGIC_VALUE)
+                    {
+                        size = buffer.getLong(next);
+                        next += 8;
+                    }
+                    if (compressedSize == ZIP64_MAGIC_VALUE)
+                    {
+                        compressedSize = buffer.getLong(next);
+                        next += 8;
+                    }
+                    if (localHeaderOffset == ZIP64_MAGIC_VALUE)
+                    {
+                        localHeaderOffset = buffer.getLong(next);
+                    }
+                }
+                if ((compressedSize > Integer.MAX_VALUE) || (size > Integer.MAX_VALUE))
+                {
+                    throw new RuntimeException("Entry too large: " + name);
+                }
+                entries.put(name, new Entry(checkOffset(localHeaderOffset, buffer, name), method, (int) compressedSize, (int) size, crc));
+            }
+            position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        return new ZipCentralDirectory(zipBuffer, entries.toImmutable());
+    }
+
+    private static int findEndRecord(ByteBuffer buffer)
+    {
+        int limit = buffer.limit();
+        int lowest = Math.max(0, limit - END_RECORD_SIZE - MAX_COMMENT_SIZE);
+        for (int position = limit - END_RECORD_SIZE; position >= lowest; position--)
+        {
+            if (buffer.getInt(position) == END_RECORD_SIGNATURE)
+            {
+                return position;
+            }
+        }
+        throw new RuntimeException("Could not find end of central directory record");
+    }
+
+    private static int findExtraField(ByteBuffer buffer, int start, int length, int id)
+    {
+        int end = start + length;
+        int position = start;
+        while (position + 4 <= end)
+        {
+            int fieldId = Short.toUnsignedInt(buffer.getShort(position));
+            int fieldSize = Short.toUnsignedInt(buffer.getShort(position + 2));
+            if (fieldId == id)
+            {
+                return position;
+            }
+            position += 4 + fieldSize;
+        }
+        return -1;
+    }
+
+    private static int checkOffset(long offset, ByteBuffer buffer, String description)
+    {
+        if ((offset < 0) || (offset >= buffer.limit()))
+        {
+            throw new RuntimeException("Invalid offset for " + description + ": " + offset);
+        }
+        return (int) offset;
+    }
+
+    private static class Entry
+    {
+        private final int localHeaderOffset;
+        private final int method;
+        private final int compressedSize;
+        private final int size;
+        private final long crc;
+
+        private Entry(int localHeaderOffset, int method, int compressedSize, int size, long crc)
+        {
+            this.localHeaderOffset = localHeaderOffset;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.crc = crc;
+        }
+    }
+}
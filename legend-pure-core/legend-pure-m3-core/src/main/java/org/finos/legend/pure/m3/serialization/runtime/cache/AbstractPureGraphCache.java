@@ -53,7 +53,10 @@ abstract class AbstractPureGraphCache implements PureGraphCache
     {
         try
         {
-            clearCaches();
+            if (clearCachesBeforeWriting())
+            {
+                clearCaches();
+            }
             this.cacheState.update(true, -1L, true, null);
             writeCaches();
             updateCacheState();
@@ -108,6 +111,21 @@ abstract class AbstractPureGraphCache implements PureGraphCache
 
     protected abstract void writeCaches();
 
+    /**
+     * Return whether the existing caches should be cleared
+     * before new caches are written.  Caches which are able
+     * to update their contents in place (for example, by
+     * only rewriting what has changed) should return false.
+     * Regardless of this, caches are always cleared if
+     * writing fails.
+     *
+     * @return whether to clear caches before writing
+     */
+    protected boolean clearCachesBeforeWriting()
+    {
+        return true;
+    }
+
     protected abstract boolean buildFromCaches(ModelRepository modelRepository, SourceRegistry sources, ParserLibrary library, Context context, ProcessorSupport processorSupport, Message message) throws Exception;
 
     /**
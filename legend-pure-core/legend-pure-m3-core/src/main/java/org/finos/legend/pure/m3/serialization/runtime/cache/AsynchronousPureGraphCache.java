@@ -40,6 +40,7 @@ public class AsynchronousPureGraphCache implements PureGraphCache
     private final AtomicBoolean isShutDown = new AtomicBoolean(false);
     private final PureLogger logger;
     protected final PureGraphCache delegate;
+    private Future<?> pendingCacheRequest = null;
 
     private AsynchronousPureGraphCache(PureGraphCache delegate, PureLogger logger)
     {
@@ -103,10 +104,15 @@ public class AsynchronousPureGraphCache implements PureGraphCache
         return this.delegate;
     }
 
-    public void clearQueue()
+    public synchronized void clearQueue()
     {
         checkIsShutDown();
         this.queue.clear();
+        if (this.pendingCacheRequest != null)
+        {
+            this.pendingCacheRequest.cancel(false);
+            this.pendingCacheRequest = null;
+        }
     }
 
     public void shutDown()
@@ -118,8 +124,10 @@ public class AsynchronousPureGraphCache implements PureGraphCache
         }
     }
 
-    private Future<?> submitDelete()
+    private synchronized Future<?> submitDelete()
     {
+        // cache requests submitted after this must not be coalesced with one submitted before
+        this.pendingCacheRequest = null;
         return this.executor.submit(new Runnable()
         {
             @Override
@@ -132,18 +140,38 @@ public class AsynchronousPureGraphCache implements PureGraphCache
         });
     }
 
-    private Future<?> submitCacheRepoAndSources()
+    /**
+     * Submit a request to cache the repositories and sources. If a previous request is still waiting in the queue,
+     * this request is coalesced with it: since the cache is written from the state of the runtime at the time the
+     * request is run, the pending request will pick up any changes that prompted this one.
+     *
+     * @return future for the (possibly shared) cache request
+     */
+    private synchronized Future<?> submitCacheRepoAndSources()
     {
-        return this.executor.submit(new Runnable()
+        if (this.pendingCacheRequest != null)
+        {
+            logger.log("Create cache request coalesced with pending request");
+            return this.pendingCacheRequest;
+        }
+        this.pendingCacheRequest = this.executor.submit(new Runnable()
         {
             @Override
             public void run()
             {
+                cacheRequestStarted();
                 logger.log("Start creating graph cache");
                 AsynchronousPureGraphCache.this.delegate.cacheRepoAndSources();
                 logger.log("Finished creating graph cache");
             }
         });
+        return this.pendingCacheRequest;
+    }
+
+    private synchronized void cacheRequestStarted()
+    {
+        // once a request has started, new requests must be queued so they see any subsequent changes
+        this.pendingCacheRequest = null;
     }
 
     private void checkIsShutDown()
@@ -14,41 +14,68 @@
 
 package org.finos.legend.pure.m3.serialization.runtime.cache;
 
-import org.eclipse.collections.api.RichIterable;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.SetIterable;
 import org.finos.legend.pure.m3.compiler.Context;
 import org.finos.legend.pure.m3.navigation.ProcessorSupport;
 import org.finos.legend.pure.m3.serialization.filesystem.repository.CodeRepository;
 import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.RepositoryCodeStorage;
+import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.classpath.Version;
+import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.composite.CompositeCodeStorage;
 import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.welcome.WelcomeCodeStorage;
 import org.finos.legend.pure.m3.serialization.grammar.ParserLibrary;
 import org.finos.legend.pure.m3.serialization.runtime.GraphLoader;
 import org.finos.legend.pure.m3.serialization.runtime.Message;
 import org.finos.legend.pure.m3.serialization.runtime.RepositoryComparator;
+import org.finos.legend.pure.m3.serialization.runtime.Source;
 import org.finos.legend.pure.m3.serialization.runtime.SourceRegistry;
 import org.finos.legend.pure.m3.serialization.runtime.binary.BinaryModelRepositorySerializer;
+import org.finos.legend.pure.m3.serialization.runtime.binary.MappedPureRepositoryJarLibrary;
 import org.finos.legend.pure.m3.serialization.runtime.binary.PureRepositoryJarLibrary;
 import org.finos.legend.pure.m3.serialization.runtime.binary.PureRepositoryJarTools;
-import org.finos.legend.pure.m3.serialization.runtime.binary.SimplePureRepositoryJarLibrary;
-import org.finos.legend.pure.m3.tools.ListHelper;
 import org.finos.legend.pure.m3.tools.forkjoin.ForkJoinTools;
 import org.finos.legend.pure.m4.ModelRepository;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ForkJoinPool;
 
 public class FSGraphLoaderPureGraphCache extends AbstractFSDirectoryPureGraphCache
 {
     private static final String ROOT_REPOSITORY_NAME = "root";
+    private static final String MANIFEST_FILE_NAME = "manifest.txt";
+    private static final String PLATFORM_VERSION_KEY = "#platformVersion";
+    private static final char MANIFEST_SEPARATOR = '\t';
+    private static final String TMP_EXTENSION = ".tmp";
+    private static final int JAR_FILE_HASH_LENGTH = 16;
 
     private final boolean allowBuildingFromRepoSubset;
     private final ForkJoinPool forkJoinPool;
+    private GraphReadAccess graphReadAccess = step ->
+    {
+        step.run();
+        return true;
+    };
+    // Entries for the repositories whose jars are known to be up to date after an abandoned write, which deleted the manifest
+    private MapIterable<String, ManifestEntry> abandonedWriteEntries;
 
     public FSGraphLoaderPureGraphCache(Path cacheDirectory, boolean allowBuildingFromRepoSubset, ForkJoinPool forkJoinPool, Message message)
     {
@@ -73,6 +100,15 @@ public class FSGraphLoaderPureGraphCache extends AbstractFSDirectoryPureGraphCac
         this(cacheDirectory, false, null, null);
     }
 
+    /**
+     * Set how the graph is read while the caches are written, for a graph that may change while they are. By default,
+     * the graph is read directly.
+     */
+    public void setGraphReadAccess(GraphReadAccess graphReadAccess)
+    {
+        this.graphReadAccess = Objects.requireNonNull(graphReadAccess, "graphReadAccess");
+    }
+
     @Override
     public boolean buildFromCaches(ModelRepository modelRepository, SourceRegistry sources, ParserLibrary library, Context context, ProcessorSupport processorSupport, Message message)
     {
@@ -82,8 +118,8 @@ public class FSGraphLoaderPureGraphCache extends AbstractFSDirectoryPureGraphCac
         {
             repoNames.add(ROOT_REPOSITORY_NAME);
         }
-        PureRepositoryJarLibrary jarLibrary = SimplePureRepositoryJarLibrary.newLibraryFromDirectory(getCacheLocation());
-        GraphLoader loader = new GraphLoader(modelRepository, context, library, this.pureRuntime.getIncrementalCompiler().getDslLibrary(), sources, null, jarLibrary, this.forkJoinPool);
+        PureRepositoryJarLibrary jarLibrary = MappedPureRepositoryJarLibrary.newLibraryFromPaths(readManifest().valuesView().collect(entry -> getCacheLocation().resolve(entry.fileName)));
+        GraphLoader loader = new GraphLoader(modelRepository, context, library, this.pureRuntime.getIncrementalCompiler().getDslLibrary(), sources, null, jarLibrary, this.forkJoinPool, GraphLoader.DEFAULT_PIPELINE_BATCH_SIZE);
         if (this.allowBuildingFromRepoSubset)
         {
             repoNames.removeIf(repoName -> !loader.isKnownRepository(repoName));
@@ -93,47 +129,125 @@ public class FSGraphLoaderPureGraphCache extends AbstractFSDirectoryPureGraphCac
         return true;
     }
 
+    @Override
+    protected boolean clearCachesBeforeWriting()
+    {
+        return false;
+    }
+
+    /**
+     * Write the caches differentially. Each repository is cached in its own jar, and a manifest records a content hash
+     * of the sources of each cached repository. Only repositories whose hash has changed (or which can see such a
+     * repository) are re-serialized; the jars for all other repositories are left untouched. A re-serialized jar is
+     * always written to a new file, never over an existing one, since the existing one may still be memory-mapped by a
+     * loaded graph (which prevents it being replaced on some platforms). The manifest records the file of each
+     * repository, and is swapped in atomically once all jars are written; only then are jars which it no longer names
+     * deleted. The old manifest is removed before any jar is written, so that an interrupted write leaves a cache that
+     * will neither be loaded nor trusted by the next write.
+     * <p>
+     * The source hashes and each repository are read from the graph in separate steps of the {@link GraphReadAccess}.
+     * If it abandons a step because the graph has changed, the write stops without writing the manifest; a later write
+     * by the same cache then only serializes the repositories that were not written with their current sources.
+     */
     @Override
     protected void writeCaches()
     {
-        RichIterable<String> repoNames = this.pureRuntime.getCodeStorage().getAllRepositories().collect(CodeRepository::getName);
-        if (shouldAddRootRepo())
+        RepositoryCodeStorage codeStorage = this.pureRuntime.getCodeStorage();
+        MutableMap<String, CodeRepository> reposByName = codeStorage.getAllRepositories().groupByUniqueKey(CodeRepository::getName, Maps.mutable.empty());
+        MutableList<String> repoNames = reposByName.keysView().toList();
+        MutableMap<String, String> newHashes = Maps.mutable.ofInitialCapacity(repoNames.size() + 1);
+        if (!this.graphReadAccess.read(() ->
+        {
+            if (shouldAddRootRepo())
+            {
+                repoNames.add(null);
+            }
+            repoNames.forEach(repoName -> newHashes.put(resolveRepositoryName(repoName), computeRepositoryHash(repoName)));
+        }))
         {
-            repoNames = repoNames.toList().with(null);
+            return;
         }
-        Procedure<String> serializeRepo = repoName ->
+        MapIterable<String, ManifestEntry> oldEntries = readManifest();
+        MutableSet<String> changedRepoNames = repoNames.select(repoName ->
         {
-            Path repoJarPath = getRepositoryJarPath(repoName);
-            try (OutputStream stream = Files.newOutputStream(repoJarPath))
+            String resolvedName = resolveRepositoryName(repoName);
+            ManifestEntry oldEntry = oldEntries.get(resolvedName);
+            return (oldEntry == null) || !newHashes.get(resolvedName).equals(oldEntry.hash) || Files.notExists(getCacheLocation().resolve(oldEntry.fileName));
+        }, Sets.mutable.empty());
+        MutableList<String> toSerialize = repoNames.select(repoName -> changedRepoNames.contains(repoName) || canSeeAnyOf(reposByName, repoName, changedRepoNames));
+        MutableMap<String, ManifestEntry> serialized = Maps.mutable.<String, ManifestEntry>empty().asSynchronized();
+
+        if (toSerialize.notEmpty())
+        {
+            try
             {
-                BinaryModelRepositorySerializer.serialize(stream, repoName, this.pureRuntime);
+                Files.deleteIfExists(getManifestPath());
             }
             catch (IOException e)
             {
-                throw new UncheckedIOException("Error writing cache for " + repoName, e);
+                throw new UncheckedIOException("Error deleting cache manifest", e);
+            }
+        }
+
+        Procedure<String> serializeRepo = repoName ->
+        {
+            String resolvedName = resolveRepositoryName(repoName);
+            String hash = newHashes.get(resolvedName);
+            Path repoJarPath = newRepositoryJarPath(resolvedName, hash);
+            Path tmpPath = repoJarPath.resolveSibling(repoJarPath.getFileName() + TMP_EXTENSION);
+            if (this.graphReadAccess.read(() ->
+            {
+                try
+                {
+                    try (OutputStream stream = Files.newOutputStream(tmpPath))
+                    {
+                        BinaryModelRepositorySerializer.serialize(stream, repoName, this.pureRuntime);
+                    }
+                    moveIntoPlace(tmpPath, repoJarPath);
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException("Error writing cache for " + repoName, e);
+                }
+            }))
+            {
+                serialized.put(resolvedName, new ManifestEntry(hash, repoJarPath.getFileName().toString()));
             }
         };
         if (this.forkJoinPool == null)
         {
-            repoNames.forEach(serializeRepo);
+            toSerialize.forEach(serializeRepo);
         }
         else
         {
-            ForkJoinTools.forEach(this.forkJoinPool, ListHelper.wrapListIterable(repoNames), serializeRepo, 1);
+            ForkJoinTools.forEach(this.forkJoinPool, toSerialize, serializeRepo, 1);
         }
+
+        // the jars that did not need serializing are unchanged
+        MutableMap<String, ManifestEntry> newEntries = Maps.mutable.ofInitialCapacity(newHashes.size());
+        repoNames.reject(toSerialize::contains).forEach(repoName ->
+        {
+            String resolvedName = resolveRepositoryName(repoName);
+            newEntries.put(resolvedName, oldEntries.get(resolvedName));
+        });
+        newEntries.putAll(serialized);
+        if (serialized.size() < toSerialize.size())
+        {
+            // abandoned: only the jars that did not need serializing and those serialized now match the hashes
+            this.abandonedWriteEntries = newEntries;
+            return;
+        }
+        this.abandonedWriteEntries = null;
+        writeManifest(newEntries);
+        deleteObsoleteRepositoryJars(newEntries.valuesView().collect(entry -> entry.fileName, Sets.mutable.empty()));
     }
 
     @Override
     protected boolean cacheExists()
     {
-        if (Files.notExists(getCacheLocation()))
-        {
-            return false;
-        }
-
-        try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(getCacheLocation()))
+        try
         {
-            return dirStream.iterator().hasNext();
+            return Files.isRegularFile(getManifestPath());
         }
         catch (Exception e)
         {
@@ -146,13 +260,174 @@ public class FSGraphLoaderPureGraphCache extends AbstractFSDirectoryPureGraphCac
         return this.pureRuntime.getCodeStorage().isFile(WelcomeCodeStorage.WELCOME_FILE_PATH);
     }
 
-    private Path getRepositoryJarPath(String repositoryName)
+    /**
+     * Get a path for a new jar for a repository, which no existing file has.
+     */
+    private Path newRepositoryJarPath(String resolvedRepositoryName, String hash)
     {
-        return getCacheLocation().resolve(resolveRepositoryName(repositoryName) + PureRepositoryJarTools.PURE_JAR_EXTENSION);
+        String baseName = resolvedRepositoryName + '-' + hash.substring(0, JAR_FILE_HASH_LENGTH);
+        Path path = getCacheLocation().resolve(baseName + PureRepositoryJarTools.PURE_JAR_EXTENSION);
+        for (int i = 1; Files.exists(path); i++)
+        {
+            path = getCacheLocation().resolve(baseName + '-' + i + PureRepositoryJarTools.PURE_JAR_EXTENSION);
+        }
+        return path;
     }
 
     private String resolveRepositoryName(String repositoryName)
     {
         return (repositoryName == null) ? ROOT_REPOSITORY_NAME : repositoryName;
     }
+
+    private Path getManifestPath()
+    {
+        return getCacheLocation().resolve(MANIFEST_FILE_NAME);
+    }
+
+    private String computeRepositoryHash(String repositoryName)
+    {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        this.pureRuntime.getSourceRegistry().getSources()
+                .select(source -> CompositeCodeStorage.isSourceInRepository(source.getId(), repositoryName))
+                .toSortedListBy(Source::getId)
+                .forEach(source ->
+                {
+                    DigestUtils.updateDigest(digest, source.getId());
+                    digest.update((byte) 0);
+                    DigestUtils.updateDigest(digest, source.getContent());
+                    digest.update((byte) 0);
+                });
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    private boolean canSeeAnyOf(MapIterable<String, CodeRepository> reposByName, String repositoryName, SetIterable<String> otherRepositoryNames)
+    {
+        if (repositoryName == null)
+        {
+            // the root repository can see everything
+            return otherRepositoryNames.notEmpty();
+        }
+        CodeRepository repository = reposByName.get(repositoryName);
+        return otherRepositoryNames.anySatisfy(other -> (other != null) && !other.equals(repositoryName) && repository.isVisible(reposByName.get(other)));
+    }
+
+    private MapIterable<String, ManifestEntry> readManifest()
+    {
+        Path manifestPath = getManifestPath();
+        if (Files.notExists(manifestPath))
+        {
+            return (this.abandonedWriteEntries == null) ? Maps.immutable.empty() : this.abandonedWriteEntries;
+        }
+
+        try
+        {
+            List<String> lines = Files.readAllLines(manifestPath, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !(PLATFORM_VERSION_KEY + MANIFEST_SEPARATOR + Version.PLATFORM).equals(lines.get(0)))
+            {
+                // different platform version: nothing can be reused
+                return Maps.immutable.empty();
+            }
+            MutableMap<String, ManifestEntry> entries = Maps.mutable.ofInitialCapacity(lines.size() - 1);
+            for (String line : lines.subList(1, lines.size()))
+            {
+                int index = line.indexOf(MANIFEST_SEPARATOR);
+                int fileIndex = line.indexOf(MANIFEST_SEPARATOR, index + 1);
+                if ((index != -1) && (fileIndex != -1))
+                {
+                    entries.put(line.substring(0, index), new ManifestEntry(line.substring(index + 1, fileIndex), line.substring(fileIndex + 1)));
+                }
+            }
+            return entries;
+        }
+        catch (Exception ignore)
+        {
+            // an unreadable manifest just means nothing can be reused
+            return Maps.immutable.empty();
+        }
+    }
+
+    private void writeManifest(MapIterable<String, ManifestEntry> entries)
+    {
+        StringBuilder builder = new StringBuilder(PLATFORM_VERSION_KEY).append(MANIFEST_SEPARATOR).append(Version.PLATFORM).append('\n');
+        entries.keysView().toSortedList().forEach(repoName ->
+        {
+            ManifestEntry entry = entries.get(repoName);
+            builder.append(repoName).append(MANIFEST_SEPARATOR).append(entry.hash).append(MANIFEST_SEPARATOR).append(entry.fileName).append('\n');
+        });
+
+        Path manifestPath = getManifestPath();
+        Path tmpPath = manifestPath.resolveSibling(MANIFEST_FILE_NAME + TMP_EXTENSION);
+        try
+        {
+            Files.write(tmpPath, builder.toString().getBytes(StandardCharsets.UTF_8));
+            moveIntoPlace(tmpPath, manifestPath);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Error writing cache manifest", e);
+        }
+    }
+
+    private void deleteObsoleteRepositoryJars(SetIterable<String> fileNames)
+    {
+        try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(getCacheLocation(), PureRepositoryJarTools::hasPureJarExtension))
+        {
+            for (Path path : dirStream)
+            {
+                if (!fileNames.contains(path.getFileName().toString()))
+                {
+                    try
+                    {
+                        Files.delete(path);
+                    }
+                    catch (IOException ignore)
+                    {
+                        // the jar may still be mapped by a loaded graph: a later write will delete it
+                    }
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Error deleting obsolete caches", e);
+        }
+    }
+
+    /**
+     * Access to the graph for the steps of a write that read it.
+     */
+    public interface GraphReadAccess
+    {
+        /**
+         * Run a step that reads the graph, or abandon it if the graph is no longer the one the write started with.
+         *
+         * @param step step reading the graph
+         * @return whether the step was run
+         */
+        boolean read(Runnable step);
+    }
+
+    private static class ManifestEntry
+    {
+        private final String hash;
+        private final String fileName;
+
+        private ManifestEntry(String hash, String fileName)
+        {
+            this.hash = hash;
+            this.fileName = fileName;
+        }
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException
+    {
+        try
+        {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException e)
+        {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
 }
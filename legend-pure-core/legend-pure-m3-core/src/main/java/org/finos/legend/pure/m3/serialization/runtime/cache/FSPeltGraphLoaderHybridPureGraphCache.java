@@ -33,8 +33,8 @@ import org.finos.legend.pure.m3.serialization.runtime.Message;
 import org.finos.legend.pure.m3.serialization.runtime.PureCompilerLoader;
 import org.finos.legend.pure.m3.serialization.runtime.RepositoryComparator;
 import org.finos.legend.pure.m3.serialization.runtime.SourceRegistry;
+import org.finos.legend.pure.m3.serialization.runtime.binary.MappedPureRepositoryJarLibrary;
 import org.finos.legend.pure.m3.serialization.runtime.binary.PureRepositoryJarLibrary;
-import org.finos.legend.pure.m3.serialization.runtime.binary.SimplePureRepositoryJarLibrary;
 import org.finos.legend.pure.m4.ModelRepository;
 
 import java.nio.file.DirectoryStream;
@@ -91,11 +91,11 @@ public class FSPeltGraphLoaderHybridPureGraphCache extends AbstractFSDirectoryPu
             return true;
         }
 
-        PureRepositoryJarLibrary jarLibrary = SimplePureRepositoryJarLibrary.newLibraryFromDirectory(getCacheLocation());
+        PureRepositoryJarLibrary jarLibrary = MappedPureRepositoryJarLibrary.newLibraryFromDirectory(getCacheLocation());
         MutableList<String> parRepos = repoNames.select(jarLibrary::isKnownRepository);
         if (parRepos.size() == repoNames.size())
         {
-            GraphLoader graphLoader = new GraphLoader(modelRepository, context, library, this.pureRuntime.getIncrementalCompiler().getDslLibrary(), sources, null, jarLibrary, this.forkJoinPool);
+            GraphLoader graphLoader = new GraphLoader(modelRepository, context, library, this.pureRuntime.getIncrementalCompiler().getDslLibrary(), sources, null, jarLibrary, this.forkJoinPool, GraphLoader.DEFAULT_PIPELINE_BATCH_SIZE);
             parRepos.sortThis(new RepositoryComparator(codeStorage.getAllRepositories()))
                     .forEach(repoName -> graphLoader.loadRepository(repoName, message));
             updateCacheState();
@@ -110,7 +110,7 @@ public class FSPeltGraphLoaderHybridPureGraphCache extends AbstractFSDirectoryPu
             }
             else
             {
-                GraphLoader graphLoader = new GraphLoader(modelRepository, context, library, this.pureRuntime.getIncrementalCompiler().getDslLibrary(), sources, null, jarLibrary, this.forkJoinPool);
+                GraphLoader graphLoader = new GraphLoader(modelRepository, context, library, this.pureRuntime.getIncrementalCompiler().getDslLibrary(), sources, null, jarLibrary, this.forkJoinPool, GraphLoader.DEFAULT_PIPELINE_BATCH_SIZE);
                 parRepos.sortThis(new RepositoryComparator(codeStorage.getAllRepositories()))
                         .forEach(repoName -> graphLoader.loadRepository(repoName, message));
             }
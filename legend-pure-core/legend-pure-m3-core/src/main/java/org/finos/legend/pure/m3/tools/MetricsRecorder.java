@@ -18,17 +18,17 @@ import io.prometheus.client.Collector;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.Summary;
 import org.eclipse.collections.api.factory.Lists;
-import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.list.MutableList;
-import org.eclipse.collections.api.map.MutableMap;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class MetricsRecorder
 {
     static final String METRIC_PREFIX = "pure_service";
-    static MutableMap<String, Summary> recorded = Maps.mutable.empty();
+    static final ConcurrentMap<String, Summary> recorded = new ConcurrentHashMap<>();
 
     static final Gauge currentQueriesBeingExecuted = Gauge.build().name("pure_current_relational_executions")
             .labelNames("host").help("Current relational queries being executed ").register();
@@ -50,6 +50,15 @@ public class MetricsRecorder
 
     public static InetAddress localMachine;
 
+    // host names are resolved once: resolving them can require a reverse DNS lookup
+    private static final String canonicalHostName;
+    private static final String hostName;
+
+    private static final Gauge.Child currentRelationalExecutions;
+    private static final Gauge.Child allRelationalExecutions;
+    private static final Gauge.Child[] currentExecutionsByType;
+    private static final Gauge.Child[] allExecutionsByType;
+
     static
     {
         try
@@ -60,51 +69,60 @@ public class MetricsRecorder
         {
             throw new RuntimeException(e);
         }
+        canonicalHostName = localMachine.getCanonicalHostName();
+        hostName = localMachine.getHostName();
+
+        currentRelationalExecutions = currentQueriesBeingExecuted.labels(canonicalHostName);
+        allRelationalExecutions = allQueryExecutions.labels(hostName);
+        ExecutionMetricType[] types = ExecutionMetricType.values();
+        currentExecutionsByType = new Gauge.Child[types.length];
+        allExecutionsByType = new Gauge.Child[types.length];
+        for (ExecutionMetricType type : types)
+        {
+            currentExecutionsByType[type.ordinal()] = currentExecutions.labels(canonicalHostName, type.name);
+            allExecutionsByType[type.ordinal()] = allExecution.labels(canonicalHostName, type.name);
+        }
     }
 
     public static void recordServiceExecution(String serviceId, double duration)
     {
-        if (recorded.get(serviceId) == null)
+        Summary summary = recorded.get(serviceId);
+        if (summary == null)
         {
-            //create metric
-            Summary g = Summary.build().name(generateMetricName(serviceId))
-//                    .labelNames("source")
+            // create the metric, at most once per service even if several threads get here at the same time
+            summary = recorded.computeIfAbsent(serviceId, id -> Summary.build().name(generateMetricName(id))
                     .quantile(0.5, 0.05).quantile(0.9, 0.01).quantile(0.99, 0.001)
                     .help("service execution duration observations")
-                    .register();
-            //save so we don't recreate
-            recorded.put(serviceId, g);
-            //add observation
-            g.observe(duration);
-
-        }
-        else
-        {
-            //add observation
-            recorded.get(serviceId).observe(duration);
+                    .register());
         }
+        summary.observe(duration);
     }
 
     public static void incrementRelationalExecutionCounters()
     {
-        currentQueriesBeingExecuted.labels(localMachine.getCanonicalHostName()).inc();
-        allQueryExecutions.labels(localMachine.getHostName()).inc();
+        currentRelationalExecutions.inc();
+        allRelationalExecutions.inc();
     }
 
     public static void decrementCurrentRelationalExecutionCounter()
     {
-        currentQueriesBeingExecuted.labels(localMachine.getCanonicalHostName()).dec();
+        currentRelationalExecutions.dec();
     }
 
     public static void incrementExecutionCount(ExecutionMetricType type)
     {
-        allExecution.labels(localMachine.getCanonicalHostName(), type.name).inc();
-        currentExecutions.labels(localMachine.getCanonicalHostName(), type.name).inc();
+        allExecutionsByType[type.ordinal()].inc();
+        currentExecutionsByType[type.ordinal()].inc();
     }
 
     public static void decrementCurrentExecutionCount(ExecutionMetricType type)
     {
-        currentExecutions.labels(localMachine.getCanonicalHostName(), type.name).dec();
+        currentExecutionsByType[type.ordinal()].dec();
+    }
+
+    static String getCanonicalHostName()
+    {
+        return canonicalHostName;
     }
 
     public enum ExecutionMetricType
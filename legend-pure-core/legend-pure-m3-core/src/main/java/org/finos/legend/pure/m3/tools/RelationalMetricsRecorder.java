@@ -0,0 +1,169 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.tools;
+
+import io.prometheus.client.Histogram;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and row count histograms for relational executions, labelled by host, connection type, database and
+ * statement kind.
+ * <p>
+ * The histogram children for a connection type and database are resolved once, when {@link #getMetrics} is first
+ * called for them, and cached in a concurrent map. Recording an observation is then a lock-free histogram update, with
+ * no label resolution, so callers should look up the {@link DatabaseMetrics} once per execution and record against it.
+ */
+public class RelationalMetricsRecorder
+{
+    private static final double[] LATENCY_BUCKETS_SECONDS = {0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0, 10.0, 30.0, 60.0, 300.0};
+    private static final double[] ROW_COUNT_BUCKETS = {0.0, 1.0, 10.0, 100.0, 1_000.0, 10_000.0, 100_000.0, 1_000_000.0};
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String UNKNOWN = "unknown";
+
+    static final Histogram statementDuration = Histogram.build()
+            .name("pure_relational_statement_duration_seconds")
+            .labelNames("host", "connection_type", "database", "statement_kind")
+            .buckets(LATENCY_BUCKETS_SECONDS)
+            .help("Time taken by the database to execute a statement").register();
+
+    static final Histogram fetchDuration = Histogram.build()
+            .name("pure_relational_fetch_duration_seconds")
+            .labelNames("host", "connection_type", "database", "statement_kind")
+            .buckets(LATENCY_BUCKETS_SECONDS)
+            .help("Time taken to fetch (or load) the rows of a statement").register();
+
+    static final Histogram rowCount = Histogram.build()
+            .name("pure_relational_rows")
+            .labelNames("host", "connection_type", "database", "statement_kind")
+            .buckets(ROW_COUNT_BUCKETS)
+            .help("Number of rows fetched, updated or loaded by a statement").register();
+
+    static final Histogram connectionAcquireDuration = Histogram.build()
+            .name("pure_relational_connection_acquire_duration_seconds")
+            .labelNames("host", "connection_type", "database")
+            .buckets(LATENCY_BUCKETS_SECONDS)
+            .help("Time taken to acquire a database connection").register();
+
+    private static final ConcurrentMap<String, ConcurrentMap<String, DatabaseMetrics>> METRICS = new ConcurrentHashMap<>();
+
+    private RelationalMetricsRecorder()
+    {
+    }
+
+    /**
+     * Get the metrics for a connection type and database, registering them on first use.
+     *
+     * @param connectionType connection type (e.g. H2), or null if unknown
+     * @param database       database name, or null if unknown
+     * @return database metrics
+     */
+    public static DatabaseMetrics getMetrics(String connectionType, String database)
+    {
+        String type = (connectionType == null) ? UNKNOWN : connectionType;
+        String name = (database == null) ? UNKNOWN : database;
+        ConcurrentMap<String, DatabaseMetrics> byDatabase = METRICS.get(type);
+        if (byDatabase == null)
+        {
+            byDatabase = METRICS.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        }
+        DatabaseMetrics metrics = byDatabase.get(name);
+        return (metrics == null) ? byDatabase.computeIfAbsent(name, n -> new DatabaseMetrics(type, n)) : metrics;
+    }
+
+    public enum StatementKind
+    {
+        QUERY("query"),
+        UPDATE("update"),
+        BULK_LOAD("bulk_load");
+
+        private final String name;
+
+        StatementKind(String name)
+        {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Pre-resolved histogram children for one connection type and database.
+     */
+    public static class DatabaseMetrics
+    {
+        private final Histogram.Child[] statementDurations;
+        private final Histogram.Child[] fetchDurations;
+        private final Histogram.Child[] rowCounts;
+        private final Histogram.Child connectionAcquireDuration;
+
+        private DatabaseMetrics(String connectionType, String database)
+        {
+            String host = MetricsRecorder.getCanonicalHostName();
+            StatementKind[] kinds = StatementKind.values();
+            this.statementDurations = new Histogram.Child[kinds.length];
+            this.fetchDurations = new Histogram.Child[kinds.length];
+            this.rowCounts = new Histogram.Child[kinds.length];
+            for (StatementKind kind : kinds)
+            {
+                this.statementDurations[kind.ordinal()] = RelationalMetricsRecorder.statementDuration.labels(host, connectionType, database, kind.name);
+                this.fetchDurations[kind.ordinal()] = RelationalMetricsRecorder.fetchDuration.labels(host, connectionType, database, kind.name);
+                this.rowCounts[kind.ordinal()] = RelationalMetricsRecorder.rowCount.labels(host, connectionType, database, kind.name);
+            }
+            this.connectionAcquireDuration = RelationalMetricsRecorder.connectionAcquireDuration.labels(host, connectionType, database);
+        }
+
+        public void recordStatementExecution(StatementKind kind, long durationInNanos)
+        {
+            this.statementDurations[kind.ordinal()].observe(durationInNanos / NANOS_PER_SECOND);
+        }
+
+        public void recordFetch(StatementKind kind, long durationInNanos, long rows)
+        {
+            this.fetchDurations[kind.ordinal()].observe(durationInNanos / NANOS_PER_SECOND);
+            this.rowCounts[kind.ordinal()].observe(rows);
+        }
+
+        public void recordRowCount(StatementKind kind, long rows)
+        {
+            this.rowCounts[kind.ordinal()].observe(rows);
+        }
+
+        public void recordConnectionAcquisition(long durationInNanos)
+        {
+            this.connectionAcquireDuration.observe(durationInNanos / NANOS_PER_SECOND);
+        }
+
+        Histogram.Child getStatementDuration(StatementKind kind)
+        {
+            return this.statementDurations[kind.ordinal()];
+        }
+
+        Histogram.Child getFetchDuration(StatementKind kind)
+        {
+            return this.fetchDurations[kind.ordinal()];
+        }
+
+        Histogram.Child getRowCount(StatementKind kind)
+        {
+            return this.rowCounts[kind.ordinal()];
+        }
+
+        Histogram.Child getConnectionAcquireDuration()
+        {
+            return this.connectionAcquireDuration;
+        }
+    }
+}
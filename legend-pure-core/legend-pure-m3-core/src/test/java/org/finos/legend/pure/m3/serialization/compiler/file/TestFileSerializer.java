@@ -15,6 +15,7 @@
 package org.finos.legend.pure.m3.serialization.compiler.file;
 
 import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.map.MutableMap;
 import org.finos.legend.pure.m3.navigation.PackageableElement.PackageableElement;
@@ -39,11 +40,13 @@ import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ForkJoinPool;
 import java.util.jar.JarOutputStream;
 
 public class TestFileSerializer extends AbstractPureTestWithCoreCompiled
@@ -130,6 +133,39 @@ public class TestFileSerializer extends AbstractPureTestWithCoreCompiled
         }
     }
 
+    @Test
+    public void testParallelElementsInDirectory() throws IOException
+    {
+        ListIterable<? extends CoreInstance> elements = GraphTools.getTopLevelAndPackagedElements(processorSupport).select(e -> e.getSourceInformation() != null).toList();
+        Path sequentialDir = TMP.newFolder().toPath();
+        Path parallelDir = TMP.newFolder().toPath();
+        fileSerializer.serializeElements(sequentialDir, elements, null);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            fileSerializer.serializeElements(parallelDir, elements, pool);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        elements.forEach(element ->
+        {
+            String elementPath = PackageableElement.getUserPathForPackageableElement(element);
+            try
+            {
+                Assert.assertArrayEquals(elementPath,
+                        Files.readAllBytes(filePathProvider.getElementFilePath(sequentialDir, elementPath)),
+                        Files.readAllBytes(filePathProvider.getElementFilePath(parallelDir, elementPath)));
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     /**
      * Serialising the same element a second time into the same directory must
      * leave the target file completely untouched: same bytes AND same
@@ -121,7 +121,12 @@ public abstract class TestGraphLoader extends AbstractPureTestWithCoreCompiledPl
         this.context2 = this.runtime2.getContext();
         this.processorSupport2 = this.runtime2.getProcessorSupport();
         IncrementalCompiler compiler = this.runtime2.getIncrementalCompiler();
-        this.loader = buildGraphLoader(this.repository2, this.context2, compiler.getParserLibrary(), compiler.getDslLibrary(), this.runtime2.getSourceRegistry(), this.runtime2.getURLPatternLibrary(), SimplePureRepositoryJarLibrary.newLibrary(jars));
+        this.loader = buildGraphLoader(this.repository2, this.context2, compiler.getParserLibrary(), compiler.getDslLibrary(), this.runtime2.getSourceRegistry(), this.runtime2.getURLPatternLibrary(), buildJarLibrary(jars));
+    }
+
+    protected PureRepositoryJarLibrary buildJarLibrary(Iterable<? extends PureRepositoryJar> jars)
+    {
+        return SimplePureRepositoryJarLibrary.newLibrary(jars);
     }
 
     protected abstract GraphLoader buildGraphLoader(ModelRepository repository, Context context, ParserLibrary parserLibrary, InlineDSLLibrary dslLibrary, SourceRegistry sourceRegistry, URLPatternLibrary patternLibrary, PureRepositoryJarLibrary jarLibrary);
@@ -0,0 +1,87 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.serialization.runtime;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.pure.m4.coreinstance.SourceInformation;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class TestSourcePositionIndex
+{
+    @Test
+    public void testEmpty()
+    {
+        SourcePositionIndex<SourceInformation> index = SourcePositionIndex.build(Lists.immutable.empty(), s -> s);
+        Assert.assertEquals(0, index.size());
+        Assert.assertEquals(Lists.immutable.empty(), index.findElementsAt(1, 1));
+    }
+
+    @Test
+    public void testNested()
+    {
+        SourceInformation function = new SourceInformation("test.pure", 1, 1, 10, 1);
+        SourceInformation expression = new SourceInformation("test.pure", 3, 5, 3, 20);
+        SourceInformation parameter = new SourceInformation("test.pure", 3, 10, 3, 12);
+        SourceInformation other = new SourceInformation("test.pure", 12, 1, 14, 1);
+        SourcePositionIndex<SourceInformation> index = SourcePositionIndex.build(Lists.immutable.with(other, parameter, null, expression, function), s -> s);
+        Assert.assertEquals(4, index.size());
+
+        Assert.assertEquals(Lists.immutable.with(function, expression, parameter), index.findElementsAt(3, 10));
+        Assert.assertEquals(Lists.immutable.with(function, expression, parameter), index.findElementsAt(3, 12));
+        Assert.assertEquals(Lists.immutable.with(function, expression), index.findElementsAt(3, 13));
+        Assert.assertEquals(Lists.immutable.with(function), index.findElementsAt(3, 4));
+        Assert.assertEquals(Lists.immutable.with(function), index.findElementsAt(10, 1));
+        Assert.assertEquals(Lists.immutable.empty(), index.findElementsAt(10, 2));
+        Assert.assertEquals(Lists.immutable.with(other), index.findElementsAt(13, 100));
+        Assert.assertEquals(Lists.immutable.empty(), index.findElementsAt(15, 1));
+    }
+
+    @Test
+    public void testMatchesLinearScan()
+    {
+        Random random = new Random(17);
+        MutableList<SourceInformation> sourceInfos = Lists.mutable.empty();
+        for (int i = 0; i < 2000; i++)
+        {
+            int startLine = 1 + random.nextInt(500);
+            int startColumn = 1 + random.nextInt(80);
+            int endLine = startLine + (random.nextBoolean() ? 0 : random.nextInt(20));
+            int endColumn = (endLine == startLine) ? (startColumn + random.nextInt(40)) : (1 + random.nextInt(80));
+            sourceInfos.add(new SourceInformation("test.pure", startLine, startColumn, endLine, endColumn));
+        }
+        SourcePositionIndex<SourceInformation> index = SourcePositionIndex.build(sourceInfos, s -> s);
+
+        for (int i = 0; i < 2000; i++)
+        {
+            int line = 1 + random.nextInt(520);
+            int column = 1 + random.nextInt(120);
+            MutableList<SourceInformation> expected = sourceInfos.select(s -> contains(s, line, column));
+            MutableList<SourceInformation> actual = index.findElementsAt(line, column);
+            Assert.assertEquals(line + ":" + column, expected.size(), actual.size());
+            Assert.assertEquals(line + ":" + column, Sets.mutable.withAll(expected), Sets.mutable.withAll(actual));
+        }
+    }
+
+    private static boolean contains(SourceInformation sourceInfo, int line, int column)
+    {
+        return ((sourceInfo.getStartLine() < line) || ((sourceInfo.getStartLine() == line) && (sourceInfo.getStartColumn() <= column))) &&
+                ((sourceInfo.getEndLine() > line) || ((sourceInfo.getEndLine() == line) && (sourceInfo.getEndColumn() >= column)));
+    }
+}
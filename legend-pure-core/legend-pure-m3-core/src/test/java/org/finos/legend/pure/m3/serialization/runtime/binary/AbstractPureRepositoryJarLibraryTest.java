@@ -234,6 +234,20 @@ public abstract class AbstractPureRepositoryJarLibraryTest extends AbstractPureT
         Verify.assertSetsEqual(collectionDependencies, this.library.getFileDependencies(m3BinPath, collectionBinPath).toSet());
     }
 
+    @Test
+    public void testDirectFileDependencies()
+    {
+        for (String file : this.library.getAllFiles())
+        {
+            SetIterable<String> directDependencies = this.library.getDirectFileDependencies(file);
+            Verify.assertNotContains(file, directDependencies.toSet());
+
+            MutableSet<String> closure = Sets.mutable.with(file);
+            directDependencies.forEach(d -> closure.addAllIterable(this.library.getFileDependencies(d)));
+            Verify.assertSetsEqual(file, this.library.getFileDependencies(file).toSet(), closure);
+        }
+    }
+
     @Test
     public void testDependentFiles_SingleFile()
     {
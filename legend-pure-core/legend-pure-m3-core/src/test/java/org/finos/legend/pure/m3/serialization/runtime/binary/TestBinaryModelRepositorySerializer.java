@@ -48,6 +48,7 @@ import java.io.InputStreamReader;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
 
@@ -199,6 +200,33 @@ public class TestBinaryModelRepositorySerializer extends AbstractPureTestWithCor
         }
     }
 
+    @Test
+    public void testPlatformSerializationStability_Parallel() throws IOException
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            byte[] sequentialBytes;
+            byte[] parallelBytes;
+
+            try (ByteArrayOutputStream stream = new ByteArrayOutputStream())
+            {
+                BinaryModelRepositorySerializer.serialize(stream, null, null, "platform", runtime, null);
+                sequentialBytes = stream.toByteArray();
+
+                stream.reset();
+                BinaryModelRepositorySerializer.serialize(stream, null, null, "platform", runtime, pool);
+                parallelBytes = stream.toByteArray();
+            }
+
+            this.assertJarBytesEquivalent(sequentialBytes, parallelBytes);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testUnknownRepositorySerialization() throws IOException
     {
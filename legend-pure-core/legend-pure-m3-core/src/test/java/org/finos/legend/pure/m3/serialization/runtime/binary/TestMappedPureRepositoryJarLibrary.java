@@ -0,0 +1,107 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.serialization.runtime.binary;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.factory.Lists;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class TestMappedPureRepositoryJarLibrary extends AbstractPureRepositoryJarLibraryTest
+{
+    @Rule
+    public final TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    @Override
+    protected PureRepositoryJarLibrary newLibrary(RichIterable<PureRepositoryJar> jars)
+    {
+        return MappedPureRepositoryJarLibrary.newLibrary(jars);
+    }
+
+    @Test
+    public void testMappedFromDirectory() throws IOException
+    {
+        Path directory = this.tmpFolder.newFolder().toPath();
+        try (OutputStream stream = Files.newOutputStream(directory.resolve("pure-platform" + PureRepositoryJarTools.PURE_JAR_EXTENSION)))
+        {
+            BinaryModelRepositorySerializer.serialize(stream, "platform", runtime);
+        }
+
+        PureRepositoryJarLibrary mappedLibrary = MappedPureRepositoryJarLibrary.newLibraryFromDirectory(directory);
+        Assert.assertTrue(mappedLibrary.isKnownRepository("platform"));
+        testReadFiles(runtime, mappedLibrary, "platform/pure/grammar/m3.pc", "platform/pure/grammar/functions/lang/all/all.pc");
+        testReadRepositories(runtime, mappedLibrary, "platform");
+        testReadAll(runtime, mappedLibrary);
+    }
+
+    @Test
+    public void testMappedFromJarURL() throws IOException
+    {
+        ByteArrayOutputStream parBytes = new ByteArrayOutputStream();
+        BinaryModelRepositorySerializer.serialize(parBytes, "platform", runtime);
+        byte[] par = parBytes.toByteArray();
+        Path outerJar = this.tmpFolder.newFile("outer.jar").toPath();
+        try (ZipOutputStream stream = new ZipOutputStream(Files.newOutputStream(outerJar)))
+        {
+            ZipEntry stored = new ZipEntry("stored/pure-platform.par");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(par.length);
+            CRC32 crc = new CRC32();
+            crc.update(par);
+            stored.setCrc(crc.getValue());
+            stream.putNextEntry(stored);
+            stream.write(par);
+            stream.closeEntry();
+
+            stream.putNextEntry(new ZipEntry("deflated/pure-platform.par"));
+            stream.write(par);
+            stream.closeEntry();
+        }
+
+        for (String entry : new String[]{"stored/pure-platform.par", "deflated/pure-platform.par"})
+        {
+            URL url = new URL("jar:" + outerJar.toUri().toURL() + "!/" + entry);
+            PureRepositoryJarLibrary mappedLibrary = MappedPureRepositoryJarLibrary.newLibraryFromURLs(Lists.immutable.with(url));
+            Assert.assertTrue(entry, mappedLibrary.isKnownRepository("platform"));
+            testReadFiles(runtime, mappedLibrary, "platform/pure/grammar/m3.pc", "platform/pure/grammar/functions/lang/all/all.pc");
+            testReadAll(runtime, mappedLibrary);
+        }
+    }
+
+    @Test
+    public void testSupportsOnDemandFileReads()
+    {
+        Assert.assertTrue(this.library.supportsOnDemandFileReads());
+    }
+
+    @Test
+    public void testReadUnknownFile()
+    {
+        IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class, () -> this.library.readFile("platform/not/a/file.pc"));
+        Assert.assertEquals("Could not find file: platform/not/a/file.pc", e.getMessage());
+    }
+}
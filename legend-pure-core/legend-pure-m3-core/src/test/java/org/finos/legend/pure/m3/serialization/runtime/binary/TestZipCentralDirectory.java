@@ -0,0 +1,129 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.serialization.runtime.binary;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class TestZipCentralDirectory
+{
+    @Test
+    public void testReadStoredAndDeflated() throws IOException
+    {
+        byte[] zip = zip(2, false);
+        ZipCentralDirectory centralDirectory = ZipCentralDirectory.read(ByteBuffer.wrap(zip), name -> true);
+        Assert.assertEquals(2, centralDirectory.getEntryNames().size());
+        Assert.assertEquals("content of entry/0", new String(centralDirectory.read("entry/0"), StandardCharsets.UTF_8));
+        Assert.assertEquals("content of entry/1", new String(centralDirectory.read("entry/1"), StandardCharsets.UTF_8));
+        Assert.assertEquals(ZipCentralDirectory.STORED, centralDirectory.getMethod("entry/0"));
+        Assert.assertEquals(ZipCentralDirectory.DEFLATED, centralDirectory.getMethod("entry/1"));
+
+        ByteBuffer slice = centralDirectory.slice("entry/0");
+        byte[] sliced = new byte[slice.remaining()];
+        slice.get(sliced);
+        Assert.assertEquals("content of entry/0", new String(sliced, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testReadSelectedEntries() throws IOException
+    {
+        ZipCentralDirectory centralDirectory = ZipCentralDirectory.read(ByteBuffer.wrap(zip(4, false)), "entry/2"::equals);
+        Assert.assertEquals(1, centralDirectory.getEntryNames().size());
+        Assert.assertTrue(centralDirectory.hasEntry("entry/2"));
+        Assert.assertFalse(centralDirectory.hasEntry("entry/1"));
+    }
+
+    @Test
+    public void testReadZip64() throws IOException
+    {
+        // more entries than fit in the end record, so the ZIP64 end record is written
+        int count = 0x10000 + 10;
+        ZipCentralDirectory centralDirectory = ZipCentralDirectory.read(ByteBuffer.wrap(zip(count, false)), name -> true);
+        Assert.assertEquals(count, centralDirectory.getEntryNames().size());
+        Assert.assertEquals("content of entry/40000", new String(centralDirectory.read("entry/40000"), StandardCharsets.UTF_8));
+        Assert.assertEquals("content of entry/65545", new String(centralDirectory.read("entry/65545"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testCRCMismatch() throws IOException
+    {
+        byte[] zip = zip(1, true);
+        // corrupt the stored content of the entry
+        String content = "content of entry/0";
+        int index = indexOf(zip, content.getBytes(StandardCharsets.UTF_8));
+        zip[index] = 'C';
+        ZipCentralDirectory centralDirectory = ZipCentralDirectory.read(ByteBuffer.wrap(zip), name -> true);
+        RuntimeException e = Assert.assertThrows(RuntimeException.class, () -> centralDirectory.read("entry/0"));
+        Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("CRC mismatch for entry/0"));
+    }
+
+    @Test
+    public void testNotAZip()
+    {
+        RuntimeException e = Assert.assertThrows(RuntimeException.class, () -> ZipCentralDirectory.read(ByteBuffer.wrap(new byte[64]), name -> true));
+        Assert.assertEquals("Could not find end of central directory record", e.getMessage());
+    }
+
+    private static byte[] zip(int count, boolean allStored) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream stream = new ZipOutputStream(bytes))
+        {
+            for (int i = 0; i < count; i++)
+            {
+                String name = "entry/" + i;
+                byte[] content = ("content of " + name).getBytes(StandardCharsets.UTF_8);
+                ZipEntry entry = new ZipEntry(name);
+                if (allStored || ((i % 2) == 0))
+                {
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(content.length);
+                    CRC32 crc = new CRC32();
+                    crc.update(content);
+                    entry.setCrc(crc.getValue());
+                }
+                stream.putNextEntry(entry);
+                stream.write(content);
+                stream.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int indexOf(byte[] array, byte[] target)
+    {
+        outer:
+        for (int i = 0; i <= array.length - target.length; i++)
+        {
+            for (int j = 0; j < target.length; j++)
+            {
+                if (array[i + j] != target[j])
+                {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IllegalArgumentException("not found");
+    }
+}
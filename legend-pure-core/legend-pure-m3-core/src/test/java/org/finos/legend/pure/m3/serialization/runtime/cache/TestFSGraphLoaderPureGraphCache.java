@@ -0,0 +1,204 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.serialization.runtime.cache;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.finos.legend.pure.m3.serialization.filesystem.repository.CodeRepositoryProviderHelper;
+import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.MutableRepositoryCodeStorage;
+import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.classpath.ClassLoaderCodeStorage;
+import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.composite.CompositeCodeStorage;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntimeBuilder;
+import org.finos.legend.pure.m3.serialization.runtime.binary.MappedPureRepositoryJarLibrary;
+import org.finos.legend.pure.m3.serialization.runtime.binary.PureRepositoryJarLibrary;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class TestFSGraphLoaderPureGraphCache
+{
+    private static MutableRepositoryCodeStorage codeStorage;
+    private static PureRuntime runtime;
+
+    @Rule
+    public final TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setUpRuntime()
+    {
+        codeStorage = new CompositeCodeStorage(new ClassLoaderCodeStorage(CodeRepositoryProviderHelper.findPlatformCodeRepository()));
+        runtime = new PureRuntimeBuilder(codeStorage).build();
+        runtime.loadAndCompileCore();
+    }
+
+    @Test
+    public void testCacheAndBuild() throws IOException
+    {
+        Path cacheDir = this.tmpFolder.newFolder().toPath();
+        FSGraphLoaderPureGraphCache cache = newCache(cacheDir);
+        Assert.assertFalse(cache.getCacheState().isCached());
+
+        cache.cacheRepoAndSources();
+        Assert.assertTrue(cache.getCacheState().isCached());
+        Assert.assertNotNull(findRepositoryJar(cacheDir, "platform"));
+        Assert.assertTrue(Files.exists(cacheDir.resolve("manifest.txt")));
+
+        FSGraphLoaderPureGraphCache newCache = new FSGraphLoaderPureGraphCache(cacheDir);
+        Assert.assertTrue(newCache.getCacheState().isCached());
+        PureRuntime newRuntime = new PureRuntimeBuilder(codeStorage).withCache(newCache).buildAndTryToInitializeFromCache();
+        Assert.assertTrue(newRuntime.getSourceRegistry().getSourceIds().containsAllIterable(runtime.getSourceRegistry().getSourceIds()));
+        Assert.assertTrue(newRuntime.getContext().getAllInstances().collect(CoreInstance.GET_NAME).toSet().containsAllIterable(runtime.getContext().getAllInstances().collect(CoreInstance.GET_NAME)));
+        Assert.assertNotNull(newRuntime.getProcessorSupport().package_getByUserPath("meta::pure::metamodel::type::Class"));
+    }
+
+    @Test
+    public void testUnchangedRepositoryIsNotRewritten() throws IOException
+    {
+        Path cacheDir = this.tmpFolder.newFolder().toPath();
+        FSGraphLoaderPureGraphCache cache = newCache(cacheDir);
+        cache.cacheRepoAndSources();
+        Object fileKey = getFileKey(findRepositoryJar(cacheDir, "platform"));
+        Assume.assumeNotNull(fileKey);
+
+        cache.cacheRepoAndSources();
+        Assert.assertTrue(cache.getCacheState().isCached());
+        Assert.assertEquals(fileKey, getFileKey(findRepositoryJar(cacheDir, "platform")));
+    }
+
+    @Test
+    public void testRewriteWithInvalidManifest() throws IOException
+    {
+        Path cacheDir = this.tmpFolder.newFolder().toPath();
+        FSGraphLoaderPureGraphCache cache = newCache(cacheDir);
+        cache.cacheRepoAndSources();
+        Object fileKey = getFileKey(findRepositoryJar(cacheDir, "platform"));
+        Assume.assumeNotNull(fileKey);
+
+        Files.write(cacheDir.resolve("manifest.txt"), "not a valid manifest".getBytes(StandardCharsets.UTF_8));
+        cache.cacheRepoAndSources();
+        Assert.assertTrue(cache.getCacheState().isCached());
+        Assert.assertNotEquals(fileKey, getFileKey(findRepositoryJar(cacheDir, "platform")));
+    }
+
+    @Test
+    public void testRewriteDoesNotReplaceMappedJar() throws IOException
+    {
+        Path cacheDir = this.tmpFolder.newFolder().toPath();
+        FSGraphLoaderPureGraphCache cache = newCache(cacheDir);
+        cache.cacheRepoAndSources();
+        Path oldJar = findRepositoryJar(cacheDir, "platform");
+        PureRepositoryJarLibrary oldLibrary = MappedPureRepositoryJarLibrary.newLibraryFromPaths(Lists.immutable.with(oldJar));
+
+        Files.write(cacheDir.resolve("manifest.txt"), "not a valid manifest".getBytes(StandardCharsets.UTF_8));
+        cache.cacheRepoAndSources();
+        Assert.assertTrue(cache.getCacheState().isCached());
+        Path newJar = findRepositoryJar(cacheDir, "platform");
+        Assert.assertNotNull(newJar);
+        Assert.assertNotEquals(oldJar, newJar);
+
+        // the jar mapped before the rewrite can still be read
+        Assert.assertArrayEquals(oldLibrary.readFile("platform/pure/grammar/m3.pc"), MappedPureRepositoryJarLibrary.newLibraryFromPaths(Lists.immutable.with(newJar)).readFile("platform/pure/grammar/m3.pc"));
+    }
+
+    @Test
+    public void testObsoleteRepositoryIsDeleted() throws IOException
+    {
+        Path cacheDir = this.tmpFolder.newFolder().toPath();
+        Path obsolete = Files.createFile(cacheDir.resolve("obsolete.par"));
+        FSGraphLoaderPureGraphCache cache = newCache(cacheDir);
+        cache.cacheRepoAndSources();
+        Assert.assertNotNull(findRepositoryJar(cacheDir, "platform"));
+        Assert.assertFalse(Files.exists(obsolete));
+    }
+
+    @Test
+    public void testAbandonedWrite() throws IOException
+    {
+        Path cacheDir = this.tmpFolder.newFolder().toPath();
+        FSGraphLoaderPureGraphCache cache = newCache(cacheDir);
+
+        // the graph changes before the repository is serialized
+        AtomicInteger steps = new AtomicInteger();
+        cache.setGraphReadAccess(step ->
+        {
+            if (steps.incrementAndGet() > 1)
+            {
+                return false;
+            }
+            step.run();
+            return true;
+        });
+        cache.cacheRepoAndSources();
+        Assert.assertEquals(2, steps.get());
+        Assert.assertFalse(cache.getCacheState().isCached());
+        Assert.assertNull(findRepositoryJar(cacheDir, "platform"));
+        Assert.assertFalse(Files.exists(cacheDir.resolve("manifest.txt")));
+
+        // written again once the graph stops changing
+        cache.setGraphReadAccess(step ->
+        {
+            step.run();
+            return true;
+        });
+        cache.cacheRepoAndSources();
+        Assert.assertTrue(cache.getCacheState().isCached());
+        Assert.assertNotNull(findRepositoryJar(cacheDir, "platform"));
+        Object fileKey = getFileKey(findRepositoryJar(cacheDir, "platform"));
+        Assume.assumeNotNull(fileKey);
+
+        // the graph changes before the hashes are computed: the existing cache is left as it is
+        cache.setGraphReadAccess(step -> false);
+        cache.cacheRepoAndSources();
+        Assert.assertTrue(cache.getCacheState().isCached());
+        Assert.assertTrue(Files.exists(cacheDir.resolve("manifest.txt")));
+        Assert.assertEquals(fileKey, getFileKey(findRepositoryJar(cacheDir, "platform")));
+    }
+
+    private FSGraphLoaderPureGraphCache newCache(Path cacheDir)
+    {
+        FSGraphLoaderPureGraphCache cache = new FSGraphLoaderPureGraphCache(cacheDir);
+        cache.setPureRuntime(runtime);
+        return cache;
+    }
+
+    private static Path findRepositoryJar(Path cacheDir, String repositoryName) throws IOException
+    {
+        try (Stream<Path> stream = Files.list(cacheDir))
+        {
+            List<Path> jars = stream.filter(p -> p.getFileName().toString().matches(repositoryName + "-[0-9a-f]+(-[0-9]+)?\\.par")).collect(Collectors.toList());
+            Assert.assertTrue(jars.toString(), jars.size() <= 1);
+            return jars.isEmpty() ? null : jars.get(0);
+        }
+    }
+
+    private static Object getFileKey(Path path) throws IOException
+    {
+        return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+    }
+}
@@ -0,0 +1,128 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.tools;
+
+import io.prometheus.client.Histogram;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.pure.m3.tools.RelationalMetricsRecorder.DatabaseMetrics;
+import org.finos.legend.pure.m3.tools.RelationalMetricsRecorder.StatementKind;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestRelationalMetricsRecorder
+{
+    @Test
+    public void testMetricsAreCached()
+    {
+        DatabaseMetrics metrics = RelationalMetricsRecorder.getMetrics("H2", "testMetricsAreCached");
+        Assert.assertSame(metrics, RelationalMetricsRecorder.getMetrics("H2", "testMetricsAreCached"));
+        Assert.assertNotSame(metrics, RelationalMetricsRecorder.getMetrics("DuckDB", "testMetricsAreCached"));
+        Assert.assertNotSame(metrics, RelationalMetricsRecorder.getMetrics("H2", "testMetricsAreCached2"));
+        Assert.assertSame(RelationalMetricsRecorder.getMetrics(null, null), RelationalMetricsRecorder.getMetrics("unknown", "unknown"));
+    }
+
+    @Test
+    public void testBuckets()
+    {
+        DatabaseMetrics metrics = RelationalMetricsRecorder.getMetrics("H2", "testBuckets");
+        metrics.recordStatementExecution(StatementKind.QUERY, TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.recordStatementExecution(StatementKind.QUERY, TimeUnit.SECONDS.toNanos(2));
+        metrics.recordFetch(StatementKind.QUERY, TimeUnit.MILLISECONDS.toNanos(20), 42);
+        metrics.recordRowCount(StatementKind.UPDATE, 0);
+
+        Histogram.Child.Value statements = metrics.getStatementDuration(StatementKind.QUERY).get();
+        Assert.assertEquals(2.003, statements.sum, 1e-9);
+        // buckets are cumulative: 0.001, 0.005, 0.01, ...
+        Assert.assertEquals(0.0, statements.buckets[0], 0.0);
+        Assert.assertEquals(1.0, statements.buckets[1], 0.0);
+        Assert.assertEquals(2.0, count(metrics.getStatementDuration(StatementKind.QUERY)), 0.0);
+
+        Assert.assertEquals(1.0, count(metrics.getFetchDuration(StatementKind.QUERY)), 0.0);
+        Assert.assertEquals(42.0, metrics.getRowCount(StatementKind.QUERY).get().sum, 0.0);
+        Assert.assertEquals(1.0, count(metrics.getRowCount(StatementKind.UPDATE)), 0.0);
+        Assert.assertEquals(0.0, count(metrics.getStatementDuration(StatementKind.UPDATE)), 0.0);
+        Assert.assertEquals(0.0, count(metrics.getConnectionAcquireDuration()), 0.0);
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception
+    {
+        int threadCount = 16;
+        int iterations = 20_000;
+        String[] databases = {"testConcurrentRecording1", "testConcurrentRecording2", "testConcurrentRecording3"};
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try
+        {
+            CountDownLatch start = new CountDownLatch(1);
+            MutableList<Future<?>> futures = Lists.mutable.empty();
+            for (int t = 0; t < threadCount; t++)
+            {
+                int thread = t;
+                futures.add(executor.submit(() ->
+                {
+                    start.await();
+                    for (int i = 0; i < iterations; i++)
+                    {
+                        // look the metrics up each time, so that registration races are exercised as well
+                        DatabaseMetrics metrics = RelationalMetricsRecorder.getMetrics("H2", databases[(thread + i) % databases.length]);
+                        metrics.recordConnectionAcquisition(1_000L);
+                        metrics.recordStatementExecution(StatementKind.QUERY, 1_000_000L);
+                        metrics.recordFetch(StatementKind.QUERY, 2_000_000L, 10);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+            {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        double total = 0;
+        double rows = 0;
+        for (String database : databases)
+        {
+            DatabaseMetrics metrics = RelationalMetricsRecorder.getMetrics("H2", database);
+            double count = count(metrics.getStatementDuration(StatementKind.QUERY));
+            Assert.assertEquals(count, count(metrics.getConnectionAcquireDuration()), 0.0);
+            Assert.assertEquals(count, count(metrics.getFetchDuration(StatementKind.QUERY)), 0.0);
+            Assert.assertEquals(count, count(metrics.getRowCount(StatementKind.QUERY)), 0.0);
+            total += count;
+            rows += metrics.getRowCount(StatementKind.QUERY).get().sum;
+        }
+        Assert.assertEquals((double) threadCount * iterations, total, 0.0);
+        Assert.assertEquals(10.0 * threadCount * iterations, rows, 0.0);
+    }
+
+    private static double count(Histogram.Child child)
+    {
+        double[] buckets = child.get().buckets;
+        // the last bucket is +Inf, so it holds the total count
+        return buckets[buckets.length - 1];
+    }
+}
@@ -18,6 +18,14 @@ import org.finos.legend.pure.m4.serialization.Reader;
 
 public abstract class AbstractBinaryReader extends AbstractBinaryReaderWriter implements Reader
 {
+    /**
+     * Size of the per-thread scratch buffer. Requests for larger buffers are satisfied with a fresh array, which is
+     * not retained.
+     */
+    protected static final int SCRATCH_SIZE = 8192;
+
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[SCRATCH_SIZE]);
+
     @Override
     public synchronized byte[] readByteArray()
     {
@@ -226,6 +234,19 @@ public abstract class AbstractBinaryReader extends AbstractBinaryReaderWriter im
         }
     }
 
+    /**
+     * Get a scratch byte array of at least the given size. For sizes up to {@link #SCRATCH_SIZE}, this is an array
+     * shared by all readers in the current thread, so it must not be retained or used across calls that might
+     * themselves use scratch space.
+     *
+     * @param minSize minimum size of the array
+     * @return scratch byte array
+     */
+    protected static byte[] getScratchBytes(int minSize)
+    {
+        return (minSize <= SCRATCH_SIZE) ? SCRATCH.get() : new byte[minSize];
+    }
+
     protected void skipArray(long elementSizeInBytes)
     {
         // Read length
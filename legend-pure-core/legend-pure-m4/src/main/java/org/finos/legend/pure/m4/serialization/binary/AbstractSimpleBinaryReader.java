@@ -55,4 +55,96 @@ public abstract class AbstractSimpleBinaryReader extends AbstractBinaryReader
         readBytes(this.bytes, 0, Double.BYTES);
         return this.byteBuffer.getDouble(0);
     }
+
+    @Override
+    public synchronized short[] readShortArray()
+    {
+        int length = readInt();
+        short[] shorts = new short[length];
+        int chunkLength = SCRATCH_SIZE / Short.BYTES;
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            int n = Math.min(chunkLength, length - start);
+            readChunk(n * Short.BYTES).asShortBuffer().get(shorts, start, n);
+        }
+        return shorts;
+    }
+
+    @Override
+    public synchronized int[] readIntArray()
+    {
+        int length = readInt();
+        int[] ints = new int[length];
+        int chunkLength = SCRATCH_SIZE / Integer.BYTES;
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            int n = Math.min(chunkLength, length - start);
+            readChunk(n * Integer.BYTES).asIntBuffer().get(ints, start, n);
+        }
+        return ints;
+    }
+
+    @Override
+    public synchronized long[] readLongArray()
+    {
+        int length = readInt();
+        long[] longs = new long[length];
+        int chunkLength = SCRATCH_SIZE / Long.BYTES;
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            int n = Math.min(chunkLength, length - start);
+            readChunk(n * Long.BYTES).asLongBuffer().get(longs, start, n);
+        }
+        return longs;
+    }
+
+    @Override
+    public synchronized float[] readFloatArray()
+    {
+        int length = readInt();
+        float[] floats = new float[length];
+        int chunkLength = SCRATCH_SIZE / Float.BYTES;
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            int n = Math.min(chunkLength, length - start);
+            readChunk(n * Float.BYTES).asFloatBuffer().get(floats, start, n);
+        }
+        return floats;
+    }
+
+    @Override
+    public synchronized double[] readDoubleArray()
+    {
+        int length = readInt();
+        double[] doubles = new double[length];
+        int chunkLength = SCRATCH_SIZE / Double.BYTES;
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            int n = Math.min(chunkLength, length - start);
+            readChunk(n * Double.BYTES).asDoubleBuffer().get(doubles, start, n);
+        }
+        return doubles;
+    }
+
+    @Override
+    public synchronized String readString()
+    {
+        int length = readInt();
+        byte[] stringBytes = getScratchBytes(length);
+        readBytes(stringBytes, 0, length);
+        return byteArrayToString(stringBytes, 0, length);
+    }
+
+    /**
+     * Read the given number of bytes into scratch space, and return a big-endian buffer over them.
+     *
+     * @param n number of bytes
+     * @return buffer over the bytes read
+     */
+    private ByteBuffer readChunk(int n)
+    {
+        byte[] chunk = getScratchBytes(n);
+        readBytes(chunk, 0, n);
+        return ByteBuffer.wrap(chunk, 0, n);
+    }
 }
@@ -138,22 +138,75 @@ class ByteBufferBinaryReader extends AbstractBinaryReader
         }
     }
 
+    @Override
+    public synchronized short[] readShortArray()
+    {
+        int length = readArrayLength(Short.BYTES);
+        short[] shorts = new short[length];
+        this.buffer.asShortBuffer().get(shorts);
+        advance(length * Short.BYTES);
+        return shorts;
+    }
+
+    @Override
+    public synchronized int[] readIntArray()
+    {
+        int length = readArrayLength(Integer.BYTES);
+        int[] ints = new int[length];
+        this.buffer.asIntBuffer().get(ints);
+        advance(length * Integer.BYTES);
+        return ints;
+    }
+
+    @Override
+    public synchronized long[] readLongArray()
+    {
+        int length = readArrayLength(Long.BYTES);
+        long[] longs = new long[length];
+        this.buffer.asLongBuffer().get(longs);
+        advance(length * Long.BYTES);
+        return longs;
+    }
+
+    @Override
+    public synchronized float[] readFloatArray()
+    {
+        int length = readArrayLength(Float.BYTES);
+        float[] floats = new float[length];
+        this.buffer.asFloatBuffer().get(floats);
+        advance(length * Float.BYTES);
+        return floats;
+    }
+
+    @Override
+    public synchronized double[] readDoubleArray()
+    {
+        int length = readArrayLength(Double.BYTES);
+        double[] doubles = new double[length];
+        this.buffer.asDoubleBuffer().get(doubles);
+        advance(length * Double.BYTES);
+        return doubles;
+    }
+
     @Override
     public synchronized String readString()
     {
-        if (!this.buffer.hasArray())
+        int length = readArrayLength(Byte.BYTES);
+        int position = this.buffer.position();
+        String string;
+        if (this.buffer.hasArray())
         {
-            return byteArrayToString(readByteArray());
+            // decode directly from the backing array
+            string = byteArrayToString(this.buffer.array(), this.buffer.arrayOffset() + position, length);
         }
-
-        int length = readInt();
-        if (this.buffer.remaining() < length)
+        else
         {
-            throw new UnexpectedEndException(length, this.buffer.remaining());
+            // direct or read-only buffer: decode via scratch space rather than allocating a new array for each string
+            byte[] stringBytes = getScratchBytes(length);
+            this.buffer.get(stringBytes, 0, length);
+            string = byteArrayToString(stringBytes, 0, length);
         }
-        int offset = this.buffer.position();
-        String string = byteArrayToString(this.buffer.array(), offset, length);
-        ((Buffer) this.buffer).position(offset + length);
+        ((Buffer) this.buffer).position(position + length);
         return string;
     }
 
@@ -162,4 +215,30 @@ class ByteBufferBinaryReader extends AbstractBinaryReader
     {
         // Do nothing
     }
+
+    /**
+     * Read an array length and check that there are enough bytes remaining for the array elements.
+     *
+     * @param elementSizeInBytes size of each element
+     * @return array length
+     */
+    private int readArrayLength(int elementSizeInBytes)
+    {
+        int length = readInt();
+        if (length < 0)
+        {
+            throw new NegativeArraySizeException(Integer.toString(length));
+        }
+        long byteCount = (long) length * elementSizeInBytes;
+        if (this.buffer.remaining() < byteCount)
+        {
+            throw new UnexpectedEndException(byteCount, this.buffer.remaining());
+        }
+        return length;
+    }
+
+    private void advance(int n)
+    {
+        ((Buffer) this.buffer).position(this.buffer.position() + n);
+    }
 }
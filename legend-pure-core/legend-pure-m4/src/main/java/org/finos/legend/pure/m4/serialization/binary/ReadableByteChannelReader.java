@@ -21,11 +21,10 @@ import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.util.Objects;
 
-class ReadableByteChannelReader extends AbstractBinaryReader
+class ReadableByteChannelReader extends AbstractSimpleBinaryReader
 {
     private static final int MAX_SKIP_BUFFER_SIZE = 8192;
 
-    private final ByteBuffer byteBuffer = ByteBuffer.allocate(Math.max(Long.BYTES, Double.BYTES));
     private final ReadableByteChannel byteChannel;
     private final boolean closeChannelOnClose;
 
@@ -138,7 +137,7 @@ class ReadableByteChannelReader extends AbstractBinaryReader
 
         // Otherwise, fall back to the default skip method
         int size = (int) Math.min(MAX_SKIP_BUFFER_SIZE, n);
-        ByteBuffer buffer = (size <= this.byteBuffer.capacity()) ? this.byteBuffer : ByteBuffer.allocate(size);
+        ByteBuffer buffer = ByteBuffer.wrap(getScratchBytes(size));
         long remaining = n;
         int read;
         while (remaining > 0L)
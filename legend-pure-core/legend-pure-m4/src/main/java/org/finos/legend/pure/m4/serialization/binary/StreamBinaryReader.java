@@ -130,7 +130,7 @@ class StreamBinaryReader extends AbstractSimpleBinaryReader
 
         // Fall back to default skip method
         int size = (int) Math.min(MAX_SKIP_BUFFER_SIZE, n);
-        byte[] buffer = (size <= this.bytes.length) ? this.bytes : new byte[size];
+        byte[] buffer = getScratchBytes(size);
         long remaining = n;
         while (remaining > 0L)
         {
@@ -628,6 +628,64 @@ public abstract class TestSerializers
         }
     }
 
+    @Test
+    public void testWriteReadLargeArrays() throws IOException
+    {
+        // larger than the readers' scratch space, so read in several chunks
+        int[] ints = new int[5000];
+        long[] longs = new long[3000];
+        double[] doubles = new double[2500];
+        for (int i = 0; i < ints.length; i++)
+        {
+            ints[i] = (i * 31) - 12345;
+        }
+        for (int i = 0; i < longs.length; i++)
+        {
+            longs[i] = ((long) i << 33) - i;
+        }
+        for (int i = 0; i < doubles.length; i++)
+        {
+            doubles[i] = i / 7.0;
+        }
+        WriterReader writerReader = newWriterReader();
+        try (Writer writer = writerReader.getWriter())
+        {
+            writer.writeIntArray(ints);
+            writer.writeLongArray(longs);
+            writer.writeDoubleArray(doubles);
+        }
+        try (Reader reader = writerReader.getReader())
+        {
+            Assert.assertArrayEquals(ints, reader.readIntArray());
+            Assert.assertArrayEquals(longs, reader.readLongArray());
+            Assert.assertArrayEquals(doubles, reader.readDoubleArray(), 0.0);
+        }
+    }
+
+    @Test
+    public void testWriteReadLargeString() throws IOException
+    {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; builder.length() < 20000; i++)
+        {
+            builder.append("line ").append(i).append(" \u2022 ");
+        }
+        String large = builder.toString();
+        WriterReader writerReader = newWriterReader();
+        try (Writer writer = writerReader.getWriter())
+        {
+            writer.writeString("small");
+            writer.writeString(large);
+            writer.writeString("small again");
+        }
+        try (Reader reader = writerReader.getReader())
+        {
+            Assert.assertEquals("small", reader.readString());
+            Assert.assertEquals(large, reader.readString());
+            Assert.assertEquals("small again", reader.readString());
+        }
+    }
+
     protected abstract WriterReader newWriterReader() throws IOException;
 
     protected interface WriterReader
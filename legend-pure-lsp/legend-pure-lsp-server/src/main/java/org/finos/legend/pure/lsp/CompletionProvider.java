@@ -29,7 +29,6 @@ import org.eclipse.lsp4j.CompletionItemKind;
 import org.eclipse.lsp4j.InsertTextFormat;
 import org.finos.legend.pure.m3.coreinstance.Package;
 import org.finos.legend.pure.m3.navigation.M3Properties;
-import org.finos.legend.pure.m3.navigation.PackageableElement.PackageableElement;
 import org.finos.legend.pure.m3.navigation.ProcessorSupport;
 import org.finos.legend.pure.m3.navigation.function.Function;
 import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
@@ -77,6 +76,12 @@ public class CompletionProvider
 
     public static List<CompletionItem> getCompletions(PureRuntime runtime, String sourceId,
                                                        String fileContent, int line, int column)
+    {
+        return getCompletions(runtime, new PackageNameIndex(), sourceId, fileContent, line, column);
+    }
+
+    static List<CompletionItem> getCompletions(PureRuntime runtime, PackageNameIndex nameIndex, String sourceId,
+                                               String fileContent, int line, int column)
     {
         if (fileContent == null || line < 1)
         {
@@ -89,10 +94,7 @@ public class CompletionProvider
             return Collections.emptyList();
         }
 
-        String currentLine = lines[line - 1];
-        String textBeforeCursor = (column <= currentLine.length())
-                ? currentLine.substring(0, column)
-                : currentLine;
+        String textBeforeCursor = getTextBeforeCursor(lines[line - 1], column);
 
         ProcessorSupport processorSupport = runtime.getProcessorSupport();
 
@@ -108,7 +110,7 @@ public class CompletionProvider
         {
             String packagePath = pathMatcher.group(1);
             String prefix = pathMatcher.group(2);
-            return getPackagePathCompletions(runtime, processorSupport, packagePath, prefix);
+            return getPackagePathCompletions(runtime, nameIndex, processorSupport, packagePath, prefix);
         }
 
         // 3. Identifier completion: bare name, search imports + auto-imports
@@ -116,13 +118,14 @@ public class CompletionProvider
         if (prefix != null && !prefix.isEmpty())
         {
             List<String> importPaths = extractImports(lines, line);
-            return getIdentifierCompletions(runtime, processorSupport, importPaths, prefix);
+            return getIdentifierCompletions(runtime, nameIndex, processorSupport, importPaths, prefix);
         }
 
         return Collections.emptyList();
     }
 
     private static List<CompletionItem> getPackagePathCompletions(PureRuntime runtime,
+                                                                    PackageNameIndex nameIndex,
                                                                     ProcessorSupport processorSupport,
                                                                     String packagePath, String prefix)
     {
@@ -132,43 +135,20 @@ public class CompletionProvider
             return Collections.emptyList();
         }
 
-        String lowerPrefix = (prefix != null) ? prefix.toLowerCase() : "";
-        ListIterable<? extends CoreInstance> children =
-                pkg.getValueForMetaPropertyToMany(M3Properties.children);
-        if (children == null)
-        {
-            return Collections.emptyList();
-        }
-
         List<CompletionItem> items = new ArrayList<>();
-        for (CoreInstance child : children)
+        for (PackageNameIndex.IndexedElement child : nameIndex.findByPrefix(runtime, pkg, prefix, true, MAX_COMPLETIONS))
         {
-            if (items.size() >= MAX_COMPLETIONS)
-            {
-                break;
-            }
-            String name = getElementName(child);
-            if (name == null || name.startsWith("@"))
-            {
-                continue;
-            }
-            if (!lowerPrefix.isEmpty() && !name.toLowerCase().startsWith(lowerPrefix))
-            {
-                continue;
-            }
-
-            items.add(toCompletionItem(child, name, processorSupport));
+            items.add(toCompletionItem(child.element, child.name, child.path, processorSupport));
         }
         return items;
     }
 
     private static List<CompletionItem> getIdentifierCompletions(PureRuntime runtime,
+                                                                   PackageNameIndex nameIndex,
                                                                    ProcessorSupport processorSupport,
                                                                    List<String> importPaths,
                                                                    String prefix)
     {
-        String lowerPrefix = prefix.toLowerCase();
-
         // Collect unique package paths: file imports → root → auto-imports
         Set<String> seen = new HashSet<>();
         List<String> allPaths = new ArrayList<>();
@@ -205,38 +185,13 @@ public class CompletionProvider
             {
                 continue;
             }
-            ListIterable<? extends CoreInstance> children =
-                    pkg.getValueForMetaPropertyToMany(M3Properties.children);
-            if (children == null)
-            {
-                continue;
-            }
-            for (CoreInstance child : children)
+            for (PackageNameIndex.IndexedElement child : nameIndex.findByPrefix(runtime, pkg, prefix, false, MAX_COMPLETIONS - items.size()))
             {
-                if (items.size() >= MAX_COMPLETIONS)
-                {
-                    break;
-                }
-                if (child instanceof Package)
-                {
-                    continue;
-                }
-                String name = getElementName(child);
-                if (name == null || name.startsWith("@"))
-                {
-                    continue;
-                }
-                if (!name.toLowerCase().startsWith(lowerPrefix))
-                {
-                    continue;
-                }
                 // Deduplicate by qualified path
-                String qPath = PackageableElement.getUserPathForPackageableElement(child);
-                if (!addedIds.add(qPath))
+                if (addedIds.add(child.path))
                 {
-                    continue;
+                    items.add(toCompletionItem(child.element, child.name, child.path, processorSupport));
                 }
-                items.add(toCompletionItem(child, name, processorSupport));
             }
         }
         return items;
@@ -347,7 +302,7 @@ public class CompletionProvider
         }
     }
 
-    private static CompletionItem toCompletionItem(CoreInstance element, String name,
+    private static CompletionItem toCompletionItem(CoreInstance element, String name, String qualifiedPath,
                                                      ProcessorSupport processorSupport)
     {
         String classifierName = element.getClassifier() != null
@@ -387,7 +342,6 @@ public class CompletionProvider
             item.setSortText("1_" + name);
         }
 
-        String qualifiedPath = PackageableElement.getUserPathForPackageableElement(element);
         item.setDetail(qualifiedPath);
 
         return item;
@@ -422,7 +376,7 @@ public class CompletionProvider
         }
     }
 
-    private static String getElementName(CoreInstance element)
+    static String getElementName(CoreInstance element)
     {
         String classifierName = element.getClassifier() != null
                 ? element.getClassifier().getName() : "";
@@ -438,6 +392,44 @@ public class CompletionProvider
         return element.getName();
     }
 
+    /**
+     * The text of a line before the cursor, or null if the line is not in the content.
+     *
+     * @param fileContent content
+     * @param line        1-based line
+     * @param column      0-based character position of the cursor
+     */
+    static String getTextBeforeCursor(String fileContent, int line, int column)
+    {
+        if (fileContent == null || line < 1)
+        {
+            return null;
+        }
+        String[] lines = fileContent.split("\n", -1);
+        return (line > lines.length) ? null : getTextBeforeCursor(lines[line - 1], column);
+    }
+
+    private static String getTextBeforeCursor(String currentLine, int column)
+    {
+        return (column <= currentLine.length())
+                ? currentLine.substring(0, column)
+                : currentLine;
+    }
+
+    /**
+     * The identifier characters immediately before the cursor, possibly empty. Unlike
+     * {@link #extractIdentifierPrefix}, this is the text being completed whatever the kind of completion.
+     */
+    static String getCompletedText(String textBeforeCursor)
+    {
+        int start = textBeforeCursor.length();
+        while (start > 0 && (Character.isLetterOrDigit(textBeforeCursor.charAt(start - 1)) || textBeforeCursor.charAt(start - 1) == '_'))
+        {
+            start--;
+        }
+        return textBeforeCursor.substring(start);
+    }
+
     static String extractIdentifierPrefix(String textBeforeCursor)
     {
         int end = textBeforeCursor.length();
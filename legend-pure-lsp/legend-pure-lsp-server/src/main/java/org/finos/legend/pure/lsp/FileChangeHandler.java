@@ -22,6 +22,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.eclipse.lsp4j.FileChangeType;
 import org.eclipse.lsp4j.FileEvent;
 import org.slf4j.Logger;
@@ -32,18 +33,47 @@ public class FileChangeHandler
     private static final Logger LOGGER = LoggerFactory.getLogger(FileChangeHandler.class);
 
     private final UriMapper uriMapper;
+    private final RepositoryScanner repositoryScanner;
 
     FileChangeHandler(UriMapper uriMapper)
+    {
+        this(uriMapper, null);
+    }
+
+    FileChangeHandler(UriMapper uriMapper, RepositoryScanner repositoryScanner)
     {
         this.uriMapper = uriMapper;
+        this.repositoryScanner = repositoryScanner;
+    }
+
+    /**
+     * Bring the workspace file indexes up to date with file events.
+     */
+    public void refreshFileIndexes(List<FileEvent> events)
+    {
+        if (this.repositoryScanner != null)
+        {
+            for (FileEvent event : events)
+            {
+                refreshFileIndex(event.getUri());
+            }
+        }
     }
 
+    /**
+     * Convert file events to changes. The contents of created and changed files are read in parallel.
+     */
     public List<LegendPureSession.FileChange> toFileChanges(List<FileEvent> events)
     {
-        List<LegendPureSession.FileChange> changes = new ArrayList<>();
+        String[] contents = new String[events.size()];
+        IntStream.range(0, events.size()).parallel()
+                .filter(i -> events.get(i).getUri().endsWith(".pure") && (events.get(i).getType() != FileChangeType.Deleted))
+                .forEach(i -> contents[i] = readFile(events.get(i).getUri()));
 
-        for (FileEvent event : events)
+        List<LegendPureSession.FileChange> changes = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++)
         {
+            FileEvent event = events.get(i);
             if (!event.getUri().endsWith(".pure"))
             {
                 continue;
@@ -58,7 +88,7 @@ public class FileChangeHandler
             }
             else
             {
-                String content = readFile(event.getUri());
+                String content = contents[i];
                 if (content != null)
                 {
                     changes.add(new LegendPureSession.FileChange(
@@ -69,6 +99,18 @@ public class FileChangeHandler
         return changes;
     }
 
+    private void refreshFileIndex(String uri)
+    {
+        try
+        {
+            this.repositoryScanner.refreshFile(Paths.get(URI.create(uri)));
+        }
+        catch (Exception e)
+        {
+            LOGGER.debug("Failed to refresh the file index for {}", uri, e);
+        }
+    }
+
     private static String readFile(String uri)
     {
         try
@@ -32,6 +32,15 @@ import org.finos.legend.pure.m4.coreinstance.SourceInformation;
 public class HoverProvider
 {
     public static Hover hover(PureRuntime runtime, String sourceId, int line, int column)
+    {
+        return hover(runtime, null, 0L, sourceId, line, column);
+    }
+
+    /**
+     * Hover, taking the summary of the element from the given cache (if any), which computes it only if it is
+     * not cached.
+     */
+    static Hover hover(PureRuntime runtime, HoverSummaryCache cache, long generation, String sourceId, int line, int column)
     {
         Source source = runtime.getSourceById(sourceId);
         if (source == null)
@@ -52,8 +61,7 @@ public class HoverProvider
             return null;
         }
 
-        String classifierName = found.getClassifier().getName();
-        String content = formatHover(found, classifierName, runtime);
+        String content = (cache == null) ? formatHover(found, found.getClassifier().getName(), runtime) : cache.getSummary(runtime, found, generation);
         if (content == null)
         {
             return null;
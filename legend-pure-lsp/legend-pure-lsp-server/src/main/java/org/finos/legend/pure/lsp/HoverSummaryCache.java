@@ -0,0 +1,213 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.collections.api.list.ListIterable;
+import org.finos.legend.pure.m3.navigation.M3Properties;
+import org.finos.legend.pure.m3.navigation.PackageableElement.PackageableElement;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.m3.serialization.runtime.Source;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.m4.coreinstance.SourceInformation;
+
+/**
+ * Hover summaries ({@link HoverProvider#formatHover}) of elements, so that hovering over an element does not walk
+ * its properties, types and multiplicities again each time. Summaries are computed on first hover, or ahead of it
+ * by {@link #precompute} after a compile, for the elements of the open documents and the elements recently
+ * hovered over. Each records the graph generation it was computed at, and is only used at that generation: the
+ * sources of a compile are only invalidated once the compile has released the graph write lock, so a summary from
+ * an earlier generation may describe an element as it was before the compile.
+ * <p>
+ * Summaries are also dropped per source by {@link #invalidateSources}, so that those of changed sources do not
+ * hold memory until they are evicted. The whole cache is dropped when the runtime changes. Lookups and
+ * precomputation must be made under the graph read lock.
+ */
+class HoverSummaryCache
+{
+    static final int MAX_ELEMENTS = 4096;
+    static final int MAX_RECENT_ELEMENTS = 256;
+
+    private final Map<CoreInstance, Summary> summaries = boundedMap(MAX_ELEMENTS);
+    private final Map<String, Boolean> recentPaths = boundedMap(MAX_RECENT_ELEMENTS);
+    private volatile PureRuntime runtime;
+
+    /**
+     * The hover summary of an element, computed if it is not cached.
+     */
+    String getSummary(PureRuntime runtime, CoreInstance element, long generation)
+    {
+        checkRuntime(runtime);
+        Summary summary = this.summaries.get(element);
+        String path = getPackageablePath(element);
+        if (path != null)
+        {
+            this.recentPaths.put(path, Boolean.TRUE);
+        }
+        if ((summary != null) && (summary.generation == generation))
+        {
+            return summary.text;
+        }
+        return compute(runtime, element, generation);
+    }
+
+    /**
+     * Compute the summaries of the elements defined in the given sources and of the recently hovered elements
+     * that are not cached at the given generation.
+     *
+     * @param runtime    runtime
+     * @param generation graph generation
+     * @param sourceIds  ids of the sources whose elements to compute
+     * @return number of summaries computed
+     */
+    int precompute(PureRuntime runtime, long generation, Collection<String> sourceIds)
+    {
+        checkRuntime(runtime);
+        int count = 0;
+        for (String sourceId : sourceIds)
+        {
+            Source source = runtime.getSourceById(sourceId);
+            ListIterable<CoreInstance> elements = (source == null) ? null : source.getNewInstances();
+            if (elements != null)
+            {
+                for (CoreInstance element : elements)
+                {
+                    if (!contains(element, generation) && (compute(runtime, element, generation) != null))
+                    {
+                        count++;
+                    }
+                }
+            }
+        }
+
+        List<String> paths;
+        synchronized (this.recentPaths)
+        {
+            paths = new ArrayList<>(this.recentPaths.keySet());
+        }
+        for (String path : paths)
+        {
+            CoreInstance element = runtime.getCoreInstance(path);
+            if (element == null)
+            {
+                this.recentPaths.remove(path);
+            }
+            else if (!contains(element, generation) && (compute(runtime, element, generation) != null))
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drop the summaries of the elements defined in the given sources.
+     */
+    void invalidateSources(Collection<String> sourceIds)
+    {
+        Set<String> ids = new HashSet<>(sourceIds);
+        synchronized (this.summaries)
+        {
+            this.summaries.values().removeIf(summary -> ids.contains(summary.sourceId));
+        }
+    }
+
+    boolean contains(CoreInstance element)
+    {
+        return this.summaries.containsKey(element);
+    }
+
+    boolean contains(CoreInstance element, long generation)
+    {
+        Summary summary = this.summaries.get(element);
+        return (summary != null) && (summary.generation == generation);
+    }
+
+    int size()
+    {
+        return this.summaries.size();
+    }
+
+    void clear()
+    {
+        this.summaries.clear();
+        this.recentPaths.clear();
+    }
+
+    private String compute(PureRuntime runtime, CoreInstance element, long generation)
+    {
+        String text = HoverProvider.formatHover(element, element.getClassifier().getName(), runtime);
+        if (text != null)
+        {
+            SourceInformation sourceInfo = element.getSourceInformation();
+            this.summaries.put(element, new Summary(generation, (sourceInfo == null) ? null : sourceInfo.getSourceId(), text));
+        }
+        return text;
+    }
+
+    private void checkRuntime(PureRuntime runtime)
+    {
+        if (this.runtime != runtime)
+        {
+            clear();
+            this.runtime = runtime;
+        }
+    }
+
+    private static String getPackageablePath(CoreInstance element)
+    {
+        try
+        {
+            return (element.getValueForMetaPropertyToOne(M3Properties._package) == null) ? null : PackageableElement.getUserPathForPackageableElement(element);
+        }
+        catch (Exception ignored)
+        {
+            return null;
+        }
+    }
+
+    private static <K, V> Map<K, V> boundedMap(int maxSize)
+    {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest)
+            {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    private static class Summary
+    {
+        final long generation;
+        final String sourceId;
+        final String text;
+
+        Summary(long generation, String sourceId, String text)
+        {
+            this.generation = generation;
+            this.sourceId = sourceId;
+            this.text = text;
+        }
+    }
+}
@@ -35,19 +35,26 @@ import java.util.function.Supplier;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import org.eclipse.lsp4j.ClientCapabilities;
 import org.eclipse.lsp4j.CodeActionOptions;
+import org.eclipse.lsp4j.DidChangeWatchedFilesRegistrationOptions;
 import org.eclipse.lsp4j.ExecuteCommandOptions;
+import org.eclipse.lsp4j.FileSystemWatcher;
 import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.InitializeResult;
 import org.eclipse.lsp4j.InitializedParams;
 import org.eclipse.lsp4j.MessageParams;
+import org.eclipse.lsp4j.Registration;
+import org.eclipse.lsp4j.RegistrationParams;
 import org.eclipse.lsp4j.SemanticTokensLegend;
+import org.eclipse.lsp4j.SemanticTokensServerFull;
 import org.eclipse.lsp4j.SemanticTokensWithRegistrationOptions;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.SetTraceParams;
 import org.eclipse.lsp4j.TextDocumentSyncKind;
 import org.eclipse.lsp4j.WorkspaceFolder;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4j.services.LanguageClientAware;
@@ -81,14 +88,17 @@ public class LegendPureLspServer implements LanguageServer, LanguageClientAware
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(LegendPureLspServer.class);
     private static final String VERSION = "0.3.0-2026-04-01";
+    static final String WATCH_FILES_REGISTRATION_ID = "legend-pure-lsp-watch-files";
 
     private LanguageClient rawClient;
     private LegendLanguageClient client;
     private DiagnosticService diagnosticService;
+    private volatile boolean watchFiles;
 
     private final UriMapper uriMapper = new UriMapper();
     private final RepositoryScanner repositoryScanner = new RepositoryScanner();
     private final WorkspaceSymbolProvider symbolProvider = new WorkspaceSymbolProvider();
+    private final PackageNameIndex packageNameIndex = new PackageNameIndex();
     private final LegendTextDocumentService textDocumentService;
     private final LegendWorkspaceService workspaceService;
     private final PureRuntimeManager runtimeManager;
@@ -127,6 +137,7 @@ public class LegendPureLspServer implements LanguageServer, LanguageClientAware
                 : new LegendLanguageClientAdapter(client);
         this.runtimeManager.setClient(this.client);
         this.diagnosticService = new DiagnosticService(client, this.uriMapper);
+        this.runtimeManager.setDiagnosticService(this.diagnosticService);
     }
 
     LanguageClient getClient()
@@ -149,6 +160,11 @@ public class LegendPureLspServer implements LanguageServer, LanguageClientAware
         return this.runtimeManager.getMutationService();
     }
 
+    RepositoryScanner getRepositoryScanner()
+    {
+        return this.repositoryScanner;
+    }
+
     UriMapper getUriMapper()
     {
         return this.uriMapper;
@@ -159,13 +175,24 @@ public class LegendPureLspServer implements LanguageServer, LanguageClientAware
         return this.symbolProvider;
     }
 
+    PackageNameIndex getPackageNameIndex()
+    {
+        return this.packageNameIndex;
+    }
+
     @Override
     @SuppressWarnings("deprecation")
     public CompletableFuture<InitializeResult> initialize(InitializeParams params)
     {
         List<Path> workspaceRoots = extractWorkspaceRoots(params);
+        this.watchFiles = supportsFileWatcherRegistration(params.getCapabilities());
         Set<String> classpathRepositoryNames = new LinkedHashSet<>(extractClasspathRepositoryNames(params));
         this.runtimeManager.configure(workspaceRoots, classpathRepositoryNames);
+        Path graphCacheDirectory = extractGraphCacheDirectory(params);
+        if (graphCacheDirectory != null)
+        {
+            this.runtimeManager.setGraphCacheDirectory(graphCacheDirectory);
+        }
 
         LspLog.info("Legend Pure LSP v" + VERSION + " starting");
         LspLog.info("Workspace roots: " + workspaceRoots);
@@ -184,8 +211,8 @@ public class LegendPureLspServer implements LanguageServer, LanguageClientAware
                 SemanticTokensProvider.TOKEN_TYPES,
                 SemanticTokensProvider.TOKEN_MODIFIERS);
         SemanticTokensWithRegistrationOptions semanticOptions = new SemanticTokensWithRegistrationOptions(legend);
-        semanticOptions.setFull(true);
-        semanticOptions.setRange(false);
+        semanticOptions.setFull(new SemanticTokensServerFull(true));
+        semanticOptions.setRange(true);
         caps.setSemanticTokensProvider(semanticOptions);
         caps.setExecuteCommandProvider(new ExecuteCommandOptions(Collections.singletonList(LegendWorkspaceService.CMD_REINDEX)));
         return CompletableFuture.completedFuture(new InitializeResult(caps));
@@ -194,9 +221,45 @@ public class LegendPureLspServer implements LanguageServer, LanguageClientAware
     @Override
     public void initialized(InitializedParams params)
     {
+        if (this.watchFiles)
+        {
+            registerFileWatcher();
+        }
         runAsync(this.runtimeManager::initialize);
     }
 
+    /**
+     * Ask the client to report changes to every file of the workspace rather than only to Pure files, so that the
+     * workspace file indexes also hear of folders that are created, renamed or deleted.
+     */
+    private void registerFileWatcher()
+    {
+        FileSystemWatcher watcher = new FileSystemWatcher(Either.forLeft("**/*"));
+        Registration registration = new Registration(WATCH_FILES_REGISTRATION_ID, "workspace/didChangeWatchedFiles", new DidChangeWatchedFilesRegistrationOptions(Collections.singletonList(watcher)));
+        try
+        {
+            this.rawClient.registerCapability(new RegistrationParams(Collections.singletonList(registration))).whenComplete((result, e) ->
+            {
+                if (e != null)
+                {
+                    LOGGER.warn("Failed to register the workspace file watcher", e);
+                }
+            });
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.warn("Failed to register the workspace file watcher", e);
+        }
+    }
+
+    private static boolean supportsFileWatcherRegistration(ClientCapabilities capabilities)
+    {
+        return (capabilities != null) &&
+                (capabilities.getWorkspace() != null) &&
+                (capabilities.getWorkspace().getDidChangeWatchedFiles() != null) &&
+                Boolean.TRUE.equals(capabilities.getWorkspace().getDidChangeWatchedFiles().getDynamicRegistration());
+    }
+
     void triggerRecovery()
     {
         runAsync(this.runtimeManager::triggerRecovery);
@@ -437,6 +500,10 @@ public class LegendPureLspServer implements LanguageServer, LanguageClientAware
                 {
                     return new DeleteFileResult(false, sourceId, false, result.getError().getMessage());
                 }
+                List<String> sourceIds = new ArrayList<>(result.getModifiedFiles());
+                sourceIds.add(sourceId);
+                this.symbolProvider.updateIndex(session.getPureRuntime(), sourceIds);
+                this.packageNameIndex.invalidateSources(session.getPureRuntime(), sourceIds);
                 LspLog.info("deleteFile: removed " + sourceId + " from session");
                 return new DeleteFileResult(true, sourceId, true, null);
             }
@@ -533,7 +600,10 @@ public class LegendPureLspServer implements LanguageServer, LanguageClientAware
                         this.diagnosticService.clear(uri);
                     }
                 }
-                this.symbolProvider.buildIndex(session.getPureRuntime());
+                List<String> sourceIds = new ArrayList<>(result.getModifiedFiles());
+                changes.forEach(change -> sourceIds.add(change.getSourceId()));
+                this.symbolProvider.updateIndex(session.getPureRuntime(), sourceIds);
+                this.packageNameIndex.invalidateSources(session.getPureRuntime(), sourceIds);
                 return CheckBatchResult.success(new ArrayList<>(modifiedUris));
             }
 
@@ -705,6 +775,27 @@ public class LegendPureLspServer implements LanguageServer, LanguageClientAware
         return toStringList(value);
     }
 
+    /**
+     * The graph cache directory from the initialization options, or null if not given, in which case the
+     * {@value LegendPureSession#GRAPH_CACHE_DIRECTORY_PROPERTY} system property applies.
+     */
+    static Path extractGraphCacheDirectory(InitializeParams params)
+    {
+        if (params == null)
+        {
+            return null;
+        }
+
+        Object initializationOptions = params.getInitializationOptions();
+        Object value = readOption(initializationOptions, "graphCacheDirectory");
+        if (value == null)
+        {
+            value = readOption(readOption(initializationOptions, "server"), "graphCacheDirectory");
+        }
+        String directory = toStringValue(value);
+        return (directory == null || directory.trim().isEmpty()) ? null : Paths.get(directory.trim());
+    }
+
     private static Object readOption(Object options, String property)
     {
         if (options instanceof JsonObject)
@@ -18,7 +18,12 @@ import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
@@ -41,6 +46,9 @@ import org.finos.legend.pure.m3.serialization.runtime.MutableRuntimeOptions;
 import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
 import org.finos.legend.pure.m3.serialization.runtime.PureRuntimeBuilder;
 import org.finos.legend.pure.m3.serialization.runtime.RuntimeOptions;
+import org.finos.legend.pure.m3.serialization.runtime.cache.DelegatePureGraphCache;
+import org.finos.legend.pure.m3.serialization.runtime.cache.FSGraphLoaderPureGraphCache;
+import org.finos.legend.pure.m3.serialization.runtime.cache.VoidPureGraphCache;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.exception.PureException;
 import org.finos.legend.pure.runtime.java.interpreted.FunctionExecutionInterpreted;
@@ -52,6 +60,9 @@ public class LegendPureSession
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(LegendPureSession.class);
 
+    public static final String GRAPH_CACHE_DIRECTORY_PROPERTY = "legend.lsp.graphCacheDirectory";
+    private static final int MAX_GRAPH_CACHE_WRITE_ATTEMPTS = 3;
+
     private volatile PureRuntime pureRuntime;
     private volatile FunctionExecution functionExecution;
     private volatile boolean initialized;
@@ -68,18 +79,40 @@ public class LegendPureSession
     // lock, which cannot be granted while any execution holds a read lock, and vice versa. Fair mode
     // prevents a stream of executions from starving a pending compile (the auto-sync hook compiles
     // often). Replaces the old blanket `synchronized` that serialized everything.
-    private final java.util.concurrent.locks.ReadWriteLock graphLock =
+    private final java.util.concurrent.locks.ReentrantReadWriteLock graphLock =
             new java.util.concurrent.locks.ReentrantReadWriteLock(true);
 
+    // Bumped every time the write lock is acquired, i.e. every time the graph may change. Readers that
+    // cache data derived from the graph between requests (semantic tokens) compare it to detect staleness.
+    private final java.util.concurrent.atomic.AtomicLong graphGeneration = new java.util.concurrent.atomic.AtomicLong();
+    private final java.util.concurrent.locks.Lock graphWriteLock = new GenerationCountingLock(this.graphLock.writeLock(), this.graphGeneration);
+
     private volatile RepositoryScanner workspaceScanner;
     private volatile Set<String> classpathRepositoryNames = Collections.emptySet();
     private volatile java.util.function.Consumer<String> progressListener;
 
+    // Directory the compiled graph is cached in between server starts (see initialize); null disables the cache
+    private volatile Path graphCacheDirectory = graphCacheDirectoryFromSystemProperties();
+
     public void setProgressListener(java.util.function.Consumer<String> progressListener)
     {
         this.progressListener = progressListener;
     }
 
+    /**
+     * Set the directory the compiled graph is cached in between server starts, or null not to cache it. Defaults
+     * to the {@value #GRAPH_CACHE_DIRECTORY_PROPERTY} system property.
+     */
+    public void setGraphCacheDirectory(Path graphCacheDirectory)
+    {
+        this.graphCacheDirectory = graphCacheDirectory;
+    }
+
+    public Path getGraphCacheDirectory()
+    {
+        return this.graphCacheDirectory;
+    }
+
     public void initialize()
     {
         initialize(null);
@@ -96,8 +129,9 @@ public class LegendPureSession
         this.workspaceScanner = scanner;
         this.classpathRepositoryNames = normalizeRepositoryNames(classpathRepositoryNames);
 
+        Path cacheDirectory = this.graphCacheDirectory;
         this.pureRuntime = newRuntime(scanner, true, this.classpathRepositoryNames, Collections.emptySet(),
-                false, Collections.emptySet(), this.progressListener, this.runtimeOptions);
+                false, Collections.emptySet(), this.progressListener, this.runtimeOptions, cacheDirectory);
 
         this.functionExecution = initializeFunctionExecution(
                 new StackPreservingFunctionExecutionInterpreted(),
@@ -108,6 +142,11 @@ public class LegendPureSession
         this.initialized = true;
         long elapsed = (System.currentTimeMillis() - start) / 1000;
         LOGGER.info("Pure runtime initialized in {}s", elapsed);
+
+        if (cacheDirectory != null)
+        {
+            writeGraphCache(cacheDirectory, this.pureRuntime);
+        }
     }
 
     public static PureRuntime newRuntime(RepositoryScanner scanner, boolean includeWorkspaceStorages, Collection<String> classpathRepositoryNames)
@@ -150,14 +189,15 @@ public class LegendPureSession
                                           Collection<String> excludedWorkspaceRepositoryNames)
     {
         return newRuntime(scanner, includeWorkspaceStorages, classpathRepositoryNames, additionalWorkspaceDependencies,
-                workspaceDefinitionsOnly, excludedWorkspaceRepositoryNames, null, RuntimeOptions.defaultOptions());
+                workspaceDefinitionsOnly, excludedWorkspaceRepositoryNames, null, RuntimeOptions.defaultOptions(), null);
     }
 
     private static PureRuntime newRuntime(RepositoryScanner scanner, boolean includeWorkspaceStorages, Collection<String> classpathRepositoryNames,
                                           Collection<String> additionalWorkspaceDependencies, boolean workspaceDefinitionsOnly,
                                           Collection<String> excludedWorkspaceRepositoryNames,
                                           java.util.function.Consumer<String> progressListener,
-                                          RuntimeOptions options)
+                                          RuntimeOptions options,
+                                          Path graphCacheDirectory)
     {
         Set<String> normalizedClasspathRepositoryNames = normalizeRepositoryNames(classpathRepositoryNames);
         MutableList<RepositoryCodeStorage> storages = Lists.mutable.empty();
@@ -221,14 +261,11 @@ public class LegendPureSession
         LOGGER.info("Building PureRuntime with {} storage(s)...", storages.size());
         CompositeCodeStorage codeStorage = new CompositeCodeStorage(storages.toArray(new RepositoryCodeStorage[0]));
 
-        PureRuntime runtime = new PureRuntimeBuilder(codeStorage)
+        PureRuntimeBuilder builder = new PureRuntimeBuilder(codeStorage)
                 .withMessage(new Message(""))
                 .setUseFastCompiler(true)
-                .withOptions(options)
-                .build();
-
-        LOGGER.info("Initializing Pure runtime...");
-        runtime.initialize(new Message("")
+                .withOptions(options);
+        Message initializationMessage = new Message("")
         {
             @Override
             public void setMessage(String message)
@@ -240,11 +277,146 @@ public class LegendPureSession
                     progressListener.accept(message);
                 }
             }
-        });
+        };
+
+        if (graphCacheDirectory != null)
+        {
+            PureRuntime runtime = initializeFromGraphCache(builder, codeStorage, graphCacheDirectory, initializationMessage);
+            if (runtime != null)
+            {
+                return runtime;
+            }
+        }
+
+        PureRuntime runtime = builder.build();
+        LOGGER.info("Initializing Pure runtime...");
+        runtime.initialize(initializationMessage);
 
         return runtime;
     }
 
+    /**
+     * Warm start: load the graph of every repository from the cache, then compile only the sources whose content
+     * differs from the cached ones. Returns null if there is no usable cache, or if the cached graph cannot be
+     * reconciled with the sources, in which case the caller compiles everything from source.
+     */
+    private static PureRuntime initializeFromGraphCache(PureRuntimeBuilder builder, RepositoryCodeStorage codeStorage,
+                                                        Path graphCacheDirectory, Message message)
+    {
+        Path cacheLocation = getGraphCacheLocation(graphCacheDirectory, codeStorage);
+        FSGraphLoaderPureGraphCache cache = new FSGraphLoaderPureGraphCache(cacheLocation, message);
+        if (!cache.getCacheState().isCached())
+        {
+            LOGGER.info("No graph cache in {}, compiling from source", cacheLocation);
+            return null;
+        }
+
+        long start = System.currentTimeMillis();
+        try
+        {
+            // Edits would otherwise delete the cache; it is instead rewritten by repository content hash
+            PureRuntime runtime = builder
+                    .withCache(DelegatePureGraphCache.wrap(cache, DelegatePureGraphCache.DelegationBehavior.IGNORE,
+                            DelegatePureGraphCache.DelegationBehavior.DELEGATE, DelegatePureGraphCache.DelegationBehavior.DELEGATE))
+                    .build();
+            LOGGER.info("Initializing Pure runtime from graph cache {}...", cacheLocation);
+            runtime.initializeFromCache(message, true);
+            if (runtime.isInitialized())
+            {
+                LOGGER.info("Pure runtime initialized from graph cache in {}ms", System.currentTimeMillis() - start);
+                return runtime;
+            }
+            LOGGER.warn("Could not initialize from graph cache {}: {}", cacheLocation, cache.getCacheState().getLastErrorMessage());
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("Could not initialize from graph cache {}, compiling from source", cacheLocation, e);
+        }
+        finally
+        {
+            builder.withCache(VoidPureGraphCache.VOID_PURE_GRAPH_CACHE);
+        }
+        return null;
+    }
+
+    /**
+     * Write the graph cache for the next start, in the background. Only the repositories whose sources changed
+     * since the cache was last written are serialized again. The graph read lock is taken for each repository in
+     * turn rather than for the whole write, so that a compile only waits for the repository being serialized; if
+     * the graph changes in between, the write is abandoned and started again, up to
+     * {@value #MAX_GRAPH_CACHE_WRITE_ATTEMPTS} times.
+     */
+    private void writeGraphCache(Path graphCacheDirectory, PureRuntime runtime)
+    {
+        Thread thread = new Thread(() ->
+        {
+            long start = System.currentTimeMillis();
+            try
+            {
+                FSGraphLoaderPureGraphCache cache = new FSGraphLoaderPureGraphCache(getGraphCacheLocation(graphCacheDirectory, runtime.getCodeStorage()));
+                cache.setPureRuntime(runtime);
+                for (int attempt = 1; attempt <= MAX_GRAPH_CACHE_WRITE_ATTEMPTS; attempt++)
+                {
+                    long generation = getGraphGeneration();
+                    java.util.concurrent.atomic.AtomicBoolean abandoned = new java.util.concurrent.atomic.AtomicBoolean();
+                    cache.setGraphReadAccess(step -> withGraphReadLock(() ->
+                    {
+                        if ((this.pureRuntime != runtime) || (getGraphGeneration() != generation))
+                        {
+                            abandoned.set(true);
+                            return false;
+                        }
+                        step.run();
+                        return true;
+                    }));
+                    cache.cacheRepoAndSources();
+                    if (!abandoned.get())
+                    {
+                        LOGGER.info("Graph cache written in {}ms", System.currentTimeMillis() - start);
+                        return;
+                    }
+                    if (this.pureRuntime != runtime)
+                    {
+                        break;
+                    }
+                    LOGGER.debug("Graph changed while writing the graph cache (attempt {})", attempt);
+                }
+                LOGGER.info("Graph cache not written: the graph kept changing");
+            }
+            catch (Exception e)
+            {
+                LOGGER.warn("Failed to write graph cache in {}", graphCacheDirectory, e);
+            }
+        }, "legend-pure-lsp-graph-cache");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * The graph cache for a set of repositories, in its own subdirectory so that workspaces with different
+     * repositories do not overwrite each other's cache.
+     */
+    static Path getGraphCacheLocation(Path graphCacheDirectory, RepositoryCodeStorage codeStorage)
+    {
+        String repositories = codeStorage.getAllRepositories().collect(CodeRepository::getName).toSortedList().makeString(",");
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(repositories.getBytes(StandardCharsets.UTF_8));
+            return graphCacheDirectory.resolve(String.format("%064x", new BigInteger(1, digest)));
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Path graphCacheDirectoryFromSystemProperties()
+    {
+        String directory = System.getProperty(GRAPH_CACHE_DIRECTORY_PROPERTY);
+        return ((directory == null) || directory.trim().isEmpty()) ? null : Paths.get(directory.trim());
+    }
+
     private static Set<String> filteredWorkspaceRepoNames(Set<String> workspaceRepositoryNames, Collection<String> excludedRepositoryNames)
     {
         if (workspaceRepositoryNames == null || workspaceRepositoryNames.isEmpty())
@@ -262,7 +434,7 @@ public class LegendPureSession
 
     public void reinitialize()
     {
-        this.graphLock.writeLock().lock();
+        this.graphWriteLock.lock();
         try
         {
             this.initialized = false;
@@ -271,20 +443,20 @@ public class LegendPureSession
         }
         finally
         {
-            this.graphLock.writeLock().unlock();
+            this.graphWriteLock.unlock();
         }
     }
 
     public void setClasspathRepositoryNames(Collection<String> classpathRepositoryNames)
     {
-        this.graphLock.writeLock().lock();
+        this.graphWriteLock.lock();
         try
         {
             this.classpathRepositoryNames = normalizeRepositoryNames(classpathRepositoryNames);
         }
         finally
         {
-            this.graphLock.writeLock().unlock();
+            this.graphWriteLock.unlock();
         }
     }
 
@@ -309,7 +481,18 @@ public class LegendPureSession
 
     public java.util.concurrent.locks.Lock graphWriteLock()
     {
-        return this.graphLock.writeLock();
+        return this.graphWriteLock;
+    }
+
+    /**
+     * A counter that changes whenever the graph may have been mutated: it is incremented each time the
+     * write lock is acquired. A value read under the read lock stays valid for as long as that lock is
+     * held, so it can be stored alongside anything computed from the graph and compared later to tell
+     * whether the graph has changed since.
+     */
+    public long getGraphGeneration()
+    {
+        return this.graphGeneration.get();
     }
 
     /**
@@ -329,6 +512,25 @@ public class LegendPureSession
         }
     }
 
+    /**
+     * Like {@link #withGraphReadLock}, but for read-only features that can be answered from earlier results: if a
+     * compile holds the write lock, or is waiting for it, {@code whileCompiling} is tried first instead of waiting
+     * for the compile to finish. Only if it has no answer (returns null) does this wait for the read lock and run
+     * the action.
+     */
+    public <T> T withGraphReadLockOrElse(java.util.function.Supplier<T> action, java.util.function.Supplier<T> whileCompiling)
+    {
+        if ((this.graphLock.isWriteLocked() && !this.graphLock.isWriteLockedByCurrentThread()) || this.graphLock.hasQueuedThreads())
+        {
+            T result = whileCompiling.get();
+            if (result != null)
+            {
+                return result;
+            }
+        }
+        return withGraphReadLock(action);
+    }
+
     // These delegate straight to SourceMutationService, which takes the write lock itself (the single
     // mutation chokepoint) - so no extra locking here. Retained as public API for tests/back-compat.
     public CompileResult restoreFromDisk(String sourceId)
@@ -353,7 +555,7 @@ public class LegendPureSession
      */
     private void ensureCompiled()
     {
-        this.graphLock.writeLock().lock();
+        this.graphWriteLock.lock();
         try
         {
             if (this.pureRuntime != null)
@@ -363,7 +565,7 @@ public class LegendPureSession
         }
         finally
         {
-            this.graphLock.writeLock().unlock();
+            this.graphWriteLock.unlock();
         }
     }
 
@@ -772,4 +974,64 @@ public class LegendPureSession
             return this.modifiedFiles;
         }
     }
+
+    private static class GenerationCountingLock implements java.util.concurrent.locks.Lock
+    {
+        private final java.util.concurrent.locks.Lock delegate;
+        private final java.util.concurrent.atomic.AtomicLong generation;
+
+        GenerationCountingLock(java.util.concurrent.locks.Lock delegate, java.util.concurrent.atomic.AtomicLong generation)
+        {
+            this.delegate = delegate;
+            this.generation = generation;
+        }
+
+        @Override
+        public void lock()
+        {
+            this.delegate.lock();
+            this.generation.incrementAndGet();
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException
+        {
+            this.delegate.lockInterruptibly();
+            this.generation.incrementAndGet();
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            if (this.delegate.tryLock())
+            {
+                this.generation.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean tryLock(long time, java.util.concurrent.TimeUnit unit) throws InterruptedException
+        {
+            if (this.delegate.tryLock(time, unit))
+            {
+                this.generation.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void unlock()
+        {
+            this.delegate.unlock();
+        }
+
+        @Override
+        public java.util.concurrent.locks.Condition newCondition()
+        {
+            return this.delegate.newCondition();
+        }
+    }
 }
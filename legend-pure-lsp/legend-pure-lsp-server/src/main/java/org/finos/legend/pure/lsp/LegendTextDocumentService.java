@@ -16,10 +16,13 @@ package org.finos.legend.pure.lsp;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -45,7 +48,10 @@ import org.eclipse.lsp4j.MessageParams;
 import org.eclipse.lsp4j.MessageType;
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.TextDocumentService;
@@ -60,12 +66,24 @@ public class LegendTextDocumentService implements TextDocumentService
     private final LegendPureLspServer server;
     private final Map<String, String> openDocuments = new ConcurrentHashMap<>();
     private final Map<String, ScheduledFuture<?>> pendingCompiles = new ConcurrentHashMap<>();
+    private final SemanticTokensCache semanticTokensCache = new SemanticTokensCache();
+    private final ReadSnapshot readSnapshot = new ReadSnapshot();
+    private final SourceDependencyTracker dependencyTracker = new SourceDependencyTracker();
+    private final HoverSummaryCache hoverSummaryCache = new HoverSummaryCache();
+    private final Set<String> pendingPrecompute = ConcurrentHashMap.newKeySet();
     private final ScheduledExecutorService debounceExecutor = Executors.newSingleThreadScheduledExecutor(r ->
     {
         Thread t = new Thread(r, "lsp-compile-debounce");
         t.setDaemon(true);
         return t;
     });
+    private final ExecutorService precomputeExecutor = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread t = new Thread(r, "lsp-precompute");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
 
     LegendTextDocumentService(LegendPureLspServer server)
     {
@@ -98,6 +116,12 @@ public class LegendTextDocumentService implements TextDocumentService
         {
             String content = params.getContentChanges().get(changes.size() - 1).getText();
             this.openDocuments.put(uri, content);
+            LegendPureSession session = this.server.getSession();
+            if ((session != null) && session.isInitialized())
+            {
+                // recorded hover and definition positions are for the previous content
+                this.readSnapshot.removePositions(resolveSourceId(session, uri));
+            }
             scheduleCompile(uri, content);
         }
     }
@@ -113,6 +137,13 @@ public class LegendTextDocumentService implements TextDocumentService
         if (session != null && session.isInitialized() && this.server.getMutationService() != null && !uri.startsWith("pure://"))
         {
             String sourceId = this.server.getUriMapper().toSourceId(uri);
+            String resolvedId = session.resolveSourceId(sourceId);
+            if (resolvedId != null)
+            {
+                this.semanticTokensCache.remove(resolvedId);
+                this.readSnapshot.removeSource(resolvedId);
+                this.dependencyTracker.remove(resolvedId);
+            }
             LegendPureSession.CompileResult result = this.server.getMutationService().restoreFromDisk(sourceId);
             handleResult(uri, result);
         }
@@ -161,12 +192,21 @@ public class LegendTextDocumentService implements TextDocumentService
                 }
 
                 String finalContent = content;
-                return session.withGraphReadLock(() ->
+                String textBeforeCursor = CompletionProvider.getTextBeforeCursor(content, line, column);
+                String completedText = (textBeforeCursor == null) ? "" : CompletionProvider.getCompletedText(textBeforeCursor);
+                String completionContext = (textBeforeCursor == null) ? null : ReadSnapshot.completionContext(
+                        resolvedId, line, textBeforeCursor.substring(0, textBeforeCursor.length() - completedText.length()));
+                List<CompletionItem> items = session.withGraphReadLockOrElse(() ->
                 {
-                    List<CompletionItem> items = CompletionProvider.getCompletions(
-                            session.getPureRuntime(), resolvedId, finalContent, line, column);
-                    return Either.<List<CompletionItem>, CompletionList>forLeft(items);
-                });
+                    List<CompletionItem> computed = CompletionProvider.getCompletions(
+                            session.getPureRuntime(), this.server.getPackageNameIndex(), resolvedId, finalContent, line, column);
+                    if (completionContext != null)
+                    {
+                        this.readSnapshot.putCompletions(completionContext, completedText, session.getGraphGeneration(), computed);
+                    }
+                    return computed;
+                }, () -> (completionContext == null) ? null : this.readSnapshot.getCompletions(completionContext, completedText));
+                return Either.<List<CompletionItem>, CompletionList>forLeft(items);
             }
             catch (Exception e)
             {
@@ -200,13 +240,22 @@ public class LegendTextDocumentService implements TextDocumentService
                     return Either.<List<? extends Location>, List<? extends LocationLink>>forLeft(Collections.emptyList());
                 }
 
-                Location location = session.withGraphReadLock(() -> NavigationProvider.definition(
-                        session.getPureRuntime(),
-                        this.server.getUriMapper(),
-                        resolvedId,
-                        line,
-                        column
-                ));
+                String content = this.openDocuments.get(uri);
+                Location location = session.withGraphReadLockOrElse(() ->
+                {
+                    Location computed = NavigationProvider.definition(
+                            session.getPureRuntime(),
+                            this.server.getUriMapper(),
+                            resolvedId,
+                            line,
+                            column
+                    );
+                    if (computed != null)
+                    {
+                        this.readSnapshot.putDefinition(resolvedId, content, line, column, session.getGraphGeneration(), computed);
+                    }
+                    return computed;
+                }, () -> this.readSnapshot.getDefinition(resolvedId, content, line, column));
 
                 if (location == null)
                 {
@@ -246,8 +295,16 @@ public class LegendTextDocumentService implements TextDocumentService
                     return null;
                 }
 
-                return session.withGraphReadLock(() ->
-                        HoverProvider.hover(session.getPureRuntime(), resolvedId, line, column));
+                String content = this.openDocuments.get(uri);
+                return session.withGraphReadLockOrElse(() ->
+                {
+                    Hover hover = HoverProvider.hover(session.getPureRuntime(), this.hoverSummaryCache, session.getGraphGeneration(), resolvedId, line, column);
+                    if (hover != null)
+                    {
+                        this.readSnapshot.putHover(resolvedId, content, line, column, session.getGraphGeneration(), hover);
+                    }
+                    return hover;
+                }, () -> this.readSnapshot.getHover(resolvedId, content, line, column));
             }
             catch (Exception e)
             {
@@ -312,40 +369,92 @@ public class LegendTextDocumentService implements TextDocumentService
                     return new SemanticTokens(Collections.emptyList());
                 }
 
-                String uri = params.getTextDocument().getUri();
-                if (uri.startsWith("pure://"))
+                String sourceId = resolveSemanticTokensSourceId(session, params.getTextDocument().getUri());
+                if (sourceId == null)
                 {
-                    String sourceId = uri.substring("pure://".length());
-                    return session.withGraphReadLock(() ->
-                    {
-                        List<Integer> data = SemanticTokensProvider.getTokens(
-                                session.getPureRuntime(), sourceId);
-                        return new SemanticTokens(data);
-                    });
+                    return new SemanticTokens(Collections.emptyList());
                 }
 
-                String sourceId = this.server.getUriMapper().toSourceId(uri);
-                String resolvedId = session.resolveSourceId(sourceId);
-                if (resolvedId == null)
+                return session.withGraphReadLock(() -> this.semanticTokensCache.getTokens(
+                        session.getPureRuntime(), session.getGraphGeneration(), sourceId));
+            }
+            catch (Exception e)
+            {
+                LOGGER.error("Error in semantic tokens", e);
+                return new SemanticTokens(Collections.emptyList());
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Either<SemanticTokens, SemanticTokensDelta>> semanticTokensFullDelta(SemanticTokensDeltaParams params)
+    {
+        return this.server.supplyAsync(() ->
+        {
+            try
+            {
+                LegendPureSession session = this.server.getSession();
+                if (session == null || !session.isInitialized())
+                {
+                    return Either.<SemanticTokens, SemanticTokensDelta>forLeft(new SemanticTokens(Collections.emptyList()));
+                }
+
+                String sourceId = resolveSemanticTokensSourceId(session, params.getTextDocument().getUri());
+                if (sourceId == null)
+                {
+                    return Either.<SemanticTokens, SemanticTokensDelta>forLeft(new SemanticTokens(Collections.emptyList()));
+                }
+
+                return session.withGraphReadLock(() -> this.semanticTokensCache.getTokensDelta(
+                        session.getPureRuntime(), session.getGraphGeneration(), sourceId, params.getPreviousResultId()));
+            }
+            catch (Exception e)
+            {
+                LOGGER.error("Error in semantic tokens delta", e);
+                return Either.<SemanticTokens, SemanticTokensDelta>forLeft(new SemanticTokens(Collections.emptyList()));
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<SemanticTokens> semanticTokensRange(SemanticTokensRangeParams params)
+    {
+        return this.server.supplyAsync(() ->
+        {
+            try
+            {
+                LegendPureSession session = this.server.getSession();
+                if (session == null || !session.isInitialized())
                 {
                     return new SemanticTokens(Collections.emptyList());
                 }
 
-                return session.withGraphReadLock(() ->
+                String sourceId = resolveSemanticTokensSourceId(session, params.getTextDocument().getUri());
+                if (sourceId == null)
                 {
-                    List<Integer> data = SemanticTokensProvider.getTokens(
-                            session.getPureRuntime(), resolvedId);
-                    return new SemanticTokens(data);
-                });
+                    return new SemanticTokens(Collections.emptyList());
+                }
+
+                return session.withGraphReadLock(() -> this.semanticTokensCache.getTokens(
+                        session.getPureRuntime(), session.getGraphGeneration(), sourceId, params.getRange()));
             }
             catch (Exception e)
             {
-                LOGGER.error("Error in semantic tokens", e);
+                LOGGER.error("Error in semantic tokens range", e);
                 return new SemanticTokens(Collections.emptyList());
             }
         });
     }
 
+    private String resolveSemanticTokensSourceId(LegendPureSession session, String uri)
+    {
+        if (uri.startsWith("pure://"))
+        {
+            return uri.substring("pure://".length());
+        }
+        return session.resolveSourceId(this.server.getUriMapper().toSourceId(uri));
+    }
+
     @Override
     public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> documentSymbol(DocumentSymbolParams params)
     {
@@ -375,17 +484,15 @@ public class LegendTextDocumentService implements TextDocumentService
                     return Collections.<Either<SymbolInformation, DocumentSymbol>>emptyList();
                 }
 
-                return session.withGraphReadLock(() ->
+                List<DocumentSymbol> outline = session.withGraphReadLockOrElse(
+                        () -> computeOutline(session, resolvedId),
+                        () -> this.readSnapshot.getOutline(resolvedId));
+                List<Either<SymbolInformation, DocumentSymbol>> result = new ArrayList<>();
+                for (DocumentSymbol symbol : outline)
                 {
-                    List<DocumentSymbol> outline = DocumentOutlineProvider.getOutline(
-                            session.getPureRuntime(), resolvedId);
-                    List<Either<SymbolInformation, DocumentSymbol>> result = new ArrayList<>();
-                    for (DocumentSymbol symbol : outline)
-                    {
-                        result.add(Either.forRight(symbol));
-                    }
-                    return result;
-                });
+                    result.add(Either.forRight(symbol));
+                }
+                return result;
             }
             catch (Exception e)
             {
@@ -395,6 +502,14 @@ public class LegendTextDocumentService implements TextDocumentService
         });
     }
 
+    // Callers must hold the graph read lock
+    private List<DocumentSymbol> computeOutline(LegendPureSession session, String sourceId)
+    {
+        List<DocumentSymbol> outline = DocumentOutlineProvider.getOutline(session.getPureRuntime(), sourceId);
+        this.readSnapshot.putOutline(sourceId, session.getGraphGeneration(), outline);
+        return outline;
+    }
+
     @Override
     public CompletableFuture<List<Either<Command, CodeAction>>> codeAction(CodeActionParams params)
     {
@@ -477,30 +592,140 @@ public class LegendTextDocumentService implements TextDocumentService
 
         if (result.isSuccess())
         {
-            this.server.getDiagnosticService().clear(uri);
+            this.server.getDiagnosticService().clearIfChanged(uri);
             for (String modifiedSourceId : result.getModifiedFiles())
             {
                 String modifiedUri = this.server.getUriMapper().toUri(modifiedSourceId);
                 if (modifiedUri != null)
                 {
-                    this.server.getDiagnosticService().clear(modifiedUri);
+                    this.server.getDiagnosticService().clearIfChanged(modifiedUri);
                 }
             }
             LegendPureSession session = this.server.getSession();
             if (session != null)
             {
-                this.server.getSymbolProvider().buildIndex(session.getPureRuntime());
+                List<String> sourceIds = new ArrayList<>(result.getModifiedFiles());
+                sourceIds.add(this.server.getUriMapper().toSourceId(uri));
+                this.server.getSymbolProvider().updateIndex(session.getPureRuntime(), sourceIds);
+                this.server.getPackageNameIndex().invalidateSources(session.getPureRuntime(), sourceIds);
+                revalidateDependents(session, sourceIds);
+                schedulePrecompute(session, sourceIds);
             }
         }
         else
         {
             LspLog.warn("Compile error for " + uri + ": " + result.getError().getMessage());
             this.server.getDiagnosticService().publishException(uri, result.getError(), this.server.getSession());
+            LegendPureSession session = this.server.getSession();
+            if ((session != null) && this.openDocuments.containsKey(uri))
+            {
+                this.dependencyTracker.recordRejected(resolveSourceId(session, uri), this.openDocuments.get(uri));
+            }
+        }
+    }
+
+    /**
+     * Re-validate only the open documents whose last compile was rejected and which depend on the sources just
+     * compiled; documents that were accepted have already been re-validated by the incremental compile itself.
+     */
+    private void revalidateDependents(LegendPureSession session, List<String> sourceIds)
+    {
+        List<String> resolvedIds = new ArrayList<>(sourceIds.size());
+        for (String sourceId : sourceIds)
+        {
+            String resolvedId = session.resolveSourceId(sourceId);
+            resolvedIds.add((resolvedId == null) ? sourceId : resolvedId);
+        }
+        Set<String> dependents = session.withGraphReadLock(() -> this.dependencyTracker.recordCompiled(session.getPureRuntime(), resolvedIds));
+        for (String dependentId : dependents)
+        {
+            String dependentUri = this.server.getUriMapper().toUri(dependentId);
+            String content = (dependentUri == null) ? null : this.openDocuments.get(dependentUri);
+            if (content != null)
+            {
+                LspLog.debug("Re-validating " + dependentUri + ", which depends on " + resolvedIds);
+                scheduleCompile(dependentUri, content);
+            }
+            else
+            {
+                this.dependencyTracker.remove(dependentId);
+            }
+        }
+    }
+
+    private String resolveSourceId(LegendPureSession session, String uri)
+    {
+        String sourceId = this.server.getUriMapper().toSourceId(uri);
+        String resolvedId = session.resolveSourceId(sourceId);
+        return (resolvedId == null) ? sourceId : resolvedId;
+    }
+
+    /**
+     * Drop the hover summaries and the recorded hover and definition results of the compiled sources and of the
+     * sources that depend on them, and recompute on the low-priority precompute thread the outlines of the open
+     * documents among the compiled sources and the hover summaries of the open documents and of the recently
+     * hovered elements, so that the first outline or hover request after a compile does not pay for it and the
+     * outline of what was just compiled can be answered while the next compile holds the graph write lock.
+     * Compiles that complete before the thread gets to it are precomputed together.
+     */
+    private void schedulePrecompute(LegendPureSession session, List<String> sourceIds)
+    {
+        Set<String> invalidated = new LinkedHashSet<>();
+        for (String sourceId : sourceIds)
+        {
+            String resolvedId = session.resolveSourceId(sourceId);
+            if (resolvedId != null)
+            {
+                invalidated.add(resolvedId);
+                invalidated.addAll(this.dependencyTracker.getDependents(resolvedId));
+                if (this.openDocuments.containsKey(this.server.getUriMapper().toUri(sourceId)))
+                {
+                    this.pendingPrecompute.add(resolvedId);
+                }
+            }
+        }
+        this.hoverSummaryCache.invalidateSources(invalidated);
+        invalidated.forEach(this.readSnapshot::removePositions);
+        this.precomputeExecutor.execute(() -> precompute(session));
+    }
+
+    private void precompute(LegendPureSession session)
+    {
+        List<String> outlineIds = new ArrayList<>(this.pendingPrecompute);
+        this.pendingPrecompute.removeAll(outlineIds);
+        List<String> openIds = new ArrayList<>();
+        for (String uri : this.openDocuments.keySet())
+        {
+            String resolvedId = uri.startsWith("pure://") ? null : session.resolveSourceId(this.server.getUriMapper().toSourceId(uri));
+            if (resolvedId != null)
+            {
+                openIds.add(resolvedId);
+            }
+        }
+        try
+        {
+            session.withGraphReadLock(() ->
+            {
+                long start = System.nanoTime();
+                for (String sourceId : outlineIds)
+                {
+                    computeOutline(session, sourceId);
+                }
+                int hovers = this.hoverSummaryCache.precompute(session.getPureRuntime(), session.getGraphGeneration(), openIds);
+                LspLog.debug("Precomputed " + outlineIds.size() + " outline(s) and " + hovers + " hover summaries in " + ((System.nanoTime() - start) / 1_000_000) + "ms");
+                return null;
+            });
+        }
+        catch (Exception e)
+        {
+            LOGGER.debug("Failed to precompute outlines and hover summaries", e);
         }
     }
 
     void compileOpenDocuments()
     {
+        // called once the runtime is (re)initialized: nothing recorded from the previous graph still applies
+        this.readSnapshot.clear();
         for (Map.Entry<String, String> entry : this.openDocuments.entrySet())
         {
             String uri = entry.getKey();
@@ -553,5 +778,6 @@ public class LegendTextDocumentService implements TextDocumentService
     void shutdown()
     {
         this.debounceExecutor.shutdownNow();
+        this.precomputeExecutor.shutdownNow();
     }
 }
@@ -78,13 +78,15 @@ public class LegendWorkspaceService implements WorkspaceService
 
     private void handleFileChanges(DidChangeWatchedFilesParams params)
     {
+        FileChangeHandler handler = new FileChangeHandler(this.server.getUriMapper(), this.server.getRepositoryScanner());
+        handler.refreshFileIndexes(params.getChanges());
+
         LegendPureSession session = this.server.getSession();
         if (session == null || !session.isInitialized())
         {
             return;
         }
 
-        FileChangeHandler handler = new FileChangeHandler(this.server.getUriMapper());
         List<LegendPureSession.FileChange> changes = handler.toFileChanges(params.getChanges());
 
         if (changes.isEmpty())
@@ -123,6 +125,7 @@ public class LegendWorkspaceService implements WorkspaceService
                 }
             }
             this.server.getSymbolProvider().buildIndex(session.getPureRuntime());
+            this.server.getPackageNameIndex().clear();
         }
         else if (!result.isInternalError() && result.getError() != null)
         {
@@ -36,17 +36,26 @@ import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.Mutable
 import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.fs.FSCodeStorage;
 
 /**
- * In-memory overlay over FSCodeStorage: reads from disk, writes stay in memory.
+ * In-memory overlay over FSCodeStorage: reads from disk, writes stay in memory. The file tree on disk is read
+ * from a {@link WorkspaceFileIndex} (shared with the {@link RepositoryScanner} that found the repository, or
+ * built on first use), so only file contents, and paths the index does not know of, are read from disk.
  */
 public class OverlayWorkspaceCodeStorage extends FSCodeStorage implements MutableRepositoryCodeStorage
 {
     private final Map<String, String> contentByPath = new ConcurrentHashMap<>();
     private final Set<String> deletedPaths = ConcurrentHashMap.newKeySet();
     private final Set<String> createdFolders = ConcurrentHashMap.newKeySet();
+    private volatile WorkspaceFileIndex fileIndex;
 
     public OverlayWorkspaceCodeStorage(CodeRepository repository, Path root)
+    {
+        this(repository, root, null);
+    }
+
+    OverlayWorkspaceCodeStorage(CodeRepository repository, Path root, WorkspaceFileIndex fileIndex)
     {
         super(repository, root);
+        this.fileIndex = fileIndex;
     }
 
     @Override
@@ -120,7 +129,13 @@ public class OverlayWorkspaceCodeStorage extends FSCodeStorage implements Mutabl
         {
             return new OverlayCodeStorageNode(normalized, true);
         }
-        return super.getNode(path);
+        WorkspaceFileIndex index = getFileIndex();
+        String indexPath = indexPath(path);
+        if (!index.exists(indexPath))
+        {
+            throw new IllegalArgumentException("Cannot find " + path);
+        }
+        return new OverlayCodeStorageNode(normalized, index.isFolder(indexPath));
     }
 
     @Override
@@ -133,19 +148,19 @@ public class OverlayWorkspaceCodeStorage extends FSCodeStorage implements Mutabl
         }
 
         Map<String, CodeStorageNode> children = new java.util.TreeMap<>();
-        try
+        WorkspaceFileIndex index = getFileIndex();
+        List<String> diskChildren = index.getChildren(indexPath(path));
+        if (diskChildren != null)
         {
-            for (CodeStorageNode node : super.getFiles(path))
+            for (String child : diskChildren)
             {
-                if (!this.deletedPaths.contains(node.getPath()))
+                String childPath = userPath(child);
+                if (!this.deletedPaths.contains(childPath))
                 {
-                    children.put(node.getPath(), node);
+                    children.put(childPath, new OverlayCodeStorageNode(childPath, index.isFolder(child)));
                 }
             }
         }
-        catch (Exception ignored)
-        {
-        }
 
         String prefix = folderPrefix(normalized);
         for (String overlayPath : overlayPaths())
@@ -166,19 +181,14 @@ public class OverlayWorkspaceCodeStorage extends FSCodeStorage implements Mutabl
     public RichIterable<String> getUserFiles()
     {
         Set<String> result = new LinkedHashSet<>();
-        try
+        for (String indexPath : new java.util.TreeSet<>(getFileIndex().getFiles()))
         {
-            for (String file : super.getUserFiles())
+            String file = userPath(indexPath);
+            if (CodeStorageTools.hasPureFileExtension(file) && !this.deletedPaths.contains(file))
             {
-                if (!this.deletedPaths.contains(file))
-                {
-                    result.add(file);
-                }
+                result.add(file);
             }
         }
-        catch (Exception ignored)
-        {
-        }
 
         for (String file : this.contentByPath.keySet())
         {
@@ -238,7 +248,16 @@ public class OverlayWorkspaceCodeStorage extends FSCodeStorage implements Mutabl
         {
             return overlayContent;
         }
-        return super.getContentAsText(path);
+        try
+        {
+            return super.getContentAsText(path);
+        }
+        catch (RuntimeException e)
+        {
+            // the file may have been deleted without being reported
+            getFileIndex().recheck(indexPath(path));
+            throw e;
+        }
     }
 
     public String getDiskContentAsText(String path)
@@ -254,7 +273,7 @@ public class OverlayWorkspaceCodeStorage extends FSCodeStorage implements Mutabl
         {
             return false;
         }
-        return this.contentByPath.containsKey(normalized) || isOverlayFolder(normalized) || super.exists(path);
+        return this.contentByPath.containsKey(normalized) || isOverlayFolder(normalized) || getFileIndex().exists(indexPath(path));
     }
 
     @Override
@@ -265,7 +284,7 @@ public class OverlayWorkspaceCodeStorage extends FSCodeStorage implements Mutabl
         {
             return false;
         }
-        return this.contentByPath.containsKey(normalized) || super.isFile(path);
+        return this.contentByPath.containsKey(normalized) || getFileIndex().isFile(indexPath(path));
     }
 
     @Override
@@ -276,7 +295,7 @@ public class OverlayWorkspaceCodeStorage extends FSCodeStorage implements Mutabl
         {
             return false;
         }
-        return isOverlayFolder(normalized) || super.isFolder(path);
+        return isOverlayFolder(normalized) || getFileIndex().isFolder(indexPath(path));
     }
 
     @Override
@@ -346,6 +365,48 @@ public class OverlayWorkspaceCodeStorage extends FSCodeStorage implements Mutabl
         }
     }
 
+    /**
+     * Bring the file index up to date with the disk for a file or folder reported created, changed or deleted.
+     */
+    public void refreshFile(Path file)
+    {
+        getFileIndex().refresh(file);
+    }
+
+    private WorkspaceFileIndex getFileIndex()
+    {
+        WorkspaceFileIndex index = this.fileIndex;
+        if (index == null)
+        {
+            synchronized (this)
+            {
+                index = this.fileIndex;
+                if (index == null)
+                {
+                    this.fileIndex = index = WorkspaceFileIndex.build(this.root, WorkspaceFileIndex.HIDDEN_AND_BUILD_DIRECTORIES);
+                }
+            }
+        }
+        return index;
+    }
+
+    private String indexPath(String path)
+    {
+        String relative = getRelativePath(path).replace('\\', '/');
+        int end = relative.length();
+        while (end > 0 && relative.charAt(end - 1) == '/')
+        {
+            end--;
+        }
+        return relative.substring(0, end);
+    }
+
+    private String userPath(String indexPath)
+    {
+        String repoPath = "/" + this.repository.getName();
+        return indexPath.isEmpty() ? repoPath : repoPath + "/" + indexPath;
+    }
+
     private String normalizePath(String path)
     {
         String relative = getRelativePath(path).replace('\\', '/');
@@ -0,0 +1,229 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.collections.api.list.ListIterable;
+import org.finos.legend.pure.m3.coreinstance.Package;
+import org.finos.legend.pure.m3.navigation.M3Properties;
+import org.finos.legend.pure.m3.navigation.PackageableElement.PackageableElement;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.m3.serialization.runtime.Source;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.m4.coreinstance.SourceInformation;
+
+/**
+ * Index of the children of each package by name, for completion. The children of a package are sorted by
+ * lower case name, so the children whose name starts with a prefix are found by a binary search rather than
+ * by testing every child.
+ * <p>
+ * Packages are indexed the first time they are looked up. After a compile, {@link #invalidateSources} drops
+ * the packages that the compiled sources defined elements in, before and after the compile, and their
+ * ancestors (whose child packages may have been created or removed); they are indexed again on their next
+ * lookup. As a safety net, a package is also indexed again if its number of children has changed, and the
+ * whole index is dropped when the runtime changes.
+ * <p>
+ * Lookups must be made under the graph read lock.
+ */
+class PackageNameIndex
+{
+    private final Map<CoreInstance, PackageNames> packages = new ConcurrentHashMap<>();
+    private final Map<String, Set<CoreInstance>> packagesBySource = new ConcurrentHashMap<>();
+    private volatile PureRuntime runtime;
+
+    /**
+     * Find the children of a package whose name starts with a prefix, ignoring case, in name order.
+     *
+     * @param runtime         runtime
+     * @param pkg             package
+     * @param prefix          name prefix; null or empty for all children
+     * @param includePackages whether to include child packages
+     * @param max             maximum number of results
+     * @return matching children
+     */
+    List<IndexedElement> findByPrefix(PureRuntime runtime, CoreInstance pkg, String prefix, boolean includePackages, int max)
+    {
+        PackageNames names = getPackageNames(runtime, pkg);
+        String lowerPrefix = (prefix == null) ? "" : prefix.toLowerCase();
+        List<IndexedElement> results = new ArrayList<>();
+        for (int i = names.lowerBound(lowerPrefix); (i < names.lowerNames.length) && (results.size() < max) && names.lowerNames[i].startsWith(lowerPrefix); i++)
+        {
+            IndexedElement element = names.elements[i];
+            if (includePackages || !element.isPackage)
+            {
+                results.add(element);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Drop the packages that the given sources define elements in, as recorded when they were indexed and as
+     * found in the sources now, together with their ancestors.
+     *
+     * @param runtime   runtime
+     * @param sourceIds ids of the sources added, modified or removed by a compile
+     */
+    void invalidateSources(PureRuntime runtime, Iterable<String> sourceIds)
+    {
+        for (String sourceId : sourceIds)
+        {
+            if (sourceId == null)
+            {
+                continue;
+            }
+            Set<CoreInstance> indexed = this.packagesBySource.remove(sourceId);
+            if (indexed != null)
+            {
+                indexed.forEach(this::invalidatePackage);
+            }
+            Source source = runtime.getSourceById(sourceId);
+            ListIterable<CoreInstance> newInstances = (source == null) ? null : source.getNewInstances();
+            if (newInstances != null)
+            {
+                for (CoreInstance instance : newInstances)
+                {
+                    CoreInstance pkg = instance.getValueForMetaPropertyToOne(M3Properties._package);
+                    if (pkg != null)
+                    {
+                        invalidatePackage(pkg);
+                    }
+                }
+            }
+        }
+    }
+
+    void clear()
+    {
+        this.packages.clear();
+        this.packagesBySource.clear();
+    }
+
+    int size()
+    {
+        return this.packages.size();
+    }
+
+    private void invalidatePackage(CoreInstance pkg)
+    {
+        for (CoreInstance current = pkg; current != null; current = current.getValueForMetaPropertyToOne(M3Properties._package))
+        {
+            this.packages.remove(current);
+        }
+    }
+
+    private PackageNames getPackageNames(PureRuntime runtime, CoreInstance pkg)
+    {
+        if (this.runtime != runtime)
+        {
+            clear();
+            this.runtime = runtime;
+        }
+        ListIterable<? extends CoreInstance> children = pkg.getValueForMetaPropertyToMany(M3Properties.children);
+        int childCount = (children == null) ? 0 : children.size();
+        PackageNames names = this.packages.get(pkg);
+        if ((names == null) || (names.childCount != childCount))
+        {
+            names = buildPackageNames(pkg, children);
+            this.packages.put(pkg, names);
+        }
+        return names;
+    }
+
+    private PackageNames buildPackageNames(CoreInstance pkg, ListIterable<? extends CoreInstance> children)
+    {
+        if (children == null)
+        {
+            return new PackageNames(0, new IndexedElement[0]);
+        }
+
+        List<IndexedElement> elements = new ArrayList<>(children.size());
+        for (CoreInstance child : children)
+        {
+            String name = CompletionProvider.getElementName(child);
+            if ((name == null) || name.startsWith("@"))
+            {
+                continue;
+            }
+            boolean isPackage = child instanceof Package;
+            elements.add(new IndexedElement(child, name, PackageableElement.getUserPathForPackageableElement(child), isPackage));
+            SourceInformation si = isPackage ? null : child.getSourceInformation();
+            if (si != null)
+            {
+                this.packagesBySource.computeIfAbsent(si.getSourceId(), k -> ConcurrentHashMap.newKeySet()).add(pkg);
+            }
+        }
+        IndexedElement[] sorted = elements.toArray(new IndexedElement[0]);
+        Arrays.sort(sorted, Comparator.comparing((IndexedElement e) -> e.lowerName).thenComparing(e -> e.path));
+        return new PackageNames(children.size(), sorted);
+    }
+
+    static class IndexedElement
+    {
+        final CoreInstance element;
+        final String name;
+        final String lowerName;
+        final String path;
+        final boolean isPackage;
+
+        IndexedElement(CoreInstance element, String name, String path, boolean isPackage)
+        {
+            this.element = element;
+            this.name = name;
+            this.lowerName = name.toLowerCase();
+            this.path = path;
+            this.isPackage = isPackage;
+        }
+    }
+
+    private static class PackageNames
+    {
+        final int childCount;
+        final IndexedElement[] elements;
+        final String[] lowerNames;
+
+        PackageNames(int childCount, IndexedElement[] elements)
+        {
+            this.childCount = childCount;
+            this.elements = elements;
+            this.lowerNames = new String[elements.length];
+            for (int i = 0; i < elements.length; i++)
+            {
+                this.lowerNames[i] = elements[i].lowerName;
+            }
+        }
+
+        int lowerBound(String lowerPrefix)
+        {
+            int index = Arrays.binarySearch(this.lowerNames, lowerPrefix);
+            if (index < 0)
+            {
+                return -(index + 1);
+            }
+            // step back over equal names
+            while ((index > 0) && this.lowerNames[index - 1].equals(lowerPrefix))
+            {
+                index--;
+            }
+            return index;
+        }
+    }
+}
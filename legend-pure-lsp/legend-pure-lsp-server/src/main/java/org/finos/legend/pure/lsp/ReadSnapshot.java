@@ -0,0 +1,255 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.Hover;
+import org.eclipse.lsp4j.Location;
+
+/**
+ * The last results of the read-only features (outline, hover, go-to-definition and completion) computed from a
+ * compiled graph, so they can still be answered while a compile holds the graph write lock (see
+ * {@link LegendPureSession#withGraphReadLockOrElse}). Results are recorded as they are computed, and the outlines
+ * of open documents are recomputed in the background after each compile; each records the graph generation it was
+ * computed at. Workspace symbols are not kept here as they are served from their own index, which does not need
+ * the graph.
+ * <p>
+ * Hover and definition results are kept per identifier, so that hovering anywhere over a name finds them, and at
+ * most {@link #MAX_POSITIONS_PER_SOURCE} per source. As they are found by position, a source's results are dropped
+ * when its content changes or it is recompiled (see {@link #removePositions}). Completion results are kept per
+ * completion context, and can answer a request whose prefix extends the recorded one.
+ */
+class ReadSnapshot
+{
+    static final int MAX_POSITIONS_PER_SOURCE = 512;
+    static final int MAX_COMPLETION_CONTEXTS = 64;
+
+    private final Map<String, Versioned<List<DocumentSymbol>>> outlines = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Versioned<Hover>>> hovers = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Versioned<Location>>> definitions = new ConcurrentHashMap<>();
+    private final Map<String, Versioned<CompletionResult>> completions = boundedMap(MAX_COMPLETION_CONTEXTS);
+
+    void putOutline(String sourceId, long generation, List<DocumentSymbol> outline)
+    {
+        this.outlines.put(sourceId, new Versioned<>(generation, outline));
+    }
+
+    List<DocumentSymbol> getOutline(String sourceId)
+    {
+        return valueOf(this.outlines.get(sourceId), sourceId);
+    }
+
+    void putHover(String sourceId, String content, int line, int column, long generation, Hover hover)
+    {
+        put(this.hovers, sourceId, content, line, column, generation, hover);
+    }
+
+    Hover getHover(String sourceId, String content, int line, int column)
+    {
+        return get(this.hovers, sourceId, content, line, column);
+    }
+
+    void putDefinition(String sourceId, String content, int line, int column, long generation, Location location)
+    {
+        put(this.definitions, sourceId, content, line, column, generation, location);
+    }
+
+    Location getDefinition(String sourceId, String content, int line, int column)
+    {
+        return get(this.definitions, sourceId, content, line, column);
+    }
+
+    /**
+     * Record completions for a context (the document and the text before the identifier being completed).
+     */
+    void putCompletions(String context, String prefix, long generation, List<CompletionItem> items)
+    {
+        this.completions.put(context, new Versioned<>(generation, new CompletionResult(prefix, items)));
+    }
+
+    /**
+     * Completions for a context, from recorded completions for the same context whose prefix the given prefix
+     * starts with, ignoring case; null if there are none.
+     */
+    List<CompletionItem> getCompletions(String context, String prefix)
+    {
+        Versioned<CompletionResult> result = this.completions.get(context);
+        String lowerPrefix = (prefix == null) ? "" : prefix.toLowerCase();
+        if ((result == null) || !lowerPrefix.startsWith(result.value.lowerPrefix))
+        {
+            return null;
+        }
+        List<CompletionItem> items = new ArrayList<>();
+        for (CompletionItem item : valueOf(result, context).items)
+        {
+            String text = (item.getInsertText() != null) ? item.getInsertText() : item.getLabel();
+            if ((text != null) && text.toLowerCase().startsWith(lowerPrefix))
+            {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Drop the hover and definition results of a source, whose positions no longer match its content or whose
+     * results may have changed with a compile.
+     */
+    void removePositions(String sourceId)
+    {
+        this.hovers.remove(sourceId);
+        this.definitions.remove(sourceId);
+    }
+
+    void removeSource(String sourceId)
+    {
+        this.outlines.remove(sourceId);
+        this.hovers.remove(sourceId);
+        this.definitions.remove(sourceId);
+        synchronized (this.completions)
+        {
+            this.completions.keySet().removeIf(context -> context.startsWith(sourceId + "\n"));
+        }
+    }
+
+    void clear()
+    {
+        this.outlines.clear();
+        this.hovers.clear();
+        this.definitions.clear();
+        this.completions.clear();
+    }
+
+    /**
+     * The completion context key for a document and the text before the identifier being completed.
+     */
+    static String completionContext(String sourceId, int line, String textBeforeIdentifier)
+    {
+        return sourceId + "\n" + line + "\n" + textBeforeIdentifier;
+    }
+
+    private static <T> void put(Map<String, Map<String, Versioned<T>>> map, String sourceId, String content, int line, int column, long generation, T value)
+    {
+        map.computeIfAbsent(sourceId, k -> boundedMap(MAX_POSITIONS_PER_SOURCE)).put(positionKey(content, line, column), new Versioned<>(generation, value));
+    }
+
+    private static <T> T get(Map<String, Map<String, Versioned<T>>> map, String sourceId, String content, int line, int column)
+    {
+        Map<String, Versioned<T>> bySource = map.get(sourceId);
+        if (bySource == null)
+        {
+            return null;
+        }
+        return valueOf(bySource.get(positionKey(content, line, column)), sourceId);
+    }
+
+    /**
+     * The position of the start of the identifier at a position (1-based line and column) in the content together
+     * with the identifier, or the position itself if it is not on an identifier or the content is unknown.
+     */
+    static String positionKey(String content, int line, int column)
+    {
+        String lineText = (content == null) ? null : getLine(content, line);
+        if ((lineText == null) || (column < 1) || (column > lineText.length()) || !isIdentifierChar(lineText.charAt(column - 1)))
+        {
+            return line + ":" + column;
+        }
+        int start = column;
+        while ((start > 1) && isIdentifierChar(lineText.charAt(start - 2)))
+        {
+            start--;
+        }
+        int end = column;
+        while ((end < lineText.length()) && isIdentifierChar(lineText.charAt(end)))
+        {
+            end++;
+        }
+        return line + ":" + start + ":" + lineText.substring(start - 1, end);
+    }
+
+    private static String getLine(String content, int line)
+    {
+        int start = 0;
+        for (int i = 1; i < line; i++)
+        {
+            int newline = content.indexOf('\n', start);
+            if (newline < 0)
+            {
+                return null;
+            }
+            start = newline + 1;
+        }
+        int end = content.indexOf('\n', start);
+        return content.substring(start, (end < 0) ? content.length() : end);
+    }
+
+    private static boolean isIdentifierChar(char c)
+    {
+        return Character.isLetterOrDigit(c) || (c == '_');
+    }
+
+    private static <T> T valueOf(Versioned<T> versioned, String key)
+    {
+        if (versioned == null)
+        {
+            return null;
+        }
+        LspLog.debug("Answering from the snapshot of graph generation " + versioned.generation + " for " + key.replace('\n', ' '));
+        return versioned.value;
+    }
+
+    private static <K, V> Map<K, V> boundedMap(int maxSize)
+    {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest)
+            {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    private static class Versioned<T>
+    {
+        final long generation;
+        final T value;
+
+        Versioned(long generation, T value)
+        {
+            this.generation = generation;
+            this.value = value;
+        }
+    }
+
+    private static class CompletionResult
+    {
+        final String lowerPrefix;
+        final List<CompletionItem> items;
+
+        CompletionResult(String prefix, List<CompletionItem> items)
+        {
+            this.lowerPrefix = (prefix == null) ? "" : prefix.toLowerCase();
+            this.items = items;
+        }
+    }
+}
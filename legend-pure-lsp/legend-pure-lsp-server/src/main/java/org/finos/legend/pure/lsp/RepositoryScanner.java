@@ -45,6 +45,7 @@ public class RepositoryScanner
 
     private final Map<String, Path> repoToResourcesRoot = new ConcurrentHashMap<>();
     private final Map<String, Path> repoToDefinitionFile = new ConcurrentHashMap<>();
+    private final Map<String, WorkspaceFileIndex> repoToFileIndex = new ConcurrentHashMap<>();
 
     public void scan(Iterable<Path> workspaceRoots)
     {
@@ -52,6 +53,7 @@ public class RepositoryScanner
         {
             scanRoot(root);
         }
+        this.repoToResourcesRoot.keySet().parallelStream().forEach(this::getFileIndex);
         LOGGER.info("Repository scan complete: {} repositories mapped", this.repoToResourcesRoot.size());
         for (Map.Entry<String, Path> entry : this.repoToResourcesRoot.entrySet())
         {
@@ -75,12 +77,7 @@ public class RepositoryScanner
                 @Override
                 public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
                 {
-                    String name = dir.getFileName().toString();
-                    if (name.startsWith(".") || "target".equals(name) || "node_modules".equals(name))
-                    {
-                        return FileVisitResult.SKIP_SUBTREE;
-                    }
-                    return FileVisitResult.CONTINUE;
+                    return WorkspaceFileIndex.HIDDEN_AND_BUILD_DIRECTORIES.test(dir) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
                 }
 
                 @Override
@@ -165,7 +162,7 @@ public class RepositoryScanner
         }
 
         Path fullPath = resourcesRoot.resolve(path);
-        if (Files.exists(fullPath))
+        if (getFileIndex(repoName).exists(path.substring(slashIdx + 1)))
         {
             return fullPath;
         }
@@ -215,12 +212,13 @@ public class RepositoryScanner
                         GenericCodeRepository.build(definitionFile),
                         additionalDependencies);
                 Path repoDir = resourcesRoot.resolve(repoName);
-                if (!java.nio.file.Files.isDirectory(repoDir))
+                WorkspaceFileIndex fileIndex = getFileIndex(repoName);
+                if (!fileIndex.isFolder(""))
                 {
                     LOGGER.warn("Repo directory not found: {}", repoDir);
                     continue;
                 }
-                OverlayWorkspaceCodeStorage storage = new OverlayWorkspaceCodeStorage(repo, repoDir);
+                OverlayWorkspaceCodeStorage storage = new OverlayWorkspaceCodeStorage(repo, repoDir, fileIndex);
                 storages.add(storage);
                 LspLog.info("Workspace repo (overlay FS): " + repoName + " -> " + repoDir);
             }
@@ -284,6 +282,36 @@ public class RepositoryScanner
                 dependencies);
     }
 
+    /**
+     * The index of the files of a workspace repository, built with a parallel walk of its directory on first use
+     * (for all repositories at the end of {@link #scan}).
+     */
+    WorkspaceFileIndex getFileIndex(String repoName)
+    {
+        Path resourcesRoot = this.repoToResourcesRoot.get(repoName);
+        return resourcesRoot == null
+                ? null
+                : this.repoToFileIndex.computeIfAbsent(repoName, name -> WorkspaceFileIndex.build(resourcesRoot.resolve(name), WorkspaceFileIndex.HIDDEN_AND_BUILD_DIRECTORIES));
+    }
+
+    /**
+     * Bring the file index of the repository containing a file or folder up to date after it was reported
+     * created, changed or deleted.
+     *
+     * @return whether the path is in a workspace repository
+     */
+    public boolean refreshFile(Path path)
+    {
+        for (WorkspaceFileIndex index : this.repoToFileIndex.values())
+        {
+            if (index.refresh(path))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Get the set of repo names found in the workspace.
      */
@@ -304,5 +332,6 @@ public class RepositoryScanner
     {
         this.repoToResourcesRoot.clear();
         this.repoToDefinitionFile.clear();
+        this.repoToFileIndex.clear();
     }
 }
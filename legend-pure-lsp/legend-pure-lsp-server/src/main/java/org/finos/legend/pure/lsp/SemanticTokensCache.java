@@ -0,0 +1,440 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.m3.serialization.runtime.Source;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.m4.coreinstance.SourceInformation;
+
+/**
+ * Per-document cache of the tokens computed by {@link SemanticTokensProvider}.
+ * <p>
+ * Each document's tokens are stored with the graph generation they were computed at (see
+ * {@link LegendPureSession#getGraphGeneration()}), so repeated requests against an unchanged graph are
+ * answered without walking the source. When the graph has changed, only the top level elements whose
+ * text changed are walked again: the tokens of an element are determined by its text, so an element
+ * whose text is unchanged reuses its previous tokens, moved to its new line.
+ * <p>
+ * The last full token array sent for each document is kept under a result id, so a
+ * {@code textDocument/semanticTokens/full/delta} request can be answered with the single edit that
+ * turns it into the current array. Range requests return only the tokens starting in the range.
+ * <p>
+ * Callers must hold the graph read lock, and pass the generation read under that lock.
+ */
+class SemanticTokensCache
+{
+    static final int DEFAULT_MAX_DOCUMENTS = 64;
+
+    private final Map<String, DocumentTokens> documents;
+    private final AtomicLong resultIds = new AtomicLong();
+
+    SemanticTokensCache()
+    {
+        this(DEFAULT_MAX_DOCUMENTS);
+    }
+
+    SemanticTokensCache(int maxDocuments)
+    {
+        this.documents = new LinkedHashMap<String, DocumentTokens>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DocumentTokens> eldest)
+            {
+                return size() > maxDocuments;
+            }
+        };
+    }
+
+    /**
+     * Answer {@code textDocument/semanticTokens/full}.
+     */
+    SemanticTokens getTokens(PureRuntime runtime, long generation, String sourceId)
+    {
+        DocumentTokens document = getDocument(runtime, generation, sourceId);
+        if (document == null)
+        {
+            return new SemanticTokens(Collections.emptyList());
+        }
+        String resultId = markSent(sourceId, document);
+        return new SemanticTokens(resultId, toList(document.data, 0, document.data.length));
+    }
+
+    /**
+     * Answer {@code textDocument/semanticTokens/full/delta}: the edits to the array previously sent under
+     * {@code previousResultId}, or the full array if that is no longer known.
+     */
+    Either<SemanticTokens, SemanticTokensDelta> getTokensDelta(PureRuntime runtime, long generation, String sourceId, String previousResultId)
+    {
+        DocumentTokens document = getDocument(runtime, generation, sourceId);
+        if (document == null)
+        {
+            return Either.forLeft(new SemanticTokens(Collections.emptyList()));
+        }
+
+        int[] previousData;
+        synchronized (this.documents)
+        {
+            previousData = ((previousResultId != null) && previousResultId.equals(document.sentResultId)) ? document.sentData : null;
+        }
+        String resultId = markSent(sourceId, document);
+        if (previousData == null)
+        {
+            return Either.forLeft(new SemanticTokens(resultId, toList(document.data, 0, document.data.length)));
+        }
+        return Either.forRight(new SemanticTokensDelta(diff(previousData, document.data), resultId));
+    }
+
+    /**
+     * Answer {@code textDocument/semanticTokens/range}: the tokens starting within the range.
+     */
+    SemanticTokens getTokens(PureRuntime runtime, long generation, String sourceId, Range range)
+    {
+        DocumentTokens document = getDocument(runtime, generation, sourceId);
+        if (document == null)
+        {
+            return new SemanticTokens(Collections.emptyList());
+        }
+        int from = findToken(document.tokens, range.getStart().getLine(), range.getStart().getCharacter());
+        int to = findToken(document.tokens, range.getEnd().getLine(), range.getEnd().getCharacter());
+        return new SemanticTokens(SemanticTokensProvider.encode(document.tokens, from, Math.max(from, to)));
+    }
+
+    void remove(String sourceId)
+    {
+        synchronized (this.documents)
+        {
+            this.documents.remove(sourceId);
+        }
+    }
+
+    void clear()
+    {
+        synchronized (this.documents)
+        {
+            this.documents.clear();
+        }
+    }
+
+    int size()
+    {
+        synchronized (this.documents)
+        {
+            return this.documents.size();
+        }
+    }
+
+    private DocumentTokens getDocument(PureRuntime runtime, long generation, String sourceId)
+    {
+        DocumentTokens previous;
+        synchronized (this.documents)
+        {
+            previous = this.documents.get(sourceId);
+        }
+        if ((previous != null) && (previous.generation == generation))
+        {
+            return previous;
+        }
+
+        Source source = runtime.getSourceById(sourceId);
+        if (source == null)
+        {
+            remove(sourceId);
+            return null;
+        }
+
+        DocumentTokens document = compute(runtime, generation, source, previous);
+        synchronized (this.documents)
+        {
+            DocumentTokens current = this.documents.get(sourceId);
+            if ((current != null) && (current.generation >= generation))
+            {
+                // computed concurrently by another request
+                return current;
+            }
+            if (current != null)
+            {
+                document.sentResultId = current.sentResultId;
+                document.sentData = current.sentData;
+            }
+            this.documents.put(sourceId, document);
+        }
+        return document;
+    }
+
+    private String markSent(String sourceId, DocumentTokens document)
+    {
+        synchronized (this.documents)
+        {
+            if ((document.sentResultId == null) || !Arrays.equals(document.sentData, document.data))
+            {
+                document.sentResultId = Long.toString(this.resultIds.incrementAndGet());
+                document.sentData = document.data;
+            }
+            this.documents.putIfAbsent(sourceId, document);
+            return document.sentResultId;
+        }
+    }
+
+    private static DocumentTokens compute(PureRuntime runtime, long generation, Source source, DocumentTokens previous)
+    {
+        String content = source.getContent();
+        int[] lineStarts = lineStarts(content);
+        Map<String, int[]> previousRuns = (previous == null) ? Collections.emptyMap() : previous.elementRuns;
+        Map<String, int[]> elementRuns = new HashMap<>();
+        List<int[]> runs = new ArrayList<>();
+        int reused = 0;
+        for (CoreInstance element : SemanticTokensProvider.getElements(source))
+        {
+            SourceInformation si = element.getSourceInformation();
+            int startLine = si.getStartLine() - 1;
+            String key = elementKey(content, lineStarts, si);
+            int[] relativeRun = (key == null) ? null : previousRuns.get(key);
+            int[] run;
+            if (relativeRun == null)
+            {
+                run = SemanticTokensProvider.getElementTokens(element, runtime, source);
+                relativeRun = shiftLines(run, -startLine);
+            }
+            else
+            {
+                run = shiftLines(relativeRun, startLine);
+                reused++;
+            }
+            if (key != null)
+            {
+                elementRuns.put(key, relativeRun);
+            }
+            runs.add(run);
+        }
+        LspLog.debug("Semantic tokens for " + source.getId() + ": " + (runs.size() - reused) + " of " + runs.size() + " elements walked");
+
+        int[] tokens = merge(runs);
+        return new DocumentTokens(generation, tokens, encode(tokens), elementRuns);
+    }
+
+    /**
+     * The text of the lines spanned by an element, with its start and end columns: an element with the same
+     * key has the same text, possibly on different lines.
+     */
+    private static String elementKey(String content, int[] lineStarts, SourceInformation si)
+    {
+        int startLine = si.getStartLine() - 1;
+        int endLine = si.getEndLine() - 1;
+        if ((startLine < 0) || (endLine < startLine) || (endLine >= lineStarts.length))
+        {
+            return null;
+        }
+        int start = lineStarts[startLine];
+        int end = (endLine + 1 < lineStarts.length) ? lineStarts[endLine + 1] : content.length();
+        return si.getStartColumn() + ":" + si.getEndColumn() + ":" + content.substring(start, end);
+    }
+
+    private static int[] lineStarts(String content)
+    {
+        if (content == null)
+        {
+            return new int[0];
+        }
+        int count = 1;
+        for (int i = 0; i < content.length(); i++)
+        {
+            if (content.charAt(i) == '\n')
+            {
+                count++;
+            }
+        }
+        int[] lineStarts = new int[count];
+        int line = 1;
+        for (int i = 0; i < content.length(); i++)
+        {
+            if (content.charAt(i) == '\n')
+            {
+                lineStarts[line++] = i + 1;
+            }
+        }
+        return lineStarts;
+    }
+
+    private static int[] shiftLines(int[] tokens, int lineDelta)
+    {
+        int[] shifted = tokens.clone();
+        for (int i = 0; i < shifted.length; i += 5)
+        {
+            shifted[i] += lineDelta;
+        }
+        return shifted;
+    }
+
+    /**
+     * Concatenate the runs of the elements in position order. Elements do not normally overlap, so sorting the
+     * runs by their first token is enough; otherwise all the tokens are sorted.
+     */
+    static int[] merge(List<int[]> runs)
+    {
+        List<int[]> nonEmpty = new ArrayList<>(runs.size());
+        int length = 0;
+        for (int[] run : runs)
+        {
+            if (run.length > 0)
+            {
+                nonEmpty.add(run);
+                length += run.length;
+            }
+        }
+        nonEmpty.sort((a, b) -> comparePositions(a, 0, b, 0));
+
+        int[] tokens = new int[length];
+        int offset = 0;
+        boolean sorted = true;
+        for (int[] run : nonEmpty)
+        {
+            if ((offset > 0) && (comparePositions(tokens, offset - 5, run, 0) > 0))
+            {
+                sorted = false;
+            }
+            System.arraycopy(run, 0, tokens, offset, run.length);
+            offset += run.length;
+        }
+        return sorted ? tokens : sortTokens(tokens);
+    }
+
+    private static int[] sortTokens(int[] tokens)
+    {
+        Integer[] order = new Integer[tokens.length / 5];
+        for (int i = 0; i < order.length; i++)
+        {
+            order[i] = i * 5;
+        }
+        Arrays.sort(order, Comparator.comparingInt((Integer i) -> tokens[i]).thenComparingInt(i -> tokens[i + 1]));
+        int[] sorted = new int[tokens.length];
+        for (int i = 0; i < order.length; i++)
+        {
+            System.arraycopy(tokens, order[i], sorted, i * 5, 5);
+        }
+        return sorted;
+    }
+
+    private static int comparePositions(int[] a, int i, int[] b, int j)
+    {
+        int cmp = Integer.compare(a[i], b[j]);
+        return (cmp != 0) ? cmp : Integer.compare(a[i + 1], b[j + 1]);
+    }
+
+    /**
+     * Index of the first token at or after a position.
+     */
+    static int findToken(int[] tokens, int line, int character)
+    {
+        int lo = 0;
+        int hi = tokens.length / 5;
+        while (lo < hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            int i = mid * 5;
+            if ((tokens[i] < line) || ((tokens[i] == line) && (tokens[i + 1] < character)))
+            {
+                lo = mid + 1;
+            }
+            else
+            {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int[] encode(int[] tokens)
+    {
+        List<Integer> encoded = SemanticTokensProvider.encode(tokens, 0, tokens.length / 5);
+        int[] data = new int[encoded.size()];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = encoded.get(i);
+        }
+        return data;
+    }
+
+    /**
+     * The edits turning one encoded token array into another: everything between their common prefix and
+     * common suffix is replaced. As positions are encoded relative to the previous token, an edit to one
+     * region of a document only changes the tokens of that region and the first token after it.
+     */
+    static List<SemanticTokensEdit> diff(int[] previous, int[] current)
+    {
+        int prefix = 0;
+        int maxPrefix = Math.min(previous.length, current.length);
+        while ((prefix < maxPrefix) && (previous[prefix] == current[prefix]))
+        {
+            prefix++;
+        }
+        if ((prefix == previous.length) && (prefix == current.length))
+        {
+            return Collections.emptyList();
+        }
+
+        int suffix = 0;
+        int maxSuffix = maxPrefix - prefix;
+        while ((suffix < maxSuffix) && (previous[previous.length - 1 - suffix] == current[current.length - 1 - suffix]))
+        {
+            suffix++;
+        }
+        return Collections.singletonList(new SemanticTokensEdit(prefix, previous.length - prefix - suffix, toList(current, prefix, current.length - suffix)));
+    }
+
+    private static List<Integer> toList(int[] array, int from, int to)
+    {
+        List<Integer> list = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++)
+        {
+            list.add(array[i]);
+        }
+        return list;
+    }
+
+    private static class DocumentTokens
+    {
+        final long generation;
+        final int[] tokens;   // sorted [line, startChar, length, tokenType, tokenModifiers], 0-based absolute
+        final int[] data;     // LSP encoding of tokens
+        final Map<String, int[]> elementRuns; // element key -> tokens with lines relative to the element start
+
+        // last full array sent to the client; guarded by the documents map
+        String sentResultId;
+        int[] sentData;
+
+        DocumentTokens(long generation, int[] tokens, int[] data, Map<String, int[]> elementRuns)
+        {
+            this.generation = generation;
+            this.tokens = tokens;
+            this.data = data;
+            this.elementRuns = elementRuns;
+        }
+    }
+}
@@ -75,64 +75,80 @@ public class SemanticTokensProvider
         }
 
         List<RawToken> tokens = new ArrayList<>();
-        collectTokensFromSource(source, runtime, tokens);
-
-        tokens.sort(Comparator.comparingInt((RawToken t) -> t.line)
-                .thenComparingInt(t -> t.column));
-
-        return encodeDelta(tokens);
+        for (CoreInstance element : getElements(source))
+        {
+            addElementTokens(tokens, element, runtime, source);
+        }
+        return encode(toArray(tokens), 0, tokens.size());
     }
 
-    private static void collectTokensFromSource(Source source, PureRuntime runtime, List<RawToken> tokens)
+    /**
+     * The top level elements defined in a source, which are the units the tokens are collected for.
+     */
+    static List<CoreInstance> getElements(Source source)
     {
         ListIterable<? extends CoreInstance> newInstances = source.getNewInstances();
         if (newInstances == null)
         {
-            return;
+            return Collections.emptyList();
         }
 
+        List<CoreInstance> elements = new ArrayList<>(newInstances.size());
         for (CoreInstance instance : newInstances)
         {
             if (instance instanceof Package)
             {
                 continue;
             }
-
-            String classifierName = instance.getClassifier().getName();
             SourceInformation si = instance.getSourceInformation();
-            if (si == null || !sourceId(source).equals(si.getSourceId()))
+            if (si != null && sourceId(source).equals(si.getSourceId()))
             {
-                continue;
+                elements.add(instance);
             }
+        }
+        return elements;
+    }
 
-            switch (classifierName)
-            {
-                case "Class":
-                    addDefinitionToken(tokens, instance, TYPE_CLASS);
-                    addClassMembers(tokens, instance, runtime, source);
-                    break;
-                case "Enumeration":
-                    addDefinitionToken(tokens, instance, TYPE_ENUM);
-                    addEnumValues(tokens, instance, source);
-                    break;
-                case "ConcreteFunctionDefinition":
-                    addDefinitionToken(tokens, instance, TYPE_FUNCTION);
-                    addFunctionSignatureTokens(tokens, instance, runtime, source);
-                    addFunctionBodyTokens(tokens, instance, runtime, source);
-                    break;
-                case "NativeFunction":
-                    addDefinitionToken(tokens, instance, TYPE_FUNCTION);
-                    break;
-                case "Profile":
-                    addDefinitionToken(tokens, instance, TYPE_INTERFACE);
-                    break;
-                case "Association":
-                    addDefinitionToken(tokens, instance, TYPE_STRUCT);
-                    addClassMembers(tokens, instance, runtime, source);
-                    break;
-                default:
-                    break;
-            }
+    /**
+     * The tokens of a single top level element, sorted by position, as consecutive
+     * [line, startChar, length, tokenType, tokenModifiers] groups with 0-based absolute positions.
+     */
+    static int[] getElementTokens(CoreInstance element, PureRuntime runtime, Source source)
+    {
+        List<RawToken> tokens = new ArrayList<>();
+        addElementTokens(tokens, element, runtime, source);
+        return toArray(tokens);
+    }
+
+    private static void addElementTokens(List<RawToken> tokens, CoreInstance instance, PureRuntime runtime, Source source)
+    {
+        switch (instance.getClassifier().getName())
+        {
+            case "Class":
+                addDefinitionToken(tokens, instance, TYPE_CLASS);
+                addClassMembers(tokens, instance, runtime, source);
+                break;
+            case "Enumeration":
+                addDefinitionToken(tokens, instance, TYPE_ENUM);
+                addEnumValues(tokens, instance, source);
+                break;
+            case "ConcreteFunctionDefinition":
+                addDefinitionToken(tokens, instance, TYPE_FUNCTION);
+                addFunctionSignatureTokens(tokens, instance, runtime, source);
+                addFunctionBodyTokens(tokens, instance, runtime, source);
+                break;
+            case "NativeFunction":
+                addDefinitionToken(tokens, instance, TYPE_FUNCTION);
+                break;
+            case "Profile":
+                addDefinitionToken(tokens, instance, TYPE_INTERFACE);
+                break;
+            case "Association":
+                addDefinitionToken(tokens, instance, TYPE_STRUCT);
+                addClassMembers(tokens, instance, runtime, source);
+                break;
+            default:
+                break;
         }
     }
 
@@ -572,28 +588,50 @@ public class SemanticTokensProvider
         return source.getId();
     }
 
+    private static int[] toArray(List<RawToken> tokens)
+    {
+        tokens.sort(Comparator.comparingInt((RawToken t) -> t.line)
+                .thenComparingInt(t -> t.column));
+
+        int[] array = new int[tokens.size() * 5];
+        int i = 0;
+        for (RawToken token : tokens)
+        {
+            array[i++] = token.line - 1; // Convert to 0-based
+            array[i++] = token.column - 1;
+            array[i++] = token.length;
+            array[i++] = token.tokenType;
+            array[i++] = token.tokenModifiers;
+        }
+        return array;
+    }
+
     /**
      * Encode tokens as LSP delta format: [deltaLine, deltaStartChar, length, tokenType, tokenModifiers]
+     *
+     * @param tokens sorted tokens with 0-based absolute positions, as returned by {@link #getElementTokens}
+     * @param from   index of the first token to encode
+     * @param to     index after the last token to encode
      */
-    private static List<Integer> encodeDelta(List<RawToken> tokens)
+    static List<Integer> encode(int[] tokens, int from, int to)
     {
-        List<Integer> data = new ArrayList<>(tokens.size() * 5);
+        List<Integer> data = new ArrayList<>((to - from) * 5);
         int prevLine = 0;
         int prevCol = 0;
 
-        for (RawToken token : tokens)
+        for (int i = from * 5, end = to * 5; i < end; i += 5)
         {
-            int line = token.line - 1; // Convert to 0-based
-            int col = token.column - 1;
+            int line = tokens[i];
+            int col = tokens[i + 1];
 
             int deltaLine = line - prevLine;
             int deltaCol = (deltaLine == 0) ? (col - prevCol) : col;
 
             data.add(deltaLine);
             data.add(deltaCol);
-            data.add(token.length);
-            data.add(token.tokenType);
-            data.add(token.tokenModifiers);
+            data.add(tokens[i + 2]);
+            data.add(tokens[i + 3]);
+            data.add(tokens[i + 4]);
 
             prevLine = line;
             prevCol = col;
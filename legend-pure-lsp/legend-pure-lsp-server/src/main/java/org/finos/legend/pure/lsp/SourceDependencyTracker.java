@@ -0,0 +1,196 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.collections.api.list.ListIterable;
+import org.finos.legend.pure.m3.navigation.M3Properties;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.m3.serialization.runtime.Source;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.m4.coreinstance.SourceInformation;
+
+/**
+ * Tracks which sources depend on the elements defined in each source, and which documents were rejected by
+ * their last compile, so that a successful compile only re-validates the rejected documents that depend on
+ * what was just compiled rather than every open document.
+ * <p>
+ * A failed compile is rolled back, so the graph still holds the last accepted version of a rejected
+ * document. A rejected document is taken to depend on a compiled source if its accepted version references
+ * an element of that source (through the element's reference usages or function applications), or if its
+ * rejected content mentions the name of an element of that source, which covers a document that was
+ * rejected because the element did not exist yet.
+ * <p>
+ * {@link #recordCompiled} must be called under the graph read lock.
+ */
+class SourceDependencyTracker
+{
+    private final Map<String, Set<String>> dependentsBySource = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> elementNamesBySource = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> rejectedIdentifiers = new ConcurrentHashMap<>();
+
+    /**
+     * Record the dependents and element names of sources after a successful compile, and find the rejected
+     * documents that depend on them.
+     *
+     * @param runtime   runtime
+     * @param sourceIds ids of the sources added, modified or removed by the compile
+     * @return ids of the rejected sources to re-validate
+     */
+    Set<String> recordCompiled(PureRuntime runtime, Collection<String> sourceIds)
+    {
+        Set<String> compiled = new HashSet<>();
+        for (String sourceId : sourceIds)
+        {
+            if (sourceId != null)
+            {
+                compiled.add(sourceId);
+                this.rejectedIdentifiers.remove(sourceId);
+                recordSource(runtime, sourceId);
+            }
+        }
+
+        Set<String> toRevalidate = new LinkedHashSet<>();
+        this.rejectedIdentifiers.forEach((rejectedId, identifiers) ->
+        {
+            for (String sourceId : compiled)
+            {
+                if (getDependents(sourceId).contains(rejectedId) || !Collections.disjoint(identifiers, getElementNames(sourceId)))
+                {
+                    toRevalidate.add(rejectedId);
+                    break;
+                }
+            }
+        });
+        return toRevalidate;
+    }
+
+    /**
+     * Record that a compile of a document was rejected, together with the identifiers in its content.
+     */
+    void recordRejected(String sourceId, String content)
+    {
+        if (sourceId != null)
+        {
+            this.rejectedIdentifiers.put(sourceId, (content == null) ? Collections.emptySet() : identifiers(content));
+        }
+    }
+
+    boolean isRejected(String sourceId)
+    {
+        return this.rejectedIdentifiers.containsKey(sourceId);
+    }
+
+    Set<String> getDependents(String sourceId)
+    {
+        return this.dependentsBySource.getOrDefault(sourceId, Collections.emptySet());
+    }
+
+    Set<String> getElementNames(String sourceId)
+    {
+        return this.elementNamesBySource.getOrDefault(sourceId, Collections.emptySet());
+    }
+
+    void remove(String sourceId)
+    {
+        this.rejectedIdentifiers.remove(sourceId);
+    }
+
+    void clear()
+    {
+        this.dependentsBySource.clear();
+        this.elementNamesBySource.clear();
+        this.rejectedIdentifiers.clear();
+    }
+
+    private void recordSource(PureRuntime runtime, String sourceId)
+    {
+        Source source = runtime.getSourceById(sourceId);
+        ListIterable<CoreInstance> elements = (source == null) ? null : source.getNewInstances();
+        if (elements == null)
+        {
+            this.dependentsBySource.remove(sourceId);
+            this.elementNamesBySource.remove(sourceId);
+            return;
+        }
+
+        Set<String> dependents = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (CoreInstance element : elements)
+        {
+            String name = CompletionProvider.getElementName(element);
+            if (name != null)
+            {
+                names.add(name);
+            }
+            addSourceIds(dependents, element.getValueForMetaPropertyToMany(M3Properties.referenceUsages), true);
+            addSourceIds(dependents, element.getValueForMetaPropertyToMany(M3Properties.applications), false);
+        }
+        dependents.remove(sourceId);
+        this.dependentsBySource.put(sourceId, dependents);
+        this.elementNamesBySource.put(sourceId, names);
+    }
+
+    private static void addSourceIds(Set<String> sourceIds, ListIterable<? extends CoreInstance> usages, boolean referenceUsages)
+    {
+        if (usages == null)
+        {
+            return;
+        }
+        for (CoreInstance usage : usages)
+        {
+            SourceInformation sourceInfo = usage.getSourceInformation();
+            if ((sourceInfo == null) && referenceUsages)
+            {
+                CoreInstance owner = usage.getValueForMetaPropertyToOne(M3Properties.owner);
+                sourceInfo = (owner == null) ? null : owner.getSourceInformation();
+            }
+            if ((sourceInfo != null) && (sourceInfo.getSourceId() != null))
+            {
+                sourceIds.add(sourceInfo.getSourceId());
+            }
+        }
+    }
+
+    static Set<String> identifiers(String content)
+    {
+        Set<String> identifiers = new HashSet<>();
+        int length = content.length();
+        int i = 0;
+        while (i < length)
+        {
+            if (Character.isLetter(content.charAt(i)) || (content.charAt(i) == '_'))
+            {
+                int start = i;
+                while ((i < length) && (Character.isLetterOrDigit(content.charAt(i)) || (content.charAt(i) == '_')))
+                {
+                    i++;
+                }
+                identifiers.add(content.substring(start, i));
+            }
+            else
+            {
+                i++;
+            }
+        }
+        return identifiers;
+    }
+}
@@ -0,0 +1,433 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.eclipse.collections.api.block.procedure.primitive.IntProcedure;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+import org.finos.legend.pure.lsp.WorkspaceSymbolProvider.IndexEntry;
+
+/**
+ * Symbol index for workspace symbol search. Entries are found through posting lists rather than by scanning:
+ * <ul>
+ *   <li>trigrams of the lower-cased search name (qualified path, plus simple name for functions), for substring and
+ *   fuzzy matches</li>
+ *   <li>trigrams of the camel-case initials of the display name ("compileLegendGrammar" has initials "clg"), for
+ *   camel-case matches</li>
+ *   <li>the first character of the display name, for queries too short to have trigrams</li>
+ * </ul>
+ * Candidates from the posting lists are then verified and ranked: exact name, name prefix, camel-case, name
+ * substring, path substring and finally fuzzy matches, which share at least half of the query's trigrams.
+ * <p>
+ * Entries are grouped by source id, so that the index can be updated one source at a time. This class is not
+ * thread-safe; {@link WorkspaceSymbolProvider} guards it with a read-write lock.
+ */
+class SymbolSearchIndex
+{
+    static final int EXACT = 0;
+    static final int PREFIX = 1;
+    static final int CAMEL_CASE = 2;
+    static final int NAME_SUBSTRING = 3;
+    static final int PATH_SUBSTRING = 4;
+    static final int FUZZY = 5;
+
+    private static final double FUZZY_THRESHOLD = 0.5;
+    // keeps initials trigrams apart from search name trigrams in the same key space
+    private static final long INITIALS_KEY = 1L << 48;
+
+    private final MutableIntObjectMap<IndexEntry> entries = new IntObjectHashMap<>();
+    private final Map<String, MutableIntList> entryIdsBySource = new HashMap<>();
+    private final MutableLongObjectMap<MutableIntSet> trigramPostings = new LongObjectHashMap<>();
+    private final MutableIntObjectMap<MutableIntSet> firstCharPostings = new IntObjectHashMap<>();
+    private int nextId = 0;
+
+    int size()
+    {
+        return this.entries.size();
+    }
+
+    void clear()
+    {
+        this.entries.clear();
+        this.entryIdsBySource.clear();
+        this.trigramPostings.clear();
+        this.firstCharPostings.clear();
+        this.nextId = 0;
+    }
+
+    /**
+     * Replace the entries of a source.
+     *
+     * @param sourceId   source id
+     * @param newEntries entries of the source (empty if it was removed)
+     */
+    void replaceSource(String sourceId, Collection<IndexEntry> newEntries)
+    {
+        removeSource(sourceId);
+        newEntries.forEach(this::add);
+    }
+
+    void add(IndexEntry entry)
+    {
+        int id = this.nextId++;
+        this.entries.put(id, entry);
+        this.entryIdsBySource.computeIfAbsent(entry.sourceId, k -> new IntArrayList()).add(id);
+        forEachKey(entry, key -> this.trigramPostings.getIfAbsentPut(key, IntHashSet::new).add(id));
+        String name = entry.getDisplayName();
+        if (!name.isEmpty())
+        {
+            this.firstCharPostings.getIfAbsentPut(Character.toLowerCase(name.charAt(0)), IntHashSet::new).add(id);
+        }
+    }
+
+    void removeSource(String sourceId)
+    {
+        MutableIntList ids = this.entryIdsBySource.remove(sourceId);
+        if (ids != null)
+        {
+            ids.forEach((IntProcedure) this::remove);
+        }
+    }
+
+    private void remove(int id)
+    {
+        IndexEntry entry = this.entries.remove(id);
+        forEachKey(entry, key ->
+        {
+            MutableIntSet posting = this.trigramPostings.get(key);
+            if (posting != null && posting.remove(id) && posting.isEmpty())
+            {
+                this.trigramPostings.remove(key);
+            }
+        });
+        String name = entry.getDisplayName();
+        if (!name.isEmpty())
+        {
+            int firstChar = Character.toLowerCase(name.charAt(0));
+            MutableIntSet posting = this.firstCharPostings.get(firstChar);
+            if (posting != null && posting.remove(id) && posting.isEmpty())
+            {
+                this.firstCharPostings.remove(firstChar);
+            }
+        }
+    }
+
+    /**
+     * Find the entries matching the query, best matches first. An empty query matches every entry, in no particular
+     * order.
+     *
+     * @param query      query
+     * @param maxResults maximum number of results
+     * @param filter     filter for the entries to return; rejected entries do not count towards the maximum
+     * @return matching entries
+     */
+    List<IndexEntry> search(String query, int maxResults, Predicate<? super IndexEntry> filter)
+    {
+        List<IndexEntry> results = new ArrayList<>();
+        if (query == null || query.isEmpty())
+        {
+            for (IndexEntry entry : this.entries.values())
+            {
+                if (results.size() >= maxResults)
+                {
+                    break;
+                }
+                if (filter.test(entry))
+                {
+                    results.add(entry);
+                }
+            }
+            return results;
+        }
+
+        List<Match> matches = findMatches(query);
+        matches.sort(Match.COMPARATOR);
+        for (Match match : matches)
+        {
+            if (results.size() >= maxResults)
+            {
+                break;
+            }
+            if (filter.test(match.entry))
+            {
+                results.add(match.entry);
+            }
+        }
+        return results;
+    }
+
+    List<Match> findMatches(String query)
+    {
+        List<Match> matches = new ArrayList<>();
+        String lowerQuery = query.toLowerCase();
+        MutableIntSet candidates = new IntHashSet();
+        long[] queryTrigrams = trigrams(lowerQuery, 0L);
+        int fuzzyMinimum = (int) Math.ceil(queryTrigrams.length * FUZZY_THRESHOLD);
+        MutableIntIntMap trigramHits = new IntIntHashMap();
+        for (long trigram : queryTrigrams)
+        {
+            MutableIntSet posting = this.trigramPostings.get(trigram);
+            if (posting != null)
+            {
+                posting.forEach(id -> trigramHits.addToValue(id, 1));
+            }
+        }
+        trigramHits.forEachKeyValue((id, hits) ->
+        {
+            if (hits >= fuzzyMinimum)
+            {
+                candidates.add(id);
+            }
+        });
+
+        String initials = queryInitials(query);
+        long[] initialsTrigrams = trigrams(initials, INITIALS_KEY);
+        if (initialsTrigrams.length == 0)
+        {
+            MutableIntSet posting = this.firstCharPostings.get(lowerQuery.charAt(0));
+            if (posting != null)
+            {
+                candidates.addAll(posting);
+            }
+        }
+        else
+        {
+            candidates.addAll(intersect(initialsTrigrams));
+        }
+
+        candidates.forEach(id ->
+        {
+            IndexEntry entry = this.entries.get(id);
+            int rank = rank(entry, query, lowerQuery, trigramHits.get(id) >= fuzzyMinimum && queryTrigrams.length > 0);
+            if (rank >= 0)
+            {
+                matches.add(new Match(entry, rank));
+            }
+        });
+        return matches;
+    }
+
+    private MutableIntSet intersect(long[] keys)
+    {
+        MutableIntSet smallest = null;
+        for (long key : keys)
+        {
+            MutableIntSet posting = this.trigramPostings.get(key);
+            if (posting == null)
+            {
+                return new IntHashSet();
+            }
+            if (smallest == null || posting.size() < smallest.size())
+            {
+                smallest = posting;
+            }
+        }
+        MutableIntSet result = new IntHashSet();
+        smallest.forEach(id ->
+        {
+            for (long key : keys)
+            {
+                if (!this.trigramPostings.get(key).contains(id))
+                {
+                    return;
+                }
+            }
+            result.add(id);
+        });
+        return result;
+    }
+
+    private static int rank(IndexEntry entry, String query, String lowerQuery, boolean fuzzy)
+    {
+        String lowerName = entry.getDisplayName().toLowerCase();
+        if (lowerName.equals(lowerQuery))
+        {
+            return EXACT;
+        }
+        if (lowerName.startsWith(lowerQuery))
+        {
+            return PREFIX;
+        }
+        if (camelCaseMatches(entry.getDisplayName(), query))
+        {
+            return CAMEL_CASE;
+        }
+        if (lowerName.contains(lowerQuery))
+        {
+            return NAME_SUBSTRING;
+        }
+        if (entry.lowerSearchName.contains(lowerQuery))
+        {
+            return PATH_SUBSTRING;
+        }
+        return fuzzy ? FUZZY : -1;
+    }
+
+    /**
+     * Whether the query matches the name by camel-case humps: each query character continues the current hump or
+     * starts a later one, and the first starts the name. For example, "cLG", "clg" and "comLegGra" all match
+     * "compileLegendGrammar". Case is ignored.
+     */
+    static boolean camelCaseMatches(String name, String query)
+    {
+        if (query.isEmpty() || name.isEmpty() || Character.toLowerCase(name.charAt(0)) != Character.toLowerCase(query.charAt(0)))
+        {
+            return false;
+        }
+        return camelCaseMatches(name, 1, query, 1, new boolean[name.length() + 1][query.length() + 1]);
+    }
+
+    private static boolean camelCaseMatches(String name, int nameIndex, String query, int queryIndex, boolean[][] failed)
+    {
+        if (queryIndex == query.length())
+        {
+            return true;
+        }
+        if (nameIndex >= name.length() || failed[nameIndex][queryIndex])
+        {
+            return false;
+        }
+        char next = Character.toLowerCase(query.charAt(queryIndex));
+        // continue the current hump
+        if ((Character.toLowerCase(name.charAt(nameIndex)) == next) && camelCaseMatches(name, nameIndex + 1, query, queryIndex + 1, failed))
+        {
+            return true;
+        }
+        // or start a later hump
+        for (int i = nameIndex + 1; i < name.length(); i++)
+        {
+            if (isHumpStart(name, i) && (Character.toLowerCase(name.charAt(i)) == next) && camelCaseMatches(name, i + 1, query, queryIndex + 1, failed))
+            {
+                return true;
+            }
+        }
+        failed[nameIndex][queryIndex] = true;
+        return false;
+    }
+
+    private static boolean isHumpStart(String name, int index)
+    {
+        if (index == 0)
+        {
+            return true;
+        }
+        char c = name.charAt(index);
+        char previous = name.charAt(index - 1);
+        return (Character.isUpperCase(c) && !Character.isUpperCase(previous)) ||
+                (Character.isLetterOrDigit(c) && !Character.isLetterOrDigit(previous)) ||
+                (Character.isDigit(c) && !Character.isDigit(previous));
+    }
+
+    /**
+     * The camel-case initials of a name, lower-cased: "compileLegendGrammar" has initials "clg".
+     */
+    static String initials(String name)
+    {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < name.length(); i++)
+        {
+            if (isHumpStart(name, i) && Character.isLetterOrDigit(name.charAt(i)))
+            {
+                builder.append(Character.toLowerCase(name.charAt(i)));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The initials a query stands for: its hump initials if it has inner upper case letters ("comLegGra" stands for
+     * "clg"), and otherwise the query itself ("clg").
+     */
+    private static String queryInitials(String query)
+    {
+        for (int i = 1; i < query.length(); i++)
+        {
+            if (Character.isUpperCase(query.charAt(i)))
+            {
+                return initials(query);
+            }
+        }
+        return query.toLowerCase();
+    }
+
+    private static void forEachKey(IndexEntry entry, LongKeyProcedure procedure)
+    {
+        for (long trigram : trigrams(entry.lowerSearchName, 0L))
+        {
+            procedure.value(trigram);
+        }
+        for (long trigram : trigrams(initials(entry.getDisplayName()), INITIALS_KEY))
+        {
+            procedure.value(trigram);
+        }
+    }
+
+    /**
+     * The distinct trigrams of a string, each packed into the low 48 bits of a long and or-ed with a key space.
+     */
+    static long[] trigrams(String string, long keySpace)
+    {
+        int count = string.length() - 2;
+        if (count <= 0)
+        {
+            return new long[0];
+        }
+        long[] trigrams = new long[count];
+        for (int i = 0; i < count; i++)
+        {
+            trigrams[i] = keySpace | ((long) string.charAt(i) << 32) | ((long) string.charAt(i + 1) << 16) | string.charAt(i + 2);
+        }
+        return Arrays.stream(trigrams).distinct().toArray();
+    }
+
+    private interface LongKeyProcedure
+    {
+        void value(long key);
+    }
+
+    static class Match
+    {
+        static final Comparator<Match> COMPARATOR = Comparator.<Match>comparingInt(m -> m.rank)
+                .thenComparingInt(m -> m.entry.getDisplayName().length())
+                .thenComparing(m -> m.entry.qualifiedPath)
+                .thenComparing(m -> m.entry.sourceId)
+                .thenComparingInt(m -> m.entry.startLine);
+
+        final IndexEntry entry;
+        final int rank;
+
+        Match(IndexEntry entry, int rank)
+        {
+            this.entry = entry;
+            this.rank = rank;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The files and folders under a directory, built with a parallel walk and then kept current from file change
+ * events, so that file tree lookups (whether a path is a file or a folder, the children of a folder, all files)
+ * of indexed paths are answered without touching the disk. Paths are relative to the root, with '/' separators; the root itself
+ * is the empty path.
+ * <p>
+ * The index reflects the disk as of the walk and the changes reported through {@link #refresh}. Changes made
+ * behind its back are picked up when they are next looked up: a path that is not indexed is looked up on disk (and
+ * indexed if it is there), and the folder of an indexed file found missing is walked again (see
+ * {@link #recheck}). Symbolic links to files are indexed as files, but symbolic links to directories are not
+ * followed, so that a link cycle cannot make the walk endless.
+ * <p>
+ * Walks run on a pool of their own, so that indexing a large workspace does not hold up other users of the
+ * common pool.
+ */
+class WorkspaceFileIndex
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceFileIndex.class);
+
+    /**
+     * Sub-directories left out of workspace indexes: hidden directories (such as .git), build output and node
+     * modules.
+     */
+    static final Predicate<Path> HIDDEN_AND_BUILD_DIRECTORIES = dir ->
+    {
+        String name = dir.getFileName().toString();
+        return name.startsWith(".") || "target".equals(name) || "node_modules".equals(name);
+    };
+
+    private static final ForkJoinPool WALK_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool ->
+    {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("legend-pure-lsp-file-index-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }, null, false);
+
+    private final Path root;
+    private final Predicate<Path> skipDirectory;
+    private final Map<String, Set<String>> childrenByFolder = new ConcurrentHashMap<>();
+    private final Set<String> files = ConcurrentHashMap.newKeySet();
+
+    private WorkspaceFileIndex(Path root, Predicate<Path> skipDirectory)
+    {
+        this.root = root;
+        this.skipDirectory = skipDirectory;
+    }
+
+    /**
+     * Build the index of a directory, walking its sub-directories in parallel.
+     *
+     * @param root          directory to index
+     * @param skipDirectory test for sub-directories to leave out of the index
+     * @return index
+     */
+    static WorkspaceFileIndex build(Path root, Predicate<Path> skipDirectory)
+    {
+        WorkspaceFileIndex index = new WorkspaceFileIndex(root, (skipDirectory == null) ? d -> false : skipDirectory);
+        long start = System.nanoTime();
+        if (Files.isDirectory(root))
+        {
+            WALK_POOL.invoke(index.new IndexDirectory(root, ""));
+        }
+        LOGGER.debug("Indexed {} files under {} in {}ms", index.files.size(), root, (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    static WorkspaceFileIndex build(Path root)
+    {
+        return build(root, null);
+    }
+
+    Path getRoot()
+    {
+        return this.root;
+    }
+
+    boolean isFile(String relativePath)
+    {
+        return this.files.contains(relativePath) || (indexIfOnDisk(relativePath) && this.files.contains(relativePath));
+    }
+
+    boolean isFolder(String relativePath)
+    {
+        return this.childrenByFolder.containsKey(relativePath) || (indexIfOnDisk(relativePath) && this.childrenByFolder.containsKey(relativePath));
+    }
+
+    boolean exists(String relativePath)
+    {
+        return this.files.contains(relativePath) || this.childrenByFolder.containsKey(relativePath) || indexIfOnDisk(relativePath);
+    }
+
+    /**
+     * The paths of the children of a folder, or null if it is not a folder.
+     */
+    List<String> getChildren(String relativeFolder)
+    {
+        Set<String> names = isFolder(relativeFolder) ? this.childrenByFolder.get(relativeFolder) : null;
+        if (names == null)
+        {
+            return null;
+        }
+        List<String> children = new ArrayList<>(names.size());
+        for (String name : names)
+        {
+            children.add(relativeFolder.isEmpty() ? name : (relativeFolder + "/" + name));
+        }
+        Collections.sort(children);
+        return children;
+    }
+
+    /**
+     * The paths of all files.
+     */
+    Set<String> getFiles()
+    {
+        return Collections.unmodifiableSet(this.files);
+    }
+
+    /**
+     * The path of a file under the root relative to it, or null if it is not under the root.
+     */
+    String relativize(Path path)
+    {
+        Path normalized = path.toAbsolutePath().normalize();
+        Path normalizedRoot = this.root.toAbsolutePath().normalize();
+        if (!normalized.startsWith(normalizedRoot))
+        {
+            return null;
+        }
+        return normalizedRoot.relativize(normalized).toString().replace('\\', '/');
+    }
+
+    /**
+     * Bring the entry for a path under the root (and, for a folder, everything under it) up to date with the
+     * disk, after it was reported created, changed or deleted.
+     *
+     * @param path path under the root
+     * @return whether the path is under the root
+     */
+    boolean refresh(Path path)
+    {
+        String relativePath = relativize(path);
+        if (relativePath == null)
+        {
+            return false;
+        }
+        if (!isInSkippedDirectory(relativePath))
+        {
+            refresh(relativePath);
+        }
+        return true;
+    }
+
+    /**
+     * Walk the folder of an indexed file again if the file is no longer on disk, as happens when it (or a folder
+     * above it) is deleted without being reported.
+     *
+     * @param relativePath path of a file which could not be read
+     */
+    void recheck(String relativePath)
+    {
+        if (this.files.contains(relativePath) && (readAttributes(resolve(relativePath)) == null))
+        {
+            LOGGER.debug("Indexed file {} under {} is missing, indexing its folder again", relativePath, this.root);
+            refresh(getParent(relativePath));
+        }
+    }
+
+    private void refresh(String relativePath)
+    {
+        // a path in a folder which is not indexed is indexed with the outermost such folder, so that every indexed
+        // folder has all its children
+        String target = relativePath;
+        for (String parent = getParent(target); (parent != null) && !this.childrenByFolder.containsKey(parent); parent = getParent(parent))
+        {
+            target = parent;
+        }
+        remove(target);
+        Path path = resolve(target);
+        BasicFileAttributes attributes = readAttributes(path);
+        if (attributes != null)
+        {
+            if (attributes.isDirectory())
+            {
+                if (target.isEmpty() || !this.skipDirectory.test(path))
+                {
+                    addToParent(target);
+                    WALK_POOL.invoke(new IndexDirectory(path, target));
+                }
+            }
+            else if (attributes.isRegularFile())
+            {
+                addToParent(target);
+                this.files.add(target);
+            }
+        }
+    }
+
+    /**
+     * Index a path which is not indexed if it is on disk, in case it was created without being reported.
+     *
+     * @return whether the path is on disk (and not in a skipped directory)
+     */
+    private boolean indexIfOnDisk(String relativePath)
+    {
+        if ((relativePath == null) || (relativize(resolve(relativePath)) == null) || isInSkippedDirectory(relativePath) || (readAttributes(resolve(relativePath)) == null))
+        {
+            return false;
+        }
+        refresh(relativePath);
+        return this.files.contains(relativePath) || this.childrenByFolder.containsKey(relativePath);
+    }
+
+    /**
+     * Whether a folder above the given path (below the root) is one left out of the index.
+     */
+    private boolean isInSkippedDirectory(String relativePath)
+    {
+        Path directory = this.root;
+        int start = 0;
+        for (int slash = relativePath.indexOf('/'); slash >= 0; slash = relativePath.indexOf('/', start))
+        {
+            directory = directory.resolve(relativePath.substring(start, slash));
+            if (this.skipDirectory.test(directory))
+            {
+                return true;
+            }
+            start = slash + 1;
+        }
+        return false;
+    }
+
+    private Path resolve(String relativePath)
+    {
+        return relativePath.isEmpty() ? this.root : this.root.resolve(relativePath);
+    }
+
+    private static String getParent(String relativePath)
+    {
+        if (relativePath.isEmpty())
+        {
+            return null;
+        }
+        int slash = relativePath.lastIndexOf('/');
+        return (slash < 0) ? "" : relativePath.substring(0, slash);
+    }
+
+    private void remove(String relativePath)
+    {
+        if (relativePath.isEmpty())
+        {
+            this.childrenByFolder.clear();
+            this.files.clear();
+            return;
+        }
+        this.files.remove(relativePath);
+        if (this.childrenByFolder.remove(relativePath) != null)
+        {
+            String prefix = relativePath + "/";
+            this.childrenByFolder.keySet().removeIf(folder -> folder.startsWith(prefix));
+            this.files.removeIf(file -> file.startsWith(prefix));
+        }
+        int slash = relativePath.lastIndexOf('/');
+        Set<String> siblings = this.childrenByFolder.get((slash < 0) ? "" : relativePath.substring(0, slash));
+        if (siblings != null)
+        {
+            siblings.remove(relativePath.substring(slash + 1));
+        }
+    }
+
+    private void addToParent(String relativePath)
+    {
+        if (relativePath.isEmpty())
+        {
+            return;
+        }
+        int slash = relativePath.lastIndexOf('/');
+        String parent = (slash < 0) ? "" : relativePath.substring(0, slash);
+        boolean newParent = !this.childrenByFolder.containsKey(parent);
+        this.childrenByFolder.computeIfAbsent(parent, k -> ConcurrentHashMap.newKeySet()).add(relativePath.substring(slash + 1));
+        if (newParent)
+        {
+            addToParent(parent);
+        }
+    }
+
+    /**
+     * The attributes of a path, or null if it does not exist or is a symbolic link to a directory. A symbolic link
+     * to a file has the attributes of the file.
+     */
+    private static BasicFileAttributes readAttributes(Path path)
+    {
+        try
+        {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            if (attributes.isSymbolicLink())
+            {
+                BasicFileAttributes target = Files.readAttributes(path, BasicFileAttributes.class);
+                return target.isRegularFile() ? target : null;
+            }
+            return attributes;
+        }
+        catch (NoSuchFileException e)
+        {
+            return null;
+        }
+        catch (IOException e)
+        {
+            LOGGER.debug("Failed to read the attributes of {}", path, e);
+            return null;
+        }
+    }
+
+    private class IndexDirectory extends RecursiveAction
+    {
+        private final Path directory;
+        private final String relativePath;
+
+        private IndexDirectory(Path directory, String relativePath)
+        {
+            this.directory = directory;
+            this.relativePath = relativePath;
+        }
+
+        @Override
+        protected void compute()
+        {
+            Set<String> children = ConcurrentHashMap.newKeySet();
+            childrenByFolder.put(this.relativePath, children);
+            List<IndexDirectory> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(this.directory))
+            {
+                for (Path entry : entries)
+                {
+                    BasicFileAttributes attributes = readAttributes(entry);
+                    if (attributes == null)
+                    {
+                        continue;
+                    }
+                    String name = entry.getFileName().toString();
+                    String childPath = this.relativePath.isEmpty() ? name : (this.relativePath + "/" + name);
+                    if (attributes.isDirectory())
+                    {
+                        if (!skipDirectory.test(entry))
+                        {
+                            children.add(name);
+                            subdirectories.add(new IndexDirectory(entry, childPath));
+                        }
+                    }
+                    else if (attributes.isRegularFile())
+                    {
+                        children.add(name);
+                        files.add(childPath);
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                LOGGER.debug("Failed to list {}", this.directory, e);
+            }
+            invokeAll(subdirectories);
+        }
+    }
+}
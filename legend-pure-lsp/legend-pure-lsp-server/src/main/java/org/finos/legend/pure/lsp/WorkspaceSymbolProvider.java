@@ -15,8 +15,11 @@
 package org.finos.legend.pure.lsp;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
@@ -27,6 +30,7 @@ import org.finos.legend.pure.m3.coreinstance.Package;
 import org.finos.legend.pure.m3.navigation.M3Properties;
 import org.finos.legend.pure.m3.navigation.PackageableElement.PackageableElement;
 import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.m3.serialization.runtime.Source;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.coreinstance.SourceInformation;
 import org.slf4j.Logger;
@@ -36,7 +40,8 @@ public class WorkspaceSymbolProvider
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceSymbolProvider.class);
 
-    private final List<IndexEntry> index = new CopyOnWriteArrayList<>();
+    private final SymbolSearchIndex index = new SymbolSearchIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
     public void buildIndex(PureRuntime runtime)
     {
@@ -47,30 +52,70 @@ public class WorkspaceSymbolProvider
         {
             walkPackage((Package) root, entries);
         }
-        this.index.clear();
-        this.index.addAll(entries);
+        this.lock.writeLock().lock();
+        try
+        {
+            this.index.clear();
+            entries.forEach(this.index::add);
+        }
+        finally
+        {
+            this.lock.writeLock().unlock();
+        }
         long elapsed = System.currentTimeMillis() - start;
         LOGGER.info("Symbol index built: {} entries in {}ms", entries.size(), elapsed);
     }
 
-    public List<SymbolInformation> search(UriMapper uriMapper, String query, int maxResults)
+    /**
+     * Update the index after a compile, replacing the entries of the given sources with the elements they now
+     * define. Sources that no longer exist are removed from the index.
+     *
+     * @param runtime   runtime
+     * @param sourceIds ids of the sources added, modified or removed by the compile
+     */
+    public void updateIndex(PureRuntime runtime, Iterable<String> sourceIds)
     {
-        String lowerQuery = (query != null) ? query.toLowerCase() : "";
-        List<SymbolInformation> results = new ArrayList<>();
-
-        for (IndexEntry entry : this.index)
+        long start = System.currentTimeMillis();
+        Map<String, List<IndexEntry>> entriesBySource = new LinkedHashMap<>();
+        for (String sourceId : sourceIds)
         {
-            if (results.size() >= maxResults)
+            if (sourceId != null && !entriesBySource.containsKey(sourceId))
             {
-                break;
+                entriesBySource.put(sourceId, getSourceEntries(runtime.getSourceById(sourceId)));
             }
-            if (lowerQuery.isEmpty() || entry.lowerSearchName.contains(lowerQuery))
+        }
+        this.lock.writeLock().lock();
+        try
+        {
+            entriesBySource.forEach(this.index::replaceSource);
+        }
+        finally
+        {
+            this.lock.writeLock().unlock();
+        }
+        LOGGER.debug("Symbol index updated for {} sources in {}ms", entriesBySource.size(), System.currentTimeMillis() - start);
+    }
+
+    public List<SymbolInformation> search(UriMapper uriMapper, String query, int maxResults)
+    {
+        List<IndexEntry> entries;
+        this.lock.readLock().lock();
+        try
+        {
+            entries = this.index.search(query, maxResults, e -> uriMapper.toUri(e.sourceId) != null);
+        }
+        finally
+        {
+            this.lock.readLock().unlock();
+        }
+
+        List<SymbolInformation> results = new ArrayList<>(entries.size());
+        for (IndexEntry entry : entries)
+        {
+            SymbolInformation symbol = entry.toSymbolInformation(uriMapper);
+            if (symbol != null)
             {
-                SymbolInformation symbol = entry.toSymbolInformation(uriMapper);
-                if (symbol != null)
-                {
-                    results.add(symbol);
-                }
+                results.add(symbol);
             }
         }
         return results;
@@ -78,12 +123,46 @@ public class WorkspaceSymbolProvider
 
     public int size()
     {
-        return this.index.size();
+        this.lock.readLock().lock();
+        try
+        {
+            return this.index.size();
+        }
+        finally
+        {
+            this.lock.readLock().unlock();
+        }
     }
 
     public void clear()
     {
-        this.index.clear();
+        this.lock.writeLock().lock();
+        try
+        {
+            this.index.clear();
+        }
+        finally
+        {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private static List<IndexEntry> getSourceEntries(Source source)
+    {
+        List<IndexEntry> entries = new ArrayList<>();
+        ListIterable<CoreInstance> newInstances = (source == null) ? null : source.getNewInstances();
+        if (newInstances != null)
+        {
+            for (CoreInstance instance : newInstances)
+            {
+                // the packageable elements of the source, as found by walkPackage
+                if (!(instance instanceof Package) && instance.getValueForMetaPropertyToOne(M3Properties._package) != null)
+                {
+                    addEntry(instance, entries);
+                }
+            }
+        }
+        return entries;
     }
 
     private static void walkPackage(Package pkg, List<IndexEntry> entries)
@@ -97,33 +176,38 @@ public class WorkspaceSymbolProvider
             }
             else
             {
-                SourceInformation si = child.getSourceInformation();
-                if (si != null)
+                addEntry(child, entries);
+            }
+        }
+    }
+
+    private static void addEntry(CoreInstance element, List<IndexEntry> entries)
+    {
+        SourceInformation si = element.getSourceInformation();
+        if (si != null)
+        {
+            String qualifiedPath = PackageableElement.getUserPathForPackageableElement(element);
+            String classifierName = element.getClassifier().getName();
+            String simpleName = null;
+            if ("ConcreteFunctionDefinition".equals(classifierName)
+                    || "NativeFunction".equals(classifierName))
+            {
+                CoreInstance fnName = element.getValueForMetaPropertyToOne(M3Properties.functionName);
+                if (fnName != null)
                 {
-                    String qualifiedPath = PackageableElement.getUserPathForPackageableElement(child);
-                    String classifierName = child.getClassifier().getName();
-                    String simpleName = null;
-                    if ("ConcreteFunctionDefinition".equals(classifierName)
-                            || "NativeFunction".equals(classifierName))
-                    {
-                        CoreInstance fnName = child.getValueForMetaPropertyToOne(M3Properties.functionName);
-                        if (fnName != null)
-                        {
-                            simpleName = fnName.getName();
-                        }
-                    }
-                    entries.add(new IndexEntry(
-                            qualifiedPath,
-                            classifierName,
-                            simpleName,
-                            si.getSourceId(),
-                            si.getStartLine(),
-                            si.getStartColumn(),
-                            si.getEndLine(),
-                            si.getEndColumn()
-                    ));
+                    simpleName = fnName.getName();
                 }
             }
+            entries.add(new IndexEntry(
+                    qualifiedPath,
+                    classifierName,
+                    simpleName,
+                    si.getSourceId(),
+                    si.getStartLine(),
+                    si.getStartColumn(),
+                    si.getEndLine(),
+                    si.getEndColumn()
+            ));
         }
     }
 
@@ -162,6 +246,7 @@ public class WorkspaceSymbolProvider
         final String classifierName;
         final String simpleFunctionName; // null for non-functions
         final String lowerSearchName;    // includes simple name for function search
+        final String displayName;
         final String sourceId;
         final int startLine;
         final int startColumn;
@@ -185,6 +270,7 @@ public class WorkspaceSymbolProvider
             {
                 this.lowerSearchName = this.lowerPath;
             }
+            this.displayName = computeDisplayName(qualifiedPath, simpleFunctionName);
             this.sourceId = sourceId;
             this.startLine = startLine;
             this.startColumn = startColumn;
@@ -194,16 +280,21 @@ public class WorkspaceSymbolProvider
 
         String getDisplayName()
         {
-            if (this.simpleFunctionName != null)
+            return this.displayName;
+        }
+
+        private static String computeDisplayName(String qualifiedPath, String simpleFunctionName)
+        {
+            if (simpleFunctionName != null)
             {
-                return this.simpleFunctionName;
+                return simpleFunctionName;
             }
-            int lastSep = this.qualifiedPath.lastIndexOf("::");
+            int lastSep = qualifiedPath.lastIndexOf("::");
             if (lastSep > 0)
             {
-                return this.qualifiedPath.substring(lastSep + 2);
+                return qualifiedPath.substring(lastSep + 2);
             }
-            return this.qualifiedPath;
+            return qualifiedPath;
         }
 
         SymbolInformation toSymbolInformation(UriMapper uriMapper)
@@ -19,12 +19,12 @@ import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Stack;
-import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ForkJoinPool;
@@ -78,6 +78,7 @@ class LegendDebugFunctionExecution extends FunctionExecutionInterpreted
     private final ThreadLocal<Deque<ActiveFrame>> activeFrames = ThreadLocal.withInitial(ArrayDeque::new);
     private final AtomicLong nextExecutionOrdinal = new AtomicLong();
 
+    private volatile PauseFilter pauseFilter = PauseFilter.ALWAYS;
     private volatile CompletableFuture<CoreInstance> currentExecution;
     private volatile CompletableFuture<CoreInstance> resultHandler;
     private volatile LegendDebugState debugState;
@@ -86,7 +87,7 @@ class LegendDebugFunctionExecution extends FunctionExecutionInterpreted
     {
         this.debuggableSourceIds = debuggableSourceIds == null
                 ? Collections.emptySet()
-                : Collections.unmodifiableSet(new TreeSet<>(debuggableSourceIds));
+                : Collections.unmodifiableSet(new HashSet<>(debuggableSourceIds));
         this.uriMapper = uriMapper;
         this.executionPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
                 new LspDebugForkJoinWorkerThreadFactory(), null, false);
@@ -97,6 +98,15 @@ class LegendDebugFunctionExecution extends FunctionExecutionInterpreted
         return this.debugState;
     }
 
+    /**
+     * Set the filter for the expressions execution may pause at until the next pause. Expressions it rejects
+     * are run without building a location or handing over to the debug session.
+     */
+    void setPauseFilter(PauseFilter pauseFilter)
+    {
+        this.pauseFilter = pauseFilter == null ? PauseFilter.ALWAYS : pauseFilter;
+    }
+
     synchronized void addEvaluationImports(Collection<String> imports)
     {
         if (imports != null)
@@ -515,7 +525,9 @@ class LegendDebugFunctionExecution extends FunctionExecutionInterpreted
     {
         if (!this.pausesSuppressed.get())
         {
-            this.activeFrames.get().addLast(new ActiveFrame(function, variableContext, currentFrameLocation(function, functionExpressionCallStack)));
+            Deque<ActiveFrame> frames = this.activeFrames.get();
+            SourceInformation callSite = (functionExpressionCallStack != null && functionExpressionCallStack.notEmpty()) ? functionExpressionCallStack.peek().getSourceInformation() : null;
+            frames.addLast(new ActiveFrame(function, variableContext, callSite, frames.size(), this.nextExecutionOrdinal.get()));
         }
     }
 
@@ -545,8 +557,15 @@ class LegendDebugFunctionExecution extends FunctionExecutionInterpreted
             return;
         }
 
+        Deque<ActiveFrame> frames = this.activeFrames.get();
+        int line = positiveOrDefault(sourceInformation.getLine(), sourceInformation.getStartLine(), 1);
+        if (!this.pauseFilter.mayPause(sourceInformation.getSourceId(), line, frames.size()))
+        {
+            return;
+        }
+
         DebugExecutionLocation location = location(valueSpecification, sourceInformation, variableContext, functionExpressionCallStack);
-        LegendDebugState state = new LegendDebugState(this, location, frameSnapshots(location, variableContext));
+        LegendDebugState state = new LegendDebugState(this, location, () -> frameSnapshots(location, variableContext, frames));
         setDebugState(state);
         state.await();
         if (state.aborted())
@@ -555,9 +574,10 @@ class LegendDebugFunctionExecution extends FunctionExecutionInterpreted
         }
     }
 
-    private List<DebugFrameSnapshot> frameSnapshots(DebugExecutionLocation currentLocation, VariableContext currentVariableContext)
+    private List<DebugFrameSnapshot> frameSnapshots(DebugExecutionLocation currentLocation, VariableContext currentVariableContext,
+                                                    Deque<ActiveFrame> frames)
     {
-        List<ActiveFrame> active = new ArrayList<>(this.activeFrames.get());
+        List<ActiveFrame> active = new ArrayList<>(frames);
         Collections.reverse(active);
 
         List<DebugFrameSnapshot> result = new ArrayList<>();
@@ -571,11 +591,12 @@ class LegendDebugFunctionExecution extends FunctionExecutionInterpreted
         int id = 2;
         for (ActiveFrame frame : active)
         {
-            if (sameFrameLocation(currentLocation, frame.location))
+            DebugExecutionLocation frameLocation = frame.location();
+            if (sameFrameLocation(currentLocation, frameLocation))
             {
                 continue;
             }
-            result.add(new DebugFrameSnapshot(id, id, frame.name(), frame.location, frame.variableContext));
+            result.add(new DebugFrameSnapshot(id, id, frame.name(), frameLocation, frame.variableContext));
             id++;
         }
         return result;
@@ -602,13 +623,9 @@ class LegendDebugFunctionExecution extends FunctionExecutionInterpreted
                 this.nextExecutionOrdinal.incrementAndGet());
     }
 
-    private DebugExecutionLocation currentFrameLocation(Function<?> function, MutableStack<CoreInstance> functionExpressionCallStack)
+    private DebugExecutionLocation frameLocation(CoreInstance function, SourceInformation callSite, int stackDepth, long ordinal)
     {
-        SourceInformation sourceInformation = null;
-        if (functionExpressionCallStack != null && functionExpressionCallStack.notEmpty())
-        {
-            sourceInformation = functionExpressionCallStack.peek().getSourceInformation();
-        }
+        SourceInformation sourceInformation = callSite;
         if (sourceInformation == null && function != null)
         {
             sourceInformation = function.getSourceInformation();
@@ -623,8 +640,8 @@ class LegendDebugFunctionExecution extends FunctionExecutionInterpreted
                 sourceInformation == null ? 1 : positiveOrDefault(sourceInformation.getEndLine(), sourceInformation.getLine(), sourceInformation.getStartLine(), 1),
                 sourceInformation == null ? 1 : positiveOrDefault(sourceInformation.getEndColumn(), sourceInformation.getColumn(), sourceInformation.getStartColumn(), 1),
                 functionName(function),
-                this.activeFrames.get().size(),
-                this.nextExecutionOrdinal.get());
+                stackDepth,
+                ordinal);
     }
 
     private String locationName(CoreInstance valueSpecification)
@@ -716,17 +733,55 @@ class LegendDebugFunctionExecution extends FunctionExecutionInterpreted
         }
     }
 
-    private static class ActiveFrame
+    /**
+     * Interface for cheaply testing, on the execution thread, whether execution may pause at an expression.
+     */
+    interface PauseFilter
+    {
+        PauseFilter ALWAYS = (sourceId, line, stackDepth) -> true;
+
+        /**
+         * Whether execution may pause at an expression. The debug session still decides whether to stay paused
+         * at the expressions this accepts, so it may accept more than needed but must not reject any it would
+         * stay paused at.
+         *
+         * @param sourceId   source id of the expression
+         * @param line       line of the expression (1-based)
+         * @param stackDepth number of active Pure function frames
+         * @return whether execution may pause
+         */
+        boolean mayPause(String sourceId, int line, int stackDepth);
+    }
+
+    /**
+     * A Pure function frame entered by the execution. Only references to its function, call site and live
+     * variable context are kept on entry; its location is built when it is shown in a paused stack.
+     */
+    private class ActiveFrame
     {
         private final CoreInstance function;
         private final VariableContext variableContext;
-        private final DebugExecutionLocation location;
+        private final SourceInformation callSite;
+        private final int stackDepth;
+        private final long ordinal;
+        private DebugExecutionLocation location;
 
-        private ActiveFrame(CoreInstance function, VariableContext variableContext, DebugExecutionLocation location)
+        private ActiveFrame(CoreInstance function, VariableContext variableContext, SourceInformation callSite, int stackDepth, long ordinal)
         {
             this.function = function;
             this.variableContext = variableContext;
-            this.location = location;
+            this.callSite = callSite;
+            this.stackDepth = stackDepth;
+            this.ordinal = ordinal;
+        }
+
+        private DebugExecutionLocation location()
+        {
+            if (this.location == null)
+            {
+                this.location = frameLocation(this.function, this.callSite, this.stackDepth, this.ordinal);
+            }
+            return this.location;
         }
 
         private String name()
@@ -21,8 +21,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -77,7 +79,7 @@ class LegendDebugSession
     {
         Map<String, String> sources = snapshotSources(mainSession, repositoryScanner, openDocuments);
         Map<String, List<Integer>> breakpointsBySource = groupBreakpointsBySource(uriMapper, sources, breakpoints);
-        Map<String, LineMap> lineMaps = new TreeMap<>();
+        Map<String, LineMap> lineMaps = new HashMap<>();
         LspLog.info("Debug snapshot contains " + sources.size()
                 + " source(s); requested " + breakpointCount(breakpoints)
                 + " breakpoint(s); mapped " + groupedBreakpointCount(breakpointsBySource)
@@ -257,6 +259,7 @@ class LegendDebugSession
             PauseLocation startLocation = currentPauseLocation();
             RunMode effectiveMode = effectiveRunMode(mode, startLocation);
             clearVisiblePausedState();
+            this.functionExecution.setPauseFilter(pauseFilter(effectiveMode, startLocation, this::isUserBreakpoint));
             StringBuilder visibleOutput = new StringBuilder();
             while (true)
             {
@@ -307,7 +310,7 @@ class LegendDebugSession
         }
     }
 
-    private PauseDecision pauseDecision(RunMode mode, PauseLocation startLocation, PauseLocation pauseLocation)
+    static PauseDecision pauseDecision(RunMode mode, PauseLocation startLocation, PauseLocation pauseLocation)
     {
         if (pauseLocation == null)
         {
@@ -327,7 +330,29 @@ class LegendDebugSession
         }
     }
 
-    private RunMode effectiveRunMode(RunMode mode, PauseLocation startLocation)
+    /**
+     * The pause points the execution need not hand over, as {@link #pauseDecision} would resume from them: when
+     * continuing, all but user breakpoints; when stepping over or out, all deeper than the start location.
+     */
+    static LegendDebugFunctionExecution.PauseFilter pauseFilter(RunMode mode, PauseLocation startLocation,
+                                                                LegendDebugFunctionExecution.PauseFilter userBreakpoints)
+    {
+        int startDepth = startLocation == null ? Integer.MAX_VALUE : startLocation.stackDepth;
+        switch (mode)
+        {
+            case STEP_IN:
+                return LegendDebugFunctionExecution.PauseFilter.ALWAYS;
+            case STEP_OVER:
+                return (sourceId, line, stackDepth) -> stackDepth <= startDepth;
+            case STEP_OUT:
+                return (sourceId, line, stackDepth) -> stackDepth < startDepth;
+            case CONTINUE:
+            default:
+                return userBreakpoints;
+        }
+    }
+
+    static RunMode effectiveRunMode(RunMode mode, PauseLocation startLocation)
     {
         // A red-dot breakpoint stops before its expression executes. Stepping out
         // from that state should first move past the breakpoint expression.
@@ -338,7 +363,7 @@ class LegendDebugSession
                 : mode;
     }
 
-    private boolean isStepOverTarget(PauseLocation startLocation, PauseLocation pauseLocation)
+    private static boolean isStepOverTarget(PauseLocation startLocation, PauseLocation pauseLocation)
     {
         if (startLocation == null || sameLocation(startLocation, pauseLocation))
         {
@@ -351,7 +376,7 @@ class LegendDebugSession
         return !pauseLocation.location.sameLine(startLocation.location);
     }
 
-    private boolean isStepOutTarget(PauseLocation startLocation, PauseLocation pauseLocation)
+    private static boolean isStepOutTarget(PauseLocation startLocation, PauseLocation pauseLocation)
     {
         return startLocation != null
                 && pauseLocation != null
@@ -396,8 +421,13 @@ class LegendDebugSession
 
     private boolean isUserBreakpoint(DebugExecutionLocation location)
     {
-        LineMap lineMap = location == null ? null : this.lineMaps.get(location.getSourceId());
-        return lineMap != null && lineMap.isUserBreakpoint(location.getLine());
+        return location != null && isUserBreakpoint(location.getSourceId(), location.getLine(), location.getStackDepth());
+    }
+
+    private boolean isUserBreakpoint(String sourceId, int line, int stackDepth)
+    {
+        LineMap lineMap = this.lineMaps.get(sourceId);
+        return lineMap != null && lineMap.isUserBreakpoint(line);
     }
 
     private String readNewUserOutput()
@@ -643,7 +673,7 @@ class LegendDebugSession
         return e.getMessage() == null ? e.toString() : e.getMessage();
     }
 
-    private enum RunMode
+    enum RunMode
     {
         CONTINUE,
         STEP_IN,
@@ -651,9 +681,9 @@ class LegendDebugSession
         STEP_OUT
     }
 
-    private static class PauseDecision
+    static class PauseDecision
     {
-        private final boolean pause;
+        final boolean pause;
         private final String reason;
 
         private PauseDecision(boolean pause, String reason)
@@ -673,13 +703,13 @@ class LegendDebugSession
         }
     }
 
-    private static class PauseLocation
+    static class PauseLocation
     {
-        private final DebugExecutionLocation location;
+        final DebugExecutionLocation location;
         private final boolean userBreakpoint;
         private final int stackDepth;
 
-        private PauseLocation(DebugExecutionLocation location, boolean userBreakpoint)
+        PauseLocation(DebugExecutionLocation location, boolean userBreakpoint)
         {
             this.location = location;
             this.userBreakpoint = userBreakpoint;
@@ -689,7 +719,7 @@ class LegendDebugSession
 
     private static class LineMap
     {
-        private final Set<Integer> userBreakpointOriginalLines = new TreeSet<>();
+        private final BitSet userBreakpointOriginalLines = new BitSet();
 
         private LineMap()
         {
@@ -697,12 +727,12 @@ class LegendDebugSession
 
         private void addUserBreakpoints(Collection<Integer> originalLines)
         {
-            this.userBreakpointOriginalLines.addAll(originalLines);
+            originalLines.forEach(this.userBreakpointOriginalLines::set);
         }
 
         private boolean isUserBreakpoint(int originalLineOneBased)
         {
-            return this.userBreakpointOriginalLines.contains(originalLineOneBased);
+            return originalLineOneBased >= 0 && this.userBreakpointOriginalLines.get(originalLineOneBased);
         }
     }
 }
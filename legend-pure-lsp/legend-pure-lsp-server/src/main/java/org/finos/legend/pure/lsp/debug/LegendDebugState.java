@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.eclipse.collections.api.factory.Lists;
@@ -61,7 +62,8 @@ class LegendDebugState
     private final CountDownLatch latch = new CountDownLatch(1);
     private final LegendDebugFunctionExecution functionExecution;
     private final DebugExecutionLocation location;
-    private final List<DebugFrameSnapshot> frames;
+    private final Supplier<List<DebugFrameSnapshot>> frameSupplier;
+    private List<DebugFrameSnapshot> frames;
     private final Map<Integer, DebugFrameSnapshot> framesById = new HashMap<>();
     private final Map<Integer, DebugFrameSnapshot> framesByVariablesReference = new HashMap<>();
     private final Map<Integer, DebugValue> referencesById = new HashMap<>();
@@ -70,18 +72,32 @@ class LegendDebugState
     private volatile boolean abort;
     private int nextVariablesReference;
 
+    /**
+     * The frames are only captured, from the supplier, when they are first asked for: the session resumes from
+     * most pause points without looking at them. The supplier must be called while execution is paused.
+     */
     LegendDebugState(LegendDebugFunctionExecution functionExecution, DebugExecutionLocation location,
-                     List<DebugFrameSnapshot> frames)
+                     Supplier<List<DebugFrameSnapshot>> frameSupplier)
     {
         this.functionExecution = functionExecution;
         this.location = location;
-        this.frames = frames == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(frames));
-        for (DebugFrameSnapshot frame : this.frames)
+        this.frameSupplier = frameSupplier;
+    }
+
+    private synchronized List<DebugFrameSnapshot> frames()
+    {
+        if (this.frames == null)
         {
-            this.framesById.put(frame.getId(), frame);
-            this.framesByVariablesReference.put(frame.getVariablesReference(), frame);
+            List<DebugFrameSnapshot> frames = this.frameSupplier.get();
+            this.frames = frames == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(frames));
+            for (DebugFrameSnapshot frame : this.frames)
+            {
+                this.framesById.put(frame.getId(), frame);
+                this.framesByVariablesReference.put(frame.getVariablesReference(), frame);
+            }
+            this.nextVariablesReference = Math.max(TOP_LEVEL_VARIABLES_REFERENCE + 1, this.frames.size() + 1);
         }
-        this.nextVariablesReference = Math.max(TOP_LEVEL_VARIABLES_REFERENCE + 1, this.frames.size() + 1);
+        return this.frames;
     }
 
     void await()
@@ -139,12 +155,13 @@ class LegendDebugState
 
     List<DebugFrameSnapshot> getFrames()
     {
-        return this.frames;
+        return frames();
     }
 
     List<LegendDebug.Variable> variables(int variablesReference)
     {
         int reference = variablesReference <= 0 ? TOP_LEVEL_VARIABLES_REFERENCE : variablesReference;
+        frames();
         DebugFrameSnapshot frame = this.framesByVariablesReference.get(reference);
         if (frame != null)
         {
@@ -473,6 +490,7 @@ class LegendDebugState
             return existing;
         }
 
+        frames();
         int reference = this.nextVariablesReference++;
         this.referenceIdsByKey.put(debugValue.key, reference);
         this.referencesById.put(reference, debugValue);
@@ -601,6 +619,7 @@ class LegendDebugState
 
     private DebugFrameSnapshot frameForEvaluate(int frameId)
     {
+        List<DebugFrameSnapshot> frames = frames();
         if (frameId > 0)
         {
             DebugFrameSnapshot frame = this.framesById.get(frameId);
@@ -610,11 +629,12 @@ class LegendDebugState
             }
         }
         DebugFrameSnapshot top = this.framesByVariablesReference.get(TOP_LEVEL_VARIABLES_REFERENCE);
-        return top == null && !this.frames.isEmpty() ? this.frames.get(0) : top;
+        return top == null && !frames.isEmpty() ? frames.get(0) : top;
     }
 
     private MutableList<Pair<String, CoreInstance>> variablesForFrame(int variablesReference)
     {
+        frames();
         DebugFrameSnapshot frame = this.framesByVariablesReference.get(variablesReference);
         return frame == null ? Lists.mutable.empty() : variablesForFrame(frame);
     }
@@ -59,6 +59,8 @@ public class DiagnosticService
     private final LanguageClient client;
     private final UriMapper uriMapper;
     private final Map<String, List<Either<org.eclipse.lsp4j.Command, CodeAction>>> codeActionsByUri = new ConcurrentHashMap<>();
+    // Last diagnostics published per document, so that an unchanged set is not published again
+    private final Map<String, List<Diagnostic>> publishedByUri = new ConcurrentHashMap<>();
 
     public DiagnosticService(LanguageClient client, UriMapper uriMapper)
     {
@@ -111,18 +113,51 @@ public class DiagnosticService
         publish(errorUri, diagnostics);
     }
 
+    /**
+     * Publish the diagnostics of a document, unless they are the ones last published for it.
+     */
     public void publish(String uri, List<Diagnostic> diagnostics)
     {
-        if (this.client != null)
+        List<Diagnostic> previous = this.publishedByUri.put(uri, new ArrayList<>(diagnostics));
+        if (diagnostics.equals(previous))
         {
-            this.client.publishDiagnostics(new PublishDiagnosticsParams(uri, diagnostics));
+            LOGGER.debug("Diagnostics unchanged for {}, not publishing", uri);
+            return;
         }
+        send(uri, diagnostics);
     }
 
+    /**
+     * Clear the diagnostics of a document, always telling the client.
+     */
     public void clear(String uri)
     {
         this.codeActionsByUri.remove(uri);
-        this.client.publishDiagnostics(new PublishDiagnosticsParams(uri, Collections.emptyList()));
+        this.publishedByUri.put(uri, Collections.emptyList());
+        send(uri, Collections.emptyList());
+    }
+
+    /**
+     * Clear the diagnostics of a document after it compiled, unless it is already known to have none.
+     */
+    public void clearIfChanged(String uri)
+    {
+        this.codeActionsByUri.remove(uri);
+        publish(uri, Collections.emptyList());
+    }
+
+    public boolean hasDiagnostics(String uri)
+    {
+        List<Diagnostic> published = this.publishedByUri.get(uri);
+        return (published != null) && !published.isEmpty();
+    }
+
+    private void send(String uri, List<Diagnostic> diagnostics)
+    {
+        if (this.client != null)
+        {
+            this.client.publishDiagnostics(new PublishDiagnosticsParams(uri, diagnostics));
+        }
     }
 
     public List<Either<org.eclipse.lsp4j.Command, CodeAction>> codeActions(String uri)
@@ -49,11 +49,13 @@ public class PureRuntimeManager
     private final AtomicBoolean recoveryInProgress = new AtomicBoolean(false);
 
     private volatile LegendLanguageClient client;
+    private volatile DiagnosticService diagnosticService;
     private volatile LegendPureSession session;
     private volatile SourceMutationService mutationService;
     private volatile int recoveryAttempts;
     private volatile List<Path> workspaceRoots = new ArrayList<>();
     private volatile Set<String> classpathRepositoryNames = Collections.emptySet();
+    private volatile Path graphCacheDirectory;
     private volatile LspState state = LspState.CREATED;
     private volatile String statusMessage = "";
     private volatile int compiledRepositories;
@@ -75,6 +77,22 @@ public class PureRuntimeManager
         this.client = client;
     }
 
+    /**
+     * The diagnostic service initialization errors are published through, so that it knows to clear them.
+     */
+    public void setDiagnosticService(DiagnosticService diagnosticService)
+    {
+        this.diagnosticService = diagnosticService;
+    }
+
+    /**
+     * Set the directory the session caches its compiled graph in between server starts.
+     */
+    public void setGraphCacheDirectory(Path graphCacheDirectory)
+    {
+        this.graphCacheDirectory = graphCacheDirectory;
+    }
+
     public void configure(List<Path> workspaceRoots, Set<String> classpathRepositoryNames)
     {
         this.workspaceRoots = workspaceRoots == null ? Collections.emptyList() : new ArrayList<>(workspaceRoots);
@@ -182,6 +200,10 @@ public class PureRuntimeManager
         LegendPureSession nextSession = this.session == null ? new LegendPureSession() : this.session;
         nextSession.setClasspathRepositoryNames(this.classpathRepositoryNames);
         nextSession.setProgressListener(this::onCompileProgress);
+        if (this.graphCacheDirectory != null)
+        {
+            nextSession.setGraphCacheDirectory(this.graphCacheDirectory);
+        }
         if (nextSession.isInitialized())
         {
             nextSession.reinitialize();
@@ -248,7 +270,9 @@ public class PureRuntimeManager
             return;
         }
 
-        DiagnosticService diagnosticService = new DiagnosticService(currentClient, this.uriMapper);
+        DiagnosticService diagnosticService = (this.diagnosticService != null)
+                ? this.diagnosticService
+                : new DiagnosticService(currentClient, this.uriMapper);
         String errorUri = diagnosticService.resolveErrorUri(exception);
         if (errorUri != null)
         {
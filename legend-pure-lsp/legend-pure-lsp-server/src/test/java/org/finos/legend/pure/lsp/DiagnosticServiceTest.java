@@ -14,6 +14,7 @@
 
 package org.finos.legend.pure.lsp;
 
+import java.util.Collections;
 import java.util.List;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
@@ -89,4 +90,20 @@ public class DiagnosticServiceTest
         Assert.assertEquals(1, diagnostics.size());
         Assert.assertEquals(9, diagnostics.get(0).getRange().getStart().getLine());
     }
+
+    @Test
+    public void publish_tracksPublishedDiagnostics()
+    {
+        Diagnostic d = this.diagnostics.fromException(new RuntimeException("something broke")).get(0);
+        Assert.assertFalse(this.diagnostics.hasDiagnostics("file:///a.pure"));
+
+        this.diagnostics.publish("file:///a.pure", Collections.singletonList(d));
+        Assert.assertTrue(this.diagnostics.hasDiagnostics("file:///a.pure"));
+        Assert.assertFalse(this.diagnostics.hasDiagnostics("file:///b.pure"));
+
+        this.diagnostics.clearIfChanged("file:///a.pure");
+        Assert.assertFalse(this.diagnostics.hasDiagnostics("file:///a.pure"));
+        this.diagnostics.clear("file:///b.pure");
+        Assert.assertFalse(this.diagnostics.hasDiagnostics("file:///b.pure"));
+    }
 }
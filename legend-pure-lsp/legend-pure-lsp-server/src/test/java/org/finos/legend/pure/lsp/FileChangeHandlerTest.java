@@ -17,7 +17,10 @@ package org.finos.legend.pure.lsp;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.eclipse.lsp4j.FileChangeType;
 import org.eclipse.lsp4j.FileEvent;
@@ -112,4 +115,28 @@ public class FileChangeHandlerTest
         List<LegendPureSession.FileChange> changes = handler.toFileChanges(events);
         Assert.assertEquals(3, changes.size());
     }
+
+    @Test
+    public void refreshFileIndexes_makesCreatedFilesResolvable() throws IOException
+    {
+        Path resourcesDir = tempFolder.getRoot().toPath().resolve("mod/src/main/resources");
+        Files.createDirectories(resourcesDir.resolve("test_repo"));
+        Files.write(resourcesDir.resolve("test_repo.definition.json"), "{\"name\": \"test_repo\"}".getBytes());
+        RepositoryScanner scanner = new RepositoryScanner();
+        scanner.scan(Collections.singletonList(tempFolder.getRoot().toPath()));
+
+        Path pureFile = resourcesDir.resolve("test_repo/pkg/MyClass.pure");
+        Files.createDirectories(pureFile.getParent());
+        Files.write(pureFile, "Class test::MyClass {}".getBytes());
+
+        FileChangeHandler handler = new FileChangeHandler(new UriMapper(), scanner);
+        handler.refreshFileIndexes(Collections.singletonList(new FileEvent(pureFile.toUri().toString(), FileChangeType.Created)));
+        Assert.assertEquals(pureFile, scanner.resolve("/test_repo/pkg/MyClass.pure"));
+
+        // a deleted folder is reported on its own, without its files
+        Files.delete(pureFile);
+        Files.delete(pureFile.getParent());
+        handler.refreshFileIndexes(Collections.singletonList(new FileEvent(pureFile.getParent().toUri().toString(), FileChangeType.Deleted)));
+        Assert.assertNull(scanner.resolve("/test_repo/pkg/MyClass.pure"));
+    }
 }
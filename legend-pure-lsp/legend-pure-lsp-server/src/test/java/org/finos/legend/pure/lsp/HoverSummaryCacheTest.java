@@ -0,0 +1,130 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.eclipse.lsp4j.Hover;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests the hover summary cache using a real PureRuntime.
+ */
+public class HoverSummaryCacheTest
+{
+    private static LegendPureSession session;
+
+    private static final String PERSON_SOURCE_ID = "hover_cache_person.pure";
+    private static final String PERSON_CODE =
+            "Class test::hovercache::Person\n" +  // line 1
+            "{\n" +                               // line 2
+            "  name: String[1];\n" +              // line 3
+            "}\n";                                // line 4
+
+    private static final String FIRM_SOURCE_ID = "hover_cache_firm.pure";
+    private static final String FIRM_CODE =
+            "Class test::hovercache::Firm\n" +    // line 1
+            "{\n" +                               // line 2
+            "  employees: test::hovercache::Person[*];\n" + // line 3
+            "}\n";                                // line 4
+
+    @BeforeClass
+    public static void setUp()
+    {
+        session = new LegendPureSession();
+        session.initialize();
+        Assert.assertTrue(session.modifyAndCompile(PERSON_SOURCE_ID, PERSON_CODE).isSuccess());
+        Assert.assertTrue(session.modifyAndCompile(FIRM_SOURCE_ID, FIRM_CODE).isSuccess());
+    }
+
+    @AfterClass
+    public static void tearDown()
+    {
+        session = null;
+    }
+
+    @Test
+    public void precompute_summariesOfSourceElementsMatchHover()
+    {
+        PureRuntime runtime = session.getPureRuntime();
+        HoverSummaryCache cache = new HoverSummaryCache();
+        Assert.assertTrue(cache.precompute(runtime, 1L, Collections.singletonList(PERSON_SOURCE_ID)) > 0);
+
+        CoreInstance person = runtime.getCoreInstance("test::hovercache::Person");
+        Assert.assertTrue(cache.contains(person));
+        Assert.assertFalse(cache.contains(runtime.getCoreInstance("test::hovercache::Firm")));
+
+        Hover cached = HoverProvider.hover(runtime, cache, 1L, PERSON_SOURCE_ID, 1, 25);
+        Hover uncached = HoverProvider.hover(runtime, PERSON_SOURCE_ID, 1, 25);
+        Assert.assertNotNull(cached);
+        Assert.assertEquals(uncached.getContents().getRight().getValue(), cached.getContents().getRight().getValue());
+        Assert.assertEquals(0, cache.precompute(runtime, 1L, Collections.singletonList(PERSON_SOURCE_ID)));
+    }
+
+    @Test
+    public void invalidateSources_dropsOnlyThoseSources()
+    {
+        PureRuntime runtime = session.getPureRuntime();
+        HoverSummaryCache cache = new HoverSummaryCache();
+        cache.precompute(runtime, 1L, Arrays.asList(PERSON_SOURCE_ID, FIRM_SOURCE_ID));
+        CoreInstance person = runtime.getCoreInstance("test::hovercache::Person");
+        CoreInstance firm = runtime.getCoreInstance("test::hovercache::Firm");
+
+        cache.invalidateSources(Collections.singletonList(FIRM_SOURCE_ID));
+        Assert.assertTrue(cache.contains(person));
+        Assert.assertFalse(cache.contains(firm));
+    }
+
+    @Test
+    public void getSummary_onlyUsesSummariesOfTheSameGeneration()
+    {
+        PureRuntime runtime = session.getPureRuntime();
+        HoverSummaryCache cache = new HoverSummaryCache();
+        CoreInstance person = runtime.getCoreInstance("test::hovercache::Person");
+        String summary = cache.getSummary(runtime, person, 1L);
+        Assert.assertNotNull(summary);
+        Assert.assertTrue(cache.contains(person, 1L));
+
+        // a compile has released the write lock, but its sources have not been invalidated yet
+        Assert.assertFalse(cache.contains(person, 2L));
+        Assert.assertEquals(summary, cache.getSummary(runtime, person, 2L));
+        Assert.assertTrue(cache.contains(person, 2L));
+        Assert.assertFalse(cache.contains(person, 1L));
+
+        // precompute recomputes summaries of an earlier generation
+        Assert.assertEquals(1, cache.precompute(runtime, 3L, Collections.singletonList(PERSON_SOURCE_ID)));
+        Assert.assertTrue(cache.contains(person, 3L));
+    }
+
+    @Test
+    public void precompute_recentlyHoveredElements()
+    {
+        PureRuntime runtime = session.getPureRuntime();
+        HoverSummaryCache cache = new HoverSummaryCache();
+        CoreInstance person = runtime.getCoreInstance("test::hovercache::Person");
+        Assert.assertNotNull(cache.getSummary(runtime, person, 1L));
+
+        // recompiled: the hovered element is precomputed again though its source is not open
+        cache.invalidateSources(Collections.singletonList(PERSON_SOURCE_ID));
+        Assert.assertFalse(cache.contains(person));
+        Assert.assertEquals(1, cache.precompute(runtime, 2L, Collections.emptyList()));
+        Assert.assertTrue(cache.contains(person));
+    }
+}
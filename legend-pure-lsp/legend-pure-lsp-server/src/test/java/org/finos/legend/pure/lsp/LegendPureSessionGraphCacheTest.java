@@ -0,0 +1,63 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.finos.legend.pure.m3.serialization.runtime.cache.DelegatePureGraphCache;
+import org.finos.legend.pure.m3.serialization.runtime.cache.VoidPureGraphCache;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LegendPureSessionGraphCacheTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void initialize_warmStartsFromGraphCache() throws Exception
+    {
+        Path cacheDirectory = this.tempFolder.newFolder("graph-cache").toPath();
+
+        LegendPureSession cold = new LegendPureSession();
+        cold.setGraphCacheDirectory(cacheDirectory);
+        cold.initialize();
+        Assert.assertSame(VoidPureGraphCache.VOID_PURE_GRAPH_CACHE, cold.getPureRuntime().getCache());
+
+        // the cache is written in the background
+        Path manifest = LegendPureSession.getGraphCacheLocation(cacheDirectory, cold.getPureRuntime().getCodeStorage()).resolve("manifest.txt");
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (Files.notExists(manifest) && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(100);
+        }
+        Assert.assertTrue("graph cache should be written", Files.exists(manifest));
+
+        LegendPureSession warm = new LegendPureSession();
+        warm.setGraphCacheDirectory(cacheDirectory);
+        warm.initialize();
+        Assert.assertTrue(warm.isInitialized());
+        Assert.assertTrue(warm.getPureRuntime().getCache() instanceof DelegatePureGraphCache);
+        Assert.assertNotNull(warm.getPureRuntime().getProcessorSupport().package_getByUserPath("meta::pure::metamodel::type::Class"));
+
+        // edits compile, and do not delete the cache
+        LegendPureSession.CompileResult result = warm.modifyAndCompile("warm_start_test.pure", "Class test::warm::Person { name : String[1]; }");
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertNotNull(warm.getPureRuntime().getCoreInstance("test::warm::Person"));
+        Assert.assertTrue(Files.exists(manifest));
+    }
+}
@@ -17,6 +17,7 @@ package org.finos.legend.pure.lsp;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import org.eclipse.collections.api.factory.Sets;
 import org.finos.legend.pure.m3.serialization.filesystem.repository.CodeRepository;
 import org.finos.legend.pure.m3.serialization.filesystem.repository.GenericCodeRepository;
 import org.junit.Assert;
@@ -66,4 +67,31 @@ public class OverlayWorkspaceCodeStorageTest
         Assert.assertTrue(storage.exists(createdSourceId));
         Assert.assertFalse("Overlay create must not create a physical file", Files.exists(createdFile));
     }
+
+    @Test
+    public void unreportedDiskChanges_areSeenWhenLookedUp() throws Exception
+    {
+        Path root = this.tempFolder.getRoot().toPath().resolve("overlay_repo");
+        Files.createDirectories(root.resolve("model"));
+        Files.write(root.resolve("model/Person.pure"), "Class test::overlay::Person {}\n".getBytes(StandardCharsets.UTF_8));
+
+        CodeRepository repository = new GenericCodeRepository("overlay_repo", "(test::overlay)(::.*)?");
+        OverlayWorkspaceCodeStorage storage = new OverlayWorkspaceCodeStorage(repository, root);
+        Assert.assertEquals(Sets.mutable.with("/overlay_repo/model/Person.pure"), storage.getUserFiles().toSet());
+
+        // created on disk without being reported
+        Path trade = root.resolve("model/trade");
+        Files.createDirectories(trade);
+        Files.write(trade.resolve("Trade.pure"), "Class test::overlay::Trade {}\n".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(storage.exists("/overlay_repo/model/trade/Trade.pure"));
+        Assert.assertTrue(storage.getNode("/overlay_repo/model/trade").isDirectory());
+        Assert.assertEquals(Sets.mutable.with("/overlay_repo/model/Person.pure", "/overlay_repo/model/trade/Trade.pure"), storage.getUserFiles().toSet());
+
+        // deleted from disk without being reported
+        Files.delete(trade.resolve("Trade.pure"));
+        Files.delete(trade);
+        Assert.assertThrows(RuntimeException.class, () -> storage.getContentAsText("/overlay_repo/model/trade/Trade.pure"));
+        Assert.assertFalse(storage.exists("/overlay_repo/model/trade"));
+        Assert.assertEquals(Sets.mutable.with("/overlay_repo/model/Person.pure"), storage.getUserFiles().toSet());
+    }
 }
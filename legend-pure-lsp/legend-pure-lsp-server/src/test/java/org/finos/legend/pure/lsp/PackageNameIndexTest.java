@@ -0,0 +1,112 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.lsp4j.CompletionItem;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class PackageNameIndexTest
+{
+    private static LegendPureSession session;
+
+    private static final String SOURCE_ID = "pni_test.pure";
+    private static final String CODE =
+            "Class test::pni::Customer {}\n" +
+            "Class test::pni::CustomerAddress {}\n" +
+            "Class test::pni::other::Account {}\n" +
+            "function test::pni::cust(): String[1] { 'x' }\n";
+
+    @BeforeClass
+    public static void init()
+    {
+        session = new LegendPureSession();
+        session.initialize();
+    }
+
+    @AfterClass
+    public static void cleanup()
+    {
+        session = null;
+    }
+
+    private static void compile(String code)
+    {
+        LegendPureSession.CompileResult result = session.modifyAndCompile(SOURCE_ID, code);
+        Assert.assertTrue("should compile: " + (result.getError() != null ? result.getError().getMessage() : ""), result.isSuccess());
+    }
+
+    private static List<String> find(PackageNameIndex index, String packagePath, String prefix, boolean includePackages)
+    {
+        CoreInstance pkg = session.getPureRuntime().getCoreInstance(packagePath);
+        return index.findByPrefix(session.getPureRuntime(), pkg, prefix, includePackages, 100).stream()
+                .map(e -> e.path)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> complete(PackageNameIndex index, String content, int line, int column)
+    {
+        return CompletionProvider.getCompletions(session.getPureRuntime(), index, "pni_other.pure", content, line, column).stream()
+                .map(CompletionItem::getDetail)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void findByPrefix_caseInsensitiveRange()
+    {
+        compile(CODE);
+        PackageNameIndex index = new PackageNameIndex();
+        Assert.assertEquals(Arrays.asList("test::pni::cust__String_1_", "test::pni::Customer", "test::pni::CustomerAddress"), find(index, "test::pni", "CUST", false));
+        Assert.assertEquals(Arrays.asList("test::pni::Customer", "test::pni::CustomerAddress"), find(index, "test::pni", "custo", false));
+        Assert.assertEquals(Collections.singletonList("test::pni::other"), find(index, "test::pni", "o", true));
+        Assert.assertEquals(Collections.emptyList(), find(index, "test::pni", "o", false));
+        Assert.assertEquals(4, find(index, "test::pni", "", true).size());
+    }
+
+    @Test
+    public void invalidateSources_reindexesChangedPackages()
+    {
+        compile(CODE);
+        PackageNameIndex index = new PackageNameIndex();
+        Assert.assertEquals(2, find(index, "test::pni", "customer", false).size());
+        find(index, "test::pni::other", "", true);
+        int indexed = index.size();
+
+        compile("Class test::pni::Customer {}\nClass test::pni::Customers {}\nClass test::pni::more::Thing {}\n");
+        index.invalidateSources(session.getPureRuntime(), Collections.singletonList(SOURCE_ID));
+        Assert.assertTrue(index.size() < indexed);
+        Assert.assertEquals(Arrays.asList("test::pni::Customer", "test::pni::Customers"), find(index, "test::pni", "customer", false));
+        Assert.assertEquals(Collections.singletonList("test::pni::more"), find(index, "test::pni", "", true).stream().filter(p -> p.startsWith("test::pni::m")).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void completion_usesImportsAndPaths()
+    {
+        compile(CODE);
+        PackageNameIndex index = new PackageNameIndex();
+        Assert.assertEquals(Arrays.asList("test::pni::cust__String_1_", "test::pni::Customer", "test::pni::CustomerAddress"),
+                complete(index, "import test::pni::*;\nfunction go(): Any[*] { Cust }\n", 2, 28));
+        Assert.assertEquals(Collections.singletonList("test::pni::other"), complete(index, "test::pni::o", 1, 12));
+        List<String> autoImported = complete(index, "mult", 1, 4);
+        Assert.assertTrue(autoImported.toString(), autoImported.contains("meta::pure::metamodel::multiplicity::Multiplicity"));
+    }
+}
@@ -0,0 +1,132 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.Hover;
+import org.eclipse.lsp4j.Location;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the last good results kept for answering while a compile holds the graph write lock, without a runtime.
+ */
+public class ReadSnapshotTest
+{
+    private static final String CONTENT = "Class model::Person\n{\n  name : String[1];\n}";
+
+    @Test
+    public void hover_isFoundAnywhereOnTheIdentifier()
+    {
+        ReadSnapshot snapshot = new ReadSnapshot();
+        Hover hover = new Hover();
+        // "String" on line 3 spans columns 10 to 15
+        snapshot.putHover("a.pure", CONTENT, 3, 12, 1L, hover);
+        Assert.assertSame(hover, snapshot.getHover("a.pure", CONTENT, 3, 10));
+        Assert.assertSame(hover, snapshot.getHover("a.pure", CONTENT, 3, 15));
+        Assert.assertNull(snapshot.getHover("a.pure", CONTENT, 3, 3));
+        Assert.assertNull(snapshot.getHover("b.pure", CONTENT, 3, 12));
+        Assert.assertNull(snapshot.getDefinition("a.pure", CONTENT, 3, 12));
+    }
+
+    @Test
+    public void positionKey()
+    {
+        Assert.assertEquals(ReadSnapshot.positionKey(CONTENT, 1, 14), ReadSnapshot.positionKey(CONTENT, 1, 19));
+        Assert.assertNotEquals(ReadSnapshot.positionKey(CONTENT, 1, 11), ReadSnapshot.positionKey(CONTENT, 1, 14));
+        Assert.assertNotEquals(ReadSnapshot.positionKey(CONTENT, 1, 1), ReadSnapshot.positionKey(CONTENT, 1, 7));
+        Assert.assertEquals("1:14:Person", ReadSnapshot.positionKey(CONTENT, 1, 16));
+        // the same position on a different identifier
+        Assert.assertNotEquals(ReadSnapshot.positionKey(CONTENT, 3, 12), ReadSnapshot.positionKey(CONTENT.replace("String", "Strung"), 3, 12));
+        // not on an identifier, or unknown content: the position itself
+        Assert.assertEquals("3:8", ReadSnapshot.positionKey(CONTENT, 3, 8));
+        Assert.assertEquals("3:12", ReadSnapshot.positionKey(null, 3, 12));
+        Assert.assertEquals("9:1", ReadSnapshot.positionKey(CONTENT, 9, 1));
+    }
+
+    @Test
+    public void hover_notFoundAfterContentChanges()
+    {
+        ReadSnapshot snapshot = new ReadSnapshot();
+        Hover hover = new Hover();
+        snapshot.putHover("a.pure", CONTENT, 3, 12, 1L, hover);
+        snapshot.putDefinition("a.pure", CONTENT, 3, 12, 1L, new Location());
+
+        // another identifier now starts where "String" did
+        String edited = CONTENT.replace("String", "Integer");
+        Assert.assertNull(snapshot.getHover("a.pure", edited, 3, 12));
+        Assert.assertNull(snapshot.getDefinition("a.pure", edited, 3, 12));
+        Assert.assertSame(hover, snapshot.getHover("a.pure", CONTENT, 3, 12));
+
+        // the same identifier, whose meaning may have changed elsewhere in the content
+        snapshot.removePositions("a.pure");
+        Assert.assertNull(snapshot.getHover("a.pure", CONTENT, 3, 12));
+        Assert.assertNull(snapshot.getDefinition("a.pure", CONTENT, 3, 12));
+    }
+
+    @Test
+    public void completions_filteredByLongerPrefix()
+    {
+        ReadSnapshot snapshot = new ReadSnapshot();
+        String context = ReadSnapshot.completionContext("a.pure", 3, "  name : ");
+        snapshot.putCompletions(context, "S", 1L, Arrays.asList(item("String"), item("StrictDate"), item("Sample")));
+
+        Assert.assertEquals(Arrays.asList("String", "StrictDate", "Sample"), labels(snapshot.getCompletions(context, "s")));
+        Assert.assertEquals(Arrays.asList("String", "StrictDate"), labels(snapshot.getCompletions(context, "Str")));
+        Assert.assertEquals(Collections.emptyList(), labels(snapshot.getCompletions(context, "Stx")));
+        // a shorter prefix may have had more completions
+        Assert.assertNull(snapshot.getCompletions(context, ""));
+        Assert.assertNull(snapshot.getCompletions(ReadSnapshot.completionContext("a.pure", 4, "  name : "), "S"));
+    }
+
+    @Test
+    public void removeSource()
+    {
+        ReadSnapshot snapshot = new ReadSnapshot();
+        List<DocumentSymbol> outline = Collections.singletonList(new DocumentSymbol());
+        snapshot.putOutline("a.pure", 1L, outline);
+        snapshot.putOutline("b.pure", 1L, outline);
+        snapshot.putHover("a.pure", CONTENT, 1, 7, 1L, new Hover());
+        snapshot.putCompletions(ReadSnapshot.completionContext("a.pure", 1, ""), "", 1L, Collections.singletonList(item("Class")));
+        snapshot.putCompletions(ReadSnapshot.completionContext("b.pure", 1, ""), "", 1L, Collections.singletonList(item("Class")));
+
+        snapshot.removeSource("a.pure");
+        Assert.assertNull(snapshot.getOutline("a.pure"));
+        Assert.assertNull(snapshot.getHover("a.pure", CONTENT, 1, 7));
+        Assert.assertNull(snapshot.getCompletions(ReadSnapshot.completionContext("a.pure", 1, ""), ""));
+        Assert.assertSame(outline, snapshot.getOutline("b.pure"));
+        Assert.assertEquals(1, snapshot.getCompletions(ReadSnapshot.completionContext("b.pure", 1, ""), "").size());
+
+        snapshot.clear();
+        Assert.assertNull(snapshot.getOutline("b.pure"));
+    }
+
+    private static CompletionItem item(String label)
+    {
+        CompletionItem item = new CompletionItem(label);
+        item.setInsertText(label);
+        return item;
+    }
+
+    private static List<String> labels(List<CompletionItem> items)
+    {
+        return items.stream().map(CompletionItem::getLabel).collect(Collectors.toList());
+    }
+}
@@ -150,6 +150,30 @@ public class RepositoryScannerTest
                 scanner.getMappings().containsKey("hidden"));
     }
 
+    @Test
+    public void fileIndex_skipsHiddenAndTargetDirs() throws IOException
+    {
+        Path resourcesDir = tempFolder.getRoot().toPath()
+                .resolve("mod/src/main/resources");
+        Files.createDirectories(resourcesDir.resolve("test_repo/pkg"));
+        Files.createDirectories(resourcesDir.resolve("test_repo/.git"));
+        Files.createDirectories(resourcesDir.resolve("test_repo/target"));
+        Files.write(resourcesDir.resolve("test_repo.definition.json"),
+                "{\"name\": \"test_repo\", \"pattern\": \"(test)(::.*)?\" }".getBytes());
+        Files.write(resourcesDir.resolve("test_repo/pkg/MyClass.pure"), "Class test::MyClass {}".getBytes());
+        Files.write(resourcesDir.resolve("test_repo/.git/HEAD"), "ref: refs/heads/master".getBytes());
+        Files.write(resourcesDir.resolve("test_repo/target/Generated.pure"), "Class test::Generated {}".getBytes());
+
+        RepositoryScanner scanner = new RepositoryScanner();
+        scanner.scan(Collections.singletonList(tempFolder.getRoot().toPath()));
+
+        WorkspaceFileIndex index = scanner.getFileIndex("test_repo");
+        Assert.assertEquals(Collections.singleton("pkg/MyClass.pure"), index.getFiles());
+        Assert.assertFalse(index.exists(".git"));
+        Assert.assertFalse(index.exists("target"));
+        Assert.assertNull(scanner.resolve("/test_repo/target/Generated.pure"));
+    }
+
     @Test
     public void scan_multipleRepos_findsAll() throws IOException
     {
@@ -0,0 +1,97 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the token array handling of the semantic tokens cache on its own, without a runtime.
+ */
+public class SemanticTokensCacheTest
+{
+    @Test
+    public void diff_identicalArrays()
+    {
+        Assert.assertEquals(Collections.emptyList(), SemanticTokensCache.diff(new int[]{0, 1, 2, 3, 0}, new int[]{0, 1, 2, 3, 0}));
+        Assert.assertEquals(Collections.emptyList(), SemanticTokensCache.diff(new int[0], new int[0]));
+    }
+
+    @Test
+    public void diff_replacesBetweenCommonPrefixAndSuffix()
+    {
+        int[] previous = {0, 6, 6, 1, 1, 2, 2, 5, 4, 1, 1, 9, 6, 6, 0};
+        int[] current = {0, 6, 6, 1, 1, 2, 2, 7, 4, 1, 1, 11, 6, 6, 0};
+        List<SemanticTokensEdit> edits = SemanticTokensCache.diff(previous, current);
+        Assert.assertEquals(1, edits.size());
+        Assert.assertEquals(7, edits.get(0).getStart());
+        Assert.assertEquals(5, edits.get(0).getDeleteCount());
+        Assert.assertEquals(Arrays.asList(7, 4, 1, 1, 11), edits.get(0).getData());
+    }
+
+    @Test
+    public void diff_insertAndDelete()
+    {
+        int[] previous = {0, 1, 2, 3, 0};
+        int[] current = {0, 1, 2, 3, 0, 1, 1, 2, 3, 0};
+        SemanticTokensEdit insert = SemanticTokensCache.diff(previous, current).get(0);
+        Assert.assertEquals(5, insert.getStart());
+        Assert.assertEquals(0, insert.getDeleteCount());
+        Assert.assertEquals(Arrays.asList(1, 1, 2, 3, 0), insert.getData());
+
+        SemanticTokensEdit delete = SemanticTokensCache.diff(current, previous).get(0);
+        Assert.assertEquals(5, delete.getStart());
+        Assert.assertEquals(5, delete.getDeleteCount());
+        Assert.assertEquals(Collections.emptyList(), delete.getData());
+    }
+
+    @Test
+    public void merge_ordersRunsByPosition()
+    {
+        int[] first = {0, 6, 6, 1, 1, 2, 2, 4, 4, 1};
+        int[] second = {5, 9, 8, 3, 1};
+        Assert.assertArrayEquals(new int[]{0, 6, 6, 1, 1, 2, 2, 4, 4, 1, 5, 9, 8, 3, 1},
+                SemanticTokensCache.merge(Arrays.asList(second, new int[0], first)));
+
+        // overlapping runs fall back to sorting every token
+        int[] overlapping = {1, 0, 3, 2, 0};
+        Assert.assertArrayEquals(new int[]{0, 6, 6, 1, 1, 1, 0, 3, 2, 0, 2, 2, 4, 4, 1, 5, 9, 8, 3, 1},
+                SemanticTokensCache.merge(Arrays.asList(second, first, overlapping)));
+    }
+
+    @Test
+    public void findToken_binarySearchesPositions()
+    {
+        int[] tokens = {0, 6, 6, 1, 1, 2, 2, 4, 4, 1, 2, 9, 3, 6, 0, 5, 9, 8, 3, 1};
+        Assert.assertEquals(0, SemanticTokensCache.findToken(tokens, 0, 0));
+        Assert.assertEquals(1, SemanticTokensCache.findToken(tokens, 0, 7));
+        Assert.assertEquals(1, SemanticTokensCache.findToken(tokens, 2, 2));
+        Assert.assertEquals(2, SemanticTokensCache.findToken(tokens, 2, 3));
+        Assert.assertEquals(3, SemanticTokensCache.findToken(tokens, 3, 0));
+        Assert.assertEquals(4, SemanticTokensCache.findToken(tokens, 6, 0));
+    }
+
+    @Test
+    public void encode_relativeToPreviousToken()
+    {
+        int[] tokens = {0, 6, 6, 1, 1, 0, 14, 3, 6, 0, 2, 2, 4, 4, 1};
+        Assert.assertEquals(Arrays.asList(0, 6, 6, 1, 1, 0, 8, 3, 6, 0, 2, 2, 4, 4, 1), SemanticTokensProvider.encode(tokens, 0, 3));
+        Assert.assertEquals(Arrays.asList(0, 14, 3, 6, 0, 2, 2, 4, 4, 1), SemanticTokensProvider.encode(tokens, 1, 3));
+    }
+}
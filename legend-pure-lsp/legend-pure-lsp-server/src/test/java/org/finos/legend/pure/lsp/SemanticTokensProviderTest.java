@@ -14,7 +14,14 @@
 
 package org.finos.legend.pure.lsp;
 
+import java.util.ArrayList;
 import java.util.List;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -432,4 +439,106 @@ public class SemanticTokensProviderTest
         }
         Assert.assertTrue("Should contain a variable definition token for let binding", foundLetVar);
     }
+
+    // ── Cache, delta and range tests ─────────────────────────────────────
+
+    private static final String CACHE_SOURCE_ID = "sem_test_cache.pure";
+    private static final String CACHE_CODE =
+            "Class test::sem::Cached\n" +                                        // line 1
+            "{\n" +                                                              // line 2
+            "  label: String[1];\n" +                                            // line 3
+            "}\n" +                                                              // line 4
+            "\n" +                                                               // line 5
+            "function test::sem::describe(c: test::sem::Cached[1]): String[1]\n" + // line 6
+            "{\n" +                                                              // line 7
+            "  $c.label->toUpper();\n" +                                         // line 8
+            "}\n";                                                               // line 9
+
+    @Test
+    public void cache_matchesProviderAndReusesUnchangedElements()
+    {
+        compile(CACHE_SOURCE_ID, CACHE_CODE);
+        SemanticTokensCache cache = new SemanticTokensCache();
+        SemanticTokens first = session.withGraphReadLock(() -> cache.getTokens(session.getPureRuntime(), session.getGraphGeneration(), CACHE_SOURCE_ID));
+        Assert.assertEquals(SemanticTokensProvider.getTokens(session.getPureRuntime(), CACHE_SOURCE_ID), first.getData());
+        Assert.assertNotNull(first.getResultId());
+
+        // same graph: same result
+        SemanticTokens second = session.withGraphReadLock(() -> cache.getTokens(session.getPureRuntime(), session.getGraphGeneration(), CACHE_SOURCE_ID));
+        Assert.assertEquals(first.getResultId(), second.getResultId());
+        Assert.assertEquals(first.getData(), second.getData());
+
+        // lines inserted before the function: its tokens are reused, moved down
+        compile(CACHE_SOURCE_ID, CACHE_CODE.replace("}\n\n", "}\n\n\n\n"));
+        SemanticTokens moved = session.withGraphReadLock(() -> cache.getTokens(session.getPureRuntime(), session.getGraphGeneration(), CACHE_SOURCE_ID));
+        Assert.assertEquals(SemanticTokensProvider.getTokens(session.getPureRuntime(), CACHE_SOURCE_ID), moved.getData());
+        Assert.assertNotEquals(first.getResultId(), moved.getResultId());
+
+        cache.remove(CACHE_SOURCE_ID);
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void cache_deltaSendsOnlyChangedTokens()
+    {
+        compile(CACHE_SOURCE_ID, CACHE_CODE);
+        SemanticTokensCache cache = new SemanticTokensCache();
+        SemanticTokens full = session.withGraphReadLock(() -> cache.getTokens(session.getPureRuntime(), session.getGraphGeneration(), CACHE_SOURCE_ID));
+
+        // unchanged graph: no edits
+        Either<SemanticTokens, SemanticTokensDelta> unchanged = session.withGraphReadLock(() -> cache.getTokensDelta(session.getPureRuntime(), session.getGraphGeneration(), CACHE_SOURCE_ID, full.getResultId()));
+        Assert.assertTrue(unchanged.isRight());
+        Assert.assertTrue(unchanged.getRight().getEdits().isEmpty());
+
+        // unknown previous result: full array
+        Either<SemanticTokens, SemanticTokensDelta> unknown = session.withGraphReadLock(() -> cache.getTokensDelta(session.getPureRuntime(), session.getGraphGeneration(), CACHE_SOURCE_ID, "no such result"));
+        Assert.assertTrue(unknown.isLeft());
+        Assert.assertEquals(full.getData(), unknown.getLeft().getData());
+
+        // renaming the property changes only the tokens from its definition on
+        compile(CACHE_SOURCE_ID, CACHE_CODE.replace("label", "caption"));
+        Either<SemanticTokens, SemanticTokensDelta> delta = session.withGraphReadLock(() -> cache.getTokensDelta(session.getPureRuntime(), session.getGraphGeneration(), CACHE_SOURCE_ID, full.getResultId()));
+        Assert.assertTrue(delta.isRight());
+        List<Integer> expected = SemanticTokensProvider.getTokens(session.getPureRuntime(), CACHE_SOURCE_ID);
+        Assert.assertEquals(expected, apply(full.getData(), delta.getRight().getEdits()));
+        Assert.assertEquals(1, delta.getRight().getEdits().size());
+        Assert.assertTrue(delta.getRight().getEdits().get(0).getData().size() < expected.size());
+    }
+
+    @Test
+    public void cache_rangeReturnsTokensInRange()
+    {
+        compile(CACHE_SOURCE_ID, CACHE_CODE);
+        SemanticTokensCache cache = new SemanticTokensCache();
+        List<Integer> all = session.withGraphReadLock(() -> cache.getTokens(session.getPureRuntime(), session.getGraphGeneration(), CACHE_SOURCE_ID)).getData();
+        List<Integer> classOnly = session.withGraphReadLock(() -> cache.getTokens(session.getPureRuntime(), session.getGraphGeneration(), CACHE_SOURCE_ID,
+                new Range(new Position(0, 0), new Position(4, 0)))).getData();
+        Assert.assertFalse(classOnly.isEmpty());
+        Assert.assertTrue(classOnly.size() < all.size());
+        // the range starts at the top of the document, so it is a prefix of the full encoding
+        Assert.assertEquals(all.subList(0, classOnly.size()), classOnly);
+
+        List<Integer> body = session.withGraphReadLock(() -> cache.getTokens(session.getPureRuntime(), session.getGraphGeneration(), CACHE_SOURCE_ID,
+                new Range(new Position(7, 0), new Position(8, 0)))).getData();
+        Assert.assertFalse(body.isEmpty());
+        Assert.assertEquals("first token is encoded from the document start", 7, (int) body.get(0));
+    }
+
+    private static void compile(String sourceId, String code)
+    {
+        LegendPureSession.CompileResult result = session.modifyAndCompile(sourceId, code);
+        Assert.assertTrue(sourceId + " should compile: " + (result.getError() != null ? result.getError().getMessage() : ""), result.isSuccess());
+    }
+
+    private static List<Integer> apply(List<Integer> data, List<SemanticTokensEdit> edits)
+    {
+        List<Integer> result = new ArrayList<>(data);
+        for (int i = edits.size() - 1; i >= 0; i--)
+        {
+            SemanticTokensEdit edit = edits.get(i);
+            result.subList(edit.getStart(), edit.getStart() + edit.getDeleteCount()).clear();
+            result.addAll(edit.getStart(), edit.getData());
+        }
+        return result;
+    }
 }
@@ -0,0 +1,89 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SourceDependencyTrackerTest
+{
+    private static LegendPureSession session;
+
+    @BeforeClass
+    public static void init()
+    {
+        session = new LegendPureSession();
+        session.initialize();
+        compile("dep_a.pure", "Class test::dep::Customer { name : String[1]; }\n" +
+                "function test::dep::greet(c: test::dep::Customer[1]): String[1] { $c.name }\n");
+        compile("dep_b.pure", "function test::dep::use(c: test::dep::Customer[1]): String[1] { test::dep::greet($c) }\n");
+        compile("dep_c.pure", "Class test::dep::Other {}\n");
+    }
+
+    @AfterClass
+    public static void cleanup()
+    {
+        session = null;
+    }
+
+    private static void compile(String sourceId, String code)
+    {
+        LegendPureSession.CompileResult result = session.modifyAndCompile(sourceId, code);
+        Assert.assertTrue("should compile: " + (result.getError() != null ? result.getError().getMessage() : ""), result.isSuccess());
+    }
+
+    @Test
+    public void recordCompiled_recordsDependentsAndNames()
+    {
+        SourceDependencyTracker tracker = new SourceDependencyTracker();
+        Assert.assertTrue(tracker.recordCompiled(session.getPureRuntime(), Arrays.asList("dep_a.pure", "dep_b.pure", "dep_c.pure")).isEmpty());
+        Assert.assertEquals(Collections.singleton("dep_b.pure"), tracker.getDependents("dep_a.pure"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("Customer", "greet")), tracker.getElementNames("dep_a.pure"));
+        Assert.assertTrue(tracker.getDependents("dep_c.pure").isEmpty());
+    }
+
+    @Test
+    public void recordCompiled_findsRejectedDependents()
+    {
+        SourceDependencyTracker tracker = new SourceDependencyTracker();
+        tracker.recordCompiled(session.getPureRuntime(), Arrays.asList("dep_a.pure", "dep_b.pure", "dep_c.pure"));
+        // rejected, but its accepted version references dep_a.pure
+        tracker.recordRejected("dep_b.pure", "function test::dep::use(c: test::dep::Customer[1]): String[1] { test::dep::missing($c) }");
+        // rejected, and mentions an element of dep_c.pure
+        tracker.recordRejected("dep_d.pure", "Class test::dep::D { o : test::dep::Other[1]; }");
+
+        Assert.assertEquals(Collections.singleton("dep_d.pure"), tracker.recordCompiled(session.getPureRuntime(), Collections.singletonList("dep_c.pure")));
+        Assert.assertEquals(Collections.singleton("dep_b.pure"), tracker.recordCompiled(session.getPureRuntime(), Collections.singletonList("dep_a.pure")));
+
+        // accepted documents are no longer rejected
+        tracker.recordCompiled(session.getPureRuntime(), Collections.singletonList("dep_b.pure"));
+        Assert.assertFalse(tracker.isRejected("dep_b.pure"));
+        Assert.assertTrue(tracker.isRejected("dep_d.pure"));
+        tracker.remove("dep_d.pure");
+        Assert.assertFalse(tracker.isRejected("dep_d.pure"));
+    }
+
+    @Test
+    public void identifiers()
+    {
+        Assert.assertEquals(new HashSet<>(Arrays.asList("Class", "test", "dep", "D", "o", "Other", "_x1")),
+                SourceDependencyTracker.identifiers("Class test::dep::D { o : test::dep::Other[1]; _x1 }"));
+    }
+}
@@ -0,0 +1,124 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.finos.legend.pure.lsp.WorkspaceSymbolProvider.IndexEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the trigram symbol index on its own, without a runtime.
+ */
+public class SymbolSearchIndexTest
+{
+    private static IndexEntry entry(String sourceId, String path)
+    {
+        return new IndexEntry(path, "Class", null, sourceId, 1, 1, 1, 10);
+    }
+
+    private static IndexEntry function(String sourceId, String path, String name)
+    {
+        return new IndexEntry(path, "ConcreteFunctionDefinition", name, sourceId, 1, 1, 1, 10);
+    }
+
+    private static List<String> search(SymbolSearchIndex index, String query)
+    {
+        return index.search(query, 100, e -> true).stream()
+                .map(e -> e.qualifiedPath)
+                .collect(Collectors.toList());
+    }
+
+    private static SymbolSearchIndex newIndex()
+    {
+        SymbolSearchIndex index = new SymbolSearchIndex();
+        index.add(entry("a.pure", "model::Customer"));
+        index.add(entry("a.pure", "model::CustomerAddress"));
+        index.add(entry("a.pure", "model::PreferredCustomer"));
+        index.add(entry("b.pure", "other::Account"));
+        index.add(function("c.pure", "meta::pure::compileLegendGrammar_String_1__Any_MANY_", "compileLegendGrammar"));
+        index.add(function("c.pure", "meta::pure::collect_T_MANY__Any_MANY_", "collect"));
+        return index;
+    }
+
+    @Test
+    public void search_ranksExactThenPrefixThenSubstring()
+    {
+        Assert.assertEquals(
+                Arrays.asList("model::Customer", "model::CustomerAddress", "model::PreferredCustomer"),
+                search(newIndex(), "customer"));
+    }
+
+    @Test
+    public void search_camelCase()
+    {
+        SymbolSearchIndex index = newIndex();
+        for (String query : new String[]{"cLG", "clg", "comLegGra", "CLG"})
+        {
+            Assert.assertEquals(query, "meta::pure::compileLegendGrammar_String_1__Any_MANY_", search(index, query).get(0));
+        }
+        Assert.assertEquals("model::CustomerAddress", search(index, "CA").get(0));
+        Assert.assertTrue(SymbolSearchIndex.camelCaseMatches("compileLegendGrammar", "cLeGr"));
+        Assert.assertFalse(SymbolSearchIndex.camelCaseMatches("compileLegendGrammar", "lg"));
+        Assert.assertFalse(SymbolSearchIndex.camelCaseMatches("compileLegendGrammar", "cgl"));
+        Assert.assertEquals("clg", SymbolSearchIndex.initials("compileLegendGrammar"));
+        Assert.assertEquals("pcs", SymbolSearchIndex.initials("parse_csv_String"));
+    }
+
+    @Test
+    public void search_fuzzy()
+    {
+        List<String> results = search(newIndex(), "Custumer");
+        Assert.assertTrue(results.toString(), results.contains("model::Customer"));
+        Assert.assertFalse(results.toString(), results.contains("other::Account"));
+        Assert.assertTrue(search(newIndex(), "zzqqxx").isEmpty());
+    }
+
+    @Test
+    public void search_shortQueries()
+    {
+        SymbolSearchIndex index = newIndex();
+        Assert.assertEquals(Arrays.asList("meta::pure::collect_T_MANY__Any_MANY_", "model::Customer", "model::CustomerAddress", "meta::pure::compileLegendGrammar_String_1__Any_MANY_"), search(index, "c"));
+        Assert.assertEquals(Collections.singletonList("other::Account"), search(index, "ac"));
+    }
+
+    @Test
+    public void search_filterAndLimit()
+    {
+        SymbolSearchIndex index = newIndex();
+        Assert.assertEquals(Collections.singletonList("model::Customer"), index.search("customer", 1, e -> true).stream().map(e -> e.qualifiedPath).collect(Collectors.toList()));
+        Assert.assertEquals(Collections.singletonList("other::Account"), index.search("", 10, e -> e.sourceId.equals("b.pure")).stream().map(e -> e.qualifiedPath).collect(Collectors.toList()));
+        Assert.assertEquals(6, index.search(null, 10, e -> true).size());
+    }
+
+    @Test
+    public void replaceSource_updatesPostings()
+    {
+        SymbolSearchIndex index = newIndex();
+        index.replaceSource("a.pure", Collections.singletonList(entry("a.pure", "model::Client")));
+        Assert.assertEquals(4, index.size());
+        Assert.assertTrue(search(index, "customer").isEmpty());
+        Assert.assertEquals(Collections.singletonList("model::Client"), search(index, "client"));
+
+        index.removeSource("a.pure");
+        index.removeSource("missing.pure");
+        Assert.assertEquals(3, index.size());
+        Assert.assertTrue(search(index, "client").isEmpty());
+        Assert.assertEquals(Collections.singletonList("other::Account"), search(index, "account"));
+    }
+}
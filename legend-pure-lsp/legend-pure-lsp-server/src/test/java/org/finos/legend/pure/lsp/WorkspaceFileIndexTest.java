@@ -0,0 +1,162 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WorkspaceFileIndexTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void build_indexesFilesAndFolders() throws Exception
+    {
+        Path root = this.tempFolder.newFolder("repo").toPath();
+        Files.createDirectories(root.resolve("model/person"));
+        Files.createDirectories(root.resolve("target/classes"));
+        write(root.resolve("model/person/person.pure"));
+        write(root.resolve("model/firm.pure"));
+        write(root.resolve("target/classes/generated.pure"));
+
+        WorkspaceFileIndex index = WorkspaceFileIndex.build(root, d -> "target".equals(d.getFileName().toString()));
+        Assert.assertTrue(index.isFolder(""));
+        Assert.assertTrue(index.isFolder("model/person"));
+        Assert.assertTrue(index.isFile("model/firm.pure"));
+        Assert.assertFalse(index.isFolder("model/firm.pure"));
+        Assert.assertFalse(index.exists("target"));
+        Assert.assertEquals(Arrays.asList("model/firm.pure", "model/person"), index.getChildren("model"));
+        Assert.assertNull(index.getChildren("model/firm.pure"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("model/firm.pure", "model/person/person.pure")), index.getFiles());
+    }
+
+    @Test
+    public void refresh_reflectsCreatedAndDeletedPaths() throws Exception
+    {
+        Path root = this.tempFolder.newFolder("repo").toPath();
+        Files.createDirectories(root.resolve("model"));
+        write(root.resolve("model/firm.pure"));
+        WorkspaceFileIndex index = WorkspaceFileIndex.build(root);
+
+        // a new folder is indexed with everything under it
+        Files.createDirectories(root.resolve("model/trade/deal"));
+        write(root.resolve("model/trade/deal/deal.pure"));
+        Assert.assertTrue(index.refresh(root.resolve("model/trade")));
+        Assert.assertTrue(index.isFile("model/trade/deal/deal.pure"));
+        Assert.assertEquals(Arrays.asList("model/firm.pure", "model/trade"), index.getChildren("model"));
+
+        // a deleted folder is removed with everything under it
+        Files.delete(root.resolve("model/trade/deal/deal.pure"));
+        Files.delete(root.resolve("model/trade/deal"));
+        Files.delete(root.resolve("model/trade"));
+        Assert.assertTrue(index.refresh(root.resolve("model/trade")));
+        Assert.assertFalse(index.exists("model/trade/deal"));
+        Assert.assertFalse(index.isFile("model/trade/deal/deal.pure"));
+        Assert.assertEquals(Arrays.asList("model/firm.pure"), index.getChildren("model"));
+
+        // a file in a new folder adds the folder too
+        Files.createDirectories(root.resolve("other"));
+        write(root.resolve("other/other.pure"));
+        Assert.assertTrue(index.refresh(root.resolve("other/other.pure")));
+        Assert.assertTrue(index.isFolder("other"));
+        Assert.assertEquals(Arrays.asList("model", "other"), index.getChildren(""));
+
+        Assert.assertFalse(index.refresh(this.tempFolder.getRoot().toPath().resolve("elsewhere.pure")));
+    }
+
+    @Test
+    public void refresh_ignoresPathsInSkippedDirectories() throws Exception
+    {
+        Path root = this.tempFolder.newFolder("repo").toPath();
+        Files.createDirectories(root.resolve("model"));
+        write(root.resolve("model/firm.pure"));
+        WorkspaceFileIndex index = WorkspaceFileIndex.build(root, WorkspaceFileIndex.HIDDEN_AND_BUILD_DIRECTORIES);
+
+        Files.createDirectories(root.resolve("model/target/classes"));
+        write(root.resolve("model/target/classes/generated.pure"));
+        Files.createDirectories(root.resolve(".git/refs"));
+        write(root.resolve(".git/refs/head.pure"));
+        Assert.assertTrue(index.refresh(root.resolve("model/target/classes/generated.pure")));
+        Assert.assertTrue(index.refresh(root.resolve(".git/refs/head.pure")));
+        Assert.assertTrue(index.refresh(root.resolve(".git/refs")));
+        Assert.assertFalse(index.exists("model/target"));
+        Assert.assertFalse(index.isFile("model/target/classes/generated.pure"));
+        Assert.assertFalse(index.exists(".git"));
+        Assert.assertFalse(index.exists(".git/refs/head.pure"));
+        Assert.assertEquals(Arrays.asList("model/firm.pure"), index.getChildren("model"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("model/firm.pure")), index.getFiles());
+    }
+
+    @Test
+    public void lookups_fallBackToDiskForUnreportedChanges() throws Exception
+    {
+        Path root = this.tempFolder.newFolder("repo").toPath();
+        Files.createDirectories(root.resolve("model"));
+        write(root.resolve("model/firm.pure"));
+        WorkspaceFileIndex index = WorkspaceFileIndex.build(root);
+
+        // a folder created without being reported is indexed with all its files when one of them is looked up
+        Files.createDirectories(root.resolve("model/trade"));
+        write(root.resolve("model/trade/deal.pure"));
+        write(root.resolve("model/trade/trade.pure"));
+        Assert.assertTrue(index.isFile("model/trade/deal.pure"));
+        Assert.assertEquals(Arrays.asList("model/trade/deal.pure", "model/trade/trade.pure"), index.getChildren("model/trade"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("model/firm.pure", "model/trade/deal.pure", "model/trade/trade.pure")), index.getFiles());
+        Assert.assertFalse(index.exists("model/missing.pure"));
+
+        // a folder deleted without being reported is dropped when one of its files is found missing
+        Files.delete(root.resolve("model/trade/deal.pure"));
+        Files.delete(root.resolve("model/trade/trade.pure"));
+        Files.delete(root.resolve("model/trade"));
+        index.recheck("model/trade/deal.pure");
+        Assert.assertFalse(index.exists("model/trade"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("model/firm.pure")), index.getFiles());
+        Assert.assertEquals(Arrays.asList("model/firm.pure"), index.getChildren("model"));
+
+        // a file which is still there is left alone
+        index.recheck("model/firm.pure");
+        Assert.assertTrue(index.isFile("model/firm.pure"));
+    }
+
+    @Test
+    public void build_doesNotFollowDirectoryLinks() throws Exception
+    {
+        Path root = this.tempFolder.newFolder("repo").toPath();
+        Files.createDirectories(root.resolve("model"));
+        write(root.resolve("model/firm.pure"));
+        Files.createSymbolicLink(root.resolve("model/loop"), root);
+        Files.createSymbolicLink(root.resolve("model/link.pure"), root.resolve("model/firm.pure"));
+
+        WorkspaceFileIndex index = WorkspaceFileIndex.build(root);
+        Assert.assertFalse(index.exists("model/loop"));
+        Assert.assertTrue(index.isFile("model/link.pure"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("model/firm.pure", "model/link.pure")), index.getFiles());
+
+        Assert.assertTrue(index.refresh(root.resolve("model/loop")));
+        Assert.assertFalse(index.exists("model/loop"));
+    }
+
+    private static void write(Path file) throws Exception
+    {
+        Files.write(file, "Class test::Example {}".getBytes());
+    }
+}
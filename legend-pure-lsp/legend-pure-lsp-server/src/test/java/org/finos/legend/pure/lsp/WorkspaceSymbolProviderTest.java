@@ -14,6 +14,7 @@
 
 package org.finos.legend.pure.lsp;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.eclipse.lsp4j.SymbolInformation;
@@ -204,6 +205,75 @@ public class WorkspaceSymbolProviderTest
                 provider.size() > 100);
     }
 
+    @Test
+    public void search_camelCase_findsFunction()
+    {
+        LegendPureSession.CompileResult r = session.modifyAndCompile(
+                "ws_sym_camel.pure",
+                "function test::ws::sym::compileLegendGrammar(): String[1]\n{\n  'x'\n}\n"
+        );
+        Assert.assertTrue(r.isSuccess());
+        uriMapper.register("file:///test/ws_sym_camel.pure", "ws_sym_camel.pure");
+        WorkspaceSymbolProvider camelProvider = new WorkspaceSymbolProvider();
+        camelProvider.buildIndex(session.getPureRuntime());
+
+        for (String query : new String[]{"cLG", "clg", "comLegGra", "compileLegend"})
+        {
+            List<String> names = camelProvider.search(uriMapper, query, 10).stream()
+                    .map(SymbolInformation::getName)
+                    .collect(Collectors.toList());
+            Assert.assertTrue(query + " should find compileLegendGrammar: " + names, names.contains("compileLegendGrammar"));
+        }
+    }
+
+    @Test
+    public void search_typo_findsFuzzyMatch()
+    {
+        List<String> names = provider.search(uriMapper, "Custumer", 100).stream()
+                .map(SymbolInformation::getName)
+                .collect(Collectors.toList());
+        Assert.assertTrue("Fuzzy search should find Customer: " + names, names.contains("Customer"));
+    }
+
+    @Test
+    public void search_ranksExactMatchesFirst()
+    {
+        List<SymbolInformation> results = provider.search(uriMapper, "Color", 100);
+        Assert.assertFalse(results.isEmpty());
+        Assert.assertEquals("Color", results.get(0).getName());
+    }
+
+    @Test
+    public void updateIndex_replacesEntriesOfModifiedSources()
+    {
+        uriMapper.register("file:///test/ws_sym_update.pure", "ws_sym_update.pure");
+        WorkspaceSymbolProvider updated = new WorkspaceSymbolProvider();
+        updated.buildIndex(session.getPureRuntime());
+        int initialSize = updated.size();
+
+        Assert.assertTrue(session.modifyAndCompile("ws_sym_update.pure", "Class test::ws::sym::update::Before {}\n").isSuccess());
+        updated.updateIndex(session.getPureRuntime(), Collections.singletonList("ws_sym_update.pure"));
+        Assert.assertEquals(initialSize + 1, updated.size());
+        Assert.assertEquals(1, updated.search(uriMapper, "update::Before", 10).size());
+
+        Assert.assertTrue(session.modifyAndCompile("ws_sym_update.pure", "Class test::ws::sym::update::After {}\nEnum test::ws::sym::update::AfterKind { A }\n").isSuccess());
+        updated.updateIndex(session.getPureRuntime(), Collections.singletonList("ws_sym_update.pure"));
+        Assert.assertEquals(initialSize + 2, updated.size());
+        Assert.assertTrue(updated.search(uriMapper, "update::Before", 10).isEmpty());
+        Assert.assertEquals(2, updated.search(uriMapper, "update::After", 10).size());
+
+        // the incremental update matches a full rebuild
+        WorkspaceSymbolProvider rebuilt = new WorkspaceSymbolProvider();
+        rebuilt.buildIndex(session.getPureRuntime());
+        Assert.assertEquals(rebuilt.size(), updated.size());
+
+        Assert.assertTrue(session.getMutationService().applyBulkChangesAndCompile(Collections.singletonList(
+                new LegendPureSession.FileChange("ws_sym_update.pure", null, LegendPureSession.FileChangeType.DELETE))).isSuccess());
+        updated.updateIndex(session.getPureRuntime(), Collections.singletonList("ws_sym_update.pure"));
+        Assert.assertEquals(initialSize, updated.size());
+        Assert.assertTrue(updated.search(uriMapper, "update::After", 10).isEmpty());
+    }
+
     @Test
     public void toSymbolKind_mapsCorrectly()
     {
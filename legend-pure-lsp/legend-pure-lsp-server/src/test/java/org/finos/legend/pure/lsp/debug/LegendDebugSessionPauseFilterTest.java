@@ -0,0 +1,168 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.lsp.debug;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LegendDebugSessionPauseFilterTest
+{
+    private static final String[] SOURCE_IDS = {"a.pure", "b.pure"};
+    private static final int MAX_LINE = 4;
+    private static final int MAX_DEPTH = 6;
+
+    // breakpoints on a.pure lines 2 and 3
+    private static final LegendDebugFunctionExecution.PauseFilter BREAKPOINTS =
+            (sourceId, line, stackDepth) -> "a.pure".equals(sourceId) && (line == 2 || line == 3);
+    private static final LegendDebugFunctionExecution.PauseFilter NO_BREAKPOINTS = (sourceId, line, stackDepth) -> false;
+
+    @Test
+    public void filterAcceptsEveryPauseWhenContinuingWithBreakpoints()
+    {
+        assertFilterAcceptsEveryPause(LegendDebugSession.RunMode.CONTINUE, BREAKPOINTS);
+        LegendDebugFunctionExecution.PauseFilter filter = LegendDebugSession.pauseFilter(LegendDebugSession.RunMode.CONTINUE, location("a.pure", 1, 1, BREAKPOINTS), BREAKPOINTS);
+        Assert.assertTrue(filter.mayPause("a.pure", 2, 5));
+        Assert.assertFalse(filter.mayPause("a.pure", 1, 1));
+        Assert.assertFalse(filter.mayPause("b.pure", 2, 1));
+    }
+
+    @Test
+    public void filterAcceptsEveryPauseWhenContinuingWithoutBreakpoints()
+    {
+        assertFilterAcceptsEveryPause(LegendDebugSession.RunMode.CONTINUE, NO_BREAKPOINTS);
+        LegendDebugFunctionExecution.PauseFilter filter = LegendDebugSession.pauseFilter(LegendDebugSession.RunMode.CONTINUE, null, NO_BREAKPOINTS);
+        for (String sourceId : SOURCE_IDS)
+        {
+            for (int line = 1; line <= MAX_LINE; line++)
+            {
+                for (int depth = 0; depth <= MAX_DEPTH; depth++)
+                {
+                    Assert.assertFalse(filter.mayPause(sourceId, line, depth));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void filterAcceptsEveryPauseWhenSteppingIn()
+    {
+        assertFilterAcceptsEveryPause(LegendDebugSession.RunMode.STEP_IN, BREAKPOINTS);
+        assertFilterAcceptsEveryPause(LegendDebugSession.RunMode.STEP_IN, NO_BREAKPOINTS);
+    }
+
+    @Test
+    public void filterAcceptsEveryPauseWhenSteppingOver()
+    {
+        assertFilterAcceptsEveryPause(LegendDebugSession.RunMode.STEP_OVER, BREAKPOINTS);
+        assertFilterAcceptsEveryPause(LegendDebugSession.RunMode.STEP_OVER, NO_BREAKPOINTS);
+
+        // deeper frames are skipped, the start frame and its callers are not
+        LegendDebugFunctionExecution.PauseFilter filter = LegendDebugSession.pauseFilter(LegendDebugSession.RunMode.STEP_OVER, location("b.pure", 1, 3, NO_BREAKPOINTS), NO_BREAKPOINTS);
+        Assert.assertFalse(filter.mayPause("b.pure", 2, 4));
+        Assert.assertTrue(filter.mayPause("b.pure", 2, 3));
+        Assert.assertTrue(filter.mayPause("a.pure", 2, 2));
+    }
+
+    @Test
+    public void filterAcceptsEveryPauseWhenSteppingOut()
+    {
+        assertFilterAcceptsEveryPause(LegendDebugSession.RunMode.STEP_OUT, BREAKPOINTS);
+        assertFilterAcceptsEveryPause(LegendDebugSession.RunMode.STEP_OUT, NO_BREAKPOINTS);
+
+        // only callers of the start frame are handed over
+        LegendDebugFunctionExecution.PauseFilter filter = LegendDebugSession.pauseFilter(LegendDebugSession.RunMode.STEP_OUT, location("b.pure", 1, 3, NO_BREAKPOINTS), NO_BREAKPOINTS);
+        Assert.assertFalse(filter.mayPause("b.pure", 2, 4));
+        Assert.assertFalse(filter.mayPause("b.pure", 2, 3));
+        Assert.assertTrue(filter.mayPause("b.pure", 2, 2));
+    }
+
+    @Test
+    public void filterAcceptsEveryPauseThroughRecursion()
+    {
+        // the same source line at every depth, as a recursive function pauses
+        for (LegendDebugSession.RunMode mode : LegendDebugSession.RunMode.values())
+        {
+            for (int startDepth = 1; startDepth <= MAX_DEPTH; startDepth++)
+            {
+                LegendDebugSession.PauseLocation start = location("a.pure", 2, startDepth, BREAKPOINTS);
+                LegendDebugSession.RunMode effectiveMode = LegendDebugSession.effectiveRunMode(mode, start);
+                LegendDebugFunctionExecution.PauseFilter filter = LegendDebugSession.pauseFilter(effectiveMode, start, BREAKPOINTS);
+                for (int depth = 0; depth <= MAX_DEPTH; depth++)
+                {
+                    LegendDebugSession.PauseLocation pause = location("a.pure", 2, depth, BREAKPOINTS);
+                    if (LegendDebugSession.pauseDecision(effectiveMode, start, pause).pause)
+                    {
+                        Assert.assertTrue(mode + " from depth " + startDepth + " to depth " + depth, filter.mayPause("a.pure", 2, depth));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertFilterAcceptsEveryPause(LegendDebugSession.RunMode mode, LegendDebugFunctionExecution.PauseFilter breakpoints)
+    {
+        List<LegendDebugSession.PauseLocation> starts = new ArrayList<>(allLocations(breakpoints));
+        starts.add(null);
+        int pauses = 0;
+        for (LegendDebugSession.PauseLocation start : starts)
+        {
+            LegendDebugSession.RunMode effectiveMode = LegendDebugSession.effectiveRunMode(mode, start);
+            LegendDebugFunctionExecution.PauseFilter filter = LegendDebugSession.pauseFilter(effectiveMode, start, breakpoints);
+            for (LegendDebugSession.PauseLocation pause : allLocations(breakpoints))
+            {
+                if (LegendDebugSession.pauseDecision(effectiveMode, start, pause).pause)
+                {
+                    pauses++;
+                    DebugExecutionLocation location = pause.location;
+                    Assert.assertTrue(mode + " from " + describe(start) + " rejected " + describe(pause),
+                            filter.mayPause(location.getSourceId(), location.getLine(), location.getStackDepth()));
+                }
+            }
+        }
+        if (breakpoints != NO_BREAKPOINTS || mode != LegendDebugSession.RunMode.CONTINUE)
+        {
+            Assert.assertTrue(mode + " never paused", pauses > 0);
+        }
+    }
+
+    private static List<LegendDebugSession.PauseLocation> allLocations(LegendDebugFunctionExecution.PauseFilter breakpoints)
+    {
+        List<LegendDebugSession.PauseLocation> result = new ArrayList<>();
+        for (String sourceId : SOURCE_IDS)
+        {
+            for (int line = 1; line <= MAX_LINE; line++)
+            {
+                for (int depth = 0; depth <= MAX_DEPTH; depth++)
+                {
+                    result.add(location(sourceId, line, depth, breakpoints));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static LegendDebugSession.PauseLocation location(String sourceId, int line, int depth, LegendDebugFunctionExecution.PauseFilter breakpoints)
+    {
+        DebugExecutionLocation location = new DebugExecutionLocation(sourceId, "file:///" + sourceId, line, 3, line, 9, "f", depth, 0);
+        return new LegendDebugSession.PauseLocation(location, breakpoints.mayPause(sourceId, line, depth));
+    }
+
+    private static String describe(LegendDebugSession.PauseLocation pause)
+    {
+        return (pause == null) ? "nowhere" : (pause.location.getSourceId() + ":" + pause.location.getLine() + " at depth " + pause.location.getStackDepth());
+    }
+}
@@ -18,8 +18,10 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.finos.legend.pure.lsp.LegendPureSession;
 import org.finos.legend.pure.lsp.RepositoryScanner;
 import org.finos.legend.pure.lsp.UriMapper;
@@ -610,6 +612,125 @@ public class LegendDebugSessionTest
         assertBreakpointLine(session, sourceId, uri, 3, 4);
     }
 
+    @Test(timeout = 60_000)
+    public void continueWithoutBreakpointsRunsToCompletion()
+    {
+        LegendPureSession session = newInitializedSession();
+        String sourceId = "debug_continue_no_breakpoints_go.pure";
+        String uri = "file:///workspace/debug_continue_no_breakpoints_go.pure";
+        assertCompiled(session.modifyAndCompile(sourceId, recursionCode()));
+
+        UriMapper uriMapper = new UriMapper();
+        uriMapper.register(uri, sourceId);
+        LegendDebugSession debug = LegendDebugSession.create(
+                session,
+                null,
+                uriMapper,
+                Collections.emptyMap(),
+                "go():Any[*]",
+                Collections.emptyList());
+
+        LegendDebug.Response completed = debug.start();
+        Assert.assertTrue(completed.getMessage(), completed.isSuccess());
+        Assert.assertEquals("completed", completed.getState());
+        Assert.assertTrue(completed.getOutput(), completed.getOutput().contains("3"));
+    }
+
+    @Test(timeout = 60_000)
+    public void continueStopsAtBreakpointInEveryRecursionLevel()
+    {
+        LegendPureSession session = newInitializedSession();
+        String sourceId = "debug_continue_recursion_go.pure";
+        String uri = "file:///workspace/debug_continue_recursion_go.pure";
+        String code = recursionCode();
+        assertCompiled(session.modifyAndCompile(sourceId, code));
+
+        LegendDebugSession debug = debugAtBreakpoint(session, sourceId, uri, code, "  $n;");
+
+        int previousDepth = -1;
+        LegendDebug.Response paused = debug.start();
+        for (int level = 3; level >= 0; level--)
+        {
+            Assert.assertEquals("paused", paused.getState());
+            Assert.assertEquals("breakpoint", paused.getReason());
+            Assert.assertEquals(3, paused.getStackFrames().get(0).getLine());
+            Assert.assertEquals(String.valueOf(level), debug.evaluate("$n").getResult());
+            int depth = paused.getStackFrames().size();
+            Assert.assertTrue("recursion level " + level + " should be deeper than " + previousDepth + ": " + depth, depth > previousDepth);
+            previousDepth = depth;
+            paused = debug.continueExecution();
+        }
+        Assert.assertEquals("completed", paused.getState());
+    }
+
+    @Test(timeout = 60_000)
+    public void stepOverAndStepOutKeepToTheRecursionLevel()
+    {
+        LegendPureSession session = newInitializedSession();
+        String sourceId = "debug_step_recursion_go.pure";
+        String uri = "file:///workspace/debug_step_recursion_go.pure";
+        String code = recursionCode();
+        assertCompiled(session.modifyAndCompile(sourceId, code));
+
+        LegendDebugSession debug = debugAtBreakpoint(session, sourceId, uri, code, "  $n;");
+
+        LegendDebug.Response paused = debug.start();
+        paused = debug.continueExecution();
+        Assert.assertEquals("2", debug.evaluate("$n").getResult());
+        int depth = paused.getStackFrames().size();
+
+        // stepping over the recursive call does not stop in the deeper levels
+        LegendDebug.Response steppedOver = debug.stepOver();
+        Assert.assertEquals("step", steppedOver.getReason());
+        Assert.assertEquals(4, steppedOver.getStackFrames().get(0).getLine());
+        Assert.assertTrue(steppedOver.getStackFrames().size() <= depth);
+        Assert.assertEquals("2", debug.evaluate("$n").getResult());
+
+        // stepping out returns to the calling level, not the outermost one
+        LegendDebug.Response steppedOut = debug.stepOut();
+        Assert.assertEquals("step", steppedOut.getReason());
+        Assert.assertTrue(steppedOut.getStackFrames().size() < depth);
+        Assert.assertEquals("3", debug.evaluate("$n").getResult());
+
+        debug.stop();
+    }
+
+    @Test(timeout = 60_000)
+    public void framesAtBreakpointMatchFramesReachedByStepping()
+    {
+        LegendPureSession session = newInitializedSession();
+        String sourceId = "debug_frames_recursion_go.pure";
+        String uri = "file:///workspace/debug_frames_recursion_go.pure";
+        String code = recursionCode();
+        assertCompiled(session.modifyAndCompile(sourceId, code));
+
+        // every point handed over when stepping in, up to the innermost recursion level
+        LegendDebugSession stepping = debugAtBreakpoint(session, sourceId, uri, code, "  let total = countDown(3);");
+        LegendDebug.Response stepped = stepping.start();
+        while ("paused".equals(stepped.getState()) && !"0".equals(stepping.evaluate("$n").getResult()))
+        {
+            stepped = stepping.stepIn();
+        }
+        Assert.assertEquals("paused", stepped.getState());
+
+        // the same point reached by continuing, where only the breakpoint is handed over
+        LegendDebugSession continuing = debugAtBreakpoint(session, sourceId, uri, code, "  $n;");
+        LegendDebug.Response paused = continuing.start();
+        while ("paused".equals(paused.getState()) && !"0".equals(continuing.evaluate("$n").getResult()))
+        {
+            paused = continuing.continueExecution();
+        }
+        Assert.assertEquals("paused", paused.getState());
+
+        Assert.assertEquals(describeFrames(stepped.getStackFrames()), describeFrames(paused.getStackFrames()));
+        Assert.assertEquals(
+                Arrays.asList(3, 4, 4, 4, 4, 4, 4, 10, 8),
+                paused.getStackFrames().stream().map(LegendDebug.StackFrame::getLine).collect(Collectors.toList()));
+
+        stepping.stop();
+        continuing.stop();
+    }
+
     private static String steppingCode()
     {
         return "function helper():Any[*]\n" +
@@ -625,6 +746,22 @@ public class LegendDebugSessionTest
                 "}\n";
     }
 
+    private static String recursionCode()
+    {
+        return "function countDown(n:Integer[1]):Integer[1]\n" +
+                "{\n" +
+                "  $n;\n" +
+                "  let rest = if($n == 0, |0, |countDown($n - 1) + 1);\n" +
+                "  $rest;\n" +
+                "}\n" +
+                "\n" +
+                "function go():Any[*]\n" +
+                "{\n" +
+                "  let total = countDown(3);\n" +
+                "  print($total->toString(), 1);\n" +
+                "}\n";
+    }
+
     private static String debugLocalsCode()
     {
         return "###Pure\n" +
@@ -673,6 +810,13 @@ public class LegendDebugSessionTest
                 "Mapping test::debug::DebugMapping ()\n";
     }
 
+    private static List<String> describeFrames(List<LegendDebug.StackFrame> frames)
+    {
+        return frames.stream()
+                .map(frame -> frame.getName() + ":" + frame.getLine())
+                .collect(Collectors.toList());
+    }
+
     private static LegendDebug.Variable variable(List<LegendDebug.Variable> variables, String name)
     {
         LegendDebug.Variable variable = variableOrNull(variables, name);
@@ -230,9 +230,7 @@ async function startLegendClient(context: ExtensionContext): Promise<void> {
             { scheme: 'file', language: 'pure' },
             { scheme: 'pure', language: 'pure' },
         ],
-        synchronize: {
-            fileEvents: workspace.createFileSystemWatcher('**/*.pure'),
-        },
+        // file change events are registered by the server, which watches every file of the workspace
     };
 
     const nextClient = new LanguageClient(
@@ -110,6 +110,13 @@ public class PureCompilerMojo extends AbstractMojo
     @Parameter(defaultValue = "false", property = "pure.compiler.skip")
     private boolean skip;
 
+    /**
+     * <p>Number of threads to use for serializing compiled elements. Values greater than 1 serialize elements in
+     * parallel; the output is identical to sequential serialization.</p>
+     */
+    @Parameter(defaultValue = "1", property = "pure.compiler.serializationThreads")
+    private int serializationThreads;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException
     {
@@ -175,7 +182,7 @@ public class PureCompilerMojo extends AbstractMojo
 
         try
         {
-            PureCompilerBinaryGenerator.serializeModules(resolvedOutputDir.toPath(), classLoader, resolvedRepos, this.excludedRepositories, serializeReposIndividually);
+            PureCompilerBinaryGenerator.serializeModules(resolvedOutputDir.toPath(), classLoader, resolvedRepos, this.excludedRepositories, serializeReposIndividually, this.serializationThreads);
         }
         catch (PureCompilationException | PureParserException e)
         {
@@ -19,6 +19,7 @@ import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.impl.list.mutable.FastList;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.runtime.java.extension.store.relational.compiled.natives.ResultSetValueHandlers;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ResultSetColumnBatch;
 
 import java.sql.SQLException;
 import java.util.Calendar;
@@ -36,4 +37,13 @@ public class RelationalNativeImplementation
         }
         return row;
     }
+
+    /**
+     * Get the values of a row in a column batch. The values are copied out of the batch, so the row stays valid when
+     * the batch is next filled.
+     */
+    public static MutableList<Object> processRow(ResultSetColumnBatch batch, int row, CoreInstance nullSqlInstance)
+    {
+        return batch.copyRow(row, nullSqlInstance);
+    }
 }
@@ -25,6 +25,7 @@ import org.finos.legend.pure.runtime.java.compiled.generation.processors.natives
 import org.finos.legend.pure.runtime.java.extension.store.relational.compiled.RelationalNativeImplementation;
 import org.finos.legend.pure.runtime.java.extension.store.relational.compiled.natives.ResultSetValueHandlers.ResultSetValueHandler;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ConnectionWithDataSourceInfo;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ResultSetColumnBatch;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.SQLExceptionHandler;
 import org.finos.legend.pure.runtime.java.shared.listeners.ExecutionEndListener;
 import org.finos.legend.pure.runtime.java.shared.listeners.ExecutionEndListenerState;
@@ -47,6 +48,10 @@ class CacheNextReadOnceForwardOnlyResultSet extends AbstractCacheNextReadOnceFor
     private final CoreInstance sqlNull;
     private final GregorianCalendar calendar;
     private final ListIterable<ResultSetValueHandler> handlers;
+    private final boolean batched;
+    private ResultSetColumnBatch batch;
+    private int batchRow = 0;
+    private PrefetchingResultSetReader prefetcher;
 
     private static final int CACHE_MAX_SIZE = 1000;
 
@@ -68,6 +73,20 @@ class CacheNextReadOnceForwardOnlyResultSet extends AbstractCacheNextReadOnceFor
         this.sqlNull = sqlNull;
         this.handlers = handlers;
         this.calendar = new GregorianCalendar(TimeZone.getTimeZone(tz));
+        int batchSize = ResultSetRowIterableProvider.getBatchSize(-1);
+        this.batched = batchSize > 1;
+        if (this.batched)
+        {
+            int prefetchBatches = RelationalExecutionProperties.getPrefetchBatches();
+            if (prefetchBatches > 0)
+            {
+                this.prefetcher = new PrefetchingResultSetReader(resultSet, statement, () -> ResultSetValueHandlers.newColumnBatch(handlers, this.calendar, batchSize), prefetchBatches);
+            }
+            else
+            {
+                this.batch = ResultSetValueHandlers.newColumnBatch(handlers, this.calendar, batchSize);
+            }
+        }
         this.executionListeners = executionSupport.getExecutionListeners();
         this.dataSourceInfo = dataSourceInfo;
         this.executionActivityListener = executionSupport.getExecutionActivityListener();
@@ -90,9 +109,9 @@ class CacheNextReadOnceForwardOnlyResultSet extends AbstractCacheNextReadOnceFor
                 System.out.println("Processing Row:" + row);
             }*/
 
-            if (this.resultSet.next())
+            RichIterable<Object> values = this.batched ? readNextRowFromBatch() : readNextRow();
+            if (values != null)
             {
-                RichIterable<Object> values = RelationalNativeImplementation.processRow(this.resultSet, this.handlers, this.sqlNull, this.calendar);
                 this.next = this.processRowFunction.apply(values);
 
                 if (this.currentIndex < CACHE_MAX_SIZE)
@@ -102,7 +121,6 @@ class CacheNextReadOnceForwardOnlyResultSet extends AbstractCacheNextReadOnceFor
             }
             else
             {
-                this.closeAndCleanUp();
                 //Deliberately set this to null
                 this.next = null;
             }
@@ -135,6 +153,55 @@ class CacheNextReadOnceForwardOnlyResultSet extends AbstractCacheNextReadOnceFor
         }
     }
 
+    private RichIterable<Object> readNextRow() throws SQLException
+    {
+        if (this.resultSet.next())
+        {
+            return RelationalNativeImplementation.processRow(this.resultSet, this.handlers, this.sqlNull, this.calendar);
+        }
+        this.closeAndCleanUp();
+        return null;
+    }
+
+    private RichIterable<Object> readNextRowFromBatch() throws SQLException
+    {
+        if ((this.batch == null) || (this.batchRow >= this.batch.size()))
+        {
+            if (!readNextBatch())
+            {
+                return null;
+            }
+        }
+        return RelationalNativeImplementation.processRow(this.batch, this.batchRow++, this.sqlNull);
+    }
+
+    private boolean readNextBatch() throws SQLException
+    {
+        if (this.resultSet == null)
+        {
+            return false;
+        }
+        this.batchRow = 0;
+        if (this.prefetcher != null)
+        {
+            this.batch = this.prefetcher.next(this.batch);
+            if (this.batch == null)
+            {
+                this.closeAndCleanUp();
+                return false;
+            }
+            return true;
+        }
+
+        int read = this.batch.fill(this.resultSet);
+        if (read < this.batch.capacity())
+        {
+            // the result set is exhausted, so release it now rather than on the next read
+            this.closeAndCleanUp();
+        }
+        return read > 0;
+    }
+
     @Override
     protected String streamingExceptionMessage()
     {
@@ -143,6 +210,12 @@ class CacheNextReadOnceForwardOnlyResultSet extends AbstractCacheNextReadOnceFor
 
     private void closeAndCleanUp()
     {
+        if (this.prefetcher != null)
+        {
+            // stop the reading thread before closing the resources it uses
+            this.prefetcher.close();
+            this.prefetcher = null;
+        }
 
         SQLExceptionHandler.closeAndCleanUp(this.resultSet, this.statement, this.connection);
 
@@ -0,0 +1,228 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.compiled.natives;
+
+import org.eclipse.collections.api.block.function.Function0;
+import org.eclipse.collections.api.factory.Stacks;
+import org.finos.legend.pure.m3.exception.PureExecutionException;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ResultSetColumnBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads a result set into column batches on a dedicated thread, ahead of the consumer. At most a fixed number of
+ * batches are read ahead: once they are all filled, the reading thread waits until the consumer hands a batch back.
+ * <p>
+ * The reading thread only calls {@link ResultSet#next()} and the column getters. It never closes, registers or
+ * unregisters JDBC resources: that stays with the consumer thread, which must call {@link #close()} before closing the
+ * result set, statement or connection. SQL exceptions raised while reading are rethrown to the consumer from
+ * {@link #next}, so they can be reported through {@link org.finos.legend.pure.runtime.java.extension.store.relational.shared.SQLExceptionHandler}
+ * as usual.
+ */
+class PrefetchingResultSetReader
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrefetchingResultSetReader.class);
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final long CANCEL_INTERVAL_MILLIS = 1_000L;
+    private static final long DEFAULT_CLOSE_TIMEOUT_MILLIS = 30_000L;
+    private static final Object END = new Object();
+
+    private final ResultSet resultSet;
+    private final Statement statement;
+    private final BlockingQueue<ResultSetColumnBatch> emptyBatches;
+    private final BlockingQueue<Object> filledBatches = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private final long closeTimeoutMillis;
+    private volatile boolean closed = false;
+    private boolean finished = false;
+
+    /**
+     * Start reading the result set in the background.
+     *
+     * @param resultSet       result set to read
+     * @param statement       statement for the result set, which is cancelled if the reader is closed early
+     * @param batchFactory    creates the column batches to read into
+     * @param prefetchBatches maximum number of batches to read ahead of the consumer
+     */
+    PrefetchingResultSetReader(ResultSet resultSet, Statement statement, Function0<? extends ResultSetColumnBatch> batchFactory, int prefetchBatches)
+    {
+        this(resultSet, statement, batchFactory, prefetchBatches, DEFAULT_CLOSE_TIMEOUT_MILLIS);
+    }
+
+    PrefetchingResultSetReader(ResultSet resultSet, Statement statement, Function0<? extends ResultSetColumnBatch> batchFactory, int prefetchBatches, long closeTimeoutMillis)
+    {
+        if (prefetchBatches < 1)
+        {
+            throw new IllegalArgumentException("Invalid number of batches to prefetch: " + prefetchBatches);
+        }
+        this.resultSet = resultSet;
+        this.statement = statement;
+        this.closeTimeoutMillis = closeTimeoutMillis;
+        // one more batch than is read ahead, for the consumer to hold
+        this.emptyBatches = new ArrayBlockingQueue<>(prefetchBatches + 1);
+        for (int i = 0; i <= prefetchBatches; i++)
+        {
+            this.emptyBatches.add(batchFactory.value());
+        }
+        this.thread = new Thread(this::readBatches, "pure-relational-prefetch-" + THREAD_COUNTER.incrementAndGet());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Get the next filled batch, waiting for it to be read if necessary. The previously returned batch should be passed
+     * back in, so that it can be reused; it must not be accessed again afterwards. Returns null when the result set is
+     * exhausted.
+     *
+     * @param consumed previously returned batch, or null
+     * @return next batch, or null
+     */
+    ResultSetColumnBatch next(ResultSetColumnBatch consumed) throws SQLException
+    {
+        if (consumed != null)
+        {
+            this.emptyBatches.add(consumed);
+        }
+        if (this.finished)
+        {
+            return null;
+        }
+
+        Object item;
+        try
+        {
+            item = this.filledBatches.take();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            close();
+            throw new PureExecutionException("Interrupted while waiting for database results", e, Stacks.mutable.empty());
+        }
+
+        if (item instanceof ResultSetColumnBatch)
+        {
+            return (ResultSetColumnBatch) item;
+        }
+
+        this.finished = true;
+        if (item instanceof SQLException)
+        {
+            throw (SQLException) item;
+        }
+        if (item instanceof RuntimeException)
+        {
+            throw (RuntimeException) item;
+        }
+        if (item instanceof Error)
+        {
+            throw (Error) item;
+        }
+        return null;
+    }
+
+    /**
+     * Stop reading. If the reading thread is still running, the statement is cancelled and this waits until the thread
+     * has finished, so that the caller can then safely close the JDBC resources: the reading thread may be inside
+     * {@link ResultSet#next()}, and closing the result set under it is not safe. The statement is cancelled again
+     * periodically while waiting, in case the first cancel arrived before the driver started executing.
+     * <p>
+     * The wait is bounded by the close timeout, and ends early if the calling thread is interrupted (its interrupt
+     * status is kept). If the reading thread has still not finished, it is abandoned with a warning: it is a daemon
+     * thread, and it exits as soon as the driver returns from {@link ResultSet#next()}.
+     */
+    void close()
+    {
+        this.closed = true;
+        this.finished = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.closeTimeoutMillis);
+        boolean interrupted = Thread.interrupted();
+        while (this.thread.isAlive())
+        {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (interrupted || (remainingMillis <= 0))
+            {
+                LOGGER.warn("Abandoning database read thread {}, which did not stop {}", this.thread.getName(), interrupted ? "before the closing thread was interrupted" : ("within " + this.closeTimeoutMillis + "ms of the statement being cancelled"));
+                break;
+            }
+            try
+            {
+                this.statement.cancel();
+            }
+            catch (SQLException ignore)
+            {
+                // the statement may already be complete
+            }
+            this.thread.interrupt();
+            try
+            {
+                this.thread.join(Math.min(CANCEL_INTERVAL_MILLIS, remainingMillis));
+            }
+            catch (InterruptedException e)
+            {
+                interrupted = true;
+            }
+        }
+        this.filledBatches.clear();
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    boolean isReading()
+    {
+        return this.thread.isAlive();
+    }
+
+    private void readBatches()
+    {
+        try
+        {
+            while (!this.closed)
+            {
+                ResultSetColumnBatch batch = this.emptyBatches.take();
+                int read = batch.fill(this.resultSet);
+                if (read > 0)
+                {
+                    this.filledBatches.add(batch);
+                }
+                if (read < batch.capacity())
+                {
+                    break;
+                }
+            }
+            this.filledBatches.add(END);
+        }
+        catch (InterruptedException e)
+        {
+            this.filledBatches.add(END);
+        }
+        catch (SQLException | RuntimeException | Error e)
+        {
+            this.filledBatches.add(this.closed ? END : e);
+        }
+    }
+}
@@ -20,6 +20,9 @@ package org.finos.legend.pure.runtime.java.extension.store.relational.compiled.n
 public class RelationalExecutionProperties
 {
     private static final int DEFAULT_ROW_LIMIT = 1_000_000;
+    // batching is opt-in until every consumer of batched rows has been checked
+    private static final int DEFAULT_BATCH_SIZE = 1;
+    private static final int DEFAULT_PREFETCH_BATCHES = 0;
 
     private static RelationalProperties INSTANCE = new RelationalProperties();
 
@@ -39,6 +42,24 @@ public class RelationalExecutionProperties
         return INSTANCE.shouldThrowIfMaxRowsExceeded;
     }
 
+    /**
+     * Number of rows read from a result set at a time into a column batch. A value of 1 or less disables batching, so
+     * that rows are read one at a time. Batching is disabled by default; set pure.relational.batchSize to enable it.
+     */
+    public static int getBatchSize()
+    {
+        return INSTANCE.batchSize;
+    }
+
+    /**
+     * Number of column batches to read ahead of the consumer on a dedicated thread. A value of 0 disables prefetching,
+     * so that rows are read on the calling thread. Prefetching requires batching to be enabled.
+     */
+    public static int getPrefetchBatches()
+    {
+        return INSTANCE.prefetchBatches;
+    }
+
     public static void reset()
     {
         INSTANCE = new RelationalProperties();
@@ -48,11 +69,15 @@ public class RelationalExecutionProperties
     {
         private final int rowLimit;
         private final boolean shouldThrowIfMaxRowsExceeded;
+        private final int batchSize;
+        private final int prefetchBatches;
 
         private RelationalProperties()
         {
             this.rowLimit = Integer.valueOf(System.getProperty("pure.relational.rowLimit", String.valueOf(DEFAULT_ROW_LIMIT)));
             this.shouldThrowIfMaxRowsExceeded = Boolean.valueOf(System.getProperty("pure.relational.shouldThrowIfMaxRowsExceeded", Boolean.TRUE.toString()));
+            this.batchSize = Integer.valueOf(System.getProperty("pure.relational.batchSize", String.valueOf(DEFAULT_BATCH_SIZE)));
+            this.prefetchBatches = Integer.valueOf(System.getProperty("pure.relational.prefetchBatches", String.valueOf(DEFAULT_PREFETCH_BATCHES)));
         }
     }
 }
@@ -22,6 +22,8 @@ import org.eclipse.collections.api.list.MutableList;
 import org.finos.legend.pure.m3.exception.PureExecutionException;
 import org.finos.legend.pure.m3.statelistener.ExecutionActivityListener;
 import org.finos.legend.pure.m3.tools.MetricsRecorder;
+import org.finos.legend.pure.m3.tools.RelationalMetricsRecorder;
+import org.finos.legend.pure.m3.tools.RelationalMetricsRecorder.StatementKind;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.coreinstance.SourceInformation;
 import org.finos.legend.pure.runtime.java.compiled.execution.CompiledExecutionSupport;
@@ -30,6 +32,7 @@ import org.finos.legend.pure.runtime.java.extension.store.relational.compiled.Re
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ConnectionWithDataSourceInfo;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.IConnectionManagerHandler;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.PureConnectionUtils;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ResultSetColumnBatch;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.SQLExceptionHandler;
 import org.finos.legend.pure.runtime.java.shared.canstreamstate.CanStreamState;
 
@@ -82,12 +85,16 @@ public class ResultSetRowIterableProvider
             connectionManagerHandler.addPotentialDebug(pureConnection, statement);
             connectionManagerHandler.registerStatement(statement, sql, actualFetchSize, queryTimeoutInSeconds);
             MutableList<String> columns = Lists.mutable.empty();
+            RelationalMetricsRecorder.DatabaseMetrics metrics = PureConnectionUtils.getMetrics(pureConnection, dataSourceInfo);
 
             try
             {
                 MetricsRecorder.incrementRelationalExecutionCounters();
+                long executeStartInNanos = System.nanoTime();
                 if (statement.execute(sql))
                 {
+                    long fetchStartInNanos = System.nanoTime();
+                    metrics.recordStatementExecution(StatementKind.QUERY, fetchStartInNanos - executeStartInNanos);
                     ResultSet rs = statement.getResultSet();
                     ResultSetMetaData metaData = rs.getMetaData();
 
@@ -115,15 +122,65 @@ public class ResultSetRowIterableProvider
                         {
                             GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone(tz));
                             boolean showCheckMaxRows = shouldThrowIfMaxRowsExceeded && maxRows > 0;
-                            while (rs.next())
+                            int batchSize = getBatchSize(maxRows);
+                            int prefetchBatches = RelationalExecutionProperties.getPrefetchBatches();
+                            if ((batchSize > 1) && (prefetchBatches > 0))
                             {
-                                rowCount++;
-                                CoreInstance row = processRowFunction.apply(RelationalNativeImplementation.processRow(rs, handlers, sqlNull, calendar));
-                                results.add(row);
+                                PrefetchingResultSetReader reader = new PrefetchingResultSetReader(rs, statement, () -> ResultSetValueHandlers.newColumnBatch(handlers, calendar, batchSize), prefetchBatches);
+                                try
+                                {
+                                    ResultSetColumnBatch batch = null;
+                                    while ((batch = reader.next(batch)) != null)
+                                    {
+                                        for (int i = 0, size = batch.size(); i < size; i++)
+                                        {
+                                            rowCount++;
+                                            CoreInstance row = processRowFunction.apply(RelationalNativeImplementation.processRow(batch, i, sqlNull));
+                                            results.add(row);
+
+                                            if (showCheckMaxRows && rowCount > maxRows)
+                                            {
+                                                throw tooManyRowsException(maxRows);
+                                            }
+                                        }
+                                    }
+                                }
+                                finally
+                                {
+                                    reader.close();
+                                }
+                            }
+                            else if (batchSize > 1)
+                            {
+                                // start at the fetch size and grow towards the batch size, so small results stay small
+                                ResultSetColumnBatch batch = ResultSetValueHandlers.newColumnBatch(handlers, calendar, getInitialBatchSize(actualFetchSize, batchSize), batchSize);
+                                while (batch.fill(rs) > 0)
+                                {
+                                    for (int i = 0, size = batch.size(); i < size; i++)
+                                    {
+                                        rowCount++;
+                                        CoreInstance row = processRowFunction.apply(RelationalNativeImplementation.processRow(batch, i, sqlNull));
+                                        results.add(row);
 
-                                if (showCheckMaxRows && rowCount > maxRows)
+                                        if (showCheckMaxRows && rowCount > maxRows)
+                                        {
+                                            throw tooManyRowsException(maxRows);
+                                        }
+                                    }
+                                }
+                            }
+                            else
+                            {
+                                while (rs.next())
                                 {
-                                    throw new PureExecutionException("Too many rows returned. PURE currently supports results with up to " + maxRows + " rows. Please add a filter or use the take or limit function to limit the rows returned", Stacks.mutable.empty());
+                                    rowCount++;
+                                    CoreInstance row = processRowFunction.apply(RelationalNativeImplementation.processRow(rs, handlers, sqlNull, calendar));
+                                    results.add(row);
+
+                                    if (showCheckMaxRows && rowCount > maxRows)
+                                    {
+                                        throw tooManyRowsException(maxRows);
+                                    }
                                 }
                             }
                         }
@@ -131,6 +188,7 @@ public class ResultSetRowIterableProvider
                         {
                             SQLExceptionHandler.closeAndCleanUp(rs, statement, connection);
                         }
+                        metrics.recordFetch(StatementKind.QUERY, System.nanoTime() - fetchStartInNanos, rowCount);
                         theResults = results;
                     }
 
@@ -138,6 +196,8 @@ public class ResultSetRowIterableProvider
                 }
                 else
                 {
+                    metrics.recordStatementExecution(StatementKind.UPDATE, System.nanoTime() - executeStartInNanos);
+                    metrics.recordRowCount(StatementKind.UPDATE, Math.max(0, statement.getUpdateCount()));
 
                     //There are no results, but we should close the statement and release the connection
                     SQLExceptionHandler.closeAndCleanUp(null, statement, connection);
@@ -197,6 +257,23 @@ public class ResultSetRowIterableProvider
         }
     }
 
+    static int getBatchSize(int maxRows)
+    {
+        int batchSize = RelationalExecutionProperties.getBatchSize();
+        // no point reading past the row that will trigger the max rows check
+        return (maxRows > 0) ? Math.min(batchSize, maxRows + 1) : batchSize;
+    }
+
+    static int getInitialBatchSize(int fetchSize, int batchSize)
+    {
+        // a fetch size of 0 leaves it to the driver, so there is nothing to size the batch by
+        return (fetchSize > 0) ? Math.min(fetchSize, batchSize) : batchSize;
+    }
+
+    private static PureExecutionException tooManyRowsException(int maxRows)
+    {
+        return new PureExecutionException("Too many rows returned. PURE currently supports results with up to " + maxRows + " rows. Please add a filter or use the take or limit function to limit the rows returned", Stacks.mutable.empty());
+    }
 
     public static class ResultSetIterableContainer
     {
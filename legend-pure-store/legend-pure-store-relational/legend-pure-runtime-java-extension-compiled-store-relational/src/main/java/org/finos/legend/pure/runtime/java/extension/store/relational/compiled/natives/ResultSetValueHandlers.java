@@ -25,6 +25,8 @@ import org.finos.legend.pure.m3.tools.BinaryUtils;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.coreinstance.primitive.date.DateFunctions;
 import org.finos.legend.pure.m4.coreinstance.primitive.date.StrictDate;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ResultSetColumnBatch;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ResultSetColumnBatch.Column;
 
 import java.math.BigDecimal;
 import java.sql.Date;
@@ -57,6 +59,12 @@ public final class ResultSetValueHandlers
             String str = rs.getString(i);
             return str == null ? nullSqlInstance : str;
         }
+
+        @Override
+        public Column newColumn(int capacity, Calendar calendar)
+        {
+            return ResultSetColumnBatch.newStringColumn(capacity);
+        }
     };
 
     private static final ResultSetValueHandler BOOLEAN = new ResultSetValueHandler()
@@ -67,6 +75,12 @@ public final class ResultSetValueHandlers
             boolean bool = rs.getBoolean(i);
             return rs.wasNull() ? nullSqlInstance : bool;
         }
+
+        @Override
+        public Column newColumn(int capacity, Calendar calendar)
+        {
+            return ResultSetColumnBatch.newBooleanColumn(capacity);
+        }
     };
 
     private static final ResultSetValueHandler DATE = new ResultSetValueHandler()
@@ -97,6 +111,12 @@ public final class ResultSetValueHandlers
             long val = rs.getLong(i);
             return rs.wasNull() ? nullSqlInstance : val;
         }
+
+        @Override
+        public Column newColumn(int capacity, Calendar calendar)
+        {
+            return ResultSetColumnBatch.newLongColumn(capacity);
+        }
     };
 
     private static final ResultSetValueHandler DOUBLE = new ResultSetValueHandler()
@@ -107,6 +127,12 @@ public final class ResultSetValueHandlers
             double d = rs.getDouble(i);
             return rs.wasNull() ? nullSqlInstance : d;
         }
+
+        @Override
+        public Column newColumn(int capacity, Calendar calendar)
+        {
+            return ResultSetColumnBatch.newDoubleColumn(capacity);
+        }
     };
 
     private static final ResultSetValueHandler DECIMAL = new ResultSetValueHandler()
@@ -117,6 +143,12 @@ public final class ResultSetValueHandlers
             BigDecimal bd = rs.getBigDecimal(i);
             return bd == null ? nullSqlInstance : bd.doubleValue();
         }
+
+        @Override
+        public Column newColumn(int capacity, Calendar calendar)
+        {
+            return ResultSetColumnBatch.newDecimalAsDoubleColumn(capacity);
+        }
     };
 
     private static final ResultSetValueHandler BINARY = new ResultSetValueHandler()
@@ -173,6 +205,15 @@ public final class ResultSetValueHandlers
     public interface ResultSetValueHandler
     {
         Object value(ResultSet rs, int i, CoreInstance nullSqlInstance, Calendar calendar) throws SQLException;
+
+        /**
+         * Create a column buffer for reading values of this type in batches. By default, values are read with
+         * {@link #value} into an object column; handlers for primitive types override this to use a typed buffer.
+         */
+        default Column newColumn(int capacity, Calendar calendar)
+        {
+            return ResultSetColumnBatch.newObjectColumn(capacity, (rs, i) -> value(rs, i, null, calendar));
+        }
     }
 
     public static ListIterable<ResultSetValueHandler> getHandlers(ResultSetMetaData metaData) throws SQLException
@@ -197,4 +238,18 @@ public final class ResultSetValueHandlers
 
         return handlers;
     }
+
+    public static ResultSetColumnBatch newColumnBatch(ListIterable<ResultSetValueHandler> handlers, Calendar calendar, int batchSize)
+    {
+        return new ResultSetColumnBatch(handlers.collect(h -> h.newColumn(batchSize, calendar)));
+    }
+
+    /**
+     * Create a column batch that starts at initialBatchSize rows and grows up to maxBatchSize rows while the result
+     * set keeps filling it.
+     */
+    public static ResultSetColumnBatch newColumnBatch(ListIterable<ResultSetValueHandler> handlers, Calendar calendar, int initialBatchSize, int maxBatchSize)
+    {
+        return new ResultSetColumnBatch(handlers.collect(h -> h.newColumn(initialBatchSize, calendar)), maxBatchSize);
+    }
 }
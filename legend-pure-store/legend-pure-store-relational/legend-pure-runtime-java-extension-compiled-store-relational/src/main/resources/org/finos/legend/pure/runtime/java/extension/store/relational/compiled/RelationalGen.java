@@ -30,6 +30,7 @@ import org.finos.legend.pure.m3.coreinstance.meta.relational.metamodel.relation.
 import org.finos.legend.pure.m3.exception.PureExecutionException;
 import org.finos.legend.pure.m3.execution.ExecutionSupport;
 import org.finos.legend.pure.m3.navigation.ProcessorSupport;
+import org.finos.legend.pure.m3.tools.RelationalMetricsRecorder;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.coreinstance.SourceInformation;
 import org.finos.legend.pure.runtime.java.compiled.execution.CompiledExecutionSupport;
@@ -41,7 +42,7 @@ import org.finos.legend.pure.runtime.java.extension.store.relational.compiled.na
 import org.finos.legend.pure.runtime.java.extension.store.relational.compiled.natives.ResultSetValueHandlers;
 import org.finos.legend.pure.runtime.java.extension.store.relational.compiled.natives.SqlFunction;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ConnectionWithDataSourceInfo;
-import org.finos.legend.pure.runtime.java.extension.store.relational.shared.CsvReader;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.CsvTableLoader;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.IConnectionManagerHandler;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.LoadToDbTableHelper;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.PureConnectionUtils;
@@ -220,7 +221,9 @@ public class RelationalGen
             {
                 connection.setAutoCommit(true);
             }
-            pureResult._connectionAcquisitionTimeInNanoSecond(System.nanoTime() - startRequestConnection);
+            long connectionAcquisitionTimeInNanos = System.nanoTime() - startRequestConnection;
+            pureResult._connectionAcquisitionTimeInNanoSecond(connectionAcquisitionTimeInNanos);
+            PureConnectionUtils.getMetrics(pureConnection, connectionWithDataSourceInfo).recordConnectionAcquisition(connectionAcquisitionTimeInNanos);
 
             SQLNull sqlNull = new Root_meta_relational_metamodel_SQLNull_Impl("SQLNull");
             String tz = pureConnection._timeZone() == null ? "GMT" : pureConnection._timeZone();
@@ -317,8 +320,8 @@ public class RelationalGen
     {
         Integer rowLimit = numberOfRows == null ? null : numberOfRows.intValue();
         ListIterable<String> columnTypes = getColumnTypes(table, ((CompiledExecutionSupport) es).getProcessorSupport());
-        Iterable<ListIterable<?>> values = LoadToDbTableHelper.collectIterable(LazyIterate.drop(CsvReader.readCsv(((CompiledExecutionSupport) es).getCodeStorage(), null, filePath, 500, rowLimit, Stacks.mutable.<org.finos.legend.pure.m4.coreinstance.CoreInstance>empty()), 1), columnTypes, filePath, table._name());
-        bulkInsertInDb(pureConnection, table, values, rowLimit, es);
+        CsvTableLoader loader = new CsvTableLoader(((CompiledExecutionSupport) es).getCodeStorage(), null, filePath, 500, rowLimit, columnTypes, LoadToDbTableHelper.getLoadChunkSize(), Stacks.mutable.<org.finos.legend.pure.m4.coreinstance.CoreInstance>empty());
+        bulkInsertInDb(pureConnection, table, loader, rowLimit, es);
         return Lists.mutable.empty();
     }
 
@@ -351,6 +354,11 @@ public class RelationalGen
     }
 
     private static void bulkInsertInDb(Root_meta_external_store_relational_runtime_DatabaseConnection pureConnection, Table table, Iterable<ListIterable<?>> values, Integer rowLimit, ExecutionSupport es)
+    {
+        bulkInsertInDb(pureConnection, table, LoadToDbTableHelper.newRowLoader(values), rowLimit, es);
+    }
+
+    private static void bulkInsertInDb(Root_meta_external_store_relational_runtime_DatabaseConnection pureConnection, Table table, LoadToDbTableHelper.TableLoader loader, Integer rowLimit, ExecutionSupport es)
     {
         if (!(pureConnection instanceof Root_meta_external_store_relational_runtime_TestDatabaseConnection))
         {
@@ -390,8 +398,10 @@ public class RelationalGen
                 connectionManagerHandler.addPotentialDebug(pureConnection, statement);
                 connectionManagerHandler.registerStatement(statement, sqlString, -1, -1);
 
-                int[] res = LoadToDbTableHelper.insertBatch(values, statement);
+                long start = System.nanoTime();
+                int count = loader.load(connection, statement, schemaName, tableName, columnNames);
                 connection.commit();
+                PureConnectionUtils.getMetrics(pureConnection, connectionWithDataSourceInfo).recordFetch(RelationalMetricsRecorder.StatementKind.BULK_LOAD, System.nanoTime() - start, count);
             }
             finally
             {
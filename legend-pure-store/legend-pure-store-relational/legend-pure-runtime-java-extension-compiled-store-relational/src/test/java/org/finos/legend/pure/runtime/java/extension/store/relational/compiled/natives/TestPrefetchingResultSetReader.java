@@ -0,0 +1,311 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.compiled.natives;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ResultSetColumnBatch;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestPrefetchingResultSetReader
+{
+    private static final int BATCH_SIZE = 4;
+
+    @Test
+    public void testReadsAllRowsInOrder() throws SQLException
+    {
+        for (int prefetch = 1; prefetch <= 3; prefetch++)
+        {
+            for (int rowCount : new int[]{0, 3, 4, 5, 8, 101})
+            {
+                PrefetchingResultSetReader reader = new PrefetchingResultSetReader(newResultSet(rowCount, -1, new AtomicInteger()), newStatement(new AtomicBoolean()), TestPrefetchingResultSetReader::newBatch, prefetch);
+                MutableList<Long> values = Lists.mutable.empty();
+                try
+                {
+                    ResultSetColumnBatch batch = null;
+                    while ((batch = reader.next(batch)) != null)
+                    {
+                        Assert.assertTrue(batch.size() > 0);
+                        for (int i = 0; i < batch.size(); i++)
+                        {
+                            values.add(batch.getLong(0, i));
+                        }
+                    }
+                    Assert.assertNull(reader.next(null));
+                }
+                finally
+                {
+                    reader.close();
+                }
+                MutableList<Long> expected = Lists.mutable.empty();
+                for (long i = 1; i <= rowCount; i++)
+                {
+                    expected.add(i);
+                }
+                Assert.assertEquals("prefetch=" + prefetch + ", rows=" + rowCount, expected, values);
+                Assert.assertFalse(reader.isReading());
+            }
+        }
+    }
+
+    @Test
+    public void testSQLExceptionPropagated() throws SQLException
+    {
+        PrefetchingResultSetReader reader = new PrefetchingResultSetReader(newResultSet(100, 6, new AtomicInteger()), newStatement(new AtomicBoolean()), TestPrefetchingResultSetReader::newBatch, 2);
+        try
+        {
+            ResultSetColumnBatch batch = reader.next(null);
+            Assert.assertNotNull(batch);
+            Assert.assertEquals(BATCH_SIZE, batch.size());
+            ResultSetColumnBatch firstBatch = batch;
+            SQLException e = Assert.assertThrows(SQLException.class, () -> reader.next(firstBatch));
+            Assert.assertEquals("Failed reading row 6", e.getMessage());
+            Assert.assertNull(reader.next(null));
+        }
+        finally
+        {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testBackPressureAndCancellation() throws Exception
+    {
+        AtomicInteger rowsRead = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        int prefetch = 2;
+        PrefetchingResultSetReader reader = new PrefetchingResultSetReader(newResultSet(Integer.MAX_VALUE, -1, rowsRead), newStatement(cancelled), TestPrefetchingResultSetReader::newBatch, prefetch);
+        try
+        {
+            ResultSetColumnBatch batch = reader.next(null);
+            Assert.assertEquals(1L, batch.getLong(0, 0));
+
+            // wait for the reader to fill every batch it has
+            long deadline = System.currentTimeMillis() + 10_000L;
+            while ((rowsRead.get() < (prefetch + 1) * BATCH_SIZE) && (System.currentTimeMillis() < deadline))
+            {
+                Thread.sleep(10);
+            }
+            Thread.sleep(100);
+            Assert.assertEquals((prefetch + 1) * BATCH_SIZE, rowsRead.get());
+            Assert.assertTrue(reader.isReading());
+        }
+        finally
+        {
+            reader.close();
+        }
+        Assert.assertTrue(cancelled.get());
+        Assert.assertFalse(reader.isReading());
+        Assert.assertNull(reader.next(null));
+    }
+
+    @Test
+    public void testCloseWaitsForReadingThread() throws Exception
+    {
+        // next() ignores interrupts, and only returns some time after the statement is cancelled
+        CountDownLatch inNext = new CountDownLatch(1);
+        CountDownLatch cancel = new CountDownLatch(1);
+        ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(TestPrefetchingResultSetReader.class.getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) ->
+        {
+            if ("next".equals(method.getName()))
+            {
+                inNext.countDown();
+                awaitUninterruptibly(cancel);
+                long end = System.nanoTime() + 200_000_000L;
+                while (System.nanoTime() < end)
+                {
+                    Thread.yield();
+                }
+                throw new SQLException("Cancelled");
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+        Statement statement = (Statement) Proxy.newProxyInstance(TestPrefetchingResultSetReader.class.getClassLoader(), new Class<?>[]{Statement.class}, (proxy, method, args) ->
+        {
+            if ("cancel".equals(method.getName()))
+            {
+                cancel.countDown();
+                return null;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+
+        PrefetchingResultSetReader reader = new PrefetchingResultSetReader(resultSet, statement, TestPrefetchingResultSetReader::newBatch, 1);
+        Assert.assertTrue(inNext.await(10, TimeUnit.SECONDS));
+
+        reader.close();
+        Assert.assertFalse(reader.isReading());
+        Assert.assertNull(reader.next(null));
+    }
+
+    @Test
+    public void testCloseAbandonsStuckReadingThread() throws Exception
+    {
+        // next() ignores both interrupts and cancellation until released
+        CountDownLatch inNext = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        PrefetchingResultSetReader reader = new PrefetchingResultSetReader(newStuckResultSet(inNext, release), newStatement(cancelled), TestPrefetchingResultSetReader::newBatch, 1, 200L);
+        try
+        {
+            Assert.assertTrue(inNext.await(10, TimeUnit.SECONDS));
+            long start = System.nanoTime();
+            reader.close();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Assert.assertTrue("close took " + elapsedMillis + "ms", elapsedMillis < 5_000L);
+            Assert.assertTrue(cancelled.get());
+            Assert.assertTrue(reader.isReading());
+            Assert.assertNull(reader.next(null));
+        }
+        finally
+        {
+            release.countDown();
+        }
+        awaitReaderStopped(reader);
+    }
+
+    @Test
+    public void testInterruptedCloseDoesNotWait() throws Exception
+    {
+        CountDownLatch inNext = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        PrefetchingResultSetReader reader = new PrefetchingResultSetReader(newStuckResultSet(inNext, release), newStatement(cancelled), TestPrefetchingResultSetReader::newBatch, 1);
+        try
+        {
+            Assert.assertTrue(inNext.await(10, TimeUnit.SECONDS));
+
+            // an interrupted caller abandons the reading thread at once, and keeps its interrupt status
+            Thread.currentThread().interrupt();
+            long start = System.nanoTime();
+            reader.close();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Assert.assertTrue(Thread.interrupted());
+            Assert.assertTrue("close took " + elapsedMillis + "ms", elapsedMillis < 5_000L);
+            Assert.assertTrue(reader.isReading());
+            Assert.assertNull(reader.next(null));
+        }
+        finally
+        {
+            release.countDown();
+        }
+        awaitReaderStopped(reader);
+    }
+
+    private static void awaitReaderStopped(PrefetchingResultSetReader reader) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (reader.isReading() && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+        }
+        Assert.assertFalse(reader.isReading());
+    }
+
+    private static ResultSet newStuckResultSet(CountDownLatch inNext, CountDownLatch release)
+    {
+        return (ResultSet) Proxy.newProxyInstance(TestPrefetchingResultSetReader.class.getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) ->
+        {
+            if ("next".equals(method.getName()))
+            {
+                inNext.countDown();
+                awaitUninterruptibly(release);
+                throw new SQLException("Cancelled");
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch)
+    {
+        while (true)
+        {
+            try
+            {
+                latch.await();
+                return;
+            }
+            catch (InterruptedException ignore)
+            {
+                // keep waiting
+            }
+        }
+    }
+
+    private static ResultSetColumnBatch newBatch()
+    {
+        return new ResultSetColumnBatch(Lists.immutable.with(ResultSetColumnBatch.newLongColumn(BATCH_SIZE)));
+    }
+
+    private static ResultSet newResultSet(int rowCount, int failAtRow, AtomicInteger rowsRead)
+    {
+        AtomicInteger row = new AtomicInteger();
+        return (ResultSet) Proxy.newProxyInstance(TestPrefetchingResultSetReader.class.getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) ->
+        {
+            switch (method.getName())
+            {
+                case "next":
+                {
+                    if (row.get() >= rowCount)
+                    {
+                        return false;
+                    }
+                    int current = row.incrementAndGet();
+                    if (current == failAtRow)
+                    {
+                        throw new SQLException("Failed reading row " + current);
+                    }
+                    rowsRead.incrementAndGet();
+                    return true;
+                }
+                case "getLong":
+                {
+                    return (long) row.get();
+                }
+                case "wasNull":
+                {
+                    return false;
+                }
+                default:
+                {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        });
+    }
+
+    private static Statement newStatement(AtomicBoolean cancelled)
+    {
+        return (Statement) Proxy.newProxyInstance(TestPrefetchingResultSetReader.class.getClassLoader(), new Class<?>[]{Statement.class}, (proxy, method, args) ->
+        {
+            if ("cancel".equals(method.getName()))
+            {
+                cancelled.set(true);
+                return null;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
@@ -0,0 +1,238 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.compiled.natives;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.runtime.java.extension.store.relational.compiled.RelationalNativeImplementation;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ResultSetColumnBatch;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+public class TestResultSetColumnBatch
+{
+    private static final String QUERY = "SELECT id, name, score, amount, active, created FROM batch_test ORDER BY id";
+    private static final CoreInstance SQL_NULL = null;
+
+    private static Connection connection;
+
+    @BeforeClass
+    public static void setUpDatabase() throws SQLException
+    {
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        createTable(connection);
+    }
+
+    private static void createTable(Connection connection) throws SQLException
+    {
+        try (Statement statement = connection.createStatement())
+        {
+            statement.execute("CREATE TABLE batch_test (id INT, name VARCHAR(20), score DOUBLE, amount DECIMAL(10, 2), active BOOLEAN, created DATE)");
+            statement.execute("INSERT INTO batch_test VALUES " +
+                    "(1, 'a', 1.5, 10.25, TRUE, DATE '2026-01-01'), " +
+                    "(2, 'b', NULL, 20.50, FALSE, NULL), " +
+                    "(3, 'a', 3.5, NULL, NULL, DATE '2026-01-03'), " +
+                    "(4, NULL, 4.5, 40.00, TRUE, DATE '2026-01-04'), " +
+                    "(5, 'a', 5.5, 50.75, FALSE, DATE '2026-01-05')");
+        }
+    }
+
+    @AfterClass
+    public static void tearDownDatabase() throws SQLException
+    {
+        connection.close();
+    }
+
+    @Test
+    public void testBatchMatchesRowAtATime() throws SQLException
+    {
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("GMT"));
+        MutableList<ListIterable<Object>> expected = readRowAtATime(connection, calendar);
+
+        for (int batchSize : new int[]{1, 2, 5, 1024})
+        {
+            MutableList<ListIterable<Object>> actual = Lists.mutable.empty();
+            MutableList<Integer> batchSizes = Lists.mutable.empty();
+            try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(QUERY))
+            {
+                ResultSetColumnBatch batch = ResultSetValueHandlers.newColumnBatch(ResultSetValueHandlers.getHandlers(rs.getMetaData()), calendar, batchSize);
+                int read;
+                while ((read = batch.fill(rs)) > 0)
+                {
+                    batchSizes.add(read);
+                    for (int i = 0; i < read; i++)
+                    {
+                        actual.add(RelationalNativeImplementation.processRow(batch, i, SQL_NULL).toList());
+                    }
+                }
+                Assert.assertTrue(batch.isEmpty());
+            }
+            Assert.assertEquals("batch size " + batchSize, expected, actual);
+            Assert.assertEquals("batch size " + batchSize, 5, (int) batchSizes.injectInto(0, Integer::sum));
+            Assert.assertTrue("batch size " + batchSize, batchSizes.allSatisfy(n -> n <= batchSize));
+        }
+    }
+
+    @Test
+    public void testRowsOutliveRefill() throws SQLException
+    {
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("GMT"));
+        MutableList<ListIterable<Object>> expected = readRowAtATime(connection, calendar);
+
+        // rows are kept without copying, across refills of the batch
+        MutableList<ListIterable<Object>> actual = Lists.mutable.empty();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(QUERY))
+        {
+            ResultSetColumnBatch batch = ResultSetValueHandlers.newColumnBatch(ResultSetValueHandlers.getHandlers(rs.getMetaData()), calendar, 2);
+            int read;
+            while ((read = batch.fill(rs)) > 0)
+            {
+                for (int i = 0; i < read; i++)
+                {
+                    actual.add(RelationalNativeImplementation.processRow(batch, i, SQL_NULL));
+                }
+            }
+        }
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testBatchingIsOptIn()
+    {
+        Assert.assertEquals(1, RelationalExecutionProperties.getBatchSize());
+    }
+
+    @Test
+    public void testGrowingBatchH2() throws SQLException
+    {
+        assertGrowingBatch(connection);
+    }
+
+    @Test
+    public void testGrowingBatchDuckDB() throws SQLException
+    {
+        try (Connection duckDB = DriverManager.getConnection("jdbc:duckdb:"))
+        {
+            createTable(duckDB);
+            assertGrowingBatch(duckDB);
+        }
+    }
+
+    @Test
+    public void testInitialBatchSize()
+    {
+        Assert.assertEquals(100, ResultSetRowIterableProvider.getInitialBatchSize(100, 1024));
+        Assert.assertEquals(1024, ResultSetRowIterableProvider.getInitialBatchSize(5000, 1024));
+        Assert.assertEquals(1024, ResultSetRowIterableProvider.getInitialBatchSize(0, 1024));
+    }
+
+    private void assertGrowingBatch(Connection connection) throws SQLException
+    {
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("GMT"));
+        MutableList<ListIterable<Object>> expected = readRowAtATime(connection, calendar);
+
+        MutableList<ListIterable<Object>> actual = Lists.mutable.empty();
+        MutableList<Integer> batchSizes = Lists.mutable.empty();
+        MutableList<Integer> capacities = Lists.mutable.empty();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(QUERY))
+        {
+            ResultSetColumnBatch batch = ResultSetValueHandlers.newColumnBatch(ResultSetValueHandlers.getHandlers(rs.getMetaData()), calendar, 1, 4);
+            Assert.assertEquals(4, batch.maxCapacity());
+            int read;
+            while ((read = batch.fill(rs)) > 0)
+            {
+                batchSizes.add(read);
+                capacities.add(batch.capacity());
+                for (int i = 0; i < read; i++)
+                {
+                    actual.add(RelationalNativeImplementation.processRow(batch, i, SQL_NULL).toList());
+                }
+            }
+            // a fill that is not full does not grow the batch
+            Assert.assertEquals(4, batch.capacity());
+        }
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(Lists.mutable.with(1, 2, 2), batchSizes);
+        Assert.assertEquals(Lists.mutable.with(1, 2, 4), capacities);
+    }
+
+    private static MutableList<ListIterable<Object>> readRowAtATime(Connection connection, Calendar calendar) throws SQLException
+    {
+        MutableList<ListIterable<Object>> rows = Lists.mutable.empty();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(QUERY))
+        {
+            ListIterable<ResultSetValueHandlers.ResultSetValueHandler> handlers = ResultSetValueHandlers.getHandlers(rs.getMetaData());
+            while (rs.next())
+            {
+                rows.add(RelationalNativeImplementation.processRow(rs, handlers, SQL_NULL, calendar));
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    public void testTypedColumns() throws SQLException
+    {
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("GMT"));
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(QUERY))
+        {
+            ResultSetColumnBatch batch = ResultSetValueHandlers.newColumnBatch(ResultSetValueHandlers.getHandlers(rs.getMetaData()), calendar, 16);
+            Assert.assertEquals(5, batch.fill(rs));
+            Assert.assertEquals(6, batch.getColumnCount());
+
+            Assert.assertTrue(batch.getColumn(0) instanceof ResultSetColumnBatch.LongColumn);
+            Assert.assertTrue(batch.getColumn(1) instanceof ResultSetColumnBatch.StringColumn);
+            Assert.assertTrue(batch.getColumn(2) instanceof ResultSetColumnBatch.DoubleColumn);
+            Assert.assertTrue(batch.getColumn(3) instanceof ResultSetColumnBatch.DoubleColumn);
+            Assert.assertTrue(batch.getColumn(4) instanceof ResultSetColumnBatch.BooleanColumn);
+            Assert.assertTrue(batch.getColumn(5) instanceof ResultSetColumnBatch.ObjectColumn);
+
+            Assert.assertEquals(3L, batch.getLong(0, 2));
+            Assert.assertEquals(4.5, batch.getDouble(2, 3), 0.0);
+            Assert.assertTrue(batch.isNull(2, 1));
+            Assert.assertEquals(50.75, batch.getDouble(3, 4), 0.0);
+            Assert.assertTrue(batch.isNull(3, 2));
+            Assert.assertFalse(batch.getBoolean(4, 1));
+            Assert.assertTrue(batch.isNull(4, 2));
+            Assert.assertTrue(batch.isNull(5, 1));
+            Assert.assertEquals("marker", batch.getValue(5, 1, "marker"));
+
+            // strings are dictionary encoded
+            ResultSetColumnBatch.StringColumn names = (ResultSetColumnBatch.StringColumn) batch.getColumn(1);
+            Assert.assertEquals(Lists.immutable.with("a", "b"), names.getDictionary());
+            Assert.assertEquals(names.getCode(0), names.getCode(2));
+            Assert.assertEquals(names.getCode(0), names.getCode(4));
+            Assert.assertNotEquals(names.getCode(0), names.getCode(1));
+            Assert.assertTrue(batch.isNull(1, 3));
+            Assert.assertNull(batch.getString(1, 3));
+
+            Assert.assertEquals(0, batch.fill(rs));
+            Assert.assertThrows(IndexOutOfBoundsException.class, () -> batch.getValue(0, 0, null));
+        }
+    }
+}
@@ -32,6 +32,8 @@ import org.finos.legend.pure.m3.navigation.ValueSpecificationBootstrap;
 import org.finos.legend.pure.m3.serialization.runtime.Message;
 import org.finos.legend.pure.m3.tools.BinaryUtils;
 import org.finos.legend.pure.m3.tools.MetricsRecorder;
+import org.finos.legend.pure.m3.tools.RelationalMetricsRecorder;
+import org.finos.legend.pure.m3.tools.RelationalMetricsRecorder.StatementKind;
 import org.finos.legend.pure.m4.ModelRepository;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.coreinstance.primitive.date.DateFunctions;
@@ -159,7 +161,10 @@ public class ExecuteInDb extends NativeFunction
 
                 long startRequestConnection = System.nanoTime();
                 connectionWithDataSourceInfo = connectionManagerHandler.getConnectionWithDataSourceInfo(connectionInformation, processorSupport);
-                Instance.addValueToProperty(pureResult, "connectionAcquisitionTimeInNanoSecond", this.repository.newIntegerCoreInstance(System.nanoTime() - startRequestConnection), processorSupport);
+                long connectionAcquisitionTimeInNanos = System.nanoTime() - startRequestConnection;
+                Instance.addValueToProperty(pureResult, "connectionAcquisitionTimeInNanoSecond", this.repository.newIntegerCoreInstance(connectionAcquisitionTimeInNanos), processorSupport);
+                RelationalMetricsRecorder.DatabaseMetrics metrics = PureConnectionUtils.getMetrics(connectionInformation, connectionWithDataSourceInfo);
+                metrics.recordConnectionAcquisition(connectionAcquisitionTimeInNanos);
 
                 connection = connectionWithDataSourceInfo.getConnection();
                 if (!PureConnectionUtils.isPureConnectionType(connectionInformation, "Hive"))
@@ -185,6 +190,8 @@ public class ExecuteInDb extends NativeFunction
                 long start = System.nanoTime();
                 if (statement.execute(sql))
                 {
+                    long fetchStart = System.nanoTime();
+                    metrics.recordStatementExecution(StatementKind.QUERY, fetchStart - start);
                     String URL = connectionManagerHandler.getPotentialDebug(connectionInformation, connection);
                     if (URL != null)
                     {
@@ -193,10 +200,13 @@ public class ExecuteInDb extends NativeFunction
 
                     ResultSet rs = statement.getResultSet();
 
-                    createPureResultSetFromDatabaseResultSet(pureResult, rs, functionExpression, rowClassifier, tz, repository, start, this.maxRows, processorSupport);
+                    int rowCount = createPureResultSetFromDatabaseResultSet(pureResult, rs, functionExpression, rowClassifier, tz, repository, start, this.maxRows, processorSupport);
+                    metrics.recordFetch(StatementKind.QUERY, System.nanoTime() - fetchStart, rowCount);
                 }
                 else
                 {
+                    metrics.recordStatementExecution(StatementKind.UPDATE, System.nanoTime() - start);
+                    metrics.recordRowCount(StatementKind.UPDATE, Math.max(0, statement.getUpdateCount()));
                     Instance.addValueToProperty(pureResult, "executionTimeInNanoSecond", this.repository.newIntegerCoreInstance(0), processorSupport);
                 }
 
@@ -244,7 +254,12 @@ public class ExecuteInDb extends NativeFunction
         return pureResult;
     }
 
-    public static void createPureResultSetFromDatabaseResultSet(CoreInstance pureResult, ResultSet rs, CoreInstance functionExpression, CoreInstance rowClassifier, String tz, ModelRepository repository,
+    /**
+     * Populate a Pure result set from a database result set.
+     *
+     * @return number of rows read
+     */
+    public static int createPureResultSetFromDatabaseResultSet(CoreInstance pureResult, ResultSet rs, CoreInstance functionExpression, CoreInstance rowClassifier, String tz, ModelRepository repository,
                                                                 long start, int maxRows, ProcessorSupport processorSupport) throws SQLException
     {
         ResultSetMetaData metaData = rs.getMetaData();
@@ -421,14 +436,21 @@ public class ExecuteInDb extends NativeFunction
             }
             while (rs.next() && isRowWithinLimit(rowNum, maxRows));
             Instance.setValuesForProperty(pureResult, "rows", rows, processorSupport);
+            return rowNum;
         }
         else
         {
             Instance.addValueToProperty(pureResult, "executionTimeInNanoSecond", repository.newIntegerCoreInstance(System.nanoTime() - start), processorSupport);
+            return 0;
         }
     }
 
     public void bulkInsertInDb(CoreInstance connectionInformation, CoreInstance table, Iterable<? extends Iterable<?>> values, MutableStack<CoreInstance> functionExpressionCallStack, final ProcessorSupport processorSupport)
+    {
+        bulkInsertInDb(connectionInformation, table, LoadToDbTableHelper.newRowLoader(values), functionExpressionCallStack, processorSupport);
+    }
+
+    public void bulkInsertInDb(CoreInstance connectionInformation, CoreInstance table, LoadToDbTableHelper.TableLoader loader, MutableStack<CoreInstance> functionExpressionCallStack, final ProcessorSupport processorSupport)
     {
 
         if (!Instance.instanceOf(connectionInformation, "meta::external::store::relational::runtime::TestDatabaseConnection", processorSupport))
@@ -452,7 +474,11 @@ public class ExecuteInDb extends NativeFunction
             {
 
                 this.message.setMessage("Acquiring connection...");
-                connection = connectionManagerHandler.getConnectionWithDataSourceInfo(connectionInformation, processorSupport).getConnection();
+                long startRequestConnection = System.nanoTime();
+                ConnectionWithDataSourceInfo connectionWithDataSourceInfo = connectionManagerHandler.getConnectionWithDataSourceInfo(connectionInformation, processorSupport);
+                RelationalMetricsRecorder.DatabaseMetrics metrics = PureConnectionUtils.getMetrics(connectionInformation, connectionWithDataSourceInfo);
+                metrics.recordConnectionAcquisition(System.nanoTime() - startRequestConnection);
+                connection = connectionWithDataSourceInfo.getConnection();
                 String sqlString = sql.toString();
                 statement = connection.prepareStatement(sqlString);
 
@@ -460,10 +486,12 @@ public class ExecuteInDb extends NativeFunction
                 statement.setMaxRows(this.maxRows);
                 this.message.setMessage("Inserting DB rows...");
                 long start = System.currentTimeMillis();
+                long loadStartInNanos = System.nanoTime();
 
-                int[] res = LoadToDbTableHelper.insertBatch(values, statement);
+                int count = loader.load(connection, statement, schemaName, tableName, columnNames);
                 connection.commit();
-                this.message.setMessage("Finished inserting rows. " + res.length + " rows inserted in " + (System.currentTimeMillis() - start) + " ms.");
+                metrics.recordFetch(StatementKind.BULK_LOAD, System.nanoTime() - loadStartInNanos, count);
+                this.message.setMessage("Finished inserting rows. " + count + " rows inserted in " + (System.currentTimeMillis() - start) + " ms.");
             }
             finally
             {
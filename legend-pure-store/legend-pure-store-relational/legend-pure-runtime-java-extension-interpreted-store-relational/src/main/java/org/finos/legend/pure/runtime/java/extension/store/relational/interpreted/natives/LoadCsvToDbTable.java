@@ -23,7 +23,6 @@ import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.api.stack.MutableStack;
 import org.eclipse.collections.impl.factory.Lists;
 import org.eclipse.collections.impl.list.mutable.FastList;
-import org.eclipse.collections.impl.utility.LazyIterate;
 import org.eclipse.collections.impl.utility.StringIterate;
 import org.finos.legend.pure.m3.compiler.Context;
 import org.finos.legend.pure.m3.exception.PureExecutionException;
@@ -35,8 +34,8 @@ import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.Reposit
 import org.finos.legend.pure.m3.serialization.runtime.Message;
 import org.finos.legend.pure.m4.ModelRepository;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
-import org.finos.legend.pure.m4.coreinstance.SourceInformation;
-import org.finos.legend.pure.runtime.java.extension.store.relational.shared.CsvReader;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.CsvTableLoader;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.LoadToDbTableHelper;
 import org.finos.legend.pure.runtime.java.interpreted.ExecutionSupport;
 import org.finos.legend.pure.runtime.java.interpreted.VariableContext;
 import org.finos.legend.pure.runtime.java.interpreted.natives.InstantiationContext;
@@ -68,22 +67,14 @@ public class LoadCsvToDbTable extends NativeFunction
         CoreInstance connectionInformation = Instance.getValueForMetaPropertyToOneResolved(params.get(2), M3Properties.values, processorSupport);
         CoreInstance numberOfRows = Instance.getValueForMetaPropertyToOneResolved(params.get(3), M3Properties.values, processorSupport);
 
-        final ListIterable<? extends CoreInstance> columns = getColumns(table, processorSupport);
-        final ListIterable<String> columnTypes = getColumnTypes(table, processorSupport);
-
-        Iterable<ListIterable<?>> values = getCsvIterable(this.codeStorage, functionExpressionCallStack.peek().getSourceInformation(), filePath, table.getValueForMetaPropertyToOne(M3Properties.name).getName(), numberOfRows, columns, columnTypes, _500_MB_SIZE_LIMIT, functionExpressionCallStack);
+        Integer rowLimit = numberOfRows == null ? null : Integer.valueOf(numberOfRows.getName());
+        ListIterable<String> columnTypes = getColumnTypes(table, processorSupport);
 
-        new ExecuteInDb(this.repository, this.message, 0).bulkInsertInDb(connectionInformation, table, values, functionExpressionCallStack, processorSupport);
+        CsvTableLoader loader = new CsvTableLoader(this.codeStorage, functionExpressionCallStack.peek().getSourceInformation(), filePath, _500_MB_SIZE_LIMIT, rowLimit, columnTypes, LoadToDbTableHelper.getLoadChunkSize(), functionExpressionCallStack);
+        new ExecuteInDb(this.repository, this.message, 0).bulkInsertInDb(connectionInformation, table, loader, functionExpressionCallStack, processorSupport);
         return ValueSpecificationBootstrap.wrapValueSpecification(Lists.immutable.<CoreInstance>with(), true, processorSupport);
     }
 
-    public static Iterable<ListIterable<?>> getCsvIterable(RepositoryCodeStorage codeStorage, SourceInformation sourceInformation, final String filePath, final String tableName, CoreInstance numberOfRows,
-                                                           final ListIterable<? extends CoreInstance> columns, final ListIterable<String> columnTypes, int sizeLimitMb, MutableStack<CoreInstance> functionExpressionCallStack)
-    {
-        Integer rowLimit = numberOfRows == null ? null : Integer.valueOf(numberOfRows.getName());
-        return collectIterable(LazyIterate.drop(CsvReader.readCsv(codeStorage, sourceInformation, filePath, sizeLimitMb, rowLimit, functionExpressionCallStack), 1), filePath, tableName, columns, columnTypes, functionExpressionCallStack);
-    }
-
     public static Iterable<ListIterable<?>> collectIterable(LazyIterable iterable, final String filePath, final String tableName, final ListIterable<? extends CoreInstance> columns, final ListIterable<String> columnTypes, MutableStack<CoreInstance> functionExpressionCallStack)
     {
         return iterable.collect(new Function<Iterable<String>, ListIterable<?>>()
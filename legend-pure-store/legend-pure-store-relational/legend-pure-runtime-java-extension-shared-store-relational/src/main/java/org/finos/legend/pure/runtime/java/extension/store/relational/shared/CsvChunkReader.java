@@ -0,0 +1,404 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.shared;
+
+import io.deephaven.csv.CsvSpecs;
+import io.deephaven.csv.parsers.Parser;
+import io.deephaven.csv.parsers.Parsers;
+import io.deephaven.csv.reading.CsvReader;
+import io.deephaven.csv.sinks.Sink;
+import io.deephaven.csv.sinks.SinkFactory;
+import io.deephaven.csv.sinks.Source;
+import io.deephaven.csv.util.CsvReaderException;
+import org.eclipse.collections.api.list.ListIterable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Parses a CSV file into column chunks with deephaven-csv, so that parsing overlaps with loading the previous chunk into
+ * the database. The parser for each column is fixed by the Pure type of the table column (see {@link CsvColumnChunk}),
+ * so values which do not match the table are rejected while parsing rather than when loading.
+ * <p>
+ * deephaven-csv parses each column on its own thread and writes the values to a sink per column; the sinks here copy
+ * them straight into the typed arrays of a chunk. A chunk is handed to the consumer once every column has filled it.
+ * Only a fixed number of chunks exist: a column which gets that far ahead of the consumer waits until a chunk is handed
+ * back, so the parsed file is never held in memory as a whole.
+ * <p>
+ * The first record of the file is a header and is skipped. Errors raised while parsing are rethrown to the consumer
+ * from {@link #next}.
+ */
+class CsvChunkReader
+{
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000L;
+    private static final int CHUNK_COUNT = 2;
+    private static final Object END = new Object();
+
+    private final InputStream csv;
+    private final CsvSpecs specs;
+    private final int chunkSize;
+    private final CsvColumnChunk[] chunks = new CsvColumnChunk[CHUNK_COUNT];
+    private final int[] completeColumns = new int[CHUNK_COUNT];
+    private final BlockingQueue<Object> filledChunks = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    // chunks with a lower index than this may be filled (guarded by this)
+    private long writableChunks = CHUNK_COUNT;
+    private volatile boolean closed = false;
+    private boolean finished = false;
+
+    /**
+     * Start parsing the CSV in the background.
+     *
+     * @param csv         CSV to parse, which is closed once parsing is complete
+     * @param columnNames names of the table columns
+     * @param columnTypes Pure types of the table columns
+     * @param rowLimit    maximum number of rows to read (excluding the header), or a negative number for no limit
+     * @param chunkSize   number of rows per chunk
+     */
+    CsvChunkReader(InputStream csv, ListIterable<String> columnNames, ListIterable<String> columnTypes, long rowLimit, int chunkSize)
+    {
+        this.csv = csv;
+        this.specs = buildSpecs(columnNames, columnTypes, rowLimit);
+        this.chunkSize = chunkSize;
+        for (int i = 0; i < CHUNK_COUNT; i++)
+        {
+            this.chunks[i] = new CsvColumnChunk(columnTypes, chunkSize);
+        }
+        this.thread = new Thread(this::readChunks, "pure-relational-csv-" + THREAD_COUNTER.incrementAndGet());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Get the next filled chunk, waiting for it to be parsed if necessary. The previously returned chunk should be
+     * passed back in, so that it can be reused; it must not be accessed again afterwards. Returns null when the CSV is
+     * exhausted.
+     *
+     * @param consumed previously returned chunk, or null
+     * @return next chunk, or null
+     * @throws InvalidCsvException if the CSV could not be parsed
+     */
+    CsvColumnChunk next(CsvColumnChunk consumed)
+    {
+        if (consumed != null)
+        {
+            consumed.clear();
+            synchronized (this)
+            {
+                this.writableChunks++;
+                notifyAll();
+            }
+        }
+        if (this.finished)
+        {
+            return null;
+        }
+
+        Object item;
+        try
+        {
+            item = this.filledChunks.take();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IllegalStateException("Interrupted while reading CSV", e);
+        }
+
+        if (item instanceof CsvColumnChunk)
+        {
+            return (CsvColumnChunk) item;
+        }
+
+        this.finished = true;
+        if (item instanceof RuntimeException)
+        {
+            throw (RuntimeException) item;
+        }
+        if (item instanceof Error)
+        {
+            throw (Error) item;
+        }
+        return null;
+    }
+
+    /**
+     * Stop parsing, waiting (for a bounded time) for the parsing thread to finish.
+     */
+    void close()
+    {
+        this.closed = true;
+        this.finished = true;
+        synchronized (this)
+        {
+            notifyAll();
+        }
+        if (this.thread.isAlive())
+        {
+            this.thread.interrupt();
+            try
+            {
+                this.thread.join(CLOSE_TIMEOUT_MILLIS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.filledChunks.clear();
+    }
+
+    boolean isReading()
+    {
+        return this.thread.isAlive();
+    }
+
+    private void readChunks()
+    {
+        try (InputStream stream = this.csv)
+        {
+            CsvReader.Result result = CsvReader.read(this.specs, stream, newSinkFactory());
+            finish(result.numRows());
+        }
+        catch (CsvReaderException e)
+        {
+            this.filledChunks.add(this.closed ? END : new InvalidCsvException(getMessage(e), e));
+        }
+        catch (IOException e)
+        {
+            this.filledChunks.add(this.closed ? END : new InvalidCsvException(e.getMessage(), e));
+        }
+        catch (RuntimeException | Error e)
+        {
+            this.filledChunks.add(this.closed ? END : e);
+        }
+    }
+
+    /**
+     * Hand over the last, partially filled, chunk (if any) once all columns have been parsed.
+     */
+    private void finish(long rowCount)
+    {
+        int remainder = (int) (rowCount % this.chunkSize);
+        if (remainder > 0)
+        {
+            CsvColumnChunk chunk = this.chunks[(int) ((rowCount / this.chunkSize) % CHUNK_COUNT)];
+            chunk.setSize(remainder);
+            this.filledChunks.add(chunk);
+        }
+        this.filledChunks.add(END);
+    }
+
+    /**
+     * Wait until the chunk with the given index may be filled, and return it.
+     */
+    private synchronized CsvColumnChunk awaitChunk(long chunkIndex)
+    {
+        while (!this.closed && (chunkIndex >= this.writableChunks))
+        {
+            try
+            {
+                wait();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while reading CSV");
+            }
+        }
+        if (this.closed)
+        {
+            throw new CancellationException("CSV reading closed");
+        }
+        return this.chunks[(int) (chunkIndex % CHUNK_COUNT)];
+    }
+
+    /**
+     * Record that a column has been filled in a chunk, and hand the chunk over if it was the last column to be.
+     */
+    private synchronized void columnComplete(long chunkIndex)
+    {
+        int slot = (int) (chunkIndex % CHUNK_COUNT);
+        CsvColumnChunk chunk = this.chunks[slot];
+        if (++this.completeColumns[slot] == chunk.getColumnCount())
+        {
+            this.completeColumns[slot] = 0;
+            chunk.setSize(this.chunkSize);
+            this.filledChunks.add(chunk);
+        }
+    }
+
+    private SinkFactory newSinkFactory()
+    {
+        return SinkFactory.of(
+                unsupported(), null,
+                unsupported(), null,
+                column -> new ColumnSink<int[]>(column, (chunkColumn, src, isNull, srcOffset, destRow, length) -> ((CsvColumnChunk.IntColumn) chunkColumn).write(src, isNull, srcOffset, destRow, length)), null,
+                column -> new ColumnSink<long[]>(column, (chunkColumn, src, isNull, srcOffset, destRow, length) -> ((CsvColumnChunk.LongColumn) chunkColumn).write(src, isNull, srcOffset, destRow, length)), null,
+                unsupported(), null,
+                column -> new ColumnSink<double[]>(column, (chunkColumn, src, isNull, srcOffset, destRow, length) -> ((CsvColumnChunk.DoubleColumn) chunkColumn).write(src, isNull, srcOffset, destRow, length)), null,
+                unsupported(),
+                unsupported(), null,
+                column -> new ColumnSink<String[]>(column, (chunkColumn, src, isNull, srcOffset, destRow, length) -> ((CsvColumnChunk.StringColumn) chunkColumn).write(src, isNull, srcOffset, destRow, length)), null,
+                unsupported(), null,
+                unsupported(), null);
+    }
+
+    private static <T> IntFunction<ColumnSink<T>> unsupported()
+    {
+        return column ->
+        {
+            // every column has a fixed int, long, double or string parser
+            throw new IllegalStateException("Unexpected data type for CSV column " + (column + 1));
+        };
+    }
+
+    private static CsvSpecs buildSpecs(ListIterable<String> columnNames, ListIterable<String> columnTypes, long rowLimit)
+    {
+        CsvSpecs.Builder builder = CsvSpecs.builder()
+                .hasHeaderRow(true)
+                // the table column names replace those of the file, which may not be valid or unique
+                .headers(columnNames)
+                .ignoreSurroundingSpaces(false)
+                // each column must be parsed on its own thread, as the sinks of columns which get ahead wait for the others
+                .concurrent(true);
+        if (rowLimit >= 0)
+        {
+            builder.numRows(rowLimit);
+        }
+        for (int i = 0; i < columnNames.size(); i++)
+        {
+            builder.putParserForName(columnNames.get(i), getParser(columnTypes.get(i)));
+        }
+        return builder.build();
+    }
+
+    private static Parser<?> getParser(String type)
+    {
+        if (CsvColumnChunk.isIntType(type))
+        {
+            return Parsers.INT;
+        }
+        if (CsvColumnChunk.isLongType(type))
+        {
+            return Parsers.LONG;
+        }
+        if (CsvColumnChunk.isDoubleType(type))
+        {
+            return Parsers.DOUBLE;
+        }
+        return Parsers.STRING;
+    }
+
+    private static String getMessage(Throwable t)
+    {
+        StringBuilder message = new StringBuilder();
+        for (Throwable cause = t; cause != null; cause = cause.getCause())
+        {
+            String causeMessage = cause.getMessage();
+            if ((causeMessage != null) && (message.indexOf(causeMessage) == -1))
+            {
+                if (message.length() > 0)
+                {
+                    message.append(": ");
+                }
+                message.append(causeMessage);
+            }
+        }
+        return message.toString();
+    }
+
+    private interface ColumnWriter<T>
+    {
+        void write(CsvColumnChunk.Column column, T src, boolean[] isNull, int srcOffset, int destRow, int length);
+    }
+
+    /**
+     * Sink for one column, which copies the values it is given into the chunks covering their rows. deephaven-csv
+     * requires integral sinks to also be sources, so that it can read back values when it widens the type of a column;
+     * with a fixed parser per column it never does.
+     */
+    private class ColumnSink<T> implements Sink<T>, Source<T>
+    {
+        private final int column;
+        private final ColumnWriter<T> writer;
+        private long rowCount = 0L;
+
+        private ColumnSink(int column, ColumnWriter<T> writer)
+        {
+            this.column = column;
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(T src, boolean[] isNull, long destBegin, long destEnd, boolean appending)
+        {
+            // with a single parser per column, values are only ever appended
+            if (destBegin != this.rowCount)
+            {
+                throw new IllegalStateException("Unexpected write of rows " + destBegin + " to " + destEnd + " of CSV column " + (this.column + 1) + ", expected row " + this.rowCount);
+            }
+
+            int srcOffset = 0;
+            long row = destBegin;
+            while (row < destEnd)
+            {
+                long chunkIndex = row / CsvChunkReader.this.chunkSize;
+                CsvColumnChunk chunk = awaitChunk(chunkIndex);
+                int destRow = (int) (row % CsvChunkReader.this.chunkSize);
+                int length = (int) Math.min(destEnd - row, CsvChunkReader.this.chunkSize - destRow);
+                this.writer.write(chunk.getColumn(this.column), src, isNull, srcOffset, destRow, length);
+                srcOffset += length;
+                row += length;
+                if (destRow + length == CsvChunkReader.this.chunkSize)
+                {
+                    columnComplete(chunkIndex);
+                }
+            }
+            this.rowCount = destEnd;
+        }
+
+        @Override
+        public void read(T dest, boolean[] isNull, long srcBegin, long srcEnd)
+        {
+            throw new UnsupportedOperationException("Values of CSV column " + (this.column + 1) + " are not held by the sink");
+        }
+
+        @Override
+        public Object getUnderlying()
+        {
+            // values are handed over in chunks rather than as a whole
+            return null;
+        }
+    }
+
+    /**
+     * Thrown when the CSV cannot be parsed, or a value cannot be converted to the type of its column.
+     */
+    static class InvalidCsvException extends RuntimeException
+    {
+        private InvalidCsvException(String message, Throwable cause)
+        {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.shared;
+
+import org.eclipse.collections.api.list.ListIterable;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A chunk of CSV rows, held column-wise in typed arrays. Values are held according to the Pure type of the table column
+ * they are loaded into, as they are when a CSV is loaded row by row: Integer, SmallInt and TinyInt columns as ints,
+ * BigInt columns as longs, Double, Float and Numeric columns as doubles, and all other columns (including dates) as
+ * strings, which the database converts to the column type.
+ * <p>
+ * Each column is filled independently (see {@link CsvChunkReader}), so a chunk has no notion of a current row: the
+ * reader sets its size once every column has been filled.
+ */
+final class CsvColumnChunk
+{
+    private final ListIterable<Column> columns;
+    private final int capacity;
+    private int size = 0;
+
+    CsvColumnChunk(ListIterable<String> columnTypes, int capacity)
+    {
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("Invalid chunk size: " + capacity);
+        }
+        this.columns = columnTypes.collect(type -> newColumn(type, capacity));
+        this.capacity = capacity;
+    }
+
+    int size()
+    {
+        return this.size;
+    }
+
+    int capacity()
+    {
+        return this.capacity;
+    }
+
+    void setSize(int size)
+    {
+        if ((size < 0) || (size > this.capacity))
+        {
+            throw new IllegalArgumentException("Invalid size " + size + " for a chunk of capacity " + this.capacity);
+        }
+        this.size = size;
+    }
+
+    int getColumnCount()
+    {
+        return this.columns.size();
+    }
+
+    Column getColumn(int column)
+    {
+        return this.columns.get(column);
+    }
+
+    void clear()
+    {
+        this.columns.forEach(Column::clear);
+        this.size = 0;
+    }
+
+    /**
+     * Whether the values of a column of the given Pure type are held as ints.
+     */
+    static boolean isIntType(String type)
+    {
+        switch (type)
+        {
+            case "Integer":
+            case "SmallInt":
+            case "TinyInt":
+            {
+                return true;
+            }
+            default:
+            {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Whether the values of a column of the given Pure type are held as longs.
+     */
+    static boolean isLongType(String type)
+    {
+        return "BigInt".equals(type);
+    }
+
+    /**
+     * Whether the values of a column of the given Pure type are held as doubles.
+     */
+    static boolean isDoubleType(String type)
+    {
+        switch (type)
+        {
+            case "Double":
+            case "Float":
+            case "Numeric":
+            {
+                return true;
+            }
+            default:
+            {
+                return false;
+            }
+        }
+    }
+
+    private static Column newColumn(String type, int capacity)
+    {
+        if (isIntType(type))
+        {
+            return new IntColumn(capacity);
+        }
+        if (isLongType(type))
+        {
+            return new LongColumn(capacity);
+        }
+        if (isDoubleType(type))
+        {
+            return new DoubleColumn(capacity);
+        }
+        return new StringColumn(capacity);
+    }
+
+    abstract static class Column
+    {
+        private final BitSet nulls = new BitSet();
+
+        boolean isNull(int row)
+        {
+            return this.nulls.get(row);
+        }
+
+        void setNulls(boolean[] isNull, int srcOffset, int destRow, int length)
+        {
+            for (int i = 0; i < length; i++)
+            {
+                if (isNull[srcOffset + i])
+                {
+                    this.nulls.set(destRow + i);
+                }
+            }
+        }
+
+        void setParameter(PreparedStatement statement, int index, int type, int row) throws SQLException
+        {
+            if (isNull(row))
+            {
+                statement.setNull(index, type);
+            }
+            else
+            {
+                setNonNullParameter(statement, index, row);
+            }
+        }
+
+        void clear()
+        {
+            this.nulls.clear();
+        }
+
+        protected abstract void setNonNullParameter(PreparedStatement statement, int index, int row) throws SQLException;
+    }
+
+    static final class IntColumn extends Column
+    {
+        private final int[] values;
+
+        private IntColumn(int capacity)
+        {
+            this.values = new int[capacity];
+        }
+
+        int getInt(int row)
+        {
+            return this.values[row];
+        }
+
+        void write(int[] src, boolean[] isNull, int srcOffset, int destRow, int length)
+        {
+            System.arraycopy(src, srcOffset, this.values, destRow, length);
+            setNulls(isNull, srcOffset, destRow, length);
+        }
+
+        @Override
+        protected void setNonNullParameter(PreparedStatement statement, int index, int row) throws SQLException
+        {
+            statement.setInt(index, this.values[row]);
+        }
+    }
+
+    static final class LongColumn extends Column
+    {
+        private final long[] values;
+
+        private LongColumn(int capacity)
+        {
+            this.values = new long[capacity];
+        }
+
+        long getLong(int row)
+        {
+            return this.values[row];
+        }
+
+        void write(long[] src, boolean[] isNull, int srcOffset, int destRow, int length)
+        {
+            System.arraycopy(src, srcOffset, this.values, destRow, length);
+            setNulls(isNull, srcOffset, destRow, length);
+        }
+
+        @Override
+        protected void setNonNullParameter(PreparedStatement statement, int index, int row) throws SQLException
+        {
+            statement.setLong(index, this.values[row]);
+        }
+    }
+
+    static final class DoubleColumn extends Column
+    {
+        private final double[] values;
+
+        private DoubleColumn(int capacity)
+        {
+            this.values = new double[capacity];
+        }
+
+        double getDouble(int row)
+        {
+            return this.values[row];
+        }
+
+        void write(double[] src, boolean[] isNull, int srcOffset, int destRow, int length)
+        {
+            System.arraycopy(src, srcOffset, this.values, destRow, length);
+            setNulls(isNull, srcOffset, destRow, length);
+        }
+
+        @Override
+        protected void setNonNullParameter(PreparedStatement statement, int index, int row) throws SQLException
+        {
+            statement.setDouble(index, this.values[row]);
+        }
+    }
+
+    static final class StringColumn extends Column
+    {
+        private final String[] values;
+
+        private StringColumn(int capacity)
+        {
+            this.values = new String[capacity];
+        }
+
+        String getString(int row)
+        {
+            return isNull(row) ? null : this.values[row];
+        }
+
+        void write(String[] src, boolean[] isNull, int srcOffset, int destRow, int length)
+        {
+            System.arraycopy(src, srcOffset, this.values, destRow, length);
+            setNulls(isNull, srcOffset, destRow, length);
+        }
+
+        @Override
+        protected void setNonNullParameter(PreparedStatement statement, int index, int row) throws SQLException
+        {
+            statement.setString(index, this.values[row]);
+        }
+
+        @Override
+        void clear()
+        {
+            super.clear();
+            // release the strings from the previous chunk
+            Arrays.fill(this.values, null);
+        }
+    }
+}
@@ -25,7 +25,10 @@ import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.coreinstance.SourceInformation;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.Charset;
@@ -85,6 +88,51 @@ public class CsvReader
         }
     }
 
+    /**
+     * Open a CSV file for streaming, rather than reading it all into memory. The file is looked up in the code storage
+     * first and then in the file system. Files larger than the size limit are rejected: for files in the code storage
+     * the size is only known once the limit has been read past, so the stream fails at that point. The content is
+     * expected to be UTF-8 encoded.
+     *
+     * @param codeStorage                 code storage, or null
+     * @param sourceForError              source information for errors
+     * @param filePath                    file path
+     * @param sizeLimitMegabytes          size limit in megabytes
+     * @param functionExpressionCallStack call stack for errors
+     * @return stream of the file content
+     */
+    public static InputStream openCsv(RepositoryCodeStorage codeStorage, SourceInformation sourceForError, String filePath,
+                                 int sizeLimitMegabytes, MutableStack<CoreInstance> functionExpressionCallStack)
+    {
+        try
+        {
+            long sizeLimitBytes = sizeLimitMegabytes * MEGA_BYTE;
+            if (codeStorage != null && codeStorage.exists(filePath))
+            {
+                return limitSize(codeStorage.getContent(filePath), sizeLimitBytes, sizeLimitMegabytes);
+            }
+
+            File file = new File(filePath);
+            if (!file.exists())
+            {
+                throw new PureExecutionException(sourceForError, "No CSV file found with path '" + filePath + "'", functionExpressionCallStack);
+            }
+            if (file.length() > sizeLimitBytes)
+            {
+                throw new PureExecutionException("File is too large, file was " + String.format("%.2f", file.length() * 1.0 / MEGA_BYTE) + " Mb, limit is " + sizeLimitMegabytes + " Mb", functionExpressionCallStack);
+            }
+            return new FileInputStream(file);
+        }
+        catch (PureExecutionException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new PureExecutionException(sourceForError, "Unable to read the CSV file '" + filePath + "' " + e.getMessage(), e, functionExpressionCallStack);
+        }
+    }
+
     public static CSVParser readCsv(Reader csvReader, CSVFormat format, long skipStartLines) throws IOException
     {
         skipStartLines(csvReader, format.getRecordSeparator(), skipStartLines);
@@ -105,6 +153,45 @@ public class CsvReader
         }
     }
 
+    private static InputStream limitSize(InputStream stream, long sizeLimitBytes, int sizeLimitMegabytes)
+    {
+        return new FilterInputStream(stream)
+        {
+            private long count = 0L;
+
+            @Override
+            public int read() throws IOException
+            {
+                int b = super.read();
+                if (b != -1)
+                {
+                    checkSize(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException
+            {
+                int read = super.read(b, off, len);
+                if (read > 0)
+                {
+                    checkSize(read);
+                }
+                return read;
+            }
+
+            private void checkSize(int read) throws IOException
+            {
+                this.count += read;
+                if (this.count > sizeLimitBytes)
+                {
+                    throw new IOException("File is too large, limit is " + sizeLimitMegabytes + " Mb");
+                }
+            }
+        };
+    }
+
     private static void skipStartLines(Reader csvReader, String recordSeparator, long skipStartLines) throws IOException
     {
         byte[] separatorBytes = recordSeparator.getBytes();
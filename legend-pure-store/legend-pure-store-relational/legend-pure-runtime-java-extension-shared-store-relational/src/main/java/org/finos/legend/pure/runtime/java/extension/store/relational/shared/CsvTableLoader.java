@@ -0,0 +1,153 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.shared;
+
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.stack.MutableStack;
+import org.finos.legend.pure.m3.exception.PureExecutionException;
+import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.RepositoryCodeStorage;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.m4.coreinstance.SourceInformation;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.connectionManager.DuckDBConnectionWrapper;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Loads a CSV file into a table. The file is streamed and parsed column-wise with deephaven-csv into typed chunks (see
+ * {@link CsvChunkReader}), while the previous chunk is loaded into the database: with the DuckDB appender for DuckDB
+ * connections where the table allows it, and as a JDBC batch otherwise. No per-row objects are created, and at most two
+ * chunks of the file are held in memory.
+ * <p>
+ * Values of Integer, SmallInt and TinyInt columns are parsed as ints, of BigInt columns as longs, and of Double, Float
+ * and Numeric columns as doubles; all other values are passed to the database as strings.
+ */
+public class CsvTableLoader implements LoadToDbTableHelper.TableLoader
+{
+    private final RepositoryCodeStorage codeStorage;
+    private final SourceInformation sourceForError;
+    private final String filePath;
+    private final int sizeLimitMegabytes;
+    private final Integer rowLimit;
+    private final ListIterable<String> columnTypes;
+    private final int chunkSize;
+    private final MutableStack<CoreInstance> functionExpressionCallStack;
+
+    /**
+     * @param codeStorage                 code storage to look the file up in, or null
+     * @param sourceForError              source information for errors
+     * @param filePath                    CSV file path
+     * @param sizeLimitMegabytes          file size limit in megabytes
+     * @param rowLimit                    maximum number of CSV records to read (including the header), or null
+     * @param columnTypes                 Pure types of the table columns
+     * @param chunkSize                   number of rows per chunk
+     * @param functionExpressionCallStack call stack for errors
+     */
+    public CsvTableLoader(RepositoryCodeStorage codeStorage, SourceInformation sourceForError, String filePath, int sizeLimitMegabytes, Integer rowLimit,
+                          ListIterable<String> columnTypes, int chunkSize, MutableStack<CoreInstance> functionExpressionCallStack)
+    {
+        if (chunkSize <= 0)
+        {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+        this.codeStorage = codeStorage;
+        this.sourceForError = sourceForError;
+        this.filePath = filePath;
+        this.sizeLimitMegabytes = sizeLimitMegabytes;
+        this.rowLimit = rowLimit;
+        this.columnTypes = columnTypes;
+        this.chunkSize = chunkSize;
+        this.functionExpressionCallStack = functionExpressionCallStack;
+    }
+
+    @Override
+    public int load(Connection connection, PreparedStatement statement, String schemaName, String tableName, ListIterable<String> columnNames) throws SQLException
+    {
+        InputStream csv = CsvReader.openCsv(this.codeStorage, this.sourceForError, this.filePath, this.sizeLimitMegabytes, this.functionExpressionCallStack);
+        // the row limit includes the header
+        long dataRowLimit = (this.rowLimit == null) ? -1L : Math.max(0L, this.rowLimit - 1L);
+        CsvChunkReader reader = new CsvChunkReader(csv, columnNames, this.columnTypes, dataRowLimit, this.chunkSize);
+        try
+        {
+            if (connection instanceof DuckDBConnectionWrapper)
+            {
+                int appended = DuckDBAppenderLoader.appendChunks(connection, ("default".equals(schemaName)) ? null : schemaName, tableName, columnNames, reader);
+                if (appended >= 0)
+                {
+                    return appended;
+                }
+            }
+            return insertChunks(reader, statement);
+        }
+        catch (CsvChunkReader.InvalidCsvException e)
+        {
+            throw new PureExecutionException(this.sourceForError, "Failed to load CSV file " + this.filePath + " into DB table " + tableName + ".\n " + e.getMessage(), e, this.functionExpressionCallStack);
+        }
+        catch (PureExecutionException e)
+        {
+            throw e;
+        }
+        catch (RuntimeException e)
+        {
+            throw new PureExecutionException(this.sourceForError, "Unable to read the CSV file '" + this.filePath + "' " + e.getMessage(), e, this.functionExpressionCallStack);
+        }
+        finally
+        {
+            reader.close();
+        }
+    }
+
+    private static int insertChunks(CsvChunkReader reader, PreparedStatement statement) throws SQLException
+    {
+        int[] parameterTypes = LoadToDbTableHelper.getParameterTypes(statement);
+        Connection connection = statement.getConnection();
+        boolean commitChunks = (connection != null) && !connection.getAutoCommit();
+        try
+        {
+            int count = 0;
+            CsvColumnChunk chunk = null;
+            while ((chunk = reader.next(chunk)) != null)
+            {
+                int columnCount = chunk.getColumnCount();
+                for (int row = 0; row < chunk.size(); row++)
+                {
+                    for (int column = 0; column < columnCount; column++)
+                    {
+                        chunk.getColumn(column).setParameter(statement, column + 1, parameterTypes[column], row);
+                    }
+                    statement.addBatch();
+                    statement.clearParameters();
+                }
+                statement.executeBatch();
+                if (commitChunks)
+                {
+                    connection.commit();
+                }
+                count += chunk.size();
+            }
+            return count;
+        }
+        catch (SQLException | RuntimeException e)
+        {
+            if (commitChunks)
+            {
+                LoadToDbTableHelper.rollBack(connection, e);
+            }
+            throw e;
+        }
+    }
+}
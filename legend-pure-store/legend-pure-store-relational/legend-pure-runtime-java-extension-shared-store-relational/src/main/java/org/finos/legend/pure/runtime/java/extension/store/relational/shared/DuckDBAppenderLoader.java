@@ -0,0 +1,214 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.shared;
+
+import org.duckdb.DuckDBAppender;
+import org.duckdb.DuckDBConnection;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Loads rows into a DuckDB table using the DuckDB appender, which is much faster than batched inserts. This class
+ * refers to the DuckDB driver classes directly, so it must only be used for DuckDB connections.
+ */
+class DuckDBAppenderLoader
+{
+    private static final String DEFAULT_SCHEMA = "main";
+    private static final ListIterable<String> SUPPORTED_TYPE_PREFIXES = Lists.immutable.with("TINYINT", "SMALLINT", "INTEGER", "BIGINT", "HUGEINT", "FLOAT", "REAL", "DOUBLE", "DECIMAL", "VARCHAR", "BOOLEAN", "DATE", "TIMESTAMP");
+
+    private DuckDBAppenderLoader()
+    {
+    }
+
+    /**
+     * Append rows to a table. The appender writes whole rows in table column order, so it is only used if the table's
+     * columns are exactly the given columns, in the same order, and all of a supported type. Otherwise, nothing is
+     * loaded and -1 is returned.
+     *
+     * @param connection  DuckDB connection
+     * @param schemaName  schema name, or null for the default schema
+     * @param tableName   table name
+     * @param columnNames column names, in the order of the values in each row
+     * @param values      rows
+     * @param chunkSize   number of rows appended between flushes (must be positive)
+     * @return number of rows appended, or -1 if the appender could not be used
+     */
+    static int append(Connection connection, String schemaName, String tableName, ListIterable<String> columnNames, Iterable<? extends Iterable<?>> values, int chunkSize) throws SQLException
+    {
+        String schema = (schemaName == null) ? DEFAULT_SCHEMA : unquote(schemaName);
+        String table = unquote(tableName);
+        if (!canAppend(connection, schema, table, columnNames))
+        {
+            return -1;
+        }
+
+        int count = 0;
+        try (DuckDBAppender appender = connection.unwrap(DuckDBConnection.class).createAppender(schema, table))
+        {
+            for (Iterable<?> row : values)
+            {
+                appender.beginRow();
+                for (Object value : row)
+                {
+                    appendValue(appender, value);
+                }
+                appender.endRow();
+                if ((++count % chunkSize) == 0)
+                {
+                    appender.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Append CSV chunks to a table, under the same conditions as {@link #append}. Chunks are taken from the reader
+     * until it is exhausted, and each is flushed once appended.
+     *
+     * @param connection  DuckDB connection
+     * @param schemaName  schema name, or null for the default schema
+     * @param tableName   table name
+     * @param columnNames column names, in the order of the columns of each chunk
+     * @param reader      reader to take chunks from
+     * @return number of rows appended, or -1 if the appender could not be used
+     */
+    static int appendChunks(Connection connection, String schemaName, String tableName, ListIterable<String> columnNames, CsvChunkReader reader) throws SQLException
+    {
+        String schema = (schemaName == null) ? DEFAULT_SCHEMA : unquote(schemaName);
+        String table = unquote(tableName);
+        if (!canAppend(connection, schema, table, columnNames))
+        {
+            return -1;
+        }
+
+        int count = 0;
+        try (DuckDBAppender appender = connection.unwrap(DuckDBConnection.class).createAppender(schema, table))
+        {
+            CsvColumnChunk chunk = null;
+            while ((chunk = reader.next(chunk)) != null)
+            {
+                int columnCount = chunk.getColumnCount();
+                for (int row = 0; row < chunk.size(); row++)
+                {
+                    appender.beginRow();
+                    for (int column = 0; column < columnCount; column++)
+                    {
+                        appendValue(appender, chunk.getColumn(column), row);
+                    }
+                    appender.endRow();
+                }
+                appender.flush();
+                count += chunk.size();
+            }
+        }
+        return count;
+    }
+
+    private static boolean canAppend(Connection connection, String schema, String table, ListIterable<String> columnNames) throws SQLException
+    {
+        if (!connection.isWrapperFor(DuckDBConnection.class))
+        {
+            return false;
+        }
+
+        MutableList<String> tableColumns = Lists.mutable.empty();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT column_name, data_type FROM information_schema.columns WHERE lower(table_schema) = lower(?) AND lower(table_name) = lower(?) ORDER BY ordinal_position"))
+        {
+            statement.setString(1, schema);
+            statement.setString(2, table);
+            try (ResultSet rs = statement.executeQuery())
+            {
+                while (rs.next())
+                {
+                    String dataType = rs.getString(2).toUpperCase(Locale.ROOT);
+                    if (SUPPORTED_TYPE_PREFIXES.noneSatisfy(dataType::startsWith))
+                    {
+                        return false;
+                    }
+                    tableColumns.add(rs.getString(1));
+                }
+            }
+        }
+        return (tableColumns.size() == columnNames.size()) &&
+                tableColumns.corresponds(columnNames, (tableColumn, column) -> tableColumn.equalsIgnoreCase(unquote(column)));
+    }
+
+    private static void appendValue(DuckDBAppender appender, Object value) throws SQLException
+    {
+        if (value == null)
+        {
+            appender.append((String) null);
+        }
+        else if ((value instanceof Long) || (value instanceof Integer) || (value instanceof Short) || (value instanceof Byte))
+        {
+            appender.append(((Number) value).longValue());
+        }
+        else if ((value instanceof Double) || (value instanceof Float))
+        {
+            appender.append(((Number) value).doubleValue());
+        }
+        else if (value instanceof Boolean)
+        {
+            appender.append((boolean) (Boolean) value);
+        }
+        else if (value instanceof BigDecimal)
+        {
+            appender.append(((BigDecimal) value).toPlainString());
+        }
+        else
+        {
+            // DuckDB casts strings to the column type, as it does for string parameters to an insert statement
+            appender.append(value.toString());
+        }
+    }
+
+    private static void appendValue(DuckDBAppender appender, CsvColumnChunk.Column column, int row) throws SQLException
+    {
+        if (column.isNull(row))
+        {
+            appender.append((String) null);
+        }
+        else if (column instanceof CsvColumnChunk.IntColumn)
+        {
+            appender.append(((CsvColumnChunk.IntColumn) column).getInt(row));
+        }
+        else if (column instanceof CsvColumnChunk.LongColumn)
+        {
+            appender.append(((CsvColumnChunk.LongColumn) column).getLong(row));
+        }
+        else if (column instanceof CsvColumnChunk.DoubleColumn)
+        {
+            appender.append(((CsvColumnChunk.DoubleColumn) column).getDouble(row));
+        }
+        else
+        {
+            appender.append(((CsvColumnChunk.StringColumn) column).getString(row));
+        }
+    }
+
+    private static String unquote(String name)
+    {
+        return ((name.length() > 1) && (name.charAt(0) == '"') && (name.charAt(name.length() - 1) == '"')) ? name.substring(1, name.length() - 1) : name;
+    }
+}
@@ -14,58 +14,22 @@
 
 package org.finos.legend.pure.runtime.java.extension.store.relational.shared;
 
-import org.apache.commons.csv.CSVRecord;
-import org.eclipse.collections.api.LazyIterable;
-import org.eclipse.collections.api.factory.Lists;
-import org.eclipse.collections.api.factory.Stacks;
 import org.eclipse.collections.api.list.ListIterable;
-import org.eclipse.collections.api.list.MutableList;
-import org.eclipse.collections.impl.utility.StringIterate;
-import org.finos.legend.pure.m3.exception.PureExecutionException;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.connectionManager.DuckDBConnectionWrapper;
 
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
 import java.sql.ParameterMetaData;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 
 public class LoadToDbTableHelper
 {
-    @SuppressWarnings("unchecked")
-    public static Iterable<ListIterable<?>> collectIterable(LazyIterable<?> iterable, ListIterable<String> columnTypes, String filePath, String tableName)
-    {
-        return iterable.collect(csvRecord ->
-        {
-            MutableList<Object> result = Lists.mutable.empty();
-            int i = 0;
-            for (String str : (Iterable<? extends String>) csvRecord)
-            {
-                try
-                {
-                    String type = columnTypes.get(i);
-                    if (StringIterate.isEmpty(str))
-                    {
-                        result.add(null);
-                    }
-                    else if ("Integer".equals(type))
-                    {
-                        result.add(Long.valueOf(str));
-                    }
-                    else
-                    {
-                        result.add(str);
-                    }
-                    i++;
-                }
-                catch (NumberFormatException ex)
-                {
-                    throw new PureExecutionException("Failed to load CSV file " + filePath + " into DB table " + tableName +
-                            ".\n Table requires a " + columnTypes.get(i) + " for column number " + i + ". CSV row:" +
-                            (csvRecord instanceof CSVRecord ? ((CSVRecord) csvRecord).getRecordNumber() : "N/A") + " column:" + (i + 1) +
-                            " failed to convert to " + columnTypes.get(i) + " with error '" + ex.getMessage() + "'", ex, Stacks.mutable.empty());
-                }
-            }
-            return result;
-        });
-    }
+    private static final String LOAD_CHUNK_SIZE_PROPERTY = "pure.relational.loadChunkSize";
+    private static final int DEFAULT_LOAD_CHUNK_SIZE = 10_000;
 
     public static StringBuilder buildInsertStatementHeader(String schemaName, String tableName, ListIterable<String> columnNames)
     {
@@ -81,29 +45,286 @@ public class LoadToDbTableHelper
         return sql;
     }
 
-    public static int[] insertBatch(Iterable<? extends Iterable<?>> values, PreparedStatement statement) throws SQLException
+    /**
+     * Number of rows sent to the database per JDBC batch (and committed, if the connection is not in auto-commit mode)
+     * by {@link #insertRows}. Configured with the pure.relational.loadChunkSize system property, which must be positive.
+     */
+    public static int getLoadChunkSize()
     {
-        ParameterMetaData metaData = statement.getParameterMetaData();
+        return Integer.getInteger(LOAD_CHUNK_SIZE_PROPERTY, DEFAULT_LOAD_CHUNK_SIZE);
+    }
 
-        for (Iterable<?> row : values)
+    /**
+     * Loader for rows held in memory, which inserts them with {@link #insertRows}.
+     *
+     * @param values rows
+     * @return table loader
+     */
+    public static TableLoader newRowLoader(Iterable<? extends Iterable<?>> values)
+    {
+        return (connection, statement, schemaName, tableName, columnNames) -> insertRows(connection, statement, schemaName, tableName, columnNames, values, getLoadChunkSize());
+    }
+
+    /**
+     * Insert rows into a table. For DuckDB connections, the rows are loaded with the DuckDB appender where the table's
+     * columns allow it; otherwise they are inserted with the given prepared statement (see
+     * {@link #insertBatch(Iterable, PreparedStatement, int)}).
+     *
+     * @param connection  connection
+     * @param statement   insert statement, as built from {@link #buildInsertStatementHeader}
+     * @param schemaName  schema name
+     * @param tableName   table name
+     * @param columnNames column names, in the order of the values in each row
+     * @param values      rows
+     * @param chunkSize   number of rows per batch (must be positive)
+     * @return number of rows inserted
+     */
+    public static int insertRows(Connection connection, PreparedStatement statement, String schemaName, String tableName, ListIterable<String> columnNames, Iterable<? extends Iterable<?>> values, int chunkSize) throws SQLException
+    {
+        checkChunkSize(chunkSize);
+        if (connection instanceof DuckDBConnectionWrapper)
         {
-            int i = 1;
-            for (Object object : row)
+            int appended = DuckDBAppenderLoader.append(connection, ("default".equals(schemaName)) ? null : schemaName, tableName, columnNames, values, chunkSize);
+            if (appended >= 0)
             {
-                if (object == null)
+                return appended;
+            }
+        }
+        return insertBatch(values, statement, chunkSize);
+    }
+
+    /**
+     * Insert rows using a prepared statement, sending them to the database in batches of chunkSize rows. Parameter
+     * types are resolved once for the statement, and values are set with typed setters where the value matches the
+     * parameter type.
+     * <p>
+     * If the connection is not in auto-commit mode, each batch is committed, so that the database does not have to hold
+     * the whole load in one transaction. The load is therefore not atomic: if it fails, the batch being inserted is
+     * rolled back, but the batches committed before it remain in the table.
+     *
+     * @param values    rows
+     * @param statement insert statement
+     * @param chunkSize number of rows per batch (must be positive)
+     * @return number of rows inserted
+     */
+    public static int insertBatch(Iterable<? extends Iterable<?>> values, PreparedStatement statement, int chunkSize) throws SQLException
+    {
+        checkChunkSize(chunkSize);
+
+        int[] parameterTypes = getParameterTypes(statement);
+        Connection connection = statement.getConnection();
+        boolean commitChunks = (connection != null) && !connection.getAutoCommit();
+        try
+        {
+            int count = 0;
+            int pending = 0;
+            for (Iterable<?> row : values)
+            {
+                setParameters(statement, parameterTypes, row);
+                statement.addBatch();
+                statement.clearParameters();
+                count++;
+                if (++pending == chunkSize)
                 {
-                    statement.setNull(i, metaData.getParameterType(i));
+                    statement.executeBatch();
+                    if (commitChunks)
+                    {
+                        connection.commit();
+                    }
+                    pending = 0;
                 }
-                else
+            }
+            if (pending > 0)
+            {
+                statement.executeBatch();
+                if (commitChunks)
                 {
-                    statement.setObject(i, object, metaData.getParameterType(i));
+                    connection.commit();
                 }
-                i++;
             }
+            return count;
+        }
+        catch (SQLException | RuntimeException e)
+        {
+            if (commitChunks)
+            {
+                rollBack(connection, e);
+            }
+            throw e;
+        }
+    }
+
+    public static int[] insertBatch(Iterable<? extends Iterable<?>> values, PreparedStatement statement) throws SQLException
+    {
+        int[] parameterTypes = getParameterTypes(statement);
+        for (Iterable<?> row : values)
+        {
+            setParameters(statement, parameterTypes, row);
             statement.addBatch();
             statement.clearParameters();
         }
 
         return statement.executeBatch();
     }
+
+    private static void checkChunkSize(int chunkSize)
+    {
+        if (chunkSize <= 0)
+        {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+    }
+
+    static void rollBack(Connection connection, Exception cause)
+    {
+        try
+        {
+            connection.rollback();
+        }
+        catch (SQLException e)
+        {
+            cause.addSuppressed(e);
+        }
+    }
+
+    static int[] getParameterTypes(PreparedStatement statement) throws SQLException
+    {
+        ParameterMetaData metaData = statement.getParameterMetaData();
+        int[] types = new int[metaData.getParameterCount()];
+        for (int i = 0; i < types.length; i++)
+        {
+            types[i] = metaData.getParameterType(i + 1);
+        }
+        return types;
+    }
+
+    private static void setParameters(PreparedStatement statement, int[] parameterTypes, Iterable<?> row) throws SQLException
+    {
+        int i = 1;
+        for (Object object : row)
+        {
+            setParameter(statement, i, parameterTypes[i - 1], object);
+            i++;
+        }
+    }
+
+    private static void setParameter(PreparedStatement statement, int index, int type, Object value) throws SQLException
+    {
+        if (value == null)
+        {
+            statement.setNull(index, type);
+            return;
+        }
+
+        switch (type)
+        {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            {
+                if ((value instanceof Long) || (value instanceof Integer) || (value instanceof Short) || (value instanceof Byte))
+                {
+                    statement.setLong(index, ((Number) value).longValue());
+                    return;
+                }
+                break;
+            }
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+            {
+                if (value instanceof Number)
+                {
+                    statement.setDouble(index, ((Number) value).doubleValue());
+                    return;
+                }
+                break;
+            }
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+            {
+                if (value instanceof BigDecimal)
+                {
+                    statement.setBigDecimal(index, (BigDecimal) value);
+                    return;
+                }
+                break;
+            }
+            case Types.BIT:
+            case Types.BOOLEAN:
+            {
+                if (value instanceof Boolean)
+                {
+                    statement.setBoolean(index, (Boolean) value);
+                    return;
+                }
+                break;
+            }
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+            {
+                if (value instanceof String)
+                {
+                    statement.setString(index, (String) value);
+                    return;
+                }
+                break;
+            }
+            case Types.DATE:
+            {
+                if (value instanceof Date)
+                {
+                    statement.setDate(index, (Date) value);
+                    return;
+                }
+                break;
+            }
+            case Types.TIMESTAMP:
+            {
+                if (value instanceof Timestamp)
+                {
+                    statement.setTimestamp(index, (Timestamp) value);
+                    return;
+                }
+                break;
+            }
+            default:
+            {
+                // fall through to setObject
+            }
+        }
+        if (type == Types.NULL)
+        {
+            // some drivers (such as DuckDB) do not report parameter types
+            statement.setObject(index, value);
+        }
+        else
+        {
+            // let the driver convert the value to the parameter type
+            statement.setObject(index, value, type);
+        }
+    }
+
+    /**
+     * Loads data into a table, given a connection and the insert statement for the table.
+     */
+    public interface TableLoader
+    {
+        /**
+         * Load the data into the table.
+         *
+         * @param connection  connection
+         * @param statement   insert statement, as built from {@link #buildInsertStatementHeader}
+         * @param schemaName  schema name
+         * @param tableName   table name
+         * @param columnNames column names
+         * @return number of rows loaded
+         */
+        int load(Connection connection, PreparedStatement statement, String schemaName, String tableName, ListIterable<String> columnNames) throws SQLException;
+    }
 }
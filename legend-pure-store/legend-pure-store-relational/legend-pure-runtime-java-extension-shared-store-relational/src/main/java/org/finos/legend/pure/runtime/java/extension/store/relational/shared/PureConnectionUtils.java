@@ -14,6 +14,7 @@
 
 package org.finos.legend.pure.runtime.java.extension.store.relational.shared;
 
+import org.finos.legend.pure.m3.tools.RelationalMetricsRecorder;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 
 public class PureConnectionUtils
@@ -22,4 +23,20 @@ public class PureConnectionUtils
     {
         return type.equals(connectionInformation.getValueForMetaPropertyToOne("type").getName());
     }
+
+    public static String getPureConnectionType(CoreInstance connectionInformation)
+    {
+        CoreInstance type = connectionInformation.getValueForMetaPropertyToOne("type");
+        return (type == null) ? null : type.getName();
+    }
+
+    /**
+     * Get the relational metrics for a connection. This should be called once per execution, and the result used for
+     * all the observations for that execution.
+     */
+    public static RelationalMetricsRecorder.DatabaseMetrics getMetrics(CoreInstance connectionInformation, ConnectionWithDataSourceInfo connectionWithDataSourceInfo)
+    {
+        DataSource dataSource = (connectionWithDataSourceInfo == null) ? null : connectionWithDataSourceInfo.getDataSource();
+        return RelationalMetricsRecorder.getMetrics(getPureConnectionType(connectionInformation), (dataSource == null) ? null : dataSource.getDataSourceName());
+    }
 }
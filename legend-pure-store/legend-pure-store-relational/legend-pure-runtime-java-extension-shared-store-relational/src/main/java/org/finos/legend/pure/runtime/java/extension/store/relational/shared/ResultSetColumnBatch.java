@@ -0,0 +1,577 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.shared;
+
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.collections.impl.list.primitive.IntInterval;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A reusable, column-oriented buffer for up to {@link #capacity()} rows of a JDBC result set. Each column is held in a
+ * buffer suited to its type (primitive arrays for numbers and booleans, dictionary codes for strings) together with a
+ * null bitmap, so that rows can be read without allocating a list or wrapper per value.
+ * <p>
+ * The batch is refilled in place by {@link #fill(ResultSet)}: values, and any row views obtained from
+ * {@link #getRow(int, Object)}, are only valid until the next call to fill. A batch created with a maximum capacity
+ * larger than its initial capacity doubles its capacity, up to that maximum, each time a fill leaves it full. This
+ * lets a batch start at the fetch size of the result set, so that small results do not pay for full-size buffers.
+ */
+public class ResultSetColumnBatch
+{
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final ListIterable<? extends Column> columns;
+    private final int maxCapacity;
+    private int capacity;
+    private int size = 0;
+
+    public ResultSetColumnBatch(ListIterable<? extends Column> columns)
+    {
+        this(columns, -1);
+    }
+
+    /**
+     * Create a batch that grows up to maxCapacity rows. If maxCapacity is not greater than the capacity of the
+     * columns, the batch has a fixed capacity.
+     *
+     * @param columns     columns, all with the same capacity
+     * @param maxCapacity maximum capacity
+     */
+    public ResultSetColumnBatch(ListIterable<? extends Column> columns, int maxCapacity)
+    {
+        this.columns = columns;
+        this.capacity = columns.isEmpty() ? DEFAULT_BATCH_SIZE : columns.get(0).capacity();
+        if (this.capacity <= 0)
+        {
+            throw new IllegalArgumentException("Invalid batch capacity: " + this.capacity);
+        }
+        this.maxCapacity = Math.max(this.capacity, maxCapacity);
+        columns.forEachWithIndex((column, i) ->
+        {
+            if (column.capacity() != this.capacity)
+            {
+                throw new IllegalArgumentException("Column " + i + " has capacity " + column.capacity() + ", expected " + this.capacity);
+            }
+        });
+    }
+
+    /**
+     * Read up to {@link #capacity()} rows from the result set into the batch, replacing its previous contents. This
+     * advances the result set cursor by calling {@link ResultSet#next()}, and returns the number of rows read; a
+     * result of 0 means the result set is exhausted.
+     *
+     * @param resultSet result set
+     * @return number of rows read
+     */
+    public int fill(ResultSet resultSet) throws SQLException
+    {
+        if ((this.size == this.capacity) && (this.capacity < this.maxCapacity))
+        {
+            // the last fill was full, so there are probably more rows: read more of them per fill from now on
+            int newCapacity = (int) Math.min(2L * this.capacity, this.maxCapacity);
+            this.columns.forEach(c -> c.resize(newCapacity));
+            this.capacity = newCapacity;
+        }
+        this.columns.forEach(Column::reset);
+        int row = 0;
+        int columnCount = this.columns.size();
+        while ((row < this.capacity) && resultSet.next())
+        {
+            for (int i = 0; i < columnCount; i++)
+            {
+                this.columns.get(i).read(resultSet, i + 1, row);
+            }
+            row++;
+        }
+        this.size = row;
+        return row;
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    public int capacity()
+    {
+        return this.capacity;
+    }
+
+    public int maxCapacity()
+    {
+        return this.maxCapacity;
+    }
+
+    public int getColumnCount()
+    {
+        return this.columns.size();
+    }
+
+    public Column getColumn(int column)
+    {
+        return this.columns.get(column);
+    }
+
+    public boolean isNull(int column, int row)
+    {
+        return getColumn(column).isNull(checkRow(row));
+    }
+
+    public long getLong(int column, int row)
+    {
+        return ((LongColumn) getColumn(column)).getLong(checkRow(row));
+    }
+
+    public double getDouble(int column, int row)
+    {
+        return ((DoubleColumn) getColumn(column)).getDouble(checkRow(row));
+    }
+
+    public boolean getBoolean(int column, int row)
+    {
+        return ((BooleanColumn) getColumn(column)).getBoolean(checkRow(row));
+    }
+
+    public String getString(int column, int row)
+    {
+        return getColumn(column).isNull(checkRow(row)) ? null : ((StringColumn) getColumn(column)).getString(row);
+    }
+
+    /**
+     * Get the value at the given column and row, boxing it if necessary. If the value is null, nullValue is returned.
+     *
+     * @param column    column index (0-based)
+     * @param row       row index (0-based)
+     * @param nullValue value to return for SQL nulls
+     * @return value or nullValue
+     */
+    public Object getValue(int column, int row, Object nullValue)
+    {
+        Column col = getColumn(column);
+        return col.isNull(checkRow(row)) ? nullValue : col.getValue(row);
+    }
+
+    /**
+     * Get a lazy view of the given row. The view reads through to the batch, so it is only valid until the next call to
+     * {@link #fill(ResultSet)}; copy it if it must outlive the batch contents.
+     *
+     * @param row       row index (0-based)
+     * @param nullValue value to use for SQL nulls
+     * @return row view
+     */
+    public LazyIterable<Object> getRow(int row, Object nullValue)
+    {
+        checkRow(row);
+        return IntInterval.zeroTo(this.columns.size() - 1).asLazy().collect(c -> getValue(c, row, nullValue));
+    }
+
+    /**
+     * Copy the given row into a new list.
+     *
+     * @param row       row index (0-based)
+     * @param nullValue value to use for SQL nulls
+     * @return row values
+     */
+    public MutableList<Object> copyRow(int row, Object nullValue)
+    {
+        checkRow(row);
+        int columnCount = this.columns.size();
+        MutableList<Object> values = Lists.mutable.ofInitialCapacity(columnCount);
+        for (int i = 0; i < columnCount; i++)
+        {
+            values.add(getValue(i, row, nullValue));
+        }
+        return values;
+    }
+
+    private int checkRow(int row)
+    {
+        if ((row < 0) || (row >= this.size))
+        {
+            throw new IndexOutOfBoundsException("Row index: " + row + "; size: " + this.size);
+        }
+        return row;
+    }
+
+    public static Column newLongColumn(int capacity)
+    {
+        return new LongColumn(capacity);
+    }
+
+    public static Column newDoubleColumn(int capacity)
+    {
+        return new DoubleColumn(capacity, false);
+    }
+
+    /**
+     * A double column whose values are read as {@link BigDecimal} and then converted, for DECIMAL and NUMERIC columns
+     * where the driver's own double conversion may differ.
+     */
+    public static Column newDecimalAsDoubleColumn(int capacity)
+    {
+        return new DoubleColumn(capacity, true);
+    }
+
+    public static Column newBooleanColumn(int capacity)
+    {
+        return new BooleanColumn(capacity);
+    }
+
+    public static Column newStringColumn(int capacity)
+    {
+        return new StringColumn(capacity);
+    }
+
+    public static Column newObjectColumn(int capacity, ObjectReader reader)
+    {
+        return new ObjectColumn(capacity, reader);
+    }
+
+    /**
+     * Reads a single value for an object column. A null return is recorded as SQL null.
+     */
+    public interface ObjectReader
+    {
+        Object read(ResultSet resultSet, int columnIndex) throws SQLException;
+    }
+
+    public abstract static class Column
+    {
+        protected final BitSet nulls = new BitSet();
+
+        private Column()
+        {
+        }
+
+        public abstract int capacity();
+
+        public boolean isNull(int row)
+        {
+            return this.nulls.get(row);
+        }
+
+        /**
+         * Get the boxed value for a non-null row.
+         */
+        protected abstract Object getValue(int row);
+
+        protected abstract void read(ResultSet resultSet, int columnIndex, int row) throws SQLException;
+
+        /**
+         * Change the capacity of the column. The contents are discarded, as this is only called before a fill.
+         */
+        protected abstract void resize(int capacity);
+
+        protected void reset()
+        {
+            this.nulls.clear();
+        }
+    }
+
+    public static final class LongColumn extends Column
+    {
+        private long[] values;
+
+        private LongColumn(int capacity)
+        {
+            this.values = new long[capacity];
+        }
+
+        @Override
+        public int capacity()
+        {
+            return this.values.length;
+        }
+
+        public long getLong(int row)
+        {
+            return this.values[row];
+        }
+
+        @Override
+        protected Object getValue(int row)
+        {
+            return this.values[row];
+        }
+
+        @Override
+        protected void read(ResultSet resultSet, int columnIndex, int row) throws SQLException
+        {
+            this.values[row] = resultSet.getLong(columnIndex);
+            if (resultSet.wasNull())
+            {
+                this.nulls.set(row);
+            }
+        }
+
+        @Override
+        protected void resize(int capacity)
+        {
+            this.values = new long[capacity];
+        }
+    }
+
+    public static final class DoubleColumn extends Column
+    {
+        private double[] values;
+        private final boolean readAsDecimal;
+
+        private DoubleColumn(int capacity, boolean readAsDecimal)
+        {
+            this.values = new double[capacity];
+            this.readAsDecimal = readAsDecimal;
+        }
+
+        @Override
+        public int capacity()
+        {
+            return this.values.length;
+        }
+
+        public double getDouble(int row)
+        {
+            return this.values[row];
+        }
+
+        @Override
+        protected Object getValue(int row)
+        {
+            return this.values[row];
+        }
+
+        @Override
+        protected void read(ResultSet resultSet, int columnIndex, int row) throws SQLException
+        {
+            if (this.readAsDecimal)
+            {
+                BigDecimal decimal = resultSet.getBigDecimal(columnIndex);
+                if (decimal == null)
+                {
+                    this.nulls.set(row);
+                }
+                else
+                {
+                    this.values[row] = decimal.doubleValue();
+                }
+            }
+            else
+            {
+                this.values[row] = resultSet.getDouble(columnIndex);
+                if (resultSet.wasNull())
+                {
+                    this.nulls.set(row);
+                }
+            }
+        }
+
+        @Override
+        protected void resize(int capacity)
+        {
+            this.values = new double[capacity];
+        }
+    }
+
+    public static final class BooleanColumn extends Column
+    {
+        private final BitSet values = new BitSet();
+        private int capacity;
+
+        private BooleanColumn(int capacity)
+        {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public int capacity()
+        {
+            return this.capacity;
+        }
+
+        public boolean getBoolean(int row)
+        {
+            return this.values.get(row);
+        }
+
+        @Override
+        protected Object getValue(int row)
+        {
+            return this.values.get(row);
+        }
+
+        @Override
+        protected void read(ResultSet resultSet, int columnIndex, int row) throws SQLException
+        {
+            this.values.set(row, resultSet.getBoolean(columnIndex));
+            if (resultSet.wasNull())
+            {
+                this.nulls.set(row);
+            }
+        }
+
+        @Override
+        protected void resize(int capacity)
+        {
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected void reset()
+        {
+            super.reset();
+            this.values.clear();
+        }
+    }
+
+    /**
+     * A dictionary-encoded string column. Each distinct string in the batch is stored once, and rows hold an index into
+     * the dictionary. The dictionary is rebuilt on each fill, so its size is bounded by the batch capacity.
+     */
+    public static final class StringColumn extends Column
+    {
+        private int[] codes;
+        private final MutableList<String> dictionary = Lists.mutable.empty();
+        private final MutableObjectIntMap<String> dictionaryIndex = ObjectIntHashMap.newMap();
+
+        private StringColumn(int capacity)
+        {
+            this.codes = new int[capacity];
+        }
+
+        @Override
+        public int capacity()
+        {
+            return this.codes.length;
+        }
+
+        public String getString(int row)
+        {
+            return this.dictionary.get(this.codes[row]);
+        }
+
+        /**
+         * Get the dictionary code for a non-null row. Rows with equal strings have equal codes within a batch.
+         */
+        public int getCode(int row)
+        {
+            return this.codes[row];
+        }
+
+        public ListIterable<String> getDictionary()
+        {
+            return this.dictionary.asUnmodifiable();
+        }
+
+        @Override
+        protected Object getValue(int row)
+        {
+            return getString(row);
+        }
+
+        @Override
+        protected void read(ResultSet resultSet, int columnIndex, int row) throws SQLException
+        {
+            String string = resultSet.getString(columnIndex);
+            if (string == null)
+            {
+                this.nulls.set(row);
+            }
+            else
+            {
+                this.codes[row] = this.dictionaryIndex.getIfAbsentPut(string, () ->
+                {
+                    this.dictionary.add(string);
+                    return this.dictionary.size() - 1;
+                });
+            }
+        }
+
+        @Override
+        protected void resize(int capacity)
+        {
+            this.codes = new int[capacity];
+        }
+
+        @Override
+        protected void reset()
+        {
+            super.reset();
+            this.dictionary.clear();
+            this.dictionaryIndex.clear();
+        }
+    }
+
+    public static final class ObjectColumn extends Column
+    {
+        private Object[] values;
+        private final ObjectReader reader;
+
+        private ObjectColumn(int capacity, ObjectReader reader)
+        {
+            this.values = new Object[capacity];
+            this.reader = reader;
+        }
+
+        @Override
+        public int capacity()
+        {
+            return this.values.length;
+        }
+
+        @Override
+        protected Object getValue(int row)
+        {
+            return this.values[row];
+        }
+
+        @Override
+        protected void read(ResultSet resultSet, int columnIndex, int row) throws SQLException
+        {
+            Object value = this.reader.read(resultSet, columnIndex);
+            this.values[row] = value;
+            if (value == null)
+            {
+                this.nulls.set(row);
+            }
+        }
+
+        @Override
+        protected void resize(int capacity)
+        {
+            this.values = new Object[capacity];
+        }
+
+        @Override
+        protected void reset()
+        {
+            super.reset();
+            Arrays.fill(this.values, null);
+        }
+    }
+}
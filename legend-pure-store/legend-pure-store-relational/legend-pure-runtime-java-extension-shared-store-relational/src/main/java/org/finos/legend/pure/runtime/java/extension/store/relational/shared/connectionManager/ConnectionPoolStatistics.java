@@ -0,0 +1,117 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.shared.connectionManager;
+
+/**
+ * Snapshot of the statistics of a {@link PerThreadPoolableConnectionProvider}. Created and returned connections are
+ * per-thread connections borrowed from, and returned to, the per-user pools (which keep the physical connections open
+ * for reuse); reclaimed connections are those returned on behalf of threads which terminated while holding them.
+ */
+public class ConnectionPoolStatistics
+{
+    private final int maxConnections;
+    private final int activeConnections;
+    private final int idleConnections;
+    private final long createdConnections;
+    private final long returnedConnections;
+    private final long reclaimedConnections;
+    private final long waitCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+
+    ConnectionPoolStatistics(int maxConnections, int activeConnections, int idleConnections, long createdConnections, long returnedConnections,
+                             long reclaimedConnections, long waitCount, long totalWaitNanos, long maxWaitNanos)
+    {
+        this.maxConnections = maxConnections;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.createdConnections = createdConnections;
+        this.returnedConnections = returnedConnections;
+        this.reclaimedConnections = reclaimedConnections;
+        this.waitCount = waitCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    public int getMaxConnections()
+    {
+        return this.maxConnections;
+    }
+
+    public int getActiveConnections()
+    {
+        return this.activeConnections;
+    }
+
+    public int getIdleConnections()
+    {
+        return this.idleConnections;
+    }
+
+    public long getCreatedConnections()
+    {
+        return this.createdConnections;
+    }
+
+    public long getReturnedConnections()
+    {
+        return this.returnedConnections;
+    }
+
+    public long getReclaimedConnections()
+    {
+        return this.reclaimedConnections;
+    }
+
+    /**
+     * Number of borrows which had to wait because the maximum number of connections were borrowed, including those
+     * which timed out. The wait times below are for these borrows only.
+     */
+    public long getWaitCount()
+    {
+        return this.waitCount;
+    }
+
+    public long getTotalWaitNanos()
+    {
+        return this.totalWaitNanos;
+    }
+
+    public long getMaxWaitNanos()
+    {
+        return this.maxWaitNanos;
+    }
+
+    public double getAverageWaitNanos()
+    {
+        return (this.waitCount == 0) ? 0.0 : ((double) this.totalWaitNanos / this.waitCount);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ConnectionPoolStatistics{" +
+                "maxConnections=" + this.maxConnections +
+                ", activeConnections=" + this.activeConnections +
+                ", idleConnections=" + this.idleConnections +
+                ", createdConnections=" + this.createdConnections +
+                ", returnedConnections=" + this.returnedConnections +
+                ", reclaimedConnections=" + this.reclaimedConnections +
+                ", waitCount=" + this.waitCount +
+                ", totalWaitNanos=" + this.totalWaitNanos +
+                ", maxWaitNanos=" + this.maxWaitNanos +
+                '}';
+    }
+}
@@ -18,13 +18,98 @@ import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
 import org.eclipse.collections.api.map.ConcurrentMutableMap;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Provides one connection per thread and user, borrowed from a pool per user. On top of the per-user pools, this
+ * keeps pool-level statistics (see {@link #getStatistics()}) and can cap the total number of connections borrowed
+ * across all users and threads, with waiting threads served in order. Connections still held by threads which have
+ * terminated are reclaimed, and idle pooled connections evicted, by a periodic maintenance task.
+ * <p>
+ * The defaults can be changed with the following system properties:
+ * <ul>
+ *     <li>pure.relational.pool.maxConnections: maximum number of connections borrowed at once (default: no limit)</li>
+ *     <li>pure.relational.pool.maxWaitMillis: maximum time to wait for a connection under the cap, or -1 to wait
+ *     indefinitely (default: -1)</li>
+ *     <li>pure.relational.pool.maintenanceIntervalMillis: interval between maintenance runs, or 0 for none
+ *     (default: 60000)</li>
+ *     <li>pure.relational.pool.idleTimeoutMillis: time after which idle pooled connections are evicted, or 0 to never
+ *     evict them (default: 0)</li>
+ * </ul>
+ */
 public abstract class PerThreadPoolableConnectionProvider
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PerThreadPoolableConnectionProvider.class);
+
+    private static final String MAX_CONNECTIONS_PROPERTY = "pure.relational.pool.maxConnections";
+    private static final String MAX_WAIT_MILLIS_PROPERTY = "pure.relational.pool.maxWaitMillis";
+    private static final String MAINTENANCE_INTERVAL_MILLIS_PROPERTY = "pure.relational.pool.maintenanceIntervalMillis";
+    private static final String IDLE_TIMEOUT_MILLIS_PROPERTY = "pure.relational.pool.idleTimeoutMillis";
+
+    private static final ScheduledExecutorService MAINTENANCE_EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable ->
+    {
+        Thread thread = new Thread(runnable, "pure-relational-pool-maintenance");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     protected final ConcurrentMutableMap<String, Pair<ThreadLocal<PerThreadPoolableConnectionWrapper>, BasicDataSource>> connectionPoolByUser = ConcurrentHashMap.newMap();
 
+    private final int maxConnections;
+    private final long maxWaitMillis;
+    private final long maintenanceIntervalMillis;
+    private final long idleTimeoutMillis;
+    private final Semaphore permits;
+    private final ConcurrentMutableMap<PerThreadPoolableConnectionWrapper, Thread> activeConnections = ConcurrentHashMap.newMap();
+    private final AtomicReference<ScheduledFuture<?>> maintenanceTask = new AtomicReference<>();
+
+    private final LongAdder createdConnections = new LongAdder();
+    private final LongAdder returnedConnections = new LongAdder();
+    private final LongAdder reclaimedConnections = new LongAdder();
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    protected PerThreadPoolableConnectionProvider()
+    {
+        this(Integer.getInteger(MAX_CONNECTIONS_PROPERTY, Integer.MAX_VALUE),
+                Long.getLong(MAX_WAIT_MILLIS_PROPERTY, -1L),
+                Long.getLong(MAINTENANCE_INTERVAL_MILLIS_PROPERTY, 60_000L),
+                Long.getLong(IDLE_TIMEOUT_MILLIS_PROPERTY, 0L));
+    }
+
+    /**
+     * @param maxConnections            maximum number of connections borrowed at once, across all users and threads
+     * @param maxWaitMillis             maximum time to wait for a connection when at the maximum, or -1 to wait
+     *                                  indefinitely
+     * @param maintenanceIntervalMillis interval between maintenance runs, or 0 for no scheduled maintenance
+     * @param idleTimeoutMillis         time after which idle pooled connections are evicted, or 0 to never evict them
+     */
+    protected PerThreadPoolableConnectionProvider(int maxConnections, long maxWaitMillis, long maintenanceIntervalMillis, long idleTimeoutMillis)
+    {
+        if (maxConnections < 1)
+        {
+            throw new IllegalArgumentException("Invalid maximum number of connections: " + maxConnections);
+        }
+        this.maxConnections = maxConnections;
+        this.maxWaitMillis = maxWaitMillis;
+        this.maintenanceIntervalMillis = maintenanceIntervalMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
     void removePerThreadConnections(String user)
     {
         Pair<ThreadLocal<PerThreadPoolableConnectionWrapper>, BasicDataSource> userConnectionPool = this.connectionPoolByUser.get(user);
@@ -37,6 +122,11 @@ public abstract class PerThreadPoolableConnectionProvider
 
     public void removeAllPerThreadConnections()
     {
+        ScheduledFuture<?> task = this.maintenanceTask.getAndSet(null);
+        if (task != null)
+        {
+            task.cancel(false);
+        }
         connectionPoolByUser.keysView().forEach(x ->
         {
             Pair<ThreadLocal<PerThreadPoolableConnectionWrapper>, BasicDataSource> val = this.connectionPoolByUser.get(x);
@@ -55,4 +145,193 @@ public abstract class PerThreadPoolableConnectionProvider
         });
         connectionPoolByUser.clear();
     }
-}
\ No newline at end of file
+
+    /**
+     * Borrow a connection from a user's pool for the current thread. If the maximum number of connections are already
+     * borrowed, this first reclaims any held by terminated threads, and then waits for one to be returned.
+     *
+     * @param dataSource user's pool
+     * @param user       user
+     * @return per-thread connection
+     */
+    protected PerThreadPoolableConnectionWrapper newPerThreadConnection(BasicDataSource dataSource, String user) throws SQLException
+    {
+        acquirePermit();
+        Connection connection;
+        try
+        {
+            connection = dataSource.getConnection();
+        }
+        catch (SQLException | RuntimeException e)
+        {
+            this.permits.release();
+            throw e;
+        }
+
+        PerThreadPoolableConnectionWrapper wrapper = new PerThreadPoolableConnectionWrapper(connection, user, this);
+        this.activeConnections.put(wrapper, Thread.currentThread());
+        this.createdConnections.increment();
+        scheduleMaintenance();
+        return wrapper;
+    }
+
+    /**
+     * Apply the pool settings of this provider to a user's pool.
+     *
+     * @param dataSource user's pool
+     */
+    protected void configureDataSource(BasicDataSource dataSource)
+    {
+        if (this.idleTimeoutMillis > 0)
+        {
+            dataSource.setMinEvictableIdleTimeMillis(this.idleTimeoutMillis);
+            // check all idle connections on each eviction run
+            dataSource.setNumTestsPerEvictionRun(-1);
+        }
+    }
+
+    void connectionClosed(PerThreadPoolableConnectionWrapper wrapper)
+    {
+        if (this.activeConnections.remove(wrapper) != null)
+        {
+            this.returnedConnections.increment();
+            this.permits.release();
+        }
+    }
+
+    /**
+     * Return connections held by threads which have terminated to their pools.
+     *
+     * @return number of connections reclaimed
+     */
+    public int reclaimConnections()
+    {
+        int count = 0;
+        for (PerThreadPoolableConnectionWrapper wrapper : this.activeConnections.keysView().toList())
+        {
+            Thread owner = this.activeConnections.get(wrapper);
+            if ((owner != null) && !owner.isAlive())
+            {
+                try
+                {
+                    wrapper.closeConnection();
+                }
+                catch (SQLException e)
+                {
+                    LOGGER.warn("Error closing connection for terminated thread {}", owner.getName(), e);
+                    // make sure that the connection is no longer counted
+                    connectionClosed(wrapper);
+                }
+                this.reclaimedConnections.increment();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Evict the connections that have been idle in their pools for longer than the idle timeout. Does nothing if there
+     * is no idle timeout.
+     */
+    public void evictIdleConnections()
+    {
+        if (this.idleTimeoutMillis > 0)
+        {
+            this.connectionPoolByUser.forEachValue(pool ->
+            {
+                try
+                {
+                    pool.getTwo().evict();
+                }
+                catch (Exception e)
+                {
+                    LOGGER.warn("Error evicting idle connections", e);
+                }
+            });
+        }
+    }
+
+    public ConnectionPoolStatistics getStatistics()
+    {
+        int idle = (int) this.connectionPoolByUser.sumOfInt(pool -> pool.getTwo().getNumIdle());
+        return new ConnectionPoolStatistics(this.maxConnections, this.activeConnections.size(), idle,
+                this.createdConnections.sum(), this.returnedConnections.sum(), this.reclaimedConnections.sum(),
+                this.waitCount.sum(), this.totalWaitNanos.sum(), this.maxWaitNanos.get());
+    }
+
+    private void acquirePermit() throws SQLException
+    {
+        try
+        {
+            // a timed tryAcquire, unlike tryAcquire(), respects the order of waiting threads
+            if (this.permits.tryAcquire(0L, TimeUnit.NANOSECONDS))
+            {
+                return;
+            }
+
+            // only borrows which have to wait are recorded, so that the uncontended path stays cheap
+            long start = System.nanoTime();
+            try
+            {
+                // connections may be held by threads which have terminated
+                reclaimConnections();
+                if (this.maxWaitMillis < 0)
+                {
+                    this.permits.acquire();
+                }
+                else if (!this.permits.tryAcquire(this.maxWaitMillis, TimeUnit.MILLISECONDS))
+                {
+                    throw new SQLException("Timed out after " + this.maxWaitMillis + "ms waiting for a connection: all " + this.maxConnections + " connections are in use");
+                }
+            }
+            finally
+            {
+                recordWait(System.nanoTime() - start);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    private void recordWait(long waitNanos)
+    {
+        this.waitCount.increment();
+        this.totalWaitNanos.add(waitNanos);
+        this.maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private void scheduleMaintenance()
+    {
+        if ((this.maintenanceIntervalMillis > 0) && (this.maintenanceTask.get() == null))
+        {
+            synchronized (this.maintenanceTask)
+            {
+                if (this.maintenanceTask.get() == null)
+                {
+                    this.maintenanceTask.set(MAINTENANCE_EXECUTOR.scheduleWithFixedDelay(this::performMaintenance, this.maintenanceIntervalMillis, this.maintenanceIntervalMillis, TimeUnit.MILLISECONDS));
+                }
+            }
+        }
+    }
+
+    private void performMaintenance()
+    {
+        try
+        {
+            int reclaimed = reclaimConnections();
+            if (reclaimed > 0)
+            {
+                LOGGER.info("Reclaimed {} connection(s) held by terminated threads", reclaimed);
+            }
+            evictIdleConnections();
+        }
+        catch (Exception e)
+        {
+            // keep the task scheduled
+            LOGGER.warn("Error during connection pool maintenance", e);
+        }
+    }
+}
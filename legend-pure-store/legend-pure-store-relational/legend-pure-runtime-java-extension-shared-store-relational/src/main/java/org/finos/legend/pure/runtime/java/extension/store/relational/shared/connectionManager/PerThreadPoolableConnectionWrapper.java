@@ -45,6 +45,19 @@ public class PerThreadPoolableConnectionWrapper extends ConnectionWrapper
         borrowedCounter--;
     }
 
+    @Override
+    public void closeConnection() throws SQLException
+    {
+        try
+        {
+            super.closeConnection();
+        }
+        finally
+        {
+            this.provider.connectionClosed(this);
+        }
+    }
+
     @Override
     public void close() throws SQLException
     {
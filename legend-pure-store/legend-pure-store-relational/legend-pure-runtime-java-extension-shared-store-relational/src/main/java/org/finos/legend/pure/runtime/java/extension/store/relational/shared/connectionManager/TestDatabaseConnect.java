@@ -27,7 +27,6 @@ import org.finos.legend.pure.runtime.java.extension.store.relational.shared.Conn
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.DataSource;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.DataSourceConnectionDisplayInfo;
 
-import java.sql.Connection;
 import java.sql.SQLException;
 
 public class TestDatabaseConnect extends PerThreadPoolableConnectionProvider
@@ -38,6 +37,20 @@ public class TestDatabaseConnect extends PerThreadPoolableConnectionProvider
     private final KeyLockManager<String> userLocks = KeyLockManager.newManager();
 
     public TestDatabaseConnect()
+    {
+        loadDriver();
+    }
+
+    /**
+     * @see PerThreadPoolableConnectionProvider#PerThreadPoolableConnectionProvider(int, long, long, long)
+     */
+    public TestDatabaseConnect(int maxConnections, long maxWaitMillis, long maintenanceIntervalMillis, long idleTimeoutMillis)
+    {
+        super(maxConnections, maxWaitMillis, maintenanceIntervalMillis, idleTimeoutMillis);
+        loadDriver();
+    }
+
+    private static void loadDriver()
     {
         try
         {
@@ -55,7 +68,7 @@ public class TestDatabaseConnect extends PerThreadPoolableConnectionProvider
         Pair<ThreadLocal<PerThreadPoolableConnectionWrapper>, BasicDataSource> cs;
         synchronized (this.userLocks.getLock(user))
         {
-            cs = this.connectionPoolByUser.getIfAbsentPut(user, TestDatabaseConnect::newTestDataSourcePair);
+            cs = this.connectionPoolByUser.getIfAbsentPut(user, this::newTestDataSourcePair);
         }
         ThreadLocal<PerThreadPoolableConnectionWrapper> tl = cs.getOne();
         PerThreadPoolableConnectionWrapper pcw = tl.get();
@@ -63,8 +76,7 @@ public class TestDatabaseConnect extends PerThreadPoolableConnectionProvider
         {
             if (pcw == null || pcw.isClosed())
             {
-                Connection connection = cs.getTwo().getConnection();
-                pcw = new PerThreadPoolableConnectionWrapper(connection, user, this);
+                pcw = newPerThreadConnection(cs.getTwo(), user);
                 tl.set(pcw);
             }
         }
@@ -125,7 +137,7 @@ public class TestDatabaseConnect extends PerThreadPoolableConnectionProvider
                 + defaultH2Properties;
     }
 
-    private static Pair<ThreadLocal<PerThreadPoolableConnectionWrapper>, BasicDataSource> newTestDataSourcePair()
+    private Pair<ThreadLocal<PerThreadPoolableConnectionWrapper>, BasicDataSource> newTestDataSourcePair()
     {
         BasicDataSource ds = new BasicDataSource();
         ds.setUrl(getConnectionURL());
@@ -133,6 +145,7 @@ public class TestDatabaseConnect extends PerThreadPoolableConnectionProvider
         ds.setPassword("");
         ds.setMaxTotal(1);
         ds.setMaxIdle(1);
+        configureDataSource(ds);
         ThreadLocal<PerThreadPoolableConnectionWrapper> connTL = new ThreadLocal<>();
         return Tuples.pair(connTL, ds);
     }
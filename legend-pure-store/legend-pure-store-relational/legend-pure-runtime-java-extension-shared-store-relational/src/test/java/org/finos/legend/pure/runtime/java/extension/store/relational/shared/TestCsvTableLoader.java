@@ -0,0 +1,272 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.shared;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Stacks;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.pure.m3.exception.PureExecutionException;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.connectionManager.DuckDBConnectionWrapper;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class TestCsvTableLoader
+{
+    private static final String CREATE_TABLE = "CREATE TABLE csv_test (id BIGINT, name VARCHAR(20), score DOUBLE, created DATE)";
+    private static final ListIterable<String> COLUMNS = Lists.immutable.with("id", "name", "score", "created");
+    private static final ListIterable<String> COLUMN_TYPES = Lists.immutable.with("BigInt", "Varchar", "Double", "Date");
+    private static final String CSV = "id,name,score,created\n" +
+            "1,a,1.5,2026-01-01\n" +
+            "2,,2.5,2026-01-02\n" +
+            "3,\"c, quoted\",,\n" +
+            "4,d,4.25,2026-01-04\n" +
+            "5,e,5,2026-01-05\n";
+    private static final ListIterable<String> EXPECTED = Lists.immutable.with(
+            "1|a|1.5|2026-01-01",
+            "2|null|2.5|2026-01-02",
+            "3|c, quoted|null|null",
+            "4|d|4.25|2026-01-04",
+            "5|e|5.0|2026-01-05");
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void testLoadInChunks() throws Exception
+    {
+        String csvPath = writeCsv(CSV);
+        for (int chunkSize : new int[]{1, 2, 5, 100})
+        {
+            try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:"))
+            {
+                execute(connection, CREATE_TABLE);
+                Assert.assertEquals(5, load(connection, csvPath, null, chunkSize));
+                Assert.assertEquals("chunk size " + chunkSize, EXPECTED, readTable(connection));
+            }
+        }
+    }
+
+    @Test
+    public void testRowLimit() throws Exception
+    {
+        String csvPath = writeCsv(CSV);
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:"))
+        {
+            execute(connection, CREATE_TABLE);
+            // the row limit includes the header
+            Assert.assertEquals(3, load(connection, csvPath, 4, 2));
+            Assert.assertEquals(EXPECTED.take(3), readTable(connection));
+        }
+    }
+
+    @Test
+    public void testInvalidValue() throws Exception
+    {
+        String csvPath = writeCsv("id,name,score,created\n1,a,1.5,2026-01-01\n2,b,x,2026-01-02\n");
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:"))
+        {
+            execute(connection, CREATE_TABLE);
+            PureExecutionException e = Assert.assertThrows(PureExecutionException.class, () -> load(connection, csvPath, null, 10));
+            // the details of the failure are as reported by the CSV parser
+            assertStartsWith("Failed to load CSV file " + csvPath + " into DB table csv_test.\n ", e.getInfo());
+        }
+    }
+
+    @Test
+    public void testWrongNumberOfValues() throws Exception
+    {
+        String csvPath = writeCsv("id,name,score,created\n1,a,1.5\n");
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:"))
+        {
+            execute(connection, CREATE_TABLE);
+            PureExecutionException e = Assert.assertThrows(PureExecutionException.class, () -> load(connection, csvPath, null, 10));
+            assertStartsWith("Failed to load CSV file " + csvPath + " into DB table csv_test.\n ", e.getInfo());
+        }
+    }
+
+    @Test
+    public void testFailedInsertStopsReading() throws Exception
+    {
+        String csvPath = writeCsv(CSV);
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:"))
+        {
+            execute(connection, "CREATE TABLE csv_test (id BIGINT, name VARCHAR(20) NOT NULL, score DOUBLE, created DATE)");
+            // the second row has no name, so the insert fails while the later chunks are still being parsed
+            Assert.assertThrows(SQLException.class, () -> load(connection, csvPath, null, 1));
+        }
+    }
+
+    @Test
+    public void testFailedInsertRollsBackChunk() throws Exception
+    {
+        String csvPath = writeCsv(CSV);
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:"))
+        {
+            execute(connection, "CREATE TABLE csv_test (id BIGINT, name VARCHAR(20) NOT NULL, score DOUBLE, created DATE)");
+            connection.setAutoCommit(false);
+            // the first chunk fails on its second row: its other rows must not be left in the transaction
+            Assert.assertThrows(SQLException.class, () -> load(connection, csvPath, null, 3));
+            Assert.assertEquals(Lists.mutable.empty(), readTable(connection));
+        }
+    }
+
+    @Test
+    public void testColumnTypeConversions() throws Exception
+    {
+        ListIterable<String> columns = Lists.immutable.with("i", "s", "t", "n");
+        ListIterable<String> columnTypes = Lists.immutable.with("Integer", "SmallInt", "TinyInt", "Numeric");
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:"))
+        {
+            execute(connection, "CREATE TABLE csv_test (i INTEGER, s SMALLINT, t TINYINT, n NUMERIC(10, 2))");
+            String csvPath = writeCsv("i,s,t,n\n100000,300,7,12.5\n,,,\n");
+            try (PreparedStatement statement = connection.prepareStatement(LoadToDbTableHelper.buildInsertStatementHeader("default", "csv_test", columns).toString()))
+            {
+                Assert.assertEquals(2, new CsvTableLoader(null, null, csvPath, 1, null, columnTypes, 10, Stacks.mutable.empty()).load(connection, statement, "default", "csv_test", columns));
+            }
+            try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SELECT i, s, t, n FROM csv_test ORDER BY i NULLS LAST"))
+            {
+                Assert.assertTrue(rs.next());
+                Assert.assertEquals(100000, rs.getInt(1));
+                Assert.assertEquals(300, rs.getShort(2));
+                Assert.assertEquals(7, rs.getByte(3));
+                Assert.assertEquals(12.5, rs.getDouble(4), 0.0);
+                Assert.assertTrue(rs.next());
+                for (int i = 1; i <= 4; i++)
+                {
+                    Assert.assertNull(rs.getObject(i));
+                }
+                Assert.assertFalse(rs.next());
+            }
+
+            // Integer columns are parsed as ints, so larger values are rejected while parsing
+            String tooLargePath = writeCsv("i,s,t,n\n3000000000,1,1,1\n");
+            try (PreparedStatement statement = connection.prepareStatement(LoadToDbTableHelper.buildInsertStatementHeader("default", "csv_test", columns).toString()))
+            {
+                PureExecutionException e = Assert.assertThrows(PureExecutionException.class, () -> new CsvTableLoader(null, null, tooLargePath, 1, null, columnTypes, 10, Stacks.mutable.empty()).load(connection, statement, "default", "csv_test", columns));
+                assertStartsWith("Failed to load CSV file " + tooLargePath + " into DB table csv_test.\n ", e.getInfo());
+            }
+        }
+    }
+
+    @Test
+    public void testMissingFile() throws Exception
+    {
+        String csvPath = new File(this.tmp.getRoot(), "missing.csv").getPath();
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:"))
+        {
+            execute(connection, CREATE_TABLE);
+            PureExecutionException e = Assert.assertThrows(PureExecutionException.class, () -> load(connection, csvPath, null, 10));
+            Assert.assertEquals("No CSV file found with path '" + csvPath + "'", e.getInfo());
+        }
+    }
+
+    @Test
+    public void testDuckDBAppender() throws Exception
+    {
+        String csvPath = writeCsv(CSV);
+        try (Connection duckDB = DriverManager.getConnection("jdbc:duckdb:"))
+        {
+            Connection connection = new DuckDBConnectionWrapper(duckDB, "test");
+            execute(connection, CREATE_TABLE);
+            // the appender does not use the insert statement, so make it one that would fail
+            try (PreparedStatement statement = connection.prepareStatement("SELECT 1"))
+            {
+                Assert.assertEquals(5, newLoader(csvPath, null, 2).load(connection, statement, "default", "csv_test", COLUMNS));
+            }
+            Assert.assertEquals(EXPECTED, readTable(connection));
+        }
+    }
+
+    @Test
+    public void testDuckDBFallsBackToInsertForDifferentColumnOrder() throws Exception
+    {
+        String csvPath = writeCsv(CSV);
+        try (Connection duckDB = DriverManager.getConnection("jdbc:duckdb:"))
+        {
+            Connection connection = new DuckDBConnectionWrapper(duckDB, "test");
+            execute(connection, "CREATE TABLE csv_test (name VARCHAR(20), id BIGINT, score DOUBLE, created DATE)");
+            Assert.assertEquals(5, load(connection, csvPath, null, 2));
+            Assert.assertEquals(EXPECTED, readTable(connection));
+        }
+    }
+
+    private static void assertStartsWith(String expectedPrefix, String actual)
+    {
+        if (!actual.startsWith(expectedPrefix))
+        {
+            Assert.assertEquals(expectedPrefix + "...", actual);
+        }
+    }
+
+    private String writeCsv(String content) throws IOException
+    {
+        File file = this.tmp.newFile();
+        Files.write(file.toPath(), content.getBytes(Charset.defaultCharset()));
+        return file.getPath();
+    }
+
+    private static CsvTableLoader newLoader(String csvPath, Integer rowLimit, int chunkSize)
+    {
+        return new CsvTableLoader(null, null, csvPath, 1, rowLimit, COLUMN_TYPES, chunkSize, Stacks.mutable.empty());
+    }
+
+    private static int load(Connection connection, String csvPath, Integer rowLimit, int chunkSize) throws SQLException
+    {
+        try (PreparedStatement statement = connection.prepareStatement(LoadToDbTableHelper.buildInsertStatementHeader("default", "csv_test", COLUMNS).toString()))
+        {
+            return newLoader(csvPath, rowLimit, chunkSize).load(connection, statement, "default", "csv_test", COLUMNS);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException
+    {
+        try (Statement statement = connection.createStatement())
+        {
+            statement.execute(sql);
+        }
+    }
+
+    private static MutableList<String> readTable(Connection connection) throws SQLException
+    {
+        MutableList<String> rows = Lists.mutable.empty();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SELECT id, name, score, created FROM csv_test ORDER BY id"))
+        {
+            while (rs.next())
+            {
+                Object[] values = new Object[4];
+                for (int i = 0; i < values.length; i++)
+                {
+                    values[i] = rs.getObject(i + 1);
+                }
+                rows.add(Lists.mutable.with(values).makeString("|"));
+            }
+        }
+        return rows;
+    }
+}
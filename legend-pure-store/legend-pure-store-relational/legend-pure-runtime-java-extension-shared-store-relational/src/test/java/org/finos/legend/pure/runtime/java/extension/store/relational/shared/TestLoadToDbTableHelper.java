@@ -0,0 +1,193 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.shared;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.connectionManager.DuckDBConnectionWrapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class TestLoadToDbTableHelper
+{
+    private static final String CREATE_TABLE = "CREATE TABLE load_test (id BIGINT, name VARCHAR(20), score DOUBLE, created DATE, active BOOLEAN)";
+    private static final ListIterable<String> COLUMNS = Lists.immutable.with("id", "name", "score", "created", "active");
+    private static final ListIterable<ListIterable<?>> ROWS = Lists.immutable.with(
+            Lists.immutable.with(1L, "a", "1.5", "2026-01-01", true),
+            Lists.immutable.with(2L, null, 2.5, "2026-01-02", false),
+            Lists.immutable.with(3L, "c", null, null, null),
+            Lists.immutable.with(4L, "d", "4.25", "2026-01-04", true),
+            Lists.immutable.with(5L, "e", 5.0, "2026-01-05", false));
+    private static final ListIterable<String> EXPECTED = Lists.immutable.with(
+            "1|a|1.5|2026-01-01|true",
+            "2|null|2.5|2026-01-02|false",
+            "3|c|null|null|null",
+            "4|d|4.25|2026-01-04|true",
+            "5|e|5.0|2026-01-05|false");
+
+    @Test
+    public void testInsertInChunks() throws SQLException
+    {
+        String url = "jdbc:h2:mem:testInsertInChunks;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url); Connection otherConnection = DriverManager.getConnection(url))
+        {
+            execute(connection, CREATE_TABLE);
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(insertSql("default", "load_test", COLUMNS)))
+            {
+                Assert.assertEquals(5, LoadToDbTableHelper.insertBatch(ROWS, statement, 2));
+            }
+            // every chunk has been committed, so the rows are visible to another connection
+            Assert.assertEquals(EXPECTED, readTable(otherConnection, "load_test"));
+        }
+    }
+
+    @Test
+    public void testInsertBatch() throws SQLException
+    {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:"))
+        {
+            execute(connection, CREATE_TABLE);
+            try (PreparedStatement statement = connection.prepareStatement(insertSql("default", "load_test", COLUMNS)))
+            {
+                Assert.assertEquals(5, LoadToDbTableHelper.insertBatch(ROWS, statement).length);
+            }
+            Assert.assertEquals(EXPECTED, readTable(connection, "load_test"));
+        }
+    }
+
+    @Test
+    public void testInvalidChunkSize() throws SQLException
+    {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:"))
+        {
+            execute(connection, CREATE_TABLE);
+            try (PreparedStatement statement = connection.prepareStatement(insertSql("default", "load_test", COLUMNS)))
+            {
+                IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class, () -> LoadToDbTableHelper.insertBatch(ROWS, statement, 0));
+                Assert.assertEquals("Invalid chunk size: 0", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidChunkSizeForDuckDB() throws SQLException
+    {
+        try (Connection duckDB = DriverManager.getConnection("jdbc:duckdb:"))
+        {
+            Connection connection = new DuckDBConnectionWrapper(duckDB, "test");
+            execute(connection, CREATE_TABLE);
+            try (PreparedStatement statement = connection.prepareStatement(insertSql("default", "load_test", COLUMNS)))
+            {
+                IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class, () -> LoadToDbTableHelper.insertRows(connection, statement, "default", "load_test", COLUMNS, ROWS, 0));
+                Assert.assertEquals("Invalid chunk size: 0", e.getMessage());
+            }
+            Assert.assertEquals(Lists.mutable.empty(), readTable(connection, "load_test"));
+        }
+    }
+
+    @Test
+    public void testFailedChunkIsRolledBack() throws SQLException
+    {
+        String url = "jdbc:h2:mem:testFailedChunkIsRolledBack;DB_CLOSE_DELAY=-1";
+        ListIterable<ListIterable<?>> rows = Lists.immutable.with(
+                ROWS.get(0),
+                ROWS.get(1),
+                ROWS.get(2),
+                Lists.immutable.with("not a number", "d", "4.25", "2026-01-04", true));
+        try (Connection connection = DriverManager.getConnection(url); Connection otherConnection = DriverManager.getConnection(url))
+        {
+            execute(connection, CREATE_TABLE);
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(insertSql("default", "load_test", COLUMNS)))
+            {
+                Assert.assertThrows(SQLException.class, () -> LoadToDbTableHelper.insertBatch(rows, statement, 2));
+            }
+            // the first chunk was committed; the failed one was rolled back
+            Assert.assertEquals(EXPECTED.take(2), readTable(otherConnection, "load_test"));
+            Assert.assertEquals(EXPECTED.take(2), readTable(connection, "load_test"));
+        }
+    }
+
+    @Test
+    public void testDuckDBAppender() throws SQLException
+    {
+        try (Connection duckDB = DriverManager.getConnection("jdbc:duckdb:"))
+        {
+            Connection connection = new DuckDBConnectionWrapper(duckDB, "test");
+            execute(connection, CREATE_TABLE);
+            // the appender does not use the insert statement, so make it one that would fail
+            try (PreparedStatement statement = connection.prepareStatement("SELECT 1"))
+            {
+                Assert.assertEquals(5, LoadToDbTableHelper.insertRows(connection, statement, "default", "load_test", COLUMNS, ROWS, 2));
+            }
+            Assert.assertEquals(EXPECTED, readTable(connection, "load_test"));
+        }
+    }
+
+    @Test
+    public void testDuckDBFallsBackToInsertForDifferentColumnOrder() throws SQLException
+    {
+        try (Connection duckDB = DriverManager.getConnection("jdbc:duckdb:"))
+        {
+            Connection connection = new DuckDBConnectionWrapper(duckDB, "test");
+            execute(connection, "CREATE TABLE load_test (name VARCHAR(20), id BIGINT, score DOUBLE, created DATE, active BOOLEAN)");
+            try (PreparedStatement statement = connection.prepareStatement(insertSql("default", "load_test", COLUMNS)))
+            {
+                Assert.assertEquals(5, LoadToDbTableHelper.insertRows(connection, statement, "default", "load_test", COLUMNS, ROWS, 2));
+            }
+            Assert.assertEquals(EXPECTED, readTable(connection, "load_test"));
+        }
+    }
+
+    private static String insertSql(String schema, String table, ListIterable<String> columns)
+    {
+        return LoadToDbTableHelper.buildInsertStatementHeader(schema, table, columns).toString();
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException
+    {
+        try (Statement statement = connection.createStatement())
+        {
+            statement.execute(sql);
+        }
+    }
+
+    private static MutableList<String> readTable(Connection connection, String table) throws SQLException
+    {
+        MutableList<String> rows = Lists.mutable.empty();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SELECT id, name, score, created, active FROM " + table + " ORDER BY id"))
+        {
+            while (rs.next())
+            {
+                Object[] values = new Object[5];
+                for (int i = 0; i < values.length; i++)
+                {
+                    values[i] = rs.getObject(i + 1);
+                }
+                rows.add(Lists.mutable.with(values).makeString("|"));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,142 @@
+// Copyright 2026 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.shared.connectionManager;
+
+import org.finos.legend.pure.m3.exception.PureExecutionException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TestPerThreadPoolableConnectionProvider
+{
+    private TestDatabaseConnect provider;
+
+    @After
+    public void tearDown()
+    {
+        if (this.provider != null)
+        {
+            this.provider.removeAllPerThreadConnections();
+        }
+    }
+
+    @Test
+    public void testStatistics() throws Exception
+    {
+        this.provider = new TestDatabaseConnect(Integer.MAX_VALUE, -1L, 0L, 0L);
+
+        Connection connection = this.provider.getConnectionWithDataSourceInfo("user1").getConnection();
+        // the same connection is returned to the same thread
+        Assert.assertSame(connection, this.provider.getConnectionWithDataSourceInfo("user1").getConnection());
+        ConnectionPoolStatistics statistics = this.provider.getStatistics();
+        Assert.assertEquals(1, statistics.getActiveConnections());
+        Assert.assertEquals(0, statistics.getIdleConnections());
+        Assert.assertEquals(1L, statistics.getCreatedConnections());
+        // no wait is recorded when a connection is available
+        Assert.assertEquals(0L, statistics.getWaitCount());
+
+        connection.close();
+        Assert.assertEquals(1, this.provider.getStatistics().getActiveConnections());
+        connection.close();
+        statistics = this.provider.getStatistics();
+        Assert.assertEquals(0, statistics.getActiveConnections());
+        Assert.assertEquals(1, statistics.getIdleConnections());
+        Assert.assertEquals(1L, statistics.getReturnedConnections());
+        Assert.assertEquals(0L, statistics.getReclaimedConnections());
+    }
+
+    @Test
+    public void testReclaimConnectionsOfTerminatedThreads() throws Exception
+    {
+        this.provider = new TestDatabaseConnect(Integer.MAX_VALUE, -1L, 0L, 0L);
+
+        runInThread(() -> this.provider.getConnectionWithDataSourceInfo("user1"));
+        Assert.assertEquals(1, this.provider.getStatistics().getActiveConnections());
+
+        Assert.assertEquals(1, this.provider.reclaimConnections());
+        ConnectionPoolStatistics statistics = this.provider.getStatistics();
+        Assert.assertEquals(0, statistics.getActiveConnections());
+        Assert.assertEquals(1L, statistics.getReclaimedConnections());
+        Assert.assertEquals(0, this.provider.reclaimConnections());
+
+        // the pool only allows one connection per user, so this would block if it had not been reclaimed
+        Connection connection = this.provider.getConnectionWithDataSourceInfo("user1").getConnection();
+        Assert.assertFalse(connection.isClosed());
+        connection.close();
+    }
+
+    @Test
+    public void testMaxConnections() throws Exception
+    {
+        this.provider = new TestDatabaseConnect(2, 50L, 0L, 0L);
+
+        Connection connection1 = this.provider.getConnectionWithDataSourceInfo("user1").getConnection();
+        Connection connection2 = this.provider.getConnectionWithDataSourceInfo("user2").getConnection();
+        PureExecutionException e = Assert.assertThrows(PureExecutionException.class, () -> this.provider.getConnectionWithDataSourceInfo("user3"));
+        Assert.assertTrue(e.getInfo(), e.getInfo().contains("all 2 connections are in use"));
+        ConnectionPoolStatistics statistics = this.provider.getStatistics();
+        Assert.assertEquals(1L, statistics.getWaitCount());
+        Assert.assertTrue(statistics.getMaxWaitNanos() >= 50_000_000L);
+
+        connection1.close();
+        Connection connection3 = this.provider.getConnectionWithDataSourceInfo("user3").getConnection();
+        statistics = this.provider.getStatistics();
+        Assert.assertEquals(2, statistics.getActiveConnections());
+        Assert.assertEquals(1L, statistics.getWaitCount());
+        connection2.close();
+        connection3.close();
+    }
+
+    @Test
+    public void testMaxConnectionsReclaimsConnectionsOfTerminatedThreads() throws Exception
+    {
+        this.provider = new TestDatabaseConnect(1, 0L, 0L, 0L);
+
+        runInThread(() -> this.provider.getConnectionWithDataSourceInfo("user1"));
+        Connection connection = this.provider.getConnectionWithDataSourceInfo("user2").getConnection();
+        ConnectionPoolStatistics statistics = this.provider.getStatistics();
+        Assert.assertEquals(1, statistics.getActiveConnections());
+        Assert.assertEquals(1L, statistics.getReclaimedConnections());
+        connection.close();
+    }
+
+    @Test
+    public void testEvictIdleConnections() throws Exception
+    {
+        this.provider = new TestDatabaseConnect(Integer.MAX_VALUE, -1L, 0L, 1L);
+
+        this.provider.getConnectionWithDataSourceInfo("user1").getConnection().close();
+        Assert.assertEquals(1, this.provider.getStatistics().getIdleConnections());
+        Thread.sleep(10L);
+        this.provider.evictIdleConnections();
+        Assert.assertEquals(0, this.provider.getStatistics().getIdleConnections());
+    }
+
+    private static void runInThread(Runnable runnable) throws Exception
+    {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread thread = new Thread(runnable);
+        thread.setUncaughtExceptionHandler((t, e) -> error.set(e));
+        thread.start();
+        thread.join();
+        if (error.get() != null)
+        {
+            throw new AssertionError(error.get());
+        }
+    }
+}